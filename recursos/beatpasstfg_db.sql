@@ -172,6 +172,9 @@ CREATE TABLE `estadisticas_festival` (
   `recargas_totales` decimal(12,2) DEFAULT 0.00 CHECK (`recargas_totales` >= 0),
   `consumos_totales` decimal(12,2) DEFAULT 0.00 CHECK (`consumos_totales` >= 0),
   `saldo_no_reclamado` decimal(12,2) DEFAULT 0.00 CHECK (`saldo_no_reclamado` >= 0),
+  `ocupacion_actual` int(11) NOT NULL DEFAULT 0 CHECK (`ocupacion_actual` >= 0),
+  `accesos_totales` int(11) NOT NULL DEFAULT 0 CHECK (`accesos_totales` >= 0),
+  `salidas_totales` int(11) NOT NULL DEFAULT 0 CHECK (`salidas_totales` >= 0),
   `ultima_actualizacion` datetime DEFAULT NULL
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
 
@@ -268,6 +271,19 @@ INSERT INTO `tipos_entrada` (`id_tipo_entrada`, `id_festival`, `tipo`, `descripc
 
 -- --------------------------------------------------------
 
+--
+-- Table structure for table `tokens_revocados`
+--
+
+CREATE TABLE `tokens_revocados` (
+  `id_token` varchar(64) NOT NULL,
+  `id_usuario` int(11) DEFAULT NULL,
+  `revocado_desde` datetime NOT NULL,
+  `expiracion` datetime NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
 --
 -- Table structure for table `usuarios`
 --
@@ -397,6 +413,13 @@ ALTER TABLE `tipos_entrada`
   ADD PRIMARY KEY (`id_tipo_entrada`),
   ADD KEY `idx_entradas_festival` (`id_festival`);
 
+--
+-- Indexes for table `tokens_revocados`
+--
+ALTER TABLE `tokens_revocados`
+  ADD PRIMARY KEY (`id_token`),
+  ADD KEY `idx_tokens_revocados_expiracion` (`expiracion`);
+
 --
 -- Indexes for table `usuarios`
 --
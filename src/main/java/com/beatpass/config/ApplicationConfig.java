@@ -5,6 +5,7 @@ import com.beatpass.web.*;
 import com.beatpass.mapper.GenericExceptionMapper;
 import com.beatpass.security.AuthenticationFilter;
 import com.beatpass.security.CorsFilter;
+import com.beatpass.security.LimiteTasaFilter;
 
 import jakarta.ws.rs.ApplicationPath;
 
@@ -29,6 +30,7 @@ public class ApplicationConfig extends ResourceConfig {
         // Registrar clases de los recursos (endpoints)
         register(AdminResource.class);
         register(AuthResource.class);
+        register(EntradaResource.class);
         register(FestivalResource.class);
         register(PromotorResource.class);
         register(PublicVentaResource.class);
@@ -38,6 +40,10 @@ public class ApplicationConfig extends ResourceConfig {
         // Registrar proveedores (filtros, mappers, etc.)
         register(AuthenticationFilter.class);
         register(CorsFilter.class);
+        register(LimiteTasaFilter.class);
+        register(CompresionInterceptor.class);
+        register(CamposParcialesFilter.class);
+        register(PrecargaListener.class);
         register(GenericExceptionMapper.class);
         register(ObjectMapperContextResolver.class);
     }
@@ -0,0 +1,168 @@
+package com.beatpass.config;
+
+import com.beatpass.dto.PaginaDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Soporte de campos parciales ({@code ?fields=}): permite pedir solo algunas
+ * propiedades de los DTOs, por ejemplo
+ * {@code ?fields=idEntrada,codigoQr,tipoEntrada.nombre}. Las tablas del
+ * frontend muestran pocas columnas y así no se serializan ni se envían las
+ * demás.
+ * <p>
+ * Los nombres se refieren a las propiedades de cada elemento devuelto (en los
+ * listados, de cada elemento del array); las propiedades anidadas se indican
+ * con punto, y pedir una propiedad compuesta incluye todo su contenido. Sin
+ * el parámetro la respuesta es la completa. Las respuestas ya serializadas
+ * (catálogo público) se devuelven siempre completas.
+ * </p>
+ * <p>
+ * El filtro de petición valida el parámetro y el interceptor de escritura lo
+ * deja disponible para el filtro de Jackson durante la serialización, que se
+ * hace en el mismo hilo.
+ * </p>
+ */
+@Provider
+public class CamposParcialesFilter implements ContainerRequestFilter, WriterInterceptor {
+
+    /**
+     * ID del filtro de Jackson aplicado a los DTOs.
+     */
+    public static final String ID_FILTRO = "camposParciales";
+
+    private static final String PARAMETRO = "fields";
+    private static final String PROPIEDAD_CAMPOS = CamposParcialesFilter.class.getName() + ".campos";
+    private static final Pattern NOMBRE_VALIDO = Pattern.compile("[A-Za-z][A-Za-z0-9_]*(\\.[A-Za-z][A-Za-z0-9_]*)*");
+    private static final int MAX_CAMPOS = 50;
+    private static final String PAQUETE_DTO = PaginaDTO.class.getPackageName();
+
+    private static final ThreadLocal<Set<String>> CAMPOS = new ThreadLocal<>();
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String valor = requestContext.getUriInfo().getQueryParameters().getFirst(PARAMETRO);
+        if (valor == null || valor.isBlank()) {
+            return;
+        }
+        Set<String> campos = new HashSet<>();
+        for (String campo : valor.split(",")) {
+            String nombre = campo.trim();
+            if (nombre.isEmpty()) {
+                continue;
+            }
+            if (!NOMBRE_VALIDO.matcher(nombre).matches() || campos.size() >= MAX_CAMPOS) {
+                throw new BadRequestException("Parámetro 'fields' inválido: " + nombre);
+            }
+            campos.add(nombre);
+        }
+        if (!campos.isEmpty()) {
+            requestContext.setProperty(PROPIEDAD_CAMPOS, campos);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Set<String> campos = (Set<String>) context.getProperty(PROPIEDAD_CAMPOS);
+        if (campos == null) {
+            context.proceed();
+            return;
+        }
+        CAMPOS.set(campos);
+        try {
+            context.proceed();
+        } finally {
+            CAMPOS.remove();
+        }
+    }
+
+    /**
+     * Registra en el ObjectMapper el filtro de campos para las clases del
+     * paquete de DTOs (salvo {@link PaginaDTO}, que es un contenedor).
+     *
+     * @param mapper ObjectMapper a configurar.
+     */
+    static void configurar(ObjectMapper mapper) {
+        mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public Object findFilterId(Annotated ann) {
+                Object id = super.findFilterId(ann);
+                if (id == null && ann instanceof AnnotatedClass clase && esDto(clase.getRawType())) {
+                    return ID_FILTRO;
+                }
+                return id;
+            }
+        });
+        mapper.setFilterProvider(new SimpleFilterProvider().addFilter(ID_FILTRO, new FiltroCampos()));
+    }
+
+    private static boolean esDto(Class<?> clase) {
+        return PAQUETE_DTO.equals(clase.getPackageName()) && clase != PaginaDTO.class;
+    }
+
+    /**
+     * Filtro de Jackson: sin campos pedidos en el hilo actual escribe todas
+     * las propiedades.
+     */
+    private static final class FiltroCampos extends SimpleBeanPropertyFilter {
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer)
+                throws Exception {
+            Set<String> campos = CAMPOS.get();
+            if (campos == null || incluir(campos, ruta(gen, writer.getName()))) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+
+        /**
+         * Ruta de la propiedad desde el DTO raíz, con los nombres de las
+         * propiedades de DTOs que la contienen (se ignoran arrays y mapas).
+         */
+        private static String ruta(JsonGenerator gen, String propiedad) {
+            StringBuilder ruta = new StringBuilder(propiedad);
+            for (JsonStreamContext contexto = gen.getOutputContext().getParent(); contexto != null; contexto = contexto.getParent()) {
+                Object valor = contexto.getCurrentValue();
+                if (contexto.inObject() && valor != null && esDto(valor.getClass())) {
+                    ruta.insert(0, '.').insert(0, contexto.getCurrentName());
+                }
+            }
+            return ruta.toString();
+        }
+
+        private static boolean incluir(Set<String> campos, String ruta) {
+            if (campos.contains(ruta)) {
+                return true;
+            }
+            for (String campo : campos) {
+                // Antecesor pedido (incluye todo su contenido) o camino hacia un campo pedido
+                if (ruta.startsWith(campo + ".") || campo.startsWith(ruta + ".")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.beatpass.config;
+
+import com.beatpass.util.Compresion;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Comprime las respuestas de texto y JSON con gzip o deflate según la
+ * cabecera Accept-Encoding del cliente.
+ * <p>
+ * El filtro de respuesta negocia la codificación y el interceptor de escritura
+ * la aplica: retiene los primeros bytes de la entidad y solo comprime si
+ * superan {@link Compresion#UMBRAL_BYTES}; las respuestas pequeñas salen sin
+ * comprimir. Las respuestas que ya traen Content-Encoding (por ejemplo, las
+ * del catálogo público, guardadas ya comprimidas) no se tocan.
+ * </p>
+ * <p>
+ * Las respuestas comprimidas llevan un ETag fuerte propio (ver
+ * {@link Compresion#etagVariante(String, String)}). Los recursos evalúan las
+ * precondiciones con el ETag sin comprimir, así que el filtro responde 304
+ * cuando If-None-Match trae la variante comprimida del ETag de la respuesta.
+ * </p>
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER)
+public class CompresionInterceptor implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String PROPIEDAD_CODIFICACION = CompresionInterceptor.class.getName() + ".codificacion";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (!responseContext.hasEntity() || !Compresion.esComprimible(responseContext.getMediaType())) {
+            return;
+        }
+        MultivaluedMap<String, Object> cabeceras = responseContext.getHeaders();
+        cabeceras.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (cabeceras.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        String codificacion = Compresion.negociar(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (codificacion == null) {
+            return;
+        }
+        if (coincideVariante(requestContext, cabeceras, codificacion)) {
+            String etag = variante(cabeceras.getFirst(HttpHeaders.ETAG).toString(), codificacion);
+            responseContext.setStatusInfo(Response.Status.NOT_MODIFIED);
+            responseContext.setEntity(null);
+            cabeceras.remove(HttpHeaders.CONTENT_TYPE);
+            cabeceras.remove(HttpHeaders.CONTENT_LENGTH);
+            cabeceras.putSingle(HttpHeaders.ETAG, etag);
+            return;
+        }
+        requestContext.setProperty(PROPIEDAD_CODIFICACION, codificacion);
+    }
+
+    /**
+     * @return true si la petición es condicional (GET o HEAD) y alguno de los
+     * ETag de If-None-Match es la variante comprimida del de la respuesta.
+     */
+    private static boolean coincideVariante(ContainerRequestContext requestContext,
+            MultivaluedMap<String, Object> cabeceras, String codificacion) {
+        String metodo = requestContext.getMethod();
+        String condicion = requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        Object etag = cabeceras.getFirst(HttpHeaders.ETAG);
+        if (condicion == null || etag == null || !("GET".equals(metodo) || "HEAD".equals(metodo))) {
+            return false;
+        }
+        String buscado = variante(etag.toString(), codificacion);
+        if (buscado.startsWith("W/")) {
+            return false; // Un ETag débil no se reescribe: ya lo evaluó el recurso
+        }
+        for (String candidato : condicion.split(",")) {
+            String valor = candidato.trim();
+            // If-None-Match usa la comparación débil (RFC 9110, 13.1.2)
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(buscado)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return El ETag de la variante comprimida de una representación.
+     */
+    private static String variante(String etag, String codificacion) {
+        // Un ETag fuerte identifica bytes concretos: la variante comprimida necesita el suyo
+        if (etag.startsWith("W/")) {
+            return etag;
+        }
+        String valor = etag.startsWith("\"") && etag.endsWith("\"") && etag.length() > 1
+                ? etag.substring(1, etag.length() - 1)
+                : etag;
+        return "\"" + Compresion.etagVariante(valor, codificacion) + "\"";
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Object codificacion = context.getProperty(PROPIEDAD_CODIFICACION);
+        if (codificacion == null) {
+            context.proceed();
+            return;
+        }
+        SalidaConUmbral salida = new SalidaConUmbral(context.getOutputStream(), (String) codificacion, context.getHeaders());
+        context.setOutputStream(salida);
+        try {
+            context.proceed();
+            salida.terminar();
+        } finally {
+            salida.liberar(); // También si falla la escritura de la entidad
+        }
+    }
+
+    /**
+     * Flujo que acumula la entidad hasta alcanzar el umbral. Si lo alcanza,
+     * añade Content-Encoding (las cabeceras aún no se han enviado porque no
+     * se ha escrito nada en el flujo original) y sigue escribiendo
+     * comprimido; si la entidad termina antes, la escribe tal cual.
+     */
+    private static final class SalidaConUmbral extends OutputStream {
+
+        private final OutputStream original;
+        private final String codificacion;
+        private final MultivaluedMap<String, Object> cabeceras;
+        private ByteArrayOutputStream pendiente = new ByteArrayOutputStream(Compresion.UMBRAL_BYTES);
+        private Deflater deflater;
+        private DeflaterOutputStream compresor;
+        private boolean terminada = false;
+
+        SalidaConUmbral(OutputStream original, String codificacion, MultivaluedMap<String, Object> cabeceras) {
+            this.original = original;
+            this.codificacion = codificacion;
+            this.cabeceras = cabeceras;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (compresor != null) {
+                compresor.write(b, off, len);
+                return;
+            }
+            pendiente.write(b, off, len);
+            if (pendiente.size() >= Compresion.UMBRAL_BYTES) {
+                cabeceras.putSingle(HttpHeaders.CONTENT_ENCODING, codificacion);
+                cabeceras.remove(HttpHeaders.CONTENT_LENGTH);
+                Object etag = cabeceras.getFirst(HttpHeaders.ETAG);
+                if (etag != null) {
+                    cabeceras.putSingle(HttpHeaders.ETAG, variante(etag.toString(), codificacion));
+                }
+                deflater = Compresion.nuevoDeflater(codificacion);
+                compresor = Compresion.comprimir(codificacion, original, deflater);
+                pendiente.writeTo(compresor);
+                pendiente = null;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Mientras no se alcance el umbral no se envía nada
+            if (compresor != null) {
+                compresor.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            terminar();
+        }
+
+        void terminar() throws IOException {
+            if (terminada) {
+                return;
+            }
+            terminada = true;
+            if (compresor != null) {
+                compresor.finish();
+            } else {
+                pendiente.writeTo(original);
+            }
+            original.flush();
+        }
+
+        /**
+         * Libera la memoria nativa del compresor sin esperar al GC.
+         */
+        void liberar() {
+            if (deflater != null) {
+                deflater.end();
+                deflater = null;
+            }
+        }
+    }
+}
@@ -24,18 +24,29 @@ public class DependencyBinder extends AbstractBinder {
         bind(FestivalRepositoryImpl.class).to(FestivalRepository.class).in(Singleton.class);
         bind(PulseraNFCRepositoryImpl.class).to(PulseraNFCRepository.class).in(Singleton.class);
         bind(RecargaRepositoryImpl.class).to(RecargaRepository.class).in(Singleton.class);
+        bind(TokenRevocadoRepositoryImpl.class).to(TokenRevocadoRepository.class).in(Singleton.class);
         bind(TipoEntradaRepositoryImpl.class).to(TipoEntradaRepository.class).in(Singleton.class);
         bind(UsuarioRepositoryImpl.class).to(UsuarioRepository.class).in(Singleton.class);
 
         // --- Bindeo de Servicios ---
         bind(AsistenteServiceImpl.class).to(AsistenteService.class).in(Singleton.class);
+        bind(CacheServiceImpl.class).to(CacheService.class).in(Singleton.class);
+        bind(CatalogoPublicoServiceImpl.class).to(CatalogoPublicoService.class).in(Singleton.class);
         bind(CompradorServiceImpl.class).to(CompradorService.class).in(Singleton.class);
         bind(CompraServiceImpl.class).to(CompraService.class).in(Singleton.class);
+        bind(DisponibilidadServiceImpl.class).to(DisponibilidadService.class).in(Singleton.class);
         bind(EmailServiceImpl.class).to(EmailService.class).in(Singleton.class);
         bind(EntradaServiceImpl.class).to(EntradaService.class).in(Singleton.class);
+        bind(ExportacionServiceImpl.class).to(ExportacionService.class).in(Singleton.class);
         bind(FestivalServiceImpl.class).to(FestivalService.class).in(Singleton.class);
+        bind(FiltroCodigosServiceImpl.class).to(FiltroCodigosService.class).in(Singleton.class);
+        bind(OcupacionServiceImpl.class).to(OcupacionService.class).in(Singleton.class);
+        bind(PanelServiceImpl.class).to(PanelService.class).in(Singleton.class);
+        bind(PasswordServiceImpl.class).to(PasswordService.class).in(Singleton.class);
         bind(PdfServiceImpl.class).to(PdfService.class).in(Singleton.class);
         bind(PulseraNFCServiceImpl.class).to(PulseraNFCService.class).in(Singleton.class);
+        bind(QrImageServiceImpl.class).to(QrImageService.class).in(Singleton.class);
+        bind(RevocacionTokenServiceImpl.class).to(RevocacionTokenService.class).in(Singleton.class);
         bind(TipoEntradaServiceImpl.class).to(TipoEntradaService.class).in(Singleton.class);
         bind(UsuarioServiceImpl.class).to(UsuarioService.class).in(Singleton.class);
         bind(VentaServiceImpl.class).to(VentaService.class).in(Singleton.class);
@@ -22,14 +22,28 @@ public class ObjectMapperContextResolver implements ContextResolver<ObjectMapper
 
     public ObjectMapperContextResolver() {
         log.info("Inicializando ObjectMapperContextResolver para Jackson...");
-        mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
+        mapper = crearObjectMapper();
+        log.info("ObjectMapper configurado: JavaTimeModule registrado, WRITE_DATES_AS_TIMESTAMPS=false y filtro de campos parciales.");
+    }
+
+    /**
+     * Crea un ObjectMapper con la misma configuración que usa JAX-RS. Sirve a
+     * los componentes que serializan respuestas por adelantado, fuera de
+     * Jersey, para que el JSON sea idéntico.
+     *
+     * @return Un ObjectMapper nuevo.
+     */
+    public static ObjectMapper crearObjectMapper() {
+        ObjectMapper nuevo = new ObjectMapper();
+        nuevo.registerModule(new JavaTimeModule());
 
         // Desactivar la escritura de fechas como timestamps UNIX (números)
         // y forzar la escritura como strings ISO 8601.
-        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        nuevo.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
 
-        log.info("ObjectMapper configurado: JavaTimeModule registrado y WRITE_DATES_AS_TIMESTAMPS=false.");
+        // Campos parciales (?fields=) en los DTOs
+        CamposParcialesFilter.configurar(nuevo);
+        return nuevo;
     }
 
     @Override
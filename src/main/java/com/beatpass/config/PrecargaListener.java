@@ -0,0 +1,53 @@
+package com.beatpass.config;
+
+import com.beatpass.service.CatalogoPublicoService;
+import com.beatpass.service.FiltroCodigosService;
+import jakarta.ws.rs.ext.Provider;
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Precarga al arrancar la aplicación, en un hilo aparte para no retrasar el
+ * arranque, las estructuras en memoria que no deben esperar a la primera
+ * petición: los filtros de códigos válidos (hasta que terminan no descartan
+ * nada) y el catálogo público (y con él su exportación estática).
+ */
+@Provider
+public class PrecargaListener implements ContainerLifecycleListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecargaListener.class);
+
+    @Override
+    public void onStartup(Container container) {
+        InjectionManager injectionManager = container.getApplicationHandler().getInjectionManager();
+        FiltroCodigosService filtroCodigosService = injectionManager.getInstance(FiltroCodigosService.class);
+        CatalogoPublicoService catalogoPublicoService = injectionManager.getInstance(CatalogoPublicoService.class);
+        Thread hilo = new Thread(() -> {
+            try {
+                catalogoPublicoService.precargar();
+            } catch (RuntimeException e) {
+                log.error("Error precargando el catálogo público: {}", e.getMessage(), e);
+            }
+            try {
+                filtroCodigosService.precargar();
+            } catch (RuntimeException e) {
+                log.error("Error precargando los filtros de códigos válidos: {}", e.getMessage(), e);
+            }
+        }, "beatpass-precarga");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @Override
+    public void onReload(Container container) {
+        // Sin acción: lo precargado sigue siendo válido
+    }
+
+    @Override
+    public void onShutdown(Container container) {
+        // Sin acción
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -40,6 +41,21 @@ public class AsistenteDTO {
     public AsistenteDTO() {
     }
 
+    /**
+     * Constructor de proyección para consultas JPQL (SELECT NEW): datos del
+     * asistente y el UID de su pulsera en un festival (null si no tiene).
+     */
+    public AsistenteDTO(Integer idAsistente, String nombre, String email, String telefono,
+            LocalDateTime fechaCreacion, String nombreFestival, String codigoUidPulsera) {
+        this.idAsistente = idAsistente;
+        this.nombre = nombre;
+        this.email = email;
+        this.telefono = telefono;
+        this.fechaCreacion = fechaCreacion;
+        this.festivalPulseraInfo = new LinkedHashMap<>();
+        this.festivalPulseraInfo.put(nombreFestival, codigoUidPulsera);
+    }
+
     // --- Getters y Setters ---
     public Integer getIdAsistente() {
         return idAsistente;
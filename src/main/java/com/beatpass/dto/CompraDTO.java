@@ -38,6 +38,24 @@ public class CompraDTO {
     public CompraDTO() {
     }
 
+    /**
+     * Constructor de proyección para consultas JPQL (SELECT NEW). El resumen
+     * de entradas se rellena aparte, a partir de los detalles de la compra.
+     */
+    public CompraDTO(Integer idCompra, LocalDateTime fechaCompra, BigDecimal total,
+            Integer idComprador, String nombreComprador, String emailComprador,
+            String stripePaymentIntentId, String estadoPago, LocalDateTime fechaPagoConfirmado) {
+        this.idCompra = idCompra;
+        this.fechaCompra = fechaCompra;
+        this.total = total;
+        this.idComprador = idComprador;
+        this.nombreComprador = nombreComprador;
+        this.emailComprador = emailComprador;
+        this.stripePaymentIntentId = stripePaymentIntentId;
+        this.estadoPago = estadoPago;
+        this.fechaPagoConfirmado = fechaPagoConfirmado;
+    }
+
     // --- Getters y Setters ---
     public Integer getIdCompra() {
         return idCompra;
@@ -0,0 +1,119 @@
+package com.beatpass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * DTO para representar un consumo cashless realizado con una pulsera NFC.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConsumoDTO {
+
+    private Integer idConsumo;
+    private String descripcion;
+    private BigDecimal monto;
+    private LocalDateTime fecha;
+    private Integer idPuntoVenta;
+
+    // Información Asociada
+    private Integer idPulsera;
+    private String codigoUidPulsera;
+    private Integer idFestival;
+
+    public ConsumoDTO() {
+    }
+
+    // --- Getters y Setters ---
+    public Integer getIdConsumo() {
+        return idConsumo;
+    }
+
+    public void setIdConsumo(Integer idConsumo) {
+        this.idConsumo = idConsumo;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public BigDecimal getMonto() {
+        return monto;
+    }
+
+    public void setMonto(BigDecimal monto) {
+        this.monto = monto;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDateTime fecha) {
+        this.fecha = fecha;
+    }
+
+    public Integer getIdPuntoVenta() {
+        return idPuntoVenta;
+    }
+
+    public void setIdPuntoVenta(Integer idPuntoVenta) {
+        this.idPuntoVenta = idPuntoVenta;
+    }
+
+    public Integer getIdPulsera() {
+        return idPulsera;
+    }
+
+    public void setIdPulsera(Integer idPulsera) {
+        this.idPulsera = idPulsera;
+    }
+
+    public String getCodigoUidPulsera() {
+        return codigoUidPulsera;
+    }
+
+    public void setCodigoUidPulsera(String codigoUidPulsera) {
+        this.codigoUidPulsera = codigoUidPulsera;
+    }
+
+    public Integer getIdFestival() {
+        return idFestival;
+    }
+
+    public void setIdFestival(Integer idFestival) {
+        this.idFestival = idFestival;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConsumoDTO that = (ConsumoDTO) o;
+        return Objects.equals(idConsumo, that.idConsumo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idConsumo);
+    }
+
+    @Override
+    public String toString() {
+        return "ConsumoDTO{"
+                + "idConsumo=" + idConsumo
+                + ", monto=" + monto
+                + ", fecha=" + fecha
+                + ", idPulsera=" + idPulsera
+                + '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.beatpass.dto;
+
+import com.beatpass.util.BandasDisponibilidad;
+
+import java.util.List;
+
+/**
+ * DTO con la disponibilidad aproximada de los tipos de entrada de un festival
+ * publicado, para la consulta periódica desde la página de venta. La versión
+ * solo cambia cuando cambia alguna banda.
+ */
+public class DisponibilidadDTO {
+
+    private Integer idFestival;
+    private long version;
+    private List<TipoDTO> tiposEntrada;
+
+    /**
+     * Disponibilidad de un tipo de entrada.
+     */
+    public static class TipoDTO {
+
+        private Integer idTipoEntrada;
+        private BandasDisponibilidad.Banda disponibilidad;
+
+        public TipoDTO() {
+        }
+
+        public TipoDTO(Integer idTipoEntrada, BandasDisponibilidad.Banda disponibilidad) {
+            this.idTipoEntrada = idTipoEntrada;
+            this.disponibilidad = disponibilidad;
+        }
+
+        public Integer getIdTipoEntrada() {
+            return idTipoEntrada;
+        }
+
+        public void setIdTipoEntrada(Integer idTipoEntrada) {
+            this.idTipoEntrada = idTipoEntrada;
+        }
+
+        public BandasDisponibilidad.Banda getDisponibilidad() {
+            return disponibilidad;
+        }
+
+        public void setDisponibilidad(BandasDisponibilidad.Banda disponibilidad) {
+            this.disponibilidad = disponibilidad;
+        }
+    }
+
+    public DisponibilidadDTO() {
+    }
+
+    public DisponibilidadDTO(Integer idFestival, long version, List<TipoDTO> tiposEntrada) {
+        this.idFestival = idFestival;
+        this.version = version;
+        this.tiposEntrada = tiposEntrada;
+    }
+
+    // --- Getters y Setters ---
+    public Integer getIdFestival() {
+        return idFestival;
+    }
+
+    public void setIdFestival(Integer idFestival) {
+        this.idFestival = idFestival;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<TipoDTO> getTiposEntrada() {
+        return tiposEntrada;
+    }
+
+    public void setTiposEntrada(List<TipoDTO> tiposEntrada) {
+        this.tiposEntrada = tiposEntrada;
+    }
+}
@@ -2,12 +2,14 @@ package com.beatpass.dto;
 
 import com.beatpass.model.EstadoEntrada;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.Objects;
 
 /**
  * DTO para representar una Entrada individual. Incluye información de la
- * entrada, asistente, festival y la imagen QR.
+ * entrada, asistente, festival y la ruta de la imagen QR.
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class EntradaDTO {
@@ -32,13 +34,46 @@ public class EntradaDTO {
     private String codigoUidPulsera;
 
     /**
-     * URL de datos (Base64) de la imagen del código QR generada.
+     * Ruta de la imagen PNG del código QR, relativa a la raíz de la API
+     * (/api). La imagen se genera bajo demanda.
      */
-    private String qrCodeImageDataUrl;
+    private String qrCodeImageUrl;
 
     public EntradaDTO() {
     }
 
+    /**
+     * Constructor de proyección para consultas JPQL (SELECT NEW). Las fechas
+     * llegan como LocalDateTime desde la entidad y se convierten igual que en
+     * EntradaMapper. La ruta de la imagen QR la completa el servicio.
+     */
+    public EntradaDTO(Integer idEntrada, String codigoQr, EstadoEntrada estado,
+            LocalDateTime fechaAsignacion, LocalDateTime fechaUso, Boolean requiereNominacion,
+            Integer idCompraEntrada, Integer idAsistente, String nombreAsistente, String emailAsistente,
+            Integer idEntradaOriginal, String tipoEntradaOriginal, Integer idFestival, String nombreFestival,
+            Integer idPulseraAsociada, String codigoUidPulsera) {
+        this.idEntrada = idEntrada;
+        this.codigoQr = codigoQr;
+        this.estado = estado;
+        this.fechaAsignacion = toDate(fechaAsignacion);
+        this.fechaUso = toDate(fechaUso);
+        this.requiereNominacion = requiereNominacion;
+        this.idCompraEntrada = idCompraEntrada;
+        this.idAsistente = idAsistente;
+        this.nombreAsistente = nombreAsistente;
+        this.emailAsistente = emailAsistente;
+        this.idEntradaOriginal = idEntradaOriginal;
+        this.tipoEntradaOriginal = tipoEntradaOriginal;
+        this.idFestival = idFestival;
+        this.nombreFestival = nombreFestival;
+        this.idPulseraAsociada = idPulseraAsociada;
+        this.codigoUidPulsera = codigoUidPulsera;
+    }
+
+    private static Date toDate(LocalDateTime fecha) {
+        return fecha != null ? Date.from(fecha.atZone(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
     // --- Getters y Setters ---
     public Integer getIdEntrada() {
         return idEntrada;
@@ -160,12 +195,12 @@ public class EntradaDTO {
         this.codigoUidPulsera = codigoUidPulsera;
     }
 
-    public String getQrCodeImageDataUrl() {
-        return qrCodeImageDataUrl;
+    public String getQrCodeImageUrl() {
+        return qrCodeImageUrl;
     }
 
-    public void setQrCodeImageDataUrl(String qrCodeImageDataUrl) {
-        this.qrCodeImageDataUrl = qrCodeImageDataUrl;
+    public void setQrCodeImageUrl(String qrCodeImageUrl) {
+        this.qrCodeImageUrl = qrCodeImageUrl;
     }
 
     public Boolean getRequiereNominacion() {
@@ -204,7 +239,6 @@ public class EntradaDTO {
                 + ", idAsistente=" + idAsistente
                 + ", tipoEntradaOriginal='" + tipoEntradaOriginal + '\''
                 + ", idFestival=" + idFestival
-                + ", qrCodeImageDataUrl='" + (qrCodeImageDataUrl != null ? qrCodeImageDataUrl.substring(0, Math.min(50, qrCodeImageDataUrl.length())) + "..." : "null") + '\''
                 + '}';
     }
 }
@@ -0,0 +1,87 @@
+package com.beatpass.dto;
+
+/**
+ * DTO con las estadísticas de una región de la caché de segundo nivel de
+ * Hibernate, acumuladas desde el arranque.
+ */
+public class EstadisticasCacheDTO {
+
+    private String region;
+    private long aciertos;
+    private long fallos;
+    private long escrituras;
+    private long elementosEnMemoria; // -1 si el proveedor no lo informa
+    private double tasaAciertos; // Porcentaje de aciertos sobre lecturas (0-100)
+
+    public EstadisticasCacheDTO() {
+    }
+
+    public EstadisticasCacheDTO(String region, long aciertos, long fallos, long escrituras, long elementosEnMemoria) {
+        this.region = region;
+        this.aciertos = aciertos;
+        this.fallos = fallos;
+        this.escrituras = escrituras;
+        this.elementosEnMemoria = elementosEnMemoria;
+        long lecturas = aciertos + fallos;
+        this.tasaAciertos = lecturas == 0 ? 0.0 : Math.round(aciertos * 10000.0 / lecturas) / 100.0;
+    }
+
+    // --- Getters y Setters ---
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public void setAciertos(long aciertos) {
+        this.aciertos = aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public void setFallos(long fallos) {
+        this.fallos = fallos;
+    }
+
+    public long getEscrituras() {
+        return escrituras;
+    }
+
+    public void setEscrituras(long escrituras) {
+        this.escrituras = escrituras;
+    }
+
+    public long getElementosEnMemoria() {
+        return elementosEnMemoria;
+    }
+
+    public void setElementosEnMemoria(long elementosEnMemoria) {
+        this.elementosEnMemoria = elementosEnMemoria;
+    }
+
+    public double getTasaAciertos() {
+        return tasaAciertos;
+    }
+
+    public void setTasaAciertos(double tasaAciertos) {
+        this.tasaAciertos = tasaAciertos;
+    }
+
+    @Override
+    public String toString() {
+        return "EstadisticasCacheDTO{"
+                + "region='" + region + '\''
+                + ", aciertos=" + aciertos
+                + ", fallos=" + fallos
+                + ", tasaAciertos=" + tasaAciertos
+                + '}';
+    }
+}
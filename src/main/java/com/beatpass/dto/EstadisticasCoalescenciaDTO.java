@@ -0,0 +1,133 @@
+package com.beatpass.dto;
+
+import java.util.List;
+
+/**
+ * DTO con las métricas de un punto de agrupación de lecturas concurrentes
+ * (single-flight), acumuladas desde el arranque o el último reinicio.
+ */
+public class EstadisticasCoalescenciaDTO {
+
+    private String nombre;
+    private long ejecuciones; // Cálculos realmente ejecutados
+    private long compartidas; // Peticiones que reutilizaron un cálculo en curso
+    private long errores;
+    private int enCurso;
+    private double tasaCompartidas; // Porcentaje de peticiones compartidas (0-100)
+    private List<ClaveDTO> clavesMasCompartidas;
+
+    /**
+     * Contadores de una clave concreta (etiquetada, sin datos sensibles).
+     */
+    public static class ClaveDTO {
+
+        private String clave;
+        private long ejecuciones;
+        private long compartidas;
+
+        public ClaveDTO() {
+        }
+
+        public ClaveDTO(String clave, long ejecuciones, long compartidas) {
+            this.clave = clave;
+            this.ejecuciones = ejecuciones;
+            this.compartidas = compartidas;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        public void setClave(String clave) {
+            this.clave = clave;
+        }
+
+        public long getEjecuciones() {
+            return ejecuciones;
+        }
+
+        public void setEjecuciones(long ejecuciones) {
+            this.ejecuciones = ejecuciones;
+        }
+
+        public long getCompartidas() {
+            return compartidas;
+        }
+
+        public void setCompartidas(long compartidas) {
+            this.compartidas = compartidas;
+        }
+    }
+
+    public EstadisticasCoalescenciaDTO() {
+    }
+
+    public EstadisticasCoalescenciaDTO(String nombre, long ejecuciones, long compartidas, long errores, int enCurso,
+            List<ClaveDTO> clavesMasCompartidas) {
+        this.nombre = nombre;
+        this.ejecuciones = ejecuciones;
+        this.compartidas = compartidas;
+        this.errores = errores;
+        this.enCurso = enCurso;
+        this.clavesMasCompartidas = clavesMasCompartidas;
+        long peticiones = ejecuciones + compartidas;
+        this.tasaCompartidas = peticiones == 0 ? 0.0 : Math.round(compartidas * 10000.0 / peticiones) / 100.0;
+    }
+
+    // --- Getters y Setters ---
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public long getEjecuciones() {
+        return ejecuciones;
+    }
+
+    public void setEjecuciones(long ejecuciones) {
+        this.ejecuciones = ejecuciones;
+    }
+
+    public long getCompartidas() {
+        return compartidas;
+    }
+
+    public void setCompartidas(long compartidas) {
+        this.compartidas = compartidas;
+    }
+
+    public long getErrores() {
+        return errores;
+    }
+
+    public void setErrores(long errores) {
+        this.errores = errores;
+    }
+
+    public int getEnCurso() {
+        return enCurso;
+    }
+
+    public void setEnCurso(int enCurso) {
+        this.enCurso = enCurso;
+    }
+
+    public double getTasaCompartidas() {
+        return tasaCompartidas;
+    }
+
+    public void setTasaCompartidas(double tasaCompartidas) {
+        this.tasaCompartidas = tasaCompartidas;
+    }
+
+    public List<ClaveDTO> getClavesMasCompartidas() {
+        return clavesMasCompartidas;
+    }
+
+    public void setClavesMasCompartidas(List<ClaveDTO> clavesMasCompartidas) {
+        this.clavesMasCompartidas = clavesMasCompartidas;
+    }
+}
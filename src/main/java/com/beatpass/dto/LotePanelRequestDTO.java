@@ -0,0 +1,30 @@
+package com.beatpass.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para la solicitud de un lote de consultas del panel del promotor, que
+ * se resuelven en paralelo y se devuelven en una sola respuesta.
+ */
+public class LotePanelRequestDTO {
+
+    @NotEmpty(message = "El lote debe contener al menos una sub-petición.")
+    @Size(max = 10, message = "El lote no puede contener más de 10 sub-peticiones.")
+    @Valid
+    private List<SubPeticionPanelDTO> peticiones;
+
+    public LotePanelRequestDTO() {
+    }
+
+    public List<SubPeticionPanelDTO> getPeticiones() {
+        return peticiones;
+    }
+
+    public void setPeticiones(List<SubPeticionPanelDTO> peticiones) {
+        this.peticiones = peticiones;
+    }
+}
@@ -0,0 +1,132 @@
+package com.beatpass.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO con la ocupación en tiempo real de un festival, calculada a partir de
+ * los contadores de accesos en memoria.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OcupacionFestivalDTO {
+
+    private Integer idFestival;
+    private Integer aforo;
+    private Long ocupacionActual;
+    private Long entradasTotales;
+    private Long salidasTotales;
+    private Long reentradas;
+    private Double porcentajeOcupacion;
+    private Integer umbralAlerta; // Porcentaje del aforo que dispara la alerta
+    private String nivelAlerta; // NORMAL, ALERTA o COMPLETO
+    private LocalDateTime fechaCalculo;
+
+    /**
+     * Flujo por puerta de acceso. Ej: {"NORTE": {"entradas": 120, "salidas":
+     * 15}}
+     */
+    private Map<String, Map<String, Long>> puertas;
+
+    public OcupacionFestivalDTO() {
+    }
+
+    // --- Getters y Setters ---
+    public Integer getIdFestival() {
+        return idFestival;
+    }
+
+    public void setIdFestival(Integer idFestival) {
+        this.idFestival = idFestival;
+    }
+
+    public Integer getAforo() {
+        return aforo;
+    }
+
+    public void setAforo(Integer aforo) {
+        this.aforo = aforo;
+    }
+
+    public Long getOcupacionActual() {
+        return ocupacionActual;
+    }
+
+    public void setOcupacionActual(Long ocupacionActual) {
+        this.ocupacionActual = ocupacionActual;
+    }
+
+    public Long getEntradasTotales() {
+        return entradasTotales;
+    }
+
+    public void setEntradasTotales(Long entradasTotales) {
+        this.entradasTotales = entradasTotales;
+    }
+
+    public Long getSalidasTotales() {
+        return salidasTotales;
+    }
+
+    public void setSalidasTotales(Long salidasTotales) {
+        this.salidasTotales = salidasTotales;
+    }
+
+    public Long getReentradas() {
+        return reentradas;
+    }
+
+    public void setReentradas(Long reentradas) {
+        this.reentradas = reentradas;
+    }
+
+    public Double getPorcentajeOcupacion() {
+        return porcentajeOcupacion;
+    }
+
+    public void setPorcentajeOcupacion(Double porcentajeOcupacion) {
+        this.porcentajeOcupacion = porcentajeOcupacion;
+    }
+
+    public Integer getUmbralAlerta() {
+        return umbralAlerta;
+    }
+
+    public void setUmbralAlerta(Integer umbralAlerta) {
+        this.umbralAlerta = umbralAlerta;
+    }
+
+    public String getNivelAlerta() {
+        return nivelAlerta;
+    }
+
+    public void setNivelAlerta(String nivelAlerta) {
+        this.nivelAlerta = nivelAlerta;
+    }
+
+    public LocalDateTime getFechaCalculo() {
+        return fechaCalculo;
+    }
+
+    public void setFechaCalculo(LocalDateTime fechaCalculo) {
+        this.fechaCalculo = fechaCalculo;
+    }
+
+    public Map<String, Map<String, Long>> getPuertas() {
+        return puertas;
+    }
+
+    public void setPuertas(Map<String, Map<String, Long>> puertas) {
+        this.puertas = puertas;
+    }
+
+    @Override
+    public String toString() {
+        return "OcupacionFestivalDTO{"
+                + "idFestival=" + idFestival
+                + ", aforo=" + aforo
+                + ", ocupacionActual=" + ocupacionActual
+                + ", nivelAlerta='" + nivelAlerta + '\''
+                + '}';
+    }
+}
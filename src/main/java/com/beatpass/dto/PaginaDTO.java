@@ -0,0 +1,68 @@
+package com.beatpass.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados de un listado paginado por cursor (keyset). El cursor
+ * es opaco para el cliente y se devuelve tal cual para pedir la siguiente
+ * página.
+ *
+ * @param <T> Tipo de los elementos de la página.
+ */
+public class PaginaDTO<T> {
+
+    private List<T> items;
+    private String siguienteCursor; // null si es la última página
+    private Integer limite; // Tamaño de página aplicado
+
+    public PaginaDTO() {
+    }
+
+    public PaginaDTO(List<T> items, String siguienteCursor) {
+        this.items = items;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public PaginaDTO(List<T> items, String siguienteCursor, Integer limite) {
+        this(items, siguienteCursor);
+        this.limite = limite;
+    }
+
+    // --- Getters y Setters ---
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(String siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public Integer getLimite() {
+        return limite;
+    }
+
+    public void setLimite(Integer limite) {
+        this.limite = limite;
+    }
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaDTO{"
+                + "items=" + (items != null ? items.size() : 0)
+                + ", siguienteCursor='" + siguienteCursor + '\''
+                + ", limite=" + limite
+                + '}';
+    }
+}
@@ -30,6 +30,28 @@ public class PulseraNFCDTO {
     public PulseraNFCDTO() {
     }
 
+    /**
+     * Constructor de proyección para consultas JPQL (SELECT NEW).
+     */
+    public PulseraNFCDTO(Integer idPulsera, String codigoUid, BigDecimal saldo, Boolean activa,
+            LocalDateTime fechaAlta, LocalDateTime ultimaModificacion,
+            Integer idEntrada, String qrEntrada, Integer idAsistente, String nombreAsistente, String emailAsistente,
+            Integer idFestival, String nombreFestival) {
+        this.idPulsera = idPulsera;
+        this.codigoUid = codigoUid;
+        this.saldo = saldo;
+        this.activa = activa;
+        this.fechaAlta = fechaAlta;
+        this.ultimaModificacion = ultimaModificacion;
+        this.idEntrada = idEntrada;
+        this.qrEntrada = qrEntrada;
+        this.idAsistente = idAsistente;
+        this.nombreAsistente = nombreAsistente;
+        this.emailAsistente = emailAsistente;
+        this.idFestival = idFestival;
+        this.nombreFestival = nombreFestival;
+    }
+
     // --- Getters y Setters ---
     public Integer getIdPulsera() {
         return idPulsera;
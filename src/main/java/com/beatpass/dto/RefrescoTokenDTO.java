@@ -0,0 +1,33 @@
+package com.beatpass.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO para recibir el token de refresco en las peticiones de renovación del
+ * token de acceso.
+ */
+public class RefrescoTokenDTO {
+
+    @NotBlank(message = "El token de refresco es obligatorio.")
+    private String refreshToken;
+
+    public RefrescoTokenDTO() {
+    }
+
+    // --- Getters y Setters ---
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // --- toString ---
+    @Override
+    public String toString() {
+        return "RefrescoTokenDTO{"
+                + "refreshToken='[PROTEGIDO]'"
+                + '}';
+    }
+}
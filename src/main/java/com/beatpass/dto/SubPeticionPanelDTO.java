@@ -0,0 +1,72 @@
+package com.beatpass.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO de una sub-petición dentro de un lote del panel del promotor. Cada
+ * sub-petición equivale a una de las consultas de un festival (detalle, tipos
+ * de entrada, entradas, asistentes, compras o pulseras).
+ */
+public class SubPeticionPanelDTO {
+
+    @NotBlank(message = "El identificador de la sub-petición es obligatorio.")
+    @Size(max = 50, message = "El identificador no puede exceder los 50 caracteres.")
+    private String id;
+
+    @NotBlank(message = "El recurso de la sub-petición es obligatorio.")
+    private String recurso; // festival, tiposEntrada, entradas, asistentes, compras o pulseras
+
+    @NotNull(message = "El ID del festival es obligatorio.")
+    @Positive(message = "El ID del festival no es válido.")
+    private Integer idFestival;
+
+    private String cursor; // Solo listados paginados (entradas, compras, pulseras)
+
+    private Integer limite;
+
+    public SubPeticionPanelDTO() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getRecurso() {
+        return recurso;
+    }
+
+    public void setRecurso(String recurso) {
+        this.recurso = recurso;
+    }
+
+    public Integer getIdFestival() {
+        return idFestival;
+    }
+
+    public void setIdFestival(Integer idFestival) {
+        this.idFestival = idFestival;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimite() {
+        return limite;
+    }
+
+    public void setLimite(Integer limite) {
+        this.limite = limite;
+    }
+}
@@ -1,5 +1,6 @@
 package com.beatpass.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -25,8 +26,13 @@ public class TipoEntradaDTO {
     @Digits(integer = 6, fraction = 2, message = "Formato de precio inválido (máx 999999.99).")
     private BigDecimal precio;
 
+    /**
+     * Stock restante. Se omite en el catálogo público, que no lo incluye: la
+     * disponibilidad publicada la sirve DisponibilidadService.
+     */
     @NotNull(message = "El stock no puede ser nulo.")
     @Min(value = 0, message = "El stock no puede ser negativo.")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Integer stock;
 
     private Boolean requiereNominacion;
@@ -4,7 +4,8 @@ import jakarta.validation.constraints.NotBlank;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
- * DTO simple para encapsular y devolver un token JWT.
+ * DTO simple para encapsular y devolver un token JWT de acceso y, al hacer
+ * login, el token de refresco con el que renovarlo.
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class TokenDTO {
@@ -15,6 +16,8 @@ public class TokenDTO {
     private String userName;
     private String userRole;
     private Boolean cambioPasswordRequerido;
+    private String refreshToken;
+    private Long expiracionSegundos; // Validez del token de acceso
 
     public TokenDTO() {
     }
@@ -83,6 +86,22 @@ public class TokenDTO {
         this.cambioPasswordRequerido = cambioPasswordRequerido;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public Long getExpiracionSegundos() {
+        return expiracionSegundos;
+    }
+
+    public void setExpiracionSegundos(Long expiracionSegundos) {
+        this.expiracionSegundos = expiracionSegundos;
+    }
+
     @Override
     public String toString() {
         return "TokenDTO{"
@@ -91,6 +110,8 @@ public class TokenDTO {
                 + ", userName='" + userName + '\''
                 + ", userRole='" + userRole + '\''
                 + ", cambioPasswordRequerido=" + cambioPasswordRequerido
+                + ", refreshToken=" + (refreshToken != null ? "[PROTEGIDO]" : "null")
+                + ", expiracionSegundos=" + expiracionSegundos
                 + '}';
     }
 }
@@ -24,6 +24,22 @@ public class UsuarioDTO {
     public UsuarioDTO() {
     }
 
+    /**
+     * Constructor de proyección para consultas JPQL (SELECT NEW), sin leer la
+     * contraseña ni las colecciones del usuario.
+     */
+    public UsuarioDTO(Integer idUsuario, String nombre, String email, RolUsuario rol, Boolean estado,
+            Boolean cambioPasswordRequerido, LocalDateTime fechaCreacion, LocalDateTime fechaModificacion) {
+        this.idUsuario = idUsuario;
+        this.nombre = nombre;
+        this.email = email;
+        this.rol = rol;
+        this.estado = estado;
+        this.cambioPasswordRequerido = cambioPasswordRequerido;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaModificacion = fechaModificacion;
+    }
+
     // --- Getters y Setters ---
     public Integer getIdUsuario() {
         return idUsuario;
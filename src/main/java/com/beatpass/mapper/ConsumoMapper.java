@@ -0,0 +1,22 @@
+package com.beatpass.mapper;
+
+import com.beatpass.dto.ConsumoDTO;
+import com.beatpass.model.Consumo;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+@Mapper(componentModel = "jakarta")
+public interface ConsumoMapper {
+
+    ConsumoMapper INSTANCE = Mappers.getMapper(ConsumoMapper.class);
+
+    @Mapping(source = "pulseraNFC.idPulsera", target = "idPulsera")
+    @Mapping(source = "pulseraNFC.codigoUid", target = "codigoUidPulsera")
+    @Mapping(source = "festival.idFestival", target = "idFestival")
+    ConsumoDTO consumoToConsumoDTO(Consumo consumo);
+
+    List<ConsumoDTO> toConsumoDTOList(List<Consumo> consumos);
+}
@@ -2,7 +2,6 @@ package com.beatpass.mapper;
 
 import com.beatpass.dto.EntradaDTO;
 import com.beatpass.model.Entrada;
-import com.beatpass.util.QRCodeUtil;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -30,15 +29,16 @@ public interface EntradaMapper {
     @Mapping(source = "pulseraAsociada.codigoUid", target = "codigoUidPulsera")
     @Mapping(target = "fechaAsignacion", source = "fechaAsignacion", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
     @Mapping(target = "fechaUso", source = "fechaUso", dateFormat = "yyyy-MM-dd'T'HH:mm:ss")
-    @Mapping(target = "qrCodeImageDataUrl", source = "codigoQr", qualifiedByName = "generateQrImage")
+    @Mapping(target = "qrCodeImageUrl", source = "codigoQr", qualifiedByName = "buildQrImageUrl")
     EntradaDTO entradaToEntradaDTO(Entrada entrada);
 
     List<EntradaDTO> toEntradaDTOList(List<Entrada> entradas);
 
-    @Named("generateQrImage")
-    default String generateQrImage(String codigoQr) {
+    // La imagen no se genera aquí: se sirve bajo demanda y cacheada desde EntradaResource
+    @Named("buildQrImageUrl")
+    default String buildQrImageUrl(String codigoQr) {
         if (codigoQr != null && !codigoQr.isBlank()) {
-            return QRCodeUtil.generarQrComoBase64(codigoQr, 100, 100);
+            return "entradas/" + codigoQr + "/qr.png";
         }
         return null;
     }
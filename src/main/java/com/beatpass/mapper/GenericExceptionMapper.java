@@ -18,7 +18,9 @@ import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.NotAuthorizedException;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -32,7 +34,8 @@ import java.util.Map;
  * Mapeador de excepciones global para JAX-RS. Convierte excepciones lanzadas
  * por los recursos o servicios en respuestas HTTP con formato JSON
  * estandarizado. Captura RuntimeException y excepciones WebApplicationException
- * (como NotFoundException, ForbiddenException, etc.).
+ * (como NotFoundException, ForbiddenException, etc.). De estas últimas se
+ * conservan las cabeceras de la respuesta original (p. ej. Retry-After).
  */
 @Provider
 public class GenericExceptionMapper implements ExceptionMapper<RuntimeException> {
@@ -44,11 +47,13 @@ public class GenericExceptionMapper implements ExceptionMapper<RuntimeException>
         Response.Status status;
         String message;
         Map<String, String> errorResponse = new HashMap<>();
+        MultivaluedMap<String, Object> cabeceras = null;
 
         // Manejo específico para WebApplicationException (lanzadas directamente por JAX-RS o tus recursos)
         if (exception instanceof WebApplicationException) {
             WebApplicationException wae = (WebApplicationException) exception;
             status = Response.Status.fromStatusCode(wae.getResponse().getStatus());
+            cabeceras = wae.getResponse().getHeaders();
             message = wae.getMessage(); // O un mensaje más genérico si el de la excepción no es para el cliente
             log.warn("WebApplicationException capturada: Status={}, Message='{}'", status.getStatusCode(), message);
             if (message == null || message.isBlank()) {
@@ -95,9 +100,16 @@ public class GenericExceptionMapper implements ExceptionMapper<RuntimeException>
         }
 
         errorResponse.put("error", message);
-        return Response.status(status)
+        Response.ResponseBuilder builder = Response.status(status)
                 .entity(errorResponse)
-                .type(MediaType.APPLICATION_JSON)
-                .build();
+                .type(MediaType.APPLICATION_JSON);
+        if (cabeceras != null) {
+            cabeceras.forEach((nombre, valores) -> {
+                if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(nombre)) {
+                    valores.forEach(valor -> builder.header(nombre, valor));
+                }
+            });
+        }
+        return builder.build();
     }
 }
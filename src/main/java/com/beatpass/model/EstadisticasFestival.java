@@ -39,6 +39,19 @@ public class EstadisticasFestival implements Serializable {
     @Column(name = "saldo_no_reclamado", nullable = false, precision = 12, scale = 2, columnDefinition = "DECIMAL(12,2) DEFAULT 0.00")
     private BigDecimal saldoNoReclamado = BigDecimal.ZERO;
 
+    /**
+     * Asistentes dentro del recinto en el último volcado de los contadores de
+     * aforo en memoria.
+     */
+    @Column(name = "ocupacion_actual", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer ocupacionActual = 0;
+
+    @Column(name = "accesos_totales", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer accesosTotales = 0;
+
+    @Column(name = "salidas_totales", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer salidasTotales = 0;
+
     @Column(name = "ultima_actualizacion")
     private LocalDateTime ultimaActualizacion;
 
@@ -103,6 +116,30 @@ public class EstadisticasFestival implements Serializable {
         this.saldoNoReclamado = saldoNoReclamado;
     }
 
+    public Integer getOcupacionActual() {
+        return ocupacionActual;
+    }
+
+    public void setOcupacionActual(Integer ocupacionActual) {
+        this.ocupacionActual = ocupacionActual;
+    }
+
+    public Integer getAccesosTotales() {
+        return accesosTotales;
+    }
+
+    public void setAccesosTotales(Integer accesosTotales) {
+        this.accesosTotales = accesosTotales;
+    }
+
+    public Integer getSalidasTotales() {
+        return salidasTotales;
+    }
+
+    public void setSalidasTotales(Integer salidasTotales) {
+        this.salidasTotales = salidasTotales;
+    }
+
     public LocalDateTime getUltimaActualizacion() {
         return ultimaActualizacion;
     }
@@ -148,6 +185,7 @@ public class EstadisticasFestival implements Serializable {
                 + ", ingresosEntradas=" + ingresosEntradas
                 + ", recargasTotales=" + recargasTotales
                 + ", consumosTotales=" + consumosTotales
+                + ", ocupacionActual=" + ocupacionActual
                 + '}';
     }
 }
@@ -1,6 +1,10 @@
 package com.beatpass.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -14,10 +18,12 @@ import java.util.Set;
 
 /**
  * Entidad JPA que representa un evento de festival. Mapea la tabla
- * 'festivales'.
+ * 'festivales'. Se guarda en la caché de segundo nivel (región 'festival').
  */
 @Entity
 @Table(name = "festivales")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "festival")
 public class Festival implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -59,9 +65,11 @@ public class Festival implements Serializable {
     @Column(name = "estado", nullable = false, columnDefinition = "ENUM('BORRADOR', 'PUBLICADO', 'CANCELADO', 'FINALIZADO') DEFAULT 'BORRADOR'")
     private EstadoFestival estado = EstadoFestival.BORRADOR;
 
+    @Generated(event = EventType.INSERT)
     @Column(name = "fecha_creacion", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP", insertable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
     @Column(name = "fecha_modificacion", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP", insertable = false, updatable = false)
     private LocalDateTime fechaModificacion;
 
@@ -76,9 +84,11 @@ public class Festival implements Serializable {
 
     /**
      * Tipos de entrada definidos para este festival. Relación uno a muchos.
-     * Cascade ALL, Fetch LAZY, orphanRemoval true.
+     * Cascade ALL, Fetch LAZY, orphanRemoval true. Cacheada (región
+     * 'festival.tiposEntrada').
      */
     @OneToMany(mappedBy = "festival", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "festival.tiposEntrada")
     private Set<TipoEntrada> tiposEntrada = new HashSet<>();
 
     /**
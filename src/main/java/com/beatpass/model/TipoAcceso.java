@@ -0,0 +1,15 @@
+package com.beatpass.model;
+
+/**
+ * Sentido de un escaneo de pulsera en un control de acceso del recinto.
+ */
+public enum TipoAcceso {
+    /**
+     * El asistente entra al recinto (incluye reentradas).
+     */
+    ENTRADA,
+    /**
+     * El asistente sale del recinto.
+     */
+    SALIDA
+}
@@ -1,6 +1,10 @@
 package com.beatpass.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,10 +19,13 @@ import java.util.Set;
 
 /**
  * Entidad JPA que representa un tipo de entrada disponible para un festival.
- * Mapea la tabla 'tipos_entrada'.
+ * Mapea la tabla 'tipos_entrada'. Se guarda en la caché de segundo nivel
+ * (región 'tipoEntrada').
  */
 @Entity
 @Table(name = "tipos_entrada")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tipoEntrada")
 public class TipoEntrada implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -46,9 +53,11 @@ public class TipoEntrada implements Serializable {
     @Column(name = "stock", nullable = false)
     private Integer stock;
 
+    @Generated(event = EventType.INSERT)
     @Column(name = "fecha_creacion", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP", insertable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
     @Column(name = "fecha_modificacion", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP", insertable = false, updatable = false)
     private LocalDateTime fechaModificacion;
 
@@ -0,0 +1,117 @@
+package com.beatpass.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidad JPA que representa una revocación de tokens JWT. Mapea la tabla
+ * 'tokens_revocados'.
+ * <p>
+ * El ID es el identificador (jti) del token revocado o, para revocar todos los
+ * tokens de un usuario, {@code usuario:<idUsuario>}; en ese caso quedan
+ * revocados los emitidos hasta {@code revocadoDesde}. La fila deja de ser
+ * necesaria, y se purga, pasada su expiración.
+ * </p>
+ */
+@Entity
+@Table(name = "tokens_revocados")
+public class TokenRevocado implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @NotNull(message = "El identificador del token no puede ser nulo.")
+    @Size(max = 64, message = "El identificador del token no puede exceder los 64 caracteres.")
+    @Column(name = "id_token", length = 64, nullable = false)
+    private String idToken;
+
+    /**
+     * Usuario dueño de los tokens. Sin FK: la revocación debe sobrevivir a la
+     * eliminación del usuario.
+     */
+    @Column(name = "id_usuario")
+    private Integer idUsuario;
+
+    @NotNull(message = "La fecha de revocación no puede ser nula.")
+    @Column(name = "revocado_desde", nullable = false)
+    private LocalDateTime revocadoDesde;
+
+    @NotNull(message = "La fecha de expiración no puede ser nula.")
+    @Column(name = "expiracion", nullable = false)
+    private LocalDateTime expiracion;
+
+    public TokenRevocado() {
+    }
+
+    public TokenRevocado(String idToken, Integer idUsuario, LocalDateTime revocadoDesde, LocalDateTime expiracion) {
+        this.idToken = idToken;
+        this.idUsuario = idUsuario;
+        this.revocadoDesde = revocadoDesde;
+        this.expiracion = expiracion;
+    }
+
+    // --- Getters y Setters ---
+    public String getIdToken() {
+        return idToken;
+    }
+
+    public void setIdToken(String idToken) {
+        this.idToken = idToken;
+    }
+
+    public Integer getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Integer idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public LocalDateTime getRevocadoDesde() {
+        return revocadoDesde;
+    }
+
+    public void setRevocadoDesde(LocalDateTime revocadoDesde) {
+        this.revocadoDesde = revocadoDesde;
+    }
+
+    public LocalDateTime getExpiracion() {
+        return expiracion;
+    }
+
+    public void setExpiracion(LocalDateTime expiracion) {
+        this.expiracion = expiracion;
+    }
+
+    // --- equals, hashCode y toString ---
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TokenRevocado that = (TokenRevocado) o;
+        return idToken != null && Objects.equals(idToken, that.idToken);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idToken);
+    }
+
+    @Override
+    public String toString() {
+        return "TokenRevocado{"
+                + "idToken='" + idToken + '\''
+                + ", idUsuario=" + idUsuario
+                + ", revocadoDesde=" + revocadoDesde
+                + ", expiracion=" + expiracion
+                + '}';
+    }
+}
@@ -1,6 +1,10 @@
 package com.beatpass.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -13,12 +17,15 @@ import java.util.Set;
 
 /**
  * Entidad JPA que representa un usuario del sistema (ADMIN, PROMOTOR, CAJERO).
- * Mapea la tabla 'usuarios'.
+ * Mapea la tabla 'usuarios'. Se guarda en la caché de segundo nivel (región
+ * 'usuario').
  */
 @Entity
 @Table(name = "usuarios", uniqueConstraints = {
     @UniqueConstraint(columnNames = "email", name = "uq_usuario_email")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario")
 public class Usuario implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -57,9 +64,11 @@ public class Usuario implements Serializable {
     @Column(name = "cambio_password_requerido", nullable = false, columnDefinition = "BOOLEAN DEFAULT TRUE")
     private Boolean cambioPasswordRequerido = true; // Requiere cambio por defecto
 
+    @Generated(event = EventType.INSERT)
     @Column(name = "fecha_creacion", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP", insertable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
     @Column(name = "fecha_modificacion", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP", insertable = false, updatable = false)
     private LocalDateTime fechaModificacion;
 
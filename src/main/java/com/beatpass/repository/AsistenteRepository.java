@@ -1,9 +1,12 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.AsistenteDTO;
 import com.beatpass.model.Asistente;
 import jakarta.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfaz DAO para la entidad Asistente. Define las operaciones de
@@ -56,6 +59,20 @@ public interface AsistenteRepository {
      */
     List<Asistente> findAll(EntityManager em);
 
+    /**
+     * Busca una página de asistentes cuyo nombre o email contengan el término
+     * (sin distinguir mayúsculas). Paginación keyset por email, que es único e
+     * indexado.
+     *
+     * @param em El EntityManager activo.
+     * @param termino Término de búsqueda, o null/vacío para todos.
+     * @param despuesDeEmail Email del último asistente de la página anterior,
+     * o null para la primera página.
+     * @param limite Número máximo de filas a devolver.
+     * @return Una lista (posiblemente vacía) de asistentes.
+     */
+    List<Asistente> buscarPagina(EntityManager em, String termino, String despuesDeEmail, int limite);
+
     /**
      * Elimina un asistente. Debe ejecutarse dentro de una transacción activa.
      *
@@ -65,31 +82,42 @@ public interface AsistenteRepository {
     void delete(EntityManager em, Asistente asistente);
 
     /**
-     * Busca los detalles de los asistentes para un festival específico,
-     * incluyendo información de sus entradas y pulseras asociadas.
-     * <p>
-     * Esta consulta está optimizada para devolver una lista plana de
-     * resultados, uniendo Asistente, Entrada, Festival y PulseraNFC en una sola
-     * llamada a la base de datos para evitar el problema N+1.
+     * Obtiene los asistentes con entradas de un festival proyectados
+     * directamente a DTO, con el UID de su pulsera en ese festival, en una
+     * sola consulta y sin cargar entidades gestionadas. Si un asistente tiene
+     * varias pulseras en el festival se devuelve una (la mayor por UID).
+     * Paginación keyset por (nombre, ID) ascendente.
+     *
+     * @param em El EntityManager activo.
+     * @param idFestival El ID del festival.
+     * @param despuesDeNombre Nombre del último asistente de la página
+     * anterior, o null para la primera página.
+     * @param despuesDeId ID del último asistente de la página anterior.
+     * @param limite Número máximo de filas a devolver.
+     * @return Una lista (posiblemente vacía) de AsistenteDTO, una fila por
+     * asistente.
+     */
+    List<AsistenteDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, String despuesDeNombre, Integer despuesDeId, int limite);
+
+    /**
+     * Busca asistentes por sus IDs (sin orden garantizado).
      *
      * @param em El EntityManager activo.
-     * @param idFestival El ID del festival para el cual se buscan los
-     * asistentes.
-     * @return Una lista de arrays de objetos (List<Object[]>), donde cada array
-     * representa una combinación única de asistente-festival y contiene los
-     * siguientes datos en orden:
-     * <ul>
-     * <li>[0]: {@link Integer} - ID del Asistente (a.idAsistente)</li>
-     * <li>[1]: {@link String} - Nombre del Asistente (a.nombre)</li>
-     * <li>[2]: {@link String} - Email del Asistente (a.email)</li>
-     * <li>[3]: {@link String} - Teléfono del Asistente (a.telefono)</li>
-     * <li>[4]: {@link java.time.LocalDateTime} - Fecha de Creación del
-     * Asistente (a.fechaCreacion)</li>
-     * <li>[5]: {@link String} - Nombre del Festival (f.nombre)</li>
-     * <li>[6]: {@link String} - UID de la Pulsera (p.codigoUid), puede ser
-     * null</li>
-     * </ul>
+     * @param ids IDs a buscar.
+     * @return Una lista (posiblemente vacía) de asistentes.
      */
-    List<Object[]> findAsistenteDetailsByFestivalId(EntityManager em, Integer idFestival);
+    List<Asistente> findByIds(EntityManager em, Collection<Integer> ids);
 
+    /**
+     * Recorre los datos de búsqueda de todos los asistentes (filas
+     * {id, nombre, email} ordenadas por ID) mediante un cursor de solo
+     * avance, para cargar el índice de trigramas. Los errores se propagan
+     * para no dar por cargado un índice incompleto. El Stream debe cerrarse.
+     *
+     * @param em El EntityManager activo, abierto mientras se consume el
+     * Stream.
+     * @param tamanoLote Filas a pedir al driver en cada lectura.
+     * @return Un Stream de filas {id, nombre, email}.
+     */
+    Stream<Object[]> streamDatosBusqueda(EntityManager em, int tamanoLote);
 }
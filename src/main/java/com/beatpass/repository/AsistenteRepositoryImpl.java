@@ -1,13 +1,17 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.AsistenteDTO;
 import com.beatpass.model.Asistente;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -150,14 +154,16 @@ public class AsistenteRepositoryImpl implements AsistenteRepository {
     }
 
     @Override
-    public List<Object[]> findAsistenteDetailsByFestivalId(EntityManager em, Integer idFestival) {
-        log.debug("Buscando detalles de Asistentes para Festival ID: {}", idFestival);
+    public List<AsistenteDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, String despuesDeNombre, Integer despuesDeId, int limite) {
+        log.debug("Proyectando AsistenteDTO para Festival ID: {} (después de {}/{}, límite {})", idFestival, despuesDeNombre, despuesDeId, limite);
         if (idFestival == null) {
-            log.warn("Intento de buscar detalles de asistentes para un ID de festival nulo.");
+            log.warn("Intento de buscar asistentes para un ID de festival nulo.");
             return Collections.emptyList();
         }
         try {
-            String jpql = "SELECT DISTINCT a.idAsistente, a.nombre, a.email, a.telefono, a.fechaCreacion, f.nombre, p.codigoUid "
+            // Una fila por asistente: el festival es fijo y la pulsera se agrega
+            String jpql = "SELECT NEW com.beatpass.dto.AsistenteDTO("
+                    + "a.idAsistente, a.nombre, a.email, a.telefono, a.fechaCreacion, f.nombre, MAX(p.codigoUid)) "
                     + "FROM Asistente a "
                     + "JOIN a.entradas ea "
                     + "JOIN ea.compraEntrada ce "
@@ -165,14 +171,77 @@ public class AsistenteRepositoryImpl implements AsistenteRepository {
                     + "JOIN te.festival f "
                     + "LEFT JOIN ea.pulseraAsociada p "
                     + "WHERE f.idFestival = :festivalId "
-                    + "ORDER BY a.nombre, f.nombre";
+                    + (despuesDeNombre != null
+                            ? "AND (a.nombre > :despuesDeNombre OR (a.nombre = :despuesDeNombre AND a.idAsistente > :despuesDeId)) "
+                            : "")
+                    + "GROUP BY a.idAsistente, a.nombre, a.email, a.telefono, a.fechaCreacion, f.nombre "
+                    + "ORDER BY a.nombre, a.idAsistente";
 
-            TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+            TypedQuery<AsistenteDTO> query = em.createQuery(jpql, AsistenteDTO.class);
             query.setParameter("festivalId", idFestival);
+            if (despuesDeNombre != null) {
+                query.setParameter("despuesDeNombre", despuesDeNombre);
+                query.setParameter("despuesDeId", despuesDeId);
+            }
+            query.setMaxResults(limite);
             return query.getResultList();
         } catch (Exception e) {
-            log.error("Error buscando detalles de Asistentes para Festival ID {}: {}", idFestival, e.getMessage(), e);
+            log.error("Error proyectando AsistenteDTO para Festival ID {}: {}", idFestival, e.getMessage(), e);
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public List<Asistente> buscarPagina(EntityManager em, String termino, String despuesDeEmail, int limite) {
+        log.debug("Buscando página de Asistentes. Término: '{}', después de: {}, límite: {}", termino, despuesDeEmail, limite);
+        boolean filtrar = termino != null && !termino.isBlank();
+        try {
+            StringBuilder jpql = new StringBuilder("SELECT a FROM Asistente a WHERE 1 = 1 ");
+            if (filtrar) {
+                jpql.append("AND (lower(a.nombre) LIKE :term OR lower(a.email) LIKE :term) ");
+            }
+            if (despuesDeEmail != null) {
+                jpql.append("AND a.email > :despuesDeEmail ");
+            }
+            jpql.append("ORDER BY a.email");
+
+            TypedQuery<Asistente> query = em.createQuery(jpql.toString(), Asistente.class);
+            if (filtrar) {
+                query.setParameter("term", "%" + termino.toLowerCase() + "%");
+            }
+            if (despuesDeEmail != null) {
+                query.setParameter("despuesDeEmail", despuesDeEmail);
+            }
+            query.setMaxResults(limite);
+            return query.getResultList();
+        } catch (Exception e) {
+            log.error("Error buscando página de Asistentes (término '{}'): {}", termino, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<Asistente> findByIds(EntityManager em, Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return em.createQuery("SELECT a FROM Asistente a WHERE a.idAsistente IN :ids", Asistente.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Error buscando asistentes por IDs ({} IDs): {}", ids.size(), e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Stream<Object[]> streamDatosBusqueda(EntityManager em, int tamanoLote) {
+        log.debug("Recorriendo datos de búsqueda de asistentes (lote {})", tamanoLote);
+        TypedQuery<Object[]> query = em.createQuery(
+                "SELECT a.idAsistente, a.nombre, a.email FROM Asistente a ORDER BY a.idAsistente", Object[].class);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, tamanoLote);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
 }
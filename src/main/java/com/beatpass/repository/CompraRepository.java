@@ -1,7 +1,9 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.CompraDTO;
 import com.beatpass.model.Compra;
 import jakarta.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,4 +49,30 @@ public interface CompraRepository {
      */
     List<Compra> findByFestivalId(EntityManager em, Integer idFestival);
 
+    /**
+     * Obtiene una página de las compras de un Festival proyectadas
+     * directamente a DTO, sin cargar entidades gestionadas. Paginación keyset
+     * por ID descendente (más recientes primero): el ID se asigna al insertar,
+     * igual que la fecha de compra, y a diferencia de esta nunca es nulo.
+     *
+     * @param em El EntityManager activo.
+     * @param idFestival El ID del Festival.
+     * @param despuesDeId ID de la última compra de la página anterior, o null
+     * para la primera página.
+     * @param limite Número máximo de filas a devolver.
+     * @return Una lista (posiblemente vacía) de CompraDTO, sin el resumen de
+     * entradas.
+     */
+    List<CompraDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, Integer despuesDeId, int limite);
+
+    /**
+     * Obtiene las líneas de detalle de un conjunto de compras como datos
+     * planos: [idCompra, cantidad, tipo de entrada].
+     *
+     * @param em El EntityManager activo.
+     * @param idsCompra IDs de las compras.
+     * @return Una lista (posiblemente vacía) de filas.
+     */
+    List<Object[]> findResumenDetallesByCompraIds(EntityManager em, Collection<Integer> idsCompra);
+
 }
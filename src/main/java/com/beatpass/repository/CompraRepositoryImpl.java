@@ -1,9 +1,12 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.CompraDTO;
 import com.beatpass.model.Compra;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +20,8 @@ public class CompraRepositoryImpl implements CompraRepository {
 
     private static final Logger log = LoggerFactory.getLogger(CompraRepositoryImpl.class);
 
+    private static final int TAMANO_LOTE_IN = 1000;
+
     @Override
     public Compra save(EntityManager em, Compra compra) {
         if (compra == null) {
@@ -104,4 +109,64 @@ public class CompraRepositoryImpl implements CompraRepository {
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public List<CompraDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, Integer despuesDeId, int limite) {
+        log.debug("Proyectando CompraDTO para Festival ID: {} (después de {}, límite {})", idFestival, despuesDeId, limite);
+        if (idFestival == null) {
+            log.warn("Intento de proyectar compras para un ID de festival nulo.");
+            return Collections.emptyList();
+        }
+        try {
+            // EXISTS en lugar de JOIN + DISTINCT: una fila por compra sin ordenar duplicados
+            String jpql = "SELECT NEW com.beatpass.dto.CompraDTO("
+                    + "c.idCompra, c.fechaCompra, c.total, co.idComprador, co.nombre, co.email, "
+                    + "c.stripePaymentIntentId, c.estadoPago, c.fechaPagoConfirmado) "
+                    + "FROM Compra c "
+                    + "JOIN c.comprador co "
+                    + "WHERE EXISTS (SELECT 1 FROM CompraEntrada ce "
+                    + "WHERE ce.compra = c AND ce.tipoEntrada.festival.idFestival = :festivalId) "
+                    + (despuesDeId != null ? "AND c.idCompra < :despuesDeId " : "")
+                    // Por ID y no por fecha: fecha_compra admite nulos y no serviría como clave del cursor
+                    + "ORDER BY c.idCompra DESC";
+
+            TypedQuery<CompraDTO> query = em.createQuery(jpql, CompraDTO.class);
+            query.setParameter("festivalId", idFestival);
+            if (despuesDeId != null) {
+                query.setParameter("despuesDeId", despuesDeId);
+            }
+            query.setMaxResults(limite);
+            return query.getResultList();
+        } catch (Exception e) {
+            log.error("Error proyectando CompraDTO para Festival ID {}: {}", idFestival, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<Object[]> findResumenDetallesByCompraIds(EntityManager em, Collection<Integer> idsCompra) {
+        if (idsCompra == null || idsCompra.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            String jpql = "SELECT ce.compra.idCompra, ce.cantidad, te.tipo "
+                    + "FROM CompraEntrada ce "
+                    + "LEFT JOIN ce.tipoEntrada te "
+                    + "WHERE ce.compra.idCompra IN :ids "
+                    + "ORDER BY ce.idCompraEntrada";
+
+            // Se trocea la lista para no superar el límite de parámetros del driver
+            List<Integer> ids = new ArrayList<>(idsCompra);
+            List<Object[]> filas = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i += TAMANO_LOTE_IN) {
+                TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+                query.setParameter("ids", ids.subList(i, Math.min(i + TAMANO_LOTE_IN, ids.size())));
+                filas.addAll(query.getResultList());
+            }
+            return filas;
+        } catch (Exception e) {
+            log.error("Error buscando detalles de {} compras: {}", idsCompra.size(), e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
 }
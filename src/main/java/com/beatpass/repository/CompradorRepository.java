@@ -2,7 +2,10 @@ package com.beatpass.repository;
 
 import com.beatpass.model.Comprador;
 import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfaz DAO para la entidad Comprador.
@@ -14,4 +17,40 @@ public interface CompradorRepository {
     Optional<Comprador> findById(EntityManager em, Integer id);
 
     Optional<Comprador> findByEmail(EntityManager em, String email);
+
+    /**
+     * Busca una página de compradores cuyo nombre o email contengan el
+     * término (sin distinguir mayúsculas). Paginación keyset por email, que es
+     * único e indexado.
+     *
+     * @param em El EntityManager activo.
+     * @param termino Término de búsqueda, o null/vacío para todos.
+     * @param despuesDeEmail Email del último comprador de la página anterior,
+     * o null para la primera página.
+     * @param limite Número máximo de filas a devolver.
+     * @return Una lista (posiblemente vacía) de compradores.
+     */
+    List<Comprador> buscarPagina(EntityManager em, String termino, String despuesDeEmail, int limite);
+
+    /**
+     * Busca compradores por sus IDs (sin orden garantizado).
+     *
+     * @param em El EntityManager activo.
+     * @param ids IDs a buscar.
+     * @return Una lista (posiblemente vacía) de compradores.
+     */
+    List<Comprador> findByIds(EntityManager em, Collection<Integer> ids);
+
+    /**
+     * Recorre los datos de búsqueda de todos los compradores (filas
+     * {id, nombre, email} ordenadas por ID) mediante un cursor de solo
+     * avance, para cargar el índice de trigramas. Los errores se propagan
+     * para no dar por cargado un índice incompleto. El Stream debe cerrarse.
+     *
+     * @param em El EntityManager activo, abierto mientras se consume el
+     * Stream.
+     * @param tamanoLote Filas a pedir al driver en cada lectura.
+     * @return Un Stream de filas {id, nombre, email}.
+     */
+    Stream<Object[]> streamDatosBusqueda(EntityManager em, int tamanoLote);
 }
@@ -5,10 +5,15 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CompradorRepositoryImpl implements CompradorRepository {
 
@@ -64,4 +69,58 @@ public class CompradorRepositoryImpl implements CompradorRepository {
             return Optional.empty();
         }
     }
+
+    @Override
+    public List<Comprador> buscarPagina(EntityManager em, String termino, String despuesDeEmail, int limite) {
+        log.debug("Buscando página de Compradores. Término: '{}', después de: {}, límite: {}", termino, despuesDeEmail, limite);
+        boolean filtrar = termino != null && !termino.isBlank();
+        try {
+            StringBuilder jpql = new StringBuilder("SELECT c FROM Comprador c WHERE 1 = 1 ");
+            if (filtrar) {
+                jpql.append("AND (lower(c.nombre) LIKE :term OR lower(c.email) LIKE :term) ");
+            }
+            if (despuesDeEmail != null) {
+                jpql.append("AND c.email > :despuesDeEmail ");
+            }
+            jpql.append("ORDER BY c.email");
+
+            TypedQuery<Comprador> query = em.createQuery(jpql.toString(), Comprador.class);
+            if (filtrar) {
+                query.setParameter("term", "%" + termino.toLowerCase() + "%");
+            }
+            if (despuesDeEmail != null) {
+                query.setParameter("despuesDeEmail", despuesDeEmail);
+            }
+            query.setMaxResults(limite);
+            return query.getResultList();
+        } catch (Exception e) {
+            log.error("Error buscando página de Compradores (término '{}'): {}", termino, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<Comprador> findByIds(EntityManager em, Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return em.createQuery("SELECT c FROM Comprador c WHERE c.idComprador IN :ids", Comprador.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+        } catch (Exception e) {
+            log.error("Error buscando compradores por IDs ({} IDs): {}", ids.size(), e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Stream<Object[]> streamDatosBusqueda(EntityManager em, int tamanoLote) {
+        log.debug("Recorriendo datos de búsqueda de compradores (lote {})", tamanoLote);
+        TypedQuery<Object[]> query = em.createQuery(
+                "SELECT c.idComprador, c.nombre, c.email FROM Comprador c ORDER BY c.idComprador", Object[].class);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, tamanoLote);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
 }
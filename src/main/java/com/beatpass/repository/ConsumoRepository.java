@@ -4,6 +4,7 @@ import com.beatpass.model.Consumo;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfaz DAO para la entidad Consumo (consumo cashless).
@@ -47,4 +48,18 @@ public interface ConsumoRepository {
      */
     List<Consumo> findByFestivalId(EntityManager em, Integer idFestival);
 
+    /**
+     * Recorre los consumos de un Festival, con su pulsera, mediante un cursor
+     * de solo avance (ScrollableResults de Hibernate). Las filas se leen del
+     * driver por lotes, sin materializar la lista completa. El Stream debe
+     * cerrarse para liberar el cursor.
+     *
+     * @param em El EntityManager activo, abierto mientras se consume el
+     * Stream.
+     * @param idFestival El ID del Festival.
+     * @param tamanoLote Filas a pedir al driver en cada lectura.
+     * @return Un Stream (posiblemente vacío) de Consumos en solo lectura.
+     */
+    Stream<Consumo> streamByFestivalId(EntityManager em, Integer idFestival, int tamanoLote);
+
 }
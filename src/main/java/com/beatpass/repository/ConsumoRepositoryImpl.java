@@ -7,6 +7,8 @@ import jakarta.persistence.TypedQuery;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -105,4 +107,26 @@ public class ConsumoRepositoryImpl implements ConsumoRepository {
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public Stream<Consumo> streamByFestivalId(EntityManager em, Integer idFestival, int tamanoLote) {
+        log.debug("Recorriendo Consumos para Festival ID: {} (lote {})", idFestival, tamanoLote);
+        if (idFestival == null) {
+            log.warn("Intento de recorrer consumos para un ID de festival nulo.");
+            return Stream.empty();
+        }
+        try {
+            // JOIN FETCH de la pulsera (ManyToOne) para no lanzar una consulta por fila
+            TypedQuery<Consumo> query = em.createQuery(
+                    "SELECT c FROM Consumo c JOIN FETCH c.pulseraNFC "
+                    + "WHERE c.festival.idFestival = :festivalId ORDER BY c.idConsumo", Consumo.class);
+            query.setParameter("festivalId", idFestival);
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, tamanoLote);
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            return query.getResultStream();
+        } catch (Exception e) {
+            log.error("Error recorriendo Consumos para Festival ID {}: {}", idFestival, e.getMessage(), e);
+            return Stream.empty();
+        }
+    }
 }
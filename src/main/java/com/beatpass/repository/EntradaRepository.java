@@ -1,9 +1,11 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.EntradaDTO;
 import com.beatpass.model.Entrada;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfaz DAO para la entidad Entrada (entrada individual).
@@ -58,4 +60,47 @@ public interface EntradaRepository {
      */
     List<Entrada> findByFestivalId(EntityManager em, Integer idFestival);
 
+    /**
+     * Obtiene una página de las entradas de un Festival proyectadas
+     * directamente a DTO, sin cargar entidades gestionadas. Paginación keyset
+     * por ID de entrada ascendente.
+     *
+     * @param em El EntityManager activo.
+     * @param idFestival El ID del Festival.
+     * @param despuesDeId ID de la última entrada de la página anterior, o null
+     * para la primera página.
+     * @param limite Número máximo de filas a devolver.
+     * @return Una lista (posiblemente vacía) de EntradaDTO, sin la ruta de la
+     * imagen QR.
+     */
+    List<EntradaDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, Integer despuesDeId, int limite);
+
+    /**
+     * Recorre todas las entradas de un Festival proyectadas a DTO mediante un
+     * cursor de solo avance (ScrollableResults de Hibernate), sin materializar
+     * la lista completa. El Stream debe cerrarse para liberar el cursor.
+     *
+     * @param em El EntityManager activo, abierto mientras se consume el
+     * Stream.
+     * @param idFestival El ID del Festival.
+     * @param tamanoLote Filas a pedir al driver en cada lectura.
+     * @return Un Stream (posiblemente vacío) de EntradaDTO, sin la ruta de la
+     * imagen QR.
+     */
+    Stream<EntradaDTO> streamDTOsByFestivalId(EntityManager em, Integer idFestival, int tamanoLote);
+
+    /**
+     * Recorre los códigos QR de las entradas (filas {idFestival, codigoQr})
+     * mediante un cursor de solo avance, para cargar los filtros de códigos
+     * válidos. Los errores se propagan para no dar por cargado un filtro
+     * incompleto. El Stream debe cerrarse.
+     *
+     * @param em El EntityManager activo, abierto mientras se consume el
+     * Stream.
+     * @param idFestival El ID del Festival, o null para todos.
+     * @param tamanoLote Filas a pedir al driver en cada lectura.
+     * @return Un Stream de filas {idFestival, codigoQr}.
+     */
+    Stream<Object[]> streamCodigosQr(EntityManager em, Integer idFestival, int tamanoLote);
+
 }
@@ -1,5 +1,6 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.EntradaDTO;
 import com.beatpass.model.Entrada;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
@@ -8,6 +9,8 @@ import jakarta.persistence.TypedQuery;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,6 +21,18 @@ public class EntradaRepositoryImpl implements EntradaRepository {
 
     private static final Logger log = LoggerFactory.getLogger(EntradaRepositoryImpl.class);
 
+    private static final String PROYECCION_ENTRADA_DTO = "SELECT NEW com.beatpass.dto.EntradaDTO("
+            + "ea.idEntrada, ea.codigoQr, ea.estado, ea.fechaAsignacion, ea.fechaUso, te.requiereNominacion, "
+            + "ce.idCompraEntrada, a.idAsistente, a.nombre, a.email, "
+            + "te.idTipoEntrada, te.tipo, f.idFestival, f.nombre, p.idPulsera, p.codigoUid) "
+            + "FROM Entrada ea "
+            + "JOIN ea.compraEntrada ce "
+            + "JOIN ce.tipoEntrada te "
+            + "JOIN te.festival f "
+            + "LEFT JOIN ea.asistente a "
+            + "LEFT JOIN ea.pulseraAsociada p "
+            + "WHERE f.idFestival = :festivalId ";
+
     @Override
     public Entrada save(EntityManager em, Entrada entrada) {
         if (entrada == null) {
@@ -139,4 +154,63 @@ public class EntradaRepositoryImpl implements EntradaRepository {
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public List<EntradaDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, Integer despuesDeId, int limite) {
+        log.debug("Proyectando EntradaDTO para Festival ID: {} (después de ID {}, límite {})", idFestival, despuesDeId, limite);
+        if (idFestival == null) {
+            log.warn("Intento de proyectar entradas para un ID de festival nulo.");
+            return Collections.emptyList();
+        }
+        try {
+            String jpql = PROYECCION_ENTRADA_DTO
+                    + (despuesDeId != null ? "AND ea.idEntrada > :despuesDeId " : "")
+                    + "ORDER BY ea.idEntrada";
+
+            TypedQuery<EntradaDTO> query = em.createQuery(jpql, EntradaDTO.class);
+            query.setParameter("festivalId", idFestival);
+            if (despuesDeId != null) {
+                query.setParameter("despuesDeId", despuesDeId);
+            }
+            query.setMaxResults(limite);
+            return query.getResultList();
+        } catch (Exception e) {
+            log.error("Error proyectando EntradaDTO para Festival ID {}: {}", idFestival, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Stream<EntradaDTO> streamDTOsByFestivalId(EntityManager em, Integer idFestival, int tamanoLote) {
+        log.debug("Recorriendo EntradaDTO para Festival ID: {} (lote {})", idFestival, tamanoLote);
+        if (idFestival == null) {
+            log.warn("Intento de recorrer entradas para un ID de festival nulo.");
+            return Stream.empty();
+        }
+        try {
+            TypedQuery<EntradaDTO> query = em.createQuery(PROYECCION_ENTRADA_DTO + "ORDER BY ea.idEntrada", EntradaDTO.class);
+            query.setParameter("festivalId", idFestival);
+            query.setHint(HibernateHints.HINT_FETCH_SIZE, tamanoLote);
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+            return query.getResultStream();
+        } catch (Exception e) {
+            log.error("Error recorriendo EntradaDTO para Festival ID {}: {}", idFestival, e.getMessage(), e);
+            return Stream.empty();
+        }
+    }
+
+    @Override
+    public Stream<Object[]> streamCodigosQr(EntityManager em, Integer idFestival, int tamanoLote) {
+        log.debug("Recorriendo códigos QR de entradas para Festival ID: {} (lote {})", idFestival, tamanoLote);
+        TypedQuery<Object[]> query = em.createQuery(
+                "SELECT f.idFestival, ea.codigoQr FROM Entrada ea "
+                + "JOIN ea.compraEntrada ce JOIN ce.tipoEntrada te JOIN te.festival f "
+                + (idFestival != null ? "WHERE f.idFestival = :festivalId" : ""), Object[].class);
+        if (idFestival != null) {
+            query.setParameter("festivalId", idFestival);
+        }
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, tamanoLote);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
 }
@@ -3,7 +3,6 @@ package com.beatpass.repository;
 import com.beatpass.model.EstadoFestival;
 import com.beatpass.model.Festival;
 import jakarta.persistence.EntityManager;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,15 +58,17 @@ public interface FestivalRepository {
     List<Festival> findByEstado(EntityManager em, EstadoFestival estado);
 
     /**
-     * Busca festivales activos (PUBLICADO) cuyo periodo se solapa con las
-     * fechas dadas.
+     * Obtiene una página de festivales, opcionalmente filtrada por estado.
+     * Paginación keyset por ID ascendente (clave primaria).
      *
      * @param em El EntityManager activo.
-     * @param fechaDesde Fecha de inicio del rango.
-     * @param fechaHasta Fecha de fin del rango.
+     * @param estado El EstadoFestival a filtrar, o null para todos.
+     * @param despuesDeId ID del último festival de la página anterior, o null
+     * para la primera página.
+     * @param limite Número máximo de filas a devolver.
      * @return Una lista (posiblemente vacía) de festivales.
      */
-    List<Festival> findActivosEntreFechas(EntityManager em, LocalDate fechaDesde, LocalDate fechaHasta);
+    List<Festival> findPagina(EntityManager em, EstadoFestival estado, Integer despuesDeId, int limite);
 
     /**
      * Busca todos los festivales gestionados por un Promotor específico.
@@ -78,4 +79,18 @@ public interface FestivalRepository {
      */
     List<Festival> findByPromotorId(EntityManager em, Integer idPromotor);
 
+    /**
+     * Obtiene todos los festivales con su promotor ya cargado, ordenados por
+     * fecha de inicio. Usado para construir el catálogo público en memoria.
+     * <p>
+     * A diferencia del resto de búsquedas, los errores se propagan: una lista
+     * vacía por un fallo de conexión vaciaría el catálogo publicado.
+     * </p>
+     *
+     * @param em El EntityManager activo.
+     * @return Una lista (posiblemente vacía) de festivales.
+     * @throws jakarta.persistence.PersistenceException Si falla la consulta.
+     */
+    List<Festival> findAllConPromotor(EntityManager em);
+
 }
@@ -5,7 +5,6 @@ import com.beatpass.model.Festival;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
-import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -129,31 +128,6 @@ public class FestivalRepositoryImpl implements FestivalRepository {
         }
     }
 
-    @Override
-    public List<Festival> findActivosEntreFechas(EntityManager em, LocalDate fechaDesde, LocalDate fechaHasta) {
-        log.debug("Buscando festivales activos (PUBLICADO) entre {} y {}", fechaDesde, fechaHasta);
-        if (fechaDesde == null || fechaHasta == null || fechaHasta.isBefore(fechaDesde)) {
-            log.warn("Fechas inválidas para la búsqueda de festivales activos: desde={}, hasta={}", fechaDesde, fechaHasta);
-            return Collections.emptyList();
-        }
-        try {
-            TypedQuery<Festival> query = em.createQuery(
-                    "SELECT f FROM Festival f WHERE f.estado = :estadoPublicado "
-                    + "AND f.fechaInicio <= :fechaHasta "
-                    + "AND f.fechaFin >= :fechaDesde "
-                    + "ORDER BY f.fechaInicio", Festival.class);
-            query.setParameter("estadoPublicado", EstadoFestival.PUBLICADO);
-            query.setParameter("fechaHasta", fechaHasta);
-            query.setParameter("fechaDesde", fechaDesde);
-            List<Festival> festivales = query.getResultList();
-            log.debug("Encontrados {} festivales activos entre {} y {}.", festivales.size(), fechaDesde, fechaHasta);
-            return festivales;
-        } catch (Exception e) {
-            log.error("Error buscando festivales activos entre fechas ({} - {}): {}", fechaDesde, fechaHasta, e.getMessage(), e);
-            return Collections.emptyList();
-        }
-    }
-
     @Override
     public List<Festival> findByPromotorId(EntityManager em, Integer idPromotor) {
         log.debug("Buscando festivales para el promotor ID: {}", idPromotor);
@@ -174,4 +148,42 @@ public class FestivalRepositoryImpl implements FestivalRepository {
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public List<Festival> findPagina(EntityManager em, EstadoFestival estado, Integer despuesDeId, int limite) {
+        log.debug("Buscando página de festivales. Estado: {}, después de ID: {}, límite: {}", estado, despuesDeId, limite);
+        try {
+            StringBuilder jpql = new StringBuilder("SELECT f FROM Festival f WHERE 1 = 1 ");
+            if (estado != null) {
+                jpql.append("AND f.estado = :estadoParam ");
+            }
+            if (despuesDeId != null) {
+                jpql.append("AND f.idFestival > :despuesDeId ");
+            }
+            jpql.append("ORDER BY f.idFestival");
+
+            TypedQuery<Festival> query = em.createQuery(jpql.toString(), Festival.class);
+            if (estado != null) {
+                query.setParameter("estadoParam", estado);
+            }
+            if (despuesDeId != null) {
+                query.setParameter("despuesDeId", despuesDeId);
+            }
+            query.setMaxResults(limite);
+            return query.getResultList();
+        } catch (Exception e) {
+            log.error("Error buscando página de festivales (estado {}): {}", estado, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<Festival> findAllConPromotor(EntityManager em) {
+        log.debug("Buscando todos los festivales con su promotor.");
+        List<Festival> festivales = em.createQuery(
+                "SELECT f FROM Festival f JOIN FETCH f.promotor ORDER BY f.fechaInicio, f.idFestival", Festival.class)
+                .getResultList();
+        log.debug("Encontrados {} festivales.", festivales.size());
+        return festivales;
+    }
 }
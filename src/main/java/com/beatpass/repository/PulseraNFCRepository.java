@@ -1,9 +1,11 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.PulseraNFCDTO;
 import com.beatpass.model.PulseraNFC;
 import jakarta.persistence.EntityManager;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfaz DAO para la entidad PulseraNFC.
@@ -56,4 +58,32 @@ public interface PulseraNFCRepository {
      */
     List<PulseraNFC> findByFestivalId(EntityManager em, Integer idFestival);
 
+    /**
+     * Obtiene una página de las pulseras de un Festival proyectadas
+     * directamente a DTO, sin cargar entidades gestionadas. Paginación keyset
+     * por ID de pulsera ascendente (orden del índice por festival).
+     *
+     * @param em El EntityManager activo.
+     * @param idFestival El ID del Festival.
+     * @param despuesDeId ID de la última pulsera de la página anterior, o null
+     * para la primera página.
+     * @param limite Número máximo de filas a devolver.
+     * @return Una lista (posiblemente vacía) de PulseraNFCDTO.
+     */
+    List<PulseraNFCDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, Integer despuesDeId, int limite);
+
+    /**
+     * Recorre los UID de las pulseras (filas {idFestival, codigoUid})
+     * mediante un cursor de solo avance, para cargar los filtros de códigos
+     * válidos. Los errores se propagan para no dar por cargado un filtro
+     * incompleto. El Stream debe cerrarse.
+     *
+     * @param em El EntityManager activo, abierto mientras se consume el
+     * Stream.
+     * @param idFestival El ID del Festival, o null para todos.
+     * @param tamanoLote Filas a pedir al driver en cada lectura.
+     * @return Un Stream de filas {idFestival, codigoUid}.
+     */
+    Stream<Object[]> streamCodigosUid(EntityManager em, Integer idFestival, int tamanoLote);
+
 }
@@ -1,5 +1,6 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.PulseraNFCDTO;
 import com.beatpass.model.PulseraNFC;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
@@ -8,6 +9,8 @@ import jakarta.persistence.TypedQuery;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -140,4 +143,50 @@ public class PulseraNFCRepositoryImpl implements PulseraNFCRepository {
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public List<PulseraNFCDTO> findDTOsByFestivalId(EntityManager em, Integer idFestival, Integer despuesDeId, int limite) {
+        log.debug("Proyectando PulseraNFCDTO para Festival ID: {} (después de ID {}, límite {})", idFestival, despuesDeId, limite);
+        if (idFestival == null) {
+            log.warn("Intento de proyectar pulseras para un ID de festival nulo.");
+            return Collections.emptyList();
+        }
+        try {
+            String jpql = "SELECT NEW com.beatpass.dto.PulseraNFCDTO("
+                    + "p.idPulsera, p.codigoUid, p.saldo, p.activa, p.fechaAlta, p.ultimaModificacion, "
+                    + "e.idEntrada, e.codigoQr, a.idAsistente, a.nombre, a.email, f.idFestival, f.nombre) "
+                    + "FROM PulseraNFC p "
+                    + "JOIN p.festival f "
+                    + "LEFT JOIN p.entrada e "
+                    + "LEFT JOIN e.asistente a "
+                    + "WHERE f.idFestival = :festivalId "
+                    + (despuesDeId != null ? "AND p.idPulsera > :despuesDeId " : "")
+                    + "ORDER BY p.idPulsera";
+
+            TypedQuery<PulseraNFCDTO> query = em.createQuery(jpql, PulseraNFCDTO.class);
+            query.setParameter("festivalId", idFestival);
+            if (despuesDeId != null) {
+                query.setParameter("despuesDeId", despuesDeId);
+            }
+            query.setMaxResults(limite);
+            return query.getResultList();
+        } catch (Exception e) {
+            log.error("Error proyectando PulseraNFCDTO para Festival ID {}: {}", idFestival, e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Stream<Object[]> streamCodigosUid(EntityManager em, Integer idFestival, int tamanoLote) {
+        log.debug("Recorriendo UIDs de pulseras para Festival ID: {} (lote {})", idFestival, tamanoLote);
+        TypedQuery<Object[]> query = em.createQuery(
+                "SELECT p.festival.idFestival, p.codigoUid FROM PulseraNFC p "
+                + (idFestival != null ? "WHERE p.festival.idFestival = :festivalId" : ""), Object[].class);
+        if (idFestival != null) {
+            query.setParameter("festivalId", idFestival);
+        }
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, tamanoLote);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
 }
@@ -1,5 +1,6 @@
 package com.beatpass.repository;
 
+import com.beatpass.model.EstadoFestival;
 import com.beatpass.model.TipoEntrada;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType; 
@@ -50,6 +51,32 @@ public interface TipoEntradaRepository {
      */
     List<TipoEntrada> findByFestivalId(EntityManager em, Integer idFestival);
 
+    /**
+     * Busca los tipos de entrada de todos los festivales en un estado dado,
+     * con el festival ya cargado, ordenados por festival y tipo. Los errores
+     * se propagan, igual que en
+     * {@link FestivalRepository#findAllConPromotor(EntityManager)}.
+     *
+     * @param em El EntityManager activo.
+     * @param estado Estado de los festivales.
+     * @return Una lista (posiblemente vacía) de tipos de entrada.
+     * @throws jakarta.persistence.PersistenceException Si falla la consulta.
+     */
+    List<TipoEntrada> findByEstadoFestival(EntityManager em, EstadoFestival estado);
+
+    /**
+     * Obtiene el stock de los tipos de entrada de todos los festivales en un
+     * estado dado como filas {idFestival, idTipoEntrada, stock}, con una
+     * lectura sin bloqueos ni entidades gestionadas. Los errores se propagan
+     * para no dar por buenos datos incompletos.
+     *
+     * @param em El EntityManager activo.
+     * @param estado Estado de los festivales.
+     * @return Una lista (posiblemente vacía) de filas.
+     * @throws jakarta.persistence.PersistenceException Si falla la consulta.
+     */
+    List<Object[]> findStockByEstadoFestival(EntityManager em, EstadoFestival estado);
+
     /**
      * Elimina un tipo de entrada por su ID. Debe ejecutarse dentro de una
      * transacción activa. ¡Precaución con FKs!
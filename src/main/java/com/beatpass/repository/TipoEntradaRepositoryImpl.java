@@ -1,5 +1,6 @@
 package com.beatpass.repository;
 
+import com.beatpass.model.EstadoFestival;
 import com.beatpass.model.TipoEntrada;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType; // Import LockModeType
@@ -8,6 +9,7 @@ import jakarta.persistence.TypedQuery;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -128,4 +130,27 @@ public class TipoEntradaRepositoryImpl implements TipoEntradaRepository {
             return false;
         }
     }
+
+    @Override
+    public List<TipoEntrada> findByEstadoFestival(EntityManager em, EstadoFestival estado) {
+        log.debug("Buscando Tipos de Entrada de festivales en estado {}", estado);
+        List<TipoEntrada> tiposEntrada = em.createQuery(
+                "SELECT te FROM TipoEntrada te JOIN FETCH te.festival f "
+                + "WHERE f.estado = :estado ORDER BY f.idFestival, te.tipo", TipoEntrada.class)
+                .setParameter("estado", estado)
+                .getResultList();
+        log.debug("Encontrados {} Tipos de Entrada de festivales en estado {}.", tiposEntrada.size(), estado);
+        return tiposEntrada;
+    }
+
+    @Override
+    public List<Object[]> findStockByEstadoFestival(EntityManager em, EstadoFestival estado) {
+        log.debug("Leyendo stock de Tipos de Entrada de festivales en estado {}", estado);
+        return em.createQuery(
+                "SELECT f.idFestival, te.idTipoEntrada, te.stock FROM TipoEntrada te JOIN te.festival f "
+                + "WHERE f.estado = :estado", Object[].class)
+                .setParameter("estado", estado)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
 }
@@ -0,0 +1,52 @@
+package com.beatpass.repository;
+
+import com.beatpass.model.TokenRevocado;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interfaz DAO para la entidad TokenRevocado.
+ */
+public interface TokenRevocadoRepository {
+
+    /**
+     * Guarda (crea o actualiza) una revocación. Debe ejecutarse dentro de una
+     * transacción activa.
+     *
+     * @param em El EntityManager activo y transaccional.
+     * @param tokenRevocado La revocación a guardar.
+     * @return La entidad guardada o actualizada.
+     */
+    TokenRevocado save(EntityManager em, TokenRevocado tokenRevocado);
+
+    /**
+     * Busca una revocación por el identificador del token.
+     *
+     * @param em El EntityManager activo.
+     * @param idToken El identificador a buscar.
+     * @return Un Optional con la revocación si se encuentra, o vacío.
+     */
+    Optional<TokenRevocado> findById(EntityManager em, String idToken);
+
+    /**
+     * Obtiene las revocaciones aún no expiradas.
+     *
+     * @param em El EntityManager activo.
+     * @param ahora Instante de referencia.
+     * @return Lista de revocaciones (vacía si no hay).
+     * @throws jakarta.persistence.PersistenceException Si falla la consulta.
+     */
+    List<TokenRevocado> findVigentes(EntityManager em, LocalDateTime ahora);
+
+    /**
+     * Elimina las revocaciones expiradas. Debe ejecutarse dentro de una
+     * transacción activa.
+     *
+     * @param em El EntityManager activo y transaccional.
+     * @param ahora Instante de referencia.
+     * @return Número de filas eliminadas.
+     */
+    int deleteExpiradas(EntityManager em, LocalDateTime ahora);
+}
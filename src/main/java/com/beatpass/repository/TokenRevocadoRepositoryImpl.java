@@ -0,0 +1,88 @@
+package com.beatpass.repository;
+
+import com.beatpass.model.TokenRevocado;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementación de TokenRevocadoRepository usando JPA EntityManager.
+ */
+public class TokenRevocadoRepositoryImpl implements TokenRevocadoRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocadoRepositoryImpl.class);
+
+    @Override
+    public TokenRevocado save(EntityManager em, TokenRevocado tokenRevocado) {
+        if (tokenRevocado == null) {
+            throw new IllegalArgumentException("La entidad TokenRevocado no puede ser nula.");
+        }
+        if (tokenRevocado.getIdToken() == null || tokenRevocado.getIdToken().isBlank()) {
+            throw new IllegalArgumentException("El identificador del token revocado no puede ser nulo ni vacío.");
+        }
+
+        log.debug("Intentando guardar revocación del token: {}", tokenRevocado.getIdToken());
+        try {
+            if (em.find(TokenRevocado.class, tokenRevocado.getIdToken()) == null) {
+                em.persist(tokenRevocado);
+                log.info("Nueva revocación persistida para el token: {}", tokenRevocado.getIdToken());
+                return tokenRevocado;
+            }
+            TokenRevocado actualizado = em.merge(tokenRevocado);
+            log.info("Revocación actualizada para el token: {}", actualizado.getIdToken());
+            return actualizado;
+        } catch (PersistenceException e) {
+            log.error("Error de persistencia al guardar TokenRevocado {}: {}", tokenRevocado.getIdToken(), e.getMessage(), e);
+            throw e;
+        } catch (Exception e) {
+            log.error("Error inesperado al guardar TokenRevocado {}: {}", tokenRevocado.getIdToken(), e.getMessage(), e);
+            throw new PersistenceException("Error inesperado al guardar TokenRevocado", e);
+        }
+    }
+
+    @Override
+    public Optional<TokenRevocado> findById(EntityManager em, String idToken) {
+        log.debug("Buscando revocación del token: {}", idToken);
+        if (idToken == null) {
+            log.warn("Intento de buscar TokenRevocado con ID nulo.");
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(em.find(TokenRevocado.class, idToken));
+        } catch (IllegalArgumentException e) {
+            log.error("Argumento ilegal al buscar TokenRevocado por ID {}: {}", idToken, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<TokenRevocado> findVigentes(EntityManager em, LocalDateTime ahora) {
+        log.debug("Buscando revocaciones vigentes.");
+        // Sin capturar errores: una lista vacía por un fallo daría por buenos los tokens revocados
+        TypedQuery<TokenRevocado> query = em.createQuery(
+                "SELECT t FROM TokenRevocado t WHERE t.expiracion > :ahora", TokenRevocado.class);
+        query.setParameter("ahora", ahora);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        List<TokenRevocado> vigentes = query.getResultList();
+        log.debug("Encontradas {} revocaciones vigentes.", vigentes.size());
+        return vigentes;
+    }
+
+    @Override
+    public int deleteExpiradas(EntityManager em, LocalDateTime ahora) {
+        log.debug("Eliminando revocaciones expiradas.");
+        int eliminadas = em.createQuery("DELETE FROM TokenRevocado t WHERE t.expiracion <= :ahora")
+                .setParameter("ahora", ahora)
+                .executeUpdate();
+        if (eliminadas > 0) {
+            log.info("Eliminadas {} revocaciones de tokens expiradas.", eliminadas);
+        }
+        return eliminadas;
+    }
+}
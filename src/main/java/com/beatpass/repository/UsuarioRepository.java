@@ -1,5 +1,6 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.UsuarioDTO;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.model.Usuario;
 import jakarta.persistence.EntityManager;
@@ -48,13 +49,19 @@ public interface UsuarioRepository {
     List<Usuario> findAll(EntityManager em);
 
     /**
-     * Busca todos los usuarios con un rol específico.
+     * Obtiene los usuarios con un rol específico proyectados directamente a
+     * DTO, sin cargar entidades gestionadas. Paginación keyset por
+     * (nombre, ID) ascendente.
      *
      * @param em El EntityManager activo.
      * @param rol El RolUsuario a buscar.
-     * @return Una lista (posiblemente vacía) de usuarios.
+     * @param despuesDeNombre Nombre del último usuario de la página anterior,
+     * o null para la primera página.
+     * @param despuesDeId ID del último usuario de la página anterior.
+     * @param limite Número máximo de filas a devolver.
+     * @return Una lista (posiblemente vacía) de UsuarioDTO.
      */
-    List<Usuario> findByRol(EntityManager em, RolUsuario rol);
+    List<UsuarioDTO> findDTOsByRol(EntityManager em, RolUsuario rol, String despuesDeNombre, Integer despuesDeId, int limite);
 
     /**
      * Elimina un usuario por su ID. Debe ejecutarse dentro de una transacción
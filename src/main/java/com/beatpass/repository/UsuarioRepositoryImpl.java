@@ -1,5 +1,6 @@
 package com.beatpass.repository;
 
+import com.beatpass.dto.UsuarioDTO;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.model.Usuario;
 import jakarta.persistence.EntityManager;
@@ -108,17 +109,28 @@ public class UsuarioRepositoryImpl implements UsuarioRepository {
     }
 
     @Override
-    public List<Usuario> findByRol(EntityManager em, RolUsuario rol) {
-        log.debug("Buscando usuarios con rol: {}", rol);
+    public List<UsuarioDTO> findDTOsByRol(EntityManager em, RolUsuario rol, String despuesDeNombre, Integer despuesDeId, int limite) {
+        log.debug("Buscando usuarios con rol: {} (después de {}/{}, límite {})", rol, despuesDeNombre, despuesDeId, limite);
         if (rol == null) {
             log.warn("Intento de buscar usuarios con rol nulo.");
             return Collections.emptyList();
         }
         try {
-            TypedQuery<Usuario> query = em.createQuery(
-                    "SELECT u FROM Usuario u WHERE u.rol = :rolParam ORDER BY u.nombre", Usuario.class);
+            TypedQuery<UsuarioDTO> query = em.createQuery(
+                    "SELECT NEW com.beatpass.dto.UsuarioDTO(u.idUsuario, u.nombre, u.email, u.rol, u.estado, "
+                    + "u.cambioPasswordRequerido, u.fechaCreacion, u.fechaModificacion) "
+                    + "FROM Usuario u WHERE u.rol = :rolParam "
+                    + (despuesDeNombre != null
+                            ? "AND (u.nombre > :despuesDeNombre OR (u.nombre = :despuesDeNombre AND u.idUsuario > :despuesDeId)) "
+                            : "")
+                    + "ORDER BY u.nombre, u.idUsuario", UsuarioDTO.class);
             query.setParameter("rolParam", rol);
-            List<Usuario> usuarios = query.getResultList();
+            if (despuesDeNombre != null) {
+                query.setParameter("despuesDeNombre", despuesDeNombre);
+                query.setParameter("despuesDeId", despuesDeId);
+            }
+            query.setMaxResults(limite);
+            List<UsuarioDTO> usuarios = query.getResultList();
             log.debug("Encontrados {} usuarios con rol {}.", usuarios.size(), rol);
             return usuarios;
         } catch (Exception e) {
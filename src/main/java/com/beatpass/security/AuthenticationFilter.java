@@ -1,5 +1,6 @@
 package com.beatpass.security;
 
+import com.beatpass.service.RevocacionTokenService;
 import com.beatpass.util.JwtUtil;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -8,9 +9,12 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Configuration;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -21,29 +25,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * Filtro JAX-RS para autenticación basada en JWT. Intercepta peticiones a
- * /api/*, excluyendo rutas públicas/paneles web, y valida el token Bearer.
- * Establece UserSecurityContext si es válido.
+ * /api/*, excluyendo las rutas públicas, y valida el token Bearer. Establece
+ * UserSecurityContext si es válido. Las rutas públicas son las marcadas con
+ * {@code @PermitAll} en los recursos registrados, compiladas al arrancar en un
+ * {@link ClasificadorRutas}. Rechaza los tokens de refresco y los revocados,
+ * comprobados en memoria por {@link RevocacionTokenService}.
  */
 @Provider
 @Priority(Priorities.AUTHENTICATION)
 public class AuthenticationFilter implements ContainerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(AuthenticationFilter.class);
-    private final JwtUtil jwtUtil = new JwtUtil();
+    private static final JwtUtil jwtUtil = new JwtUtil();
+    private static final String BEARER_PREFIX = "Bearer ";
 
-    private static final List<String> EXCLUDED_PATHS_PREFIXES = Arrays.asList(
-            "auth/login",
-            "public/"
-    );
+    private final ClasificadorRutas clasificadorRutas;
+    private final RevocacionTokenService revocacionTokenService;
 
-    private static final Pattern PUBLIC_GET_FESTIVAL_DETAIL_PATTERN = Pattern.compile("^festivales/\\d+$");
-    private static final Pattern PUBLIC_GET_FESTIVAL_TICKETS_PATTERN = Pattern.compile("^festivales/\\d+/tipos-entrada$");
+    /**
+     * @param configuracion Configuración de la aplicación, de la que se leen
+     * los recursos registrados.
+     * @param revocacionTokenService Servicio de revocación de tokens.
+     */
+    @Inject
+    public AuthenticationFilter(@Context Configuration configuracion, RevocacionTokenService revocacionTokenService) {
+        this.clasificadorRutas = ClasificadorRutas.desdeRecursos(configuracion.getClasses());
+        this.revocacionTokenService = revocacionTokenService;
+    }
 
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
@@ -52,25 +63,21 @@ public class AuthenticationFilter implements ContainerRequestFilter {
         String method = requestContext.getMethod();
 
         log.trace("AuthenticationFilter procesando petición: {} /api/{}", method, path);
+        RolAutenticado.limpiar();
 
         if ("OPTIONS".equalsIgnoreCase(method)) {
             log.debug("Petición OPTIONS para ruta: /api/{}. Abortando con OK para preflight CORS.", path);
             return;
         }
 
-        if (isPathExcluded(path)) {
-            log.debug("Ruta '/api/{}' excluida del filtro JWT por prefijo.", path);
-            return;
-        }
-
-        if ("GET".equalsIgnoreCase(method) && isPublicGetPath(path)) {
-            log.debug("Ruta GET pública específica '/api/{}' permitida sin token JWT.", path);
+        if (clasificadorRutas.esPublica(method, path)) {
+            log.debug("Ruta pública {} '/api/{}' permitida sin token JWT.", method, path);
             return;
         }
 
         String authorizationHeader = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
 
-        if (authorizationHeader == null || !authorizationHeader.toLowerCase().startsWith("bearer ")) {
+        if (authorizationHeader == null || !authorizationHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
             log.warn("Cabecera Authorization ausente o mal formada para la ruta protegida: /api/{}", path);
             abortUnauthorized(requestContext, "Se requiere cabecera Authorization: Bearer <token>.");
             return;
@@ -94,6 +101,18 @@ public class AuthenticationFilter implements ContainerRequestFilter {
                 return;
             }
 
+            if (jwtUtil.esTokenRefresco(claims)) {
+                log.warn("Token de refresco usado como token de acceso por userId: {} en ruta: /api/{}", userId, path);
+                abortUnauthorized(requestContext, "Token inválido o mal formado.");
+                return;
+            }
+
+            if (revocacionTokenService.estaRevocado(jwtUtil.obtenerIdSesionDeClaims(claims), userId, jwtUtil.obtenerEmisionDeClaims(claims))) {
+                log.warn("Token revocado para userId: {} en ruta: /api/{}", userId, path);
+                abortUnauthorized(requestContext, "El token ha sido revocado.");
+                return;
+            }
+
             log.debug("JWT validado exitosamente para userId: {}, role: {} en ruta: /api/{}", userId, role, path);
 
             final SecurityContext currentSecurityContext = requestContext.getSecurityContext();
@@ -103,6 +122,7 @@ public class AuthenticationFilter implements ContainerRequestFilter {
                     currentSecurityContext.isSecure()
             );
             requestContext.setSecurityContext(userSecurityContext);
+            RolAutenticado.establecer(userId, role);
             log.trace("UserSecurityContext establecido para la petición.");
 
         } catch (ExpiredJwtException eje) {
@@ -122,30 +142,6 @@ public class AuthenticationFilter implements ContainerRequestFilter {
         }
     }
 
-    /**
-     * Comprueba si la ruta relativa coincide con algún prefijo excluido.
-     */
-    private boolean isPathExcluded(String relativePath) {
-        if (relativePath == null) {
-            return false;
-        }
-        String cleanPath = relativePath.startsWith("/") ? relativePath.substring(1) : relativePath;
-        return EXCLUDED_PATHS_PREFIXES.stream().anyMatch(cleanPath::startsWith);
-    }
-
-    /**
-     * Comprueba si la ruta relativa coincide con patrones GET públicos
-     * específicos.
-     */
-    private boolean isPublicGetPath(String relativePath) {
-        if (relativePath == null) {
-            return false;
-        }
-        String cleanPath = relativePath.startsWith("/") ? relativePath.substring(1) : relativePath;
-        return PUBLIC_GET_FESTIVAL_DETAIL_PATTERN.matcher(cleanPath).matches()
-                || PUBLIC_GET_FESTIVAL_TICKETS_PATTERN.matcher(cleanPath).matches();
-    }
-
     /**
      * Aborta la petición con 401 Unauthorized y cabecera WWW-Authenticate.
      */
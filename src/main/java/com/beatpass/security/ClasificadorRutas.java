@@ -0,0 +1,191 @@
+package com.beatpass.security;
+
+import jakarta.annotation.security.DenyAll;
+import jakarta.annotation.security.PermitAll;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Clasifica las rutas de la API en públicas (sin token) o protegidas. Las
+ * reglas no se escriben a mano: se leen una sola vez de las anotaciones de los
+ * recursos JAX-RS ({@link PermitAll} en el método o en la clase, salvo que el
+ * método declare {@link RolesAllowed} o {@link DenyAll}) y se compilan en un
+ * árbol de segmentos de ruta.
+ * <p>
+ * La clasificación recorre la ruta por índices, sin trocearla ni crear
+ * objetos. Como en JAX-RS, un segmento literal tiene prioridad sobre una
+ * plantilla ({@code /festivales/mis-festivales} frente a
+ * {@code /festivales/{id}}). Las rutas y métodos no declarados se consideran
+ * protegidos. HEAD sigue las reglas de GET.
+ * </p>
+ */
+public final class ClasificadorRutas {
+
+    private static final Logger log = LoggerFactory.getLogger(ClasificadorRutas.class);
+
+    private static final class Nodo {
+
+        String[] literales = new String[0];
+        int[] hashes = new int[0];
+        Nodo[] hijosLiterales = new Nodo[0];
+        Nodo hijoPlantilla;
+        int metodosDeclarados;
+        int metodosPublicos;
+
+        Nodo hijo(String segmento) {
+            if (segmento.indexOf('{') >= 0) {
+                if (hijoPlantilla == null) {
+                    hijoPlantilla = new Nodo();
+                }
+                return hijoPlantilla;
+            }
+            for (int i = 0; i < literales.length; i++) {
+                if (literales[i].equals(segmento)) {
+                    return hijosLiterales[i];
+                }
+            }
+            literales = Arrays.copyOf(literales, literales.length + 1);
+            hashes = Arrays.copyOf(hashes, hashes.length + 1);
+            hijosLiterales = Arrays.copyOf(hijosLiterales, hijosLiterales.length + 1);
+            literales[literales.length - 1] = segmento;
+            hashes[hashes.length - 1] = segmento.hashCode();
+            return hijosLiterales[hijosLiterales.length - 1] = new Nodo();
+        }
+    }
+
+    private final Nodo raiz = new Nodo();
+    private int numeroRutasPublicas = 0;
+
+    private ClasificadorRutas() {
+    }
+
+    /**
+     * Compila las reglas de los recursos indicados. Las clases sin
+     * {@link Path} se ignoran.
+     *
+     * @param clases Clases registradas en la aplicación.
+     * @return El clasificador.
+     */
+    public static ClasificadorRutas desdeRecursos(Collection<Class<?>> clases) {
+        ClasificadorRutas clasificador = new ClasificadorRutas();
+        for (Class<?> clase : clases) {
+            Path rutaClase = clase.getAnnotation(Path.class);
+            if (rutaClase == null) {
+                continue;
+            }
+            boolean clasePublica = clase.isAnnotationPresent(PermitAll.class);
+            for (Method metodo : clase.getMethods()) {
+                String metodoHttp = metodoHttp(metodo);
+                if (metodoHttp == null) {
+                    continue; // Localizadores de subrecursos u otros métodos
+                }
+                Path rutaMetodo = metodo.getAnnotation(Path.class);
+                boolean publico = metodo.isAnnotationPresent(PermitAll.class)
+                        || (clasePublica && !metodo.isAnnotationPresent(RolesAllowed.class) && !metodo.isAnnotationPresent(DenyAll.class));
+                clasificador.registrar(rutaClase.value() + "/" + (rutaMetodo != null ? rutaMetodo.value() : ""), metodoHttp, publico);
+            }
+        }
+        log.info("Clasificador de rutas compilado: {} rutas públicas.", clasificador.numeroRutasPublicas);
+        return clasificador;
+    }
+
+    /**
+     * @param metodo Método HTTP de la petición.
+     * @param ruta Ruta relativa a /api (con o sin barra inicial).
+     * @return true si la ruta está declarada como pública para ese método.
+     */
+    public boolean esPublica(String metodo, String ruta) {
+        int bit = bitMetodo(metodo);
+        if (bit == 0 || ruta == null) {
+            return false;
+        }
+        Nodo nodo = buscar(raiz, ruta, 0);
+        return nodo != null && (nodo.metodosPublicos & bit) != 0;
+    }
+
+    private void registrar(String plantilla, String metodoHttp, boolean publico) {
+        Nodo nodo = raiz;
+        for (String segmento : plantilla.split("/")) {
+            if (!segmento.isEmpty()) {
+                nodo = nodo.hijo(segmento);
+            }
+        }
+        int bit = bitMetodo(metodoHttp);
+        nodo.metodosDeclarados |= bit;
+        if (publico) {
+            nodo.metodosPublicos |= bit;
+            numeroRutasPublicas++;
+            log.debug("Ruta pública: {} {}", metodoHttp, plantilla.replaceAll("/+", "/"));
+        }
+    }
+
+    /**
+     * Busca el nodo de la ruta a partir del índice dado, probando primero los
+     * literales y después la plantilla. El segmento se recorre una sola vez
+     * para localizar su fin y calcular su hash (el mismo que
+     * {@link String#hashCode()}), que descarta los literales distintos sin
+     * compararlos.
+     */
+    private static Nodo buscar(Nodo nodo, String ruta, int desde) {
+        int longitudRuta = ruta.length();
+        int inicio = desde;
+        while (inicio < longitudRuta && ruta.charAt(inicio) == '/') {
+            inicio++;
+        }
+        if (inicio >= longitudRuta) {
+            return nodo.metodosDeclarados != 0 ? nodo : null;
+        }
+        int fin = inicio;
+        int hash = 0;
+        char c;
+        while (fin < longitudRuta && (c = ruta.charAt(fin)) != '/') {
+            hash = 31 * hash + c;
+            fin++;
+        }
+        int longitud = fin - inicio;
+        for (int i = 0; i < nodo.hashes.length; i++) {
+            String literal = nodo.literales[i];
+            if (nodo.hashes[i] == hash && literal.length() == longitud && ruta.regionMatches(inicio, literal, 0, longitud)) {
+                Nodo encontrado = buscar(nodo.hijosLiterales[i], ruta, fin);
+                if (encontrado != null) {
+                    return encontrado;
+                }
+                break;
+            }
+        }
+        return nodo.hijoPlantilla != null ? buscar(nodo.hijoPlantilla, ruta, fin) : null;
+    }
+
+    private static int bitMetodo(String metodo) {
+        if (metodo == null) {
+            return 0;
+        }
+        return switch (metodo) {
+            case HttpMethod.GET, HttpMethod.HEAD -> 1;
+            case HttpMethod.POST -> 1 << 1;
+            case HttpMethod.PUT -> 1 << 2;
+            case HttpMethod.DELETE -> 1 << 3;
+            case HttpMethod.PATCH -> 1 << 4;
+            case HttpMethod.OPTIONS -> 1 << 5;
+            default -> 0;
+        };
+    }
+
+    private static String metodoHttp(Method metodo) {
+        for (Annotation anotacion : metodo.getAnnotations()) {
+            HttpMethod httpMethod = anotacion.annotationType().getAnnotation(HttpMethod.class);
+            if (httpMethod != null) {
+                return httpMethod.value();
+            }
+        }
+        return null;
+    }
+}
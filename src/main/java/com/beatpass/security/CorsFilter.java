@@ -26,6 +26,9 @@ public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilt
             "https://beatpass.onrender.com"
     ));
 
+    // Cabeceras de respuesta legibles desde el frontend (paginación por cursor, caché y límites de tasa)
+    private static final String EXPOSED_HEADERS = "X-Next-Cursor, X-Page-Limit, Link, ETag, Retry-After";
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         String origin = requestContext.getHeaderString("Origin");
@@ -62,6 +65,7 @@ public class CorsFilter implements ContainerRequestFilter, ContainerResponseFilt
             log.trace("CORS Filter (Response Phase) - Adding Access-Control-Allow-Origin header for Origin: {}", origin);
             responseContext.getHeaders().add("Access-Control-Allow-Origin", origin);
             responseContext.getHeaders().add("Access-Control-Allow-Credentials", "true");
+            responseContext.getHeaders().add("Access-Control-Expose-Headers", EXPOSED_HEADERS);
         } else if (origin != null && ALLOWED_ORIGINS.contains(origin) && requestContext.getMethod().equalsIgnoreCase("OPTIONS")) {
             log.trace("CORS Filter (Response Phase) - OPTIONS request. Headers already handled in RequestFilter. Skipping.");
         }
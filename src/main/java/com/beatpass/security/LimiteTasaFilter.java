@@ -0,0 +1,216 @@
+package com.beatpass.security;
+
+import com.beatpass.util.Entorno;
+import com.beatpass.util.LimitadorTasa;
+import jakarta.annotation.Priority;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.Provider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Filtro JAX-RS que limita la tasa de peticiones por grupo de rutas con cubos
+ * de fichas ({@link LimitadorTasa}), para que un cliente o un bot no agote las
+ * conexiones de la base de datos. Las peticiones rechazadas reciben 429 Too
+ * Many Requests con Retry-After.
+ * <p>
+ * Grupos, clave de cada cubo y límite por defecto
+ * ({@code capacidad/segundos}, configurable con la variable de entorno
+ * indicada; {@code 0} lo desactiva):
+ * <ul>
+ * <li>LIMITE_LOGIN (POST auth/login), por IP: 10/60.</li>
+ * <li>LIMITE_REFRESCO (POST auth/refresh), por IP: 30/60.</li>
+ * <li>LIMITE_PUBLICO (public/*), por IP: 60/60.</li>
+ * <li>LIMITE_POS_USUARIO (pos/*), por usuario autenticado: 20/1.</li>
+ * <li>LIMITE_POS_FESTIVAL (pos/*), por festival de la ruta, de los
+ * parámetros de consulta o del formulario: 500/1.</li>
+ * </ul>
+ * Para leer el festival de un formulario se guarda el cuerpo en memoria (como
+ * mucho 16 KB) y se devuelve al recurso intacto.
+ * Cada grupo guarda como mucho LIMITE_MAX_CLAVES cubos (por defecto 100000).
+ * La IP es la del socket; detrás de un proxy inverso de confianza se puede
+ * usar la última dirección de X-Forwarded-For con LIMITE_PROXY_CONFIABLE=true.
+ * </p>
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION + 100)
+public class LimiteTasaFilter implements ContainerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LimiteTasaFilter.class);
+
+    private enum Clave {
+        IP, USUARIO, FESTIVAL
+    }
+
+    private record Politica(String metodo, String prefijo, Clave clave, LimitadorTasa limitador) {
+
+    }
+
+    // capacidad[/segundos], con números acotados para que no desborden
+    private static final Pattern FORMATO_LIMITE = Pattern.compile("\\d{1,9}(/[1-9]\\d{0,8})?");
+    private static final boolean PROXY_CONFIABLE = Boolean.parseBoolean(System.getenv("LIMITE_PROXY_CONFIABLE"));
+    private static final int MAX_BYTES_FORMULARIO = 16 * 1024;
+    private static final String PARAMETRO_FESTIVAL = "idFestival";
+
+    private final List<Politica> politicas = new ArrayList<>();
+
+    @Context
+    private HttpServletRequest httpRequest;
+
+    public LimiteTasaFilter() {
+        int maxClaves = Entorno.entero("LIMITE_MAX_CLAVES", 100000);
+        registrar("LIMITE_LOGIN", "10/60", "POST", "auth/login", Clave.IP, maxClaves);
+        registrar("LIMITE_REFRESCO", "30/60", "POST", "auth/refresh", Clave.IP, maxClaves);
+        registrar("LIMITE_PUBLICO", "60/60", null, "public/", Clave.IP, maxClaves);
+        registrar("LIMITE_POS_USUARIO", "20/1", null, "pos/", Clave.USUARIO, maxClaves);
+        registrar("LIMITE_POS_FESTIVAL", "500/1", null, "pos/", Clave.FESTIVAL, maxClaves);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        if (politicas.isEmpty() || "OPTIONS".equalsIgnoreCase(requestContext.getMethod())) {
+            return;
+        }
+        UriInfo uriInfo = requestContext.getUriInfo();
+        String path = uriInfo.getPath();
+        int inicio = path.startsWith("/") ? 1 : 0;
+
+        for (Politica politica : politicas) {
+            if (!path.startsWith(politica.prefijo(), inicio)
+                    || (politica.metodo() != null && !politica.metodo().equalsIgnoreCase(requestContext.getMethod()))) {
+                continue;
+            }
+            String clave = clave(politica.clave(), requestContext, uriInfo);
+            if (clave == null) {
+                continue;
+            }
+            long esperaNanos = politica.limitador().consumir(clave);
+            if (esperaNanos > 0) {
+                long retryAfter = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                log.warn("Límite '{}' superado por {} en {} /api/{}. Reintentar en {} s.",
+                        politica.limitador().getNombre(), clave, requestContext.getMethod(), path, retryAfter);
+                requestContext.abortWith(Response.status(Response.Status.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                        .entity("{\"error\": \"Demasiadas peticiones. Inténtelo de nuevo más tarde.\"}")
+                        .type(MediaType.APPLICATION_JSON)
+                        .build());
+                return;
+            }
+        }
+    }
+
+    private String clave(Clave tipo, ContainerRequestContext requestContext, UriInfo uriInfo) throws IOException {
+        switch (tipo) {
+            case USUARIO: {
+                Principal principal = requestContext.getSecurityContext().getUserPrincipal();
+                return principal != null ? principal.getName() : null;
+            }
+            case FESTIVAL: {
+                String idFestival = uriInfo.getPathParameters().getFirst("idFestival");
+                if (idFestival == null) {
+                    idFestival = uriInfo.getQueryParameters().getFirst("festivalId");
+                }
+                if (idFestival == null) {
+                    idFestival = uriInfo.getQueryParameters().getFirst(PARAMETRO_FESTIVAL);
+                }
+                if (idFestival == null) {
+                    idFestival = festivalDelFormulario(requestContext);
+                }
+                return idFestival;
+            }
+            default:
+                return ipCliente();
+        }
+    }
+
+    /**
+     * Lee idFestival del cuerpo de un formulario (los POST del punto de
+     * venta) y repone el cuerpo para que el recurso lo lea igual.
+     */
+    private static String festivalDelFormulario(ContainerRequestContext requestContext) throws IOException {
+        if (!requestContext.hasEntity()
+                || !MediaType.APPLICATION_FORM_URLENCODED_TYPE.isCompatible(requestContext.getMediaType())) {
+            return null;
+        }
+        InputStream original = requestContext.getEntityStream();
+        byte[] leidos = original.readNBytes(MAX_BYTES_FORMULARIO + 1);
+        if (leidos.length > MAX_BYTES_FORMULARIO) {
+            // Demasiado grande para guardarlo: se devuelve sin leer el festival
+            requestContext.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(leidos), original));
+            return null;
+        }
+        requestContext.setEntityStream(new ByteArrayInputStream(leidos));
+
+        String charset = requestContext.getMediaType().getParameters().get(MediaType.CHARSET_PARAMETER);
+        Charset codificacion;
+        try {
+            codificacion = charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        try {
+            for (String par : new String(leidos, codificacion).split("&")) {
+                int igual = par.indexOf('=');
+                if (igual > 0 && PARAMETRO_FESTIVAL.equals(URLDecoder.decode(par.substring(0, igual), codificacion))) {
+                    return URLDecoder.decode(par.substring(igual + 1), codificacion);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Formulario mal codificado: lo rechazará el recurso
+        }
+        return null;
+    }
+
+    private String ipCliente() {
+        if (httpRequest == null) {
+            return null;
+        }
+        if (PROXY_CONFIABLE) {
+            String reenviada = httpRequest.getHeader("X-Forwarded-For");
+            if (reenviada != null && !reenviada.isBlank()) {
+                // La última la añade el proxy de confianza; las anteriores las puede inventar el cliente
+                return reenviada.substring(reenviada.lastIndexOf(',') + 1).trim();
+            }
+        }
+        return httpRequest.getRemoteAddr();
+    }
+
+    private void registrar(String variable, String porDefecto, String metodo, String prefijo, Clave clave, int maxClaves) {
+        String valor = System.getenv(variable);
+        String limite = valor != null && !valor.isBlank() ? valor.trim() : porDefecto;
+        if (!FORMATO_LIMITE.matcher(limite).matches()) {
+            log.warn("Valor inválido '{}' para {} (formato capacidad/segundos). Se usa {}.", valor, variable, porDefecto);
+            limite = porDefecto;
+        }
+        String[] partes = limite.split("/");
+        int capacidad = Integer.parseInt(partes[0]);
+        long segundos = partes.length > 1 ? Long.parseLong(partes[1]) : 1;
+        if (capacidad == 0) {
+            log.info("Límite de tasa '{}' desactivado.", variable);
+            return;
+        }
+        politicas.add(new Politica(metodo, prefijo, clave, new LimitadorTasa(variable, capacidad, segundos, maxClaves)));
+        log.info("Límite de tasa '{}': {} peticiones cada {} s por {} en /api/{}.", variable, capacidad, segundos, clave, prefijo);
+    }
+}
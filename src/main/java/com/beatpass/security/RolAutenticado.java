@@ -0,0 +1,51 @@
+package com.beatpass.security;
+
+/**
+ * Rol del JWT de la petición en curso, disponible para la capa de servicio en
+ * el hilo que atiende la petición. Lo establece {@link AuthenticationFilter}
+ * al validar el token. Solo se devuelve para el mismo usuario del token, de
+ * modo que un valor que quedara en un hilo reutilizado nunca se aplica a otro
+ * actor.
+ * <p>
+ * El rol del token puede estar desfasado (hasta su expiración), así que solo
+ * debe usarse para descartar, nunca para conceder permisos.
+ * </p>
+ */
+public final class RolAutenticado {
+
+    private record Actual(String idUsuario, String rol) {
+
+    }
+
+    private static final ThreadLocal<Actual> ACTUAL = new ThreadLocal<>();
+
+    private RolAutenticado() {
+    }
+
+    /**
+     * Establece el usuario y rol del token de la petición en curso.
+     */
+    static void establecer(String idUsuario, String rol) {
+        ACTUAL.set(new Actual(idUsuario, rol));
+    }
+
+    /**
+     * Olvida el rol de la petición anterior atendida por este hilo.
+     */
+    static void limpiar() {
+        ACTUAL.remove();
+    }
+
+    /**
+     * @param idUsuario ID del actor.
+     * @return El rol del token de la petición en curso si pertenece a ese
+     * actor, o null.
+     */
+    public static String de(Integer idUsuario) {
+        Actual actual = ACTUAL.get();
+        if (actual == null || idUsuario == null || !actual.idUsuario().equals(idUsuario.toString())) {
+            return null;
+        }
+        return actual.rol();
+    }
+}
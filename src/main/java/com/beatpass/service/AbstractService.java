@@ -5,31 +5,71 @@ import com.beatpass.exception.UsuarioNotFoundException;
 import com.beatpass.model.Festival;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.model.Usuario;
+import com.beatpass.security.RolAutenticado;
+import com.beatpass.util.CachePermisosFestival;
+import com.beatpass.util.Entorno;
 import com.beatpass.util.JPAUtil;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Clase base abstracta para servicios que necesitan gestión transaccional de
  * JPA. Proporciona métodos para ejecutar operaciones y lógica de negocio común,
  * como la verificación de permisos.
+ * <p>
+ * La operación más exterior de cada hilo abre la unidad de trabajo
+ * (EntityManager y, si es de escritura, transacción), y las operaciones de
+ * servicio que se llaman desde ella se unen a la misma, según su
+ * {@link Propagacion}: una petición que pasa por varios servicios usa una sola
+ * conexión y un solo contexto de persistencia, y sus cambios se confirman o
+ * revierten juntos.
+ * </p>
  */
 public abstract class AbstractService {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractService.class);
 
+    // Permisos "actor:festival" ya concedidos en la operación compuesta en curso (p. ej. un lote del panel)
+    private static final ThreadLocal<Set<String>> PERMISOS_CONCEDIDOS = new ThreadLocal<>();
+
+    // Instante (System.nanoTime) a partir del cual las consultas del hilo deben abortarse
+    private static final ThreadLocal<Long> LIMITE_CONSULTAS = new ThreadLocal<>();
+
+    // Unidad de trabajo (EntityManager y transacción) de la operación de servicio en curso en el hilo
+    private static final ThreadLocal<UnidadTrabajo> UNIDAD_ACTUAL = new ThreadLocal<>();
+
+    // Rol de los actores y dueño de los festivales, compartidos por todos los servicios
+    private static final CachePermisosFestival PERMISOS = new CachePermisosFestival(
+            Entorno.entero("PERMISOS_CACHE_MAX", 10000), Entorno.entero("PERMISOS_CACHE_TTL_SEGUNDOS", 300));
+
     /**
      * Ejecuta una operación de lectura dentro de un EntityManager. El
-     * EntityManager se gestiona automáticamente.
+     * EntityManager se gestiona automáticamente. Si ya hay una unidad de
+     * trabajo en curso en el hilo (una operación de servicio que llama a
+     * otra), se usa su EntityManager, y dentro de una transacción se ven sus
+     * cambios aún no confirmados.
      */
     protected <R> R executeRead(Function<EntityManager, R> operation, String operationName) {
+        UnidadTrabajo actual = UNIDAD_ACTUAL.get();
+        if (actual != null) {
+            log.debug("Operación de lectura '{}' unida a la unidad de trabajo en curso.", operationName);
+            return operation.apply(actual.em);
+        }
+
         EntityManager em = null;
         try {
             em = JPAUtil.createEntityManager();
+            aplicarLimiteConsultas(em);
+            UNIDAD_ACTUAL.set(new UnidadTrabajo(em, null));
             log.debug("INICIO - Operación de lectura: {}", operationName);
             R result = operation.apply(em);
             log.debug("FIN - Operación de lectura '{}' completada.", operationName);
@@ -38,44 +78,109 @@ public abstract class AbstractService {
             log.error("ERROR - durante la operación de lectura '{}': {}", operationName, e.getMessage(), e);
             throw mapException(e);
         } finally {
+            UNIDAD_ACTUAL.remove();
             closeEntityManager(em);
         }
     }
 
     /**
-     * Ejecuta una operación de escritura dentro de una transacción de JPA. El
-     * EntityManager y la transacción se gestionan automáticamente.
+     * Ejecuta una operación de escritura dentro de una transacción de JPA, con
+     * propagación {@link Propagacion#REQUIRED}. El EntityManager y la
+     * transacción se gestionan automáticamente.
      */
     protected <R> R executeTransactional(Function<EntityManager, R> operation, String operationName) {
+        return executeTransactional(operation, operationName, Propagacion.REQUIRED);
+    }
+
+    /**
+     * Ejecuta una operación de escritura dentro de una transacción de JPA con
+     * la propagación indicada.
+     * <p>
+     * Al unirse a la transacción en curso, un error de la operación la marca
+     * para rollback aunque el llamante lo capture: la confirma o revierte
+     * solo quien la abrió. Una unidad de solo lectura en curso no se
+     * aprovecha (se confirmaría lo que hubiera quedado modificado en ella):
+     * se abre una transacción propia, como con REQUIRES_NEW.
+     * </p>
+     */
+    protected <R> R executeTransactional(Function<EntityManager, R> operation, String operationName, Propagacion propagacion) {
+        UnidadTrabajo actual = UNIDAD_ACTUAL.get();
+        if (propagacion == Propagacion.REQUIRED && actual != null && actual.tx != null) {
+            log.debug("Operación transaccional '{}' unida a la transacción en curso.", operationName);
+            try {
+                return operation.apply(actual.em);
+            } catch (RuntimeException e) {
+                marcarSoloRollback(actual.tx, operationName);
+                throw e;
+            }
+        }
+
         EntityManager em = null;
         EntityTransaction tx = null;
+        UnidadTrabajo unidad = null;
+        R result;
         try {
             em = JPAUtil.createEntityManager();
+            aplicarLimiteConsultas(em);
             tx = em.getTransaction();
+            unidad = new UnidadTrabajo(em, tx);
+            UNIDAD_ACTUAL.set(unidad); // La unidad en curso, si la hay, queda suspendida hasta terminar
             tx.begin();
             log.info("INICIO TX - Operación transaccional: {}", operationName);
-            R result = operation.apply(em);
+            result = operation.apply(em);
             tx.commit();
             log.info("FIN TX - Operación transaccional '{}' completada (COMMIT).", operationName);
-            return result;
         } catch (Exception e) {
             handleException(e, tx, operationName);
             throw mapException(e);
         } finally {
+            if (actual != null) {
+                UNIDAD_ACTUAL.set(actual);
+            } else {
+                UNIDAD_ACTUAL.remove();
+            }
             closeEntityManager(em);
         }
+        ejecutarTrasConfirmar(unidad, operationName);
+        return result;
+    }
+
+    /**
+     * Ejecuta una acción cuando se confirme la transacción en curso en el
+     * hilo, o al momento si no hay ninguna; si la transacción se revierte, se
+     * descarta. Sirve para actualizar estructuras en memoria (índices,
+     * filtros, cachés) solo con cambios confirmados también cuando el
+     * servicio se llama desde la transacción de otro. Los errores de una
+     * acción aplazada se registran sin afectar a la operación ya confirmada.
+     */
+    protected static void trasConfirmar(Runnable accion) {
+        UnidadTrabajo actual = UNIDAD_ACTUAL.get();
+        if (actual != null && actual.tx != null) {
+            actual.trasConfirmar.add(accion);
+        } else {
+            accion.run();
+        }
     }
 
     /**
      * Método centralizado de autorización. Verifica si un usuario (actor) tiene
      * permisos sobre un festival. El permiso se concede si el actor es ADMIN o
      * si es un PROMOTOR dueño del festival.
+     * <p>
+     * Si el rol del JWT de la petición ya descarta al actor (no es ADMIN ni
+     * PROMOTOR) se deniega sin consultas. Si no, el rol del actor y el dueño
+     * del festival se leen de la base de datos solo la primera vez y se
+     * conservan en memoria hasta que se invalidan
+     * ({@link #invalidarPermisosActor(Integer)},
+     * {@link #invalidarPermisosFestival(Integer)}) o caducan.
+     * </p>
      *
      * @param em El EntityManager activo para realizar las consultas.
      * @param idFestival El ID del festival sobre el cual se verifica el
      * permiso.
      * @param idActor El ID del usuario que intenta realizar la acción.
-     * @throws UsuarioNotFoundException Si el actor no se encuentra.
+     * @throws UsuarioNotFoundException Si el actor no se encuentra o está
+     * desactivado.
      * @throws FestivalNotFoundException Si el festival no se encuentra.
      * @throws SecurityException Si el actor no tiene los permisos requeridos.
      */
@@ -87,41 +192,201 @@ public abstract class AbstractService {
             throw new IllegalArgumentException("El ID del usuario actor no puede ser nulo.");
         }
 
-        // Buscar al actor que realiza la acción
-        Usuario actor = em.find(Usuario.class, idActor);
-        if (actor == null) {
-            throw new UsuarioNotFoundException("Usuario actor no encontrado con ID: " + idActor);
+        Set<String> concedidos = PERMISOS_CONCEDIDOS.get();
+        String clavePermiso = idActor + ":" + idFestival;
+        if (concedidos != null && concedidos.contains(clavePermiso)) {
+            log.trace("Permiso para festival ID {} y usuario ID {} ya verificado en esta operación.", idFestival, idActor);
+            return;
+        }
+
+        // El rol del token no puede conceder (puede estar desfasado), pero sí descartar sin consultas
+        String rolToken = RolAutenticado.de(idActor);
+        if (rolToken != null && !RolUsuario.ADMIN.name().equals(rolToken) && !RolUsuario.PROMOTOR.name().equals(rolToken)) {
+            log.warn("Intento de acceso no autorizado por usuario ID {} (Rol en token: {}) al festival ID {}", idActor, rolToken, idFestival);
+            throw new SecurityException("El usuario no tiene permiso para acceder a los recursos de este festival.");
+        }
+
+        // Rol del actor que realiza la acción; un actor desactivado no tiene ninguno
+        RolUsuario rol = PERMISOS.rol(idActor, id -> {
+            Usuario actor = em.find(Usuario.class, id);
+            return actor != null && !Boolean.FALSE.equals(actor.getEstado()) ? actor.getRol() : null;
+        });
+        if (rol == null) {
+            throw new UsuarioNotFoundException("Usuario actor no encontrado o desactivado con ID: " + idActor);
         }
 
         // Un ADMIN siempre tiene permiso
-        if (actor.getRol() == RolUsuario.ADMIN) {
+        if (rol == RolUsuario.ADMIN) {
             log.trace("Permiso concedido para festival ID {} a usuario ID {} (Rol: ADMIN).", idFestival, idActor);
+            registrarPermiso(concedidos, clavePermiso);
             return;
         }
 
-        // Buscar el festival
-        Festival festival = em.find(Festival.class, idFestival);
-        if (festival == null) {
+        // Dueño del festival
+        Integer idPromotor = PERMISOS.promotor(idFestival, id -> {
+            Festival festival = em.find(Festival.class, id);
+            if (festival == null) {
+                return null;
+            }
+            return festival.getPromotor() != null ? festival.getPromotor().getIdUsuario() : CachePermisosFestival.SIN_PROMOTOR;
+        });
+        if (idPromotor == null) {
             throw new FestivalNotFoundException("Festival no encontrado con ID: " + idFestival);
         }
 
         // Si el actor es PROMOTOR, verificar que sea el dueño
-        if (actor.getRol() == RolUsuario.PROMOTOR) {
-            if (festival.getPromotor() != null && festival.getPromotor().getIdUsuario().equals(idActor)) {
-                log.trace("Permiso concedido para festival ID {} a usuario promotor dueño ID {}.", idFestival, idActor);
-                return;
-            }
+        if (rol == RolUsuario.PROMOTOR && idPromotor.equals(idActor)) {
+            log.trace("Permiso concedido para festival ID {} a usuario promotor dueño ID {}.", idFestival, idActor);
+            registrarPermiso(concedidos, clavePermiso);
+            return;
         }
 
         // Si no es ADMIN ni el PROMOTOR dueño, denegar acceso
         log.warn("Intento de acceso no autorizado por usuario ID {} (Rol: {}) al festival ID {} (Propiedad de Promotor ID {})",
                 idActor,
-                actor.getRol(),
-                festival.getIdFestival(),
-                festival.getPromotor() != null ? festival.getPromotor().getIdUsuario() : "N/A");
+                rol,
+                idFestival,
+                !CachePermisosFestival.SIN_PROMOTOR.equals(idPromotor) ? idPromotor : "N/A");
         throw new SecurityException("El usuario no tiene permiso para acceder a los recursos de este festival.");
     }
 
+    /**
+     * Olvida el rol guardado de un actor. Debe llamarse después del commit que
+     * cambia su rol o estado o lo elimina.
+     *
+     * @param idActor ID del usuario.
+     */
+    protected static void invalidarPermisosActor(Integer idActor) {
+        PERMISOS.invalidarActor(idActor);
+    }
+
+    /**
+     * Olvida el dueño guardado de un festival. Debe llamarse después del
+     * commit que cambia su promotor o lo elimina.
+     *
+     * @param idFestival ID del festival.
+     */
+    protected static void invalidarPermisosFestival(Integer idFestival) {
+        PERMISOS.invalidarFestival(idFestival);
+    }
+
+    /**
+     * Ejecuta una operación compartiendo los permisos concedidos con otras
+     * operaciones del mismo conjunto (que pueden ejecutarse en otros hilos):
+     * {@link #verificarPermisoSobreFestival} no repite las consultas de un
+     * permiso ya concedido. Los permisos denegados no se recuerdan.
+     *
+     * @param concedidos Conjunto concurrente de permisos concedidos,
+     * compartido por las operaciones.
+     * @param operacion Operación a ejecutar.
+     * @return El resultado de la operación.
+     */
+    protected static <R> R conPermisosCompartidos(Set<String> concedidos, Supplier<R> operacion) {
+        Set<String> anteriores = PERMISOS_CONCEDIDOS.get();
+        PERMISOS_CONCEDIDOS.set(concedidos);
+        try {
+            return operacion.get();
+        } finally {
+            if (anteriores != null) {
+                PERMISOS_CONCEDIDOS.set(anteriores);
+            } else {
+                PERMISOS_CONCEDIDOS.remove();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una operación cuyas consultas deben terminar antes del límite:
+     * los EntityManager que abra llevan como timeout de consulta el tiempo que
+     * quede, de modo que la base de datos las aborta en lugar de seguir
+     * ocupando la conexión. Dentro de otra llamada se aplica el límite más
+     * cercano, y el de la exterior se restaura al terminar.
+     *
+     * @param limiteNanos Instante límite, en la escala de
+     * {@link System#nanoTime()}.
+     * @param operacion Operación a ejecutar.
+     * @return El resultado de la operación.
+     */
+    protected static <R> R conLimiteConsultas(long limiteNanos, Supplier<R> operacion) {
+        Long anterior = LIMITE_CONSULTAS.get();
+        // Una llamada anidada no puede alargar el límite de la exterior
+        LIMITE_CONSULTAS.set(anterior != null && anterior - limiteNanos < 0 ? anterior : limiteNanos);
+        try {
+            return operacion.get();
+        } finally {
+            if (anterior != null) {
+                LIMITE_CONSULTAS.set(anterior);
+            } else {
+                LIMITE_CONSULTAS.remove();
+            }
+        }
+    }
+
+    private static void aplicarLimiteConsultas(EntityManager em) {
+        Long limite = LIMITE_CONSULTAS.get();
+        if (limite != null) {
+            long restanteMs = TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime());
+            em.setProperty("jakarta.persistence.query.timeout", Math.max(1, restanteMs));
+        }
+    }
+
+    private static void registrarPermiso(Set<String> concedidos, String clavePermiso) {
+        if (concedidos != null) {
+            concedidos.add(clavePermiso);
+        }
+    }
+
+    /**
+     * Modos de propagación de {@code executeTransactional} respecto a la
+     * transacción en curso en el hilo.
+     */
+    protected enum Propagacion {
+        /**
+         * Se une a la transacción en curso o, si no la hay, abre una.
+         */
+        REQUIRED,
+        /**
+         * Abre siempre una transacción propia, con su propio EntityManager,
+         * que se confirma o revierte por separado; la que hubiera en curso
+         * queda suspendida hasta que termine. No debe tocar filas bloqueadas
+         * por la transacción suspendida.
+         */
+        REQUIRES_NEW
+    }
+
+    private static final class UnidadTrabajo {
+
+        private final EntityManager em;
+        private final EntityTransaction tx; // null en las unidades de solo lectura
+        private final List<Runnable> trasConfirmar = new ArrayList<>();
+
+        private UnidadTrabajo(EntityManager em, EntityTransaction tx) {
+            this.em = em;
+            this.tx = tx;
+        }
+    }
+
+    private void marcarSoloRollback(EntityTransaction tx, String operationName) {
+        try {
+            if (tx.isActive()) {
+                tx.setRollbackOnly();
+                log.warn("Transacción en curso marcada para ROLLBACK por error en '{}'.", operationName);
+            }
+        } catch (Exception e) {
+            log.error("ERROR - al marcar para rollback la transacción en curso ('{}'): {}", operationName, e.getMessage(), e);
+        }
+    }
+
+    private void ejecutarTrasConfirmar(UnidadTrabajo unidad, String operationName) {
+        for (Runnable accion : unidad.trasConfirmar) {
+            try {
+                accion.run();
+            } catch (RuntimeException e) {
+                log.error("ERROR - en una acción posterior al COMMIT de '{}': {}", operationName, e.getMessage(), e);
+            }
+        }
+    }
+
     protected void handleException(Exception e, EntityTransaction tx, String operationName) {
         log.debug("Manejando excepción durante la acción '{}'. Intentando rollback.", operationName);
         rollbackTransaction(tx, operationName);
@@ -1,6 +1,7 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.AsistenteDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.exception.AsistenteNotFoundException;
 import com.beatpass.exception.FestivalNotFoundException;
 import com.beatpass.model.Asistente;
@@ -40,12 +41,19 @@ public interface AsistenteService {
     Asistente obtenerOcrearAsistentePorEmail(String email, String nombre, String telefono);
 
     /**
-     * Busca asistentes por nombre o email que contengan el término.
+     * Busca una página de asistentes por nombre o email que contengan el
+     * término. Sin término se ordenan por email; con término se resuelve con
+     * un índice de trigramas en memoria y se ordenan por relevancia (prefijo,
+     * prefijo de palabra, subcadena) y después por email.
      *
      * @param searchTerm Término de búsqueda (si es nulo/vacío, devuelve todos).
-     * @return Lista de AsistenteDTO coincidentes.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de AsistenteDTO coincidentes.
+     * @throws IllegalArgumentException si el cursor no es válido.
      */
-    List<AsistenteDTO> buscarAsistentes(String searchTerm);
+    PaginaDTO<AsistenteDTO> buscarAsistentes(String searchTerm, String cursor, Integer limite);
 
     /**
      * Actualiza nombre y teléfono de un asistente existente. Email no
@@ -60,18 +68,23 @@ public interface AsistenteService {
     AsistenteDTO actualizarAsistente(Integer idAsistente, AsistenteDTO asistenteDTO);
 
     /**
-     * Obtiene los asistentes únicos con entradas para un festival específico.
-     * Verifica permisos del promotor sobre el festival.
+     * Obtiene una página de los asistentes únicos con entradas para un
+     * festival específico, ordenados por nombre. Verifica permisos del
+     * promotor sobre el festival.
      *
      * @param idFestival ID del festival.
      * @param idPromotor ID del promotor solicitante.
-     * @return Lista de AsistenteDTO.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de AsistenteDTO.
      * @throws FestivalNotFoundException si el festival no se encuentra.
      * @throws SecurityException si el promotor no tiene permisos.
-     * @throws IllegalArgumentException si los IDs son nulos.
+     * @throws IllegalArgumentException si los IDs son nulos o el cursor no es
+     * válido.
      */
-    List<AsistenteDTO> obtenerAsistentesPorFestival(Integer idFestival, Integer idPromotor);
+    PaginaDTO<AsistenteDTO> obtenerAsistentesPorFestival(Integer idFestival, Integer idPromotor, String cursor, Integer limite);
 
-    List<AsistenteDTO> obtenerTodosLosAsistentesConFiltro(String searchTerm);
+    PaginaDTO<AsistenteDTO> obtenerTodosLosAsistentesConFiltro(String searchTerm, String cursor, Integer limite);
 
 }
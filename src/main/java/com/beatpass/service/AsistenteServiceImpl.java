@@ -1,17 +1,21 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.AsistenteDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.exception.AsistenteNotFoundException;
 import com.beatpass.mapper.AsistenteMapper;
 import com.beatpass.model.Asistente;
 import com.beatpass.repository.AsistenteRepository;
+import com.beatpass.util.IndiceTrigramas;
+import com.beatpass.util.Paginacion;
 import jakarta.inject.Inject;
-import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio para la gestión de Asistentes. Gestiona la
@@ -21,8 +25,14 @@ public class AsistenteServiceImpl extends AbstractService implements AsistenteSe
 
     private static final Logger log = LoggerFactory.getLogger(AsistenteServiceImpl.class);
 
+    private static final String CURSOR_ASISTENTES = "asistentes";
+    private static final String CURSOR_BUSQUEDA = "asistentes-busqueda";
+    private static final String CURSOR_FESTIVAL = "asistentes-festival";
+    private static final int TAMANO_LOTE_CARGA = 1000;
+
     private final AsistenteRepository asistenteRepository;
     private final AsistenteMapper asistenteMapper;
+    private final IndiceTrigramas indice = new IndiceTrigramas("asistentes");
 
     @Inject
     public AsistenteServiceImpl(AsistenteRepository asistenteRepository) {
@@ -59,7 +69,7 @@ public class AsistenteServiceImpl extends AbstractService implements AsistenteSe
             throw new IllegalArgumentException("El email es obligatorio para obtener o crear un asistente.");
         }
 
-        return executeTransactional(em -> {
+        Asistente asistente = executeTransactional(em -> {
             Optional<Asistente> existenteOpt = asistenteRepository.findByEmail(em, email);
             if (existenteOpt.isPresent()) {
                 return existenteOpt.get();
@@ -74,19 +84,23 @@ public class AsistenteServiceImpl extends AbstractService implements AsistenteSe
             nuevoAsistente.setTelefono(telefono != null ? telefono.trim() : null);
             return asistenteRepository.save(em, nuevoAsistente);
         }, "obtenerOcrearAsistentePorEmail " + email);
+        // Se suele llamar desde la transacción de otro servicio: indexar solo si se confirma
+        trasConfirmar(() -> indice.indexar(asistente.getIdAsistente(), asistente.getNombre(), asistente.getEmail()));
+        return asistente;
     }
 
     @Override
-    public List<AsistenteDTO> buscarAsistentes(String searchTerm) {
-        if (searchTerm == null || searchTerm.isBlank()) {
-            return obtenerTodosLosAsistentes();
+    public PaginaDTO<AsistenteDTO> buscarAsistentes(String searchTerm, String cursor, Integer limite) {
+        if (IndiceTrigramas.ACTIVO && searchTerm != null && !searchTerm.isBlank()) {
+            return buscarEnIndice(searchTerm, cursor, Paginacion.normalizarLimite(limite));
         }
+        String[] claveCursor = Paginacion.decodificarCursor(cursor, CURSOR_ASISTENTES, 1);
+        String despuesDeEmail = claveCursor != null ? claveCursor[0] : null;
+        int tamano = Paginacion.normalizarLimite(limite);
         return executeRead(em -> {
-            String jpql = "SELECT a FROM Asistente a WHERE lower(a.nombre) LIKE :term OR lower(a.email) LIKE :term ORDER BY a.nombre";
-            TypedQuery<Asistente> query = em.createQuery(jpql, Asistente.class);
-            query.setParameter("term", "%" + searchTerm.toLowerCase() + "%");
-            List<Asistente> asistentes = query.getResultList();
-            return asistenteMapper.toAsistenteDTOList(asistentes);
+            List<Asistente> asistentes = asistenteRepository.buscarPagina(em, searchTerm, despuesDeEmail, tamano + 1);
+            return Paginacion.construirPagina(asistenteMapper.toAsistenteDTOList(asistentes), tamano,
+                    ultimo -> Paginacion.codificarCursor(CURSOR_ASISTENTES, ultimo.getEmail()));
         }, "buscarAsistentes " + searchTerm);
     }
 
@@ -97,7 +111,7 @@ public class AsistenteServiceImpl extends AbstractService implements AsistenteSe
             throw new IllegalArgumentException("ID y DTO del asistente son requeridos para actualizar.");
         }
 
-        return executeTransactional(em -> {
+        AsistenteDTO actualizado = executeTransactional(em -> {
             Asistente asistente = asistenteRepository.findById(em, idAsistente)
                     .orElseThrow(() -> new AsistenteNotFoundException("Asistente no encontrado con ID: " + idAsistente));
 
@@ -105,53 +119,91 @@ public class AsistenteServiceImpl extends AbstractService implements AsistenteSe
             asistente = asistenteRepository.save(em, asistente);
             return asistenteMapper.asistenteToAsistenteDTO(asistente);
         }, "actualizarAsistente " + idAsistente);
+        trasConfirmar(() -> indice.indexar(actualizado.getIdAsistente(), actualizado.getNombre(), actualizado.getEmail()));
+        return actualizado;
     }
 
     @Override
-    public List<AsistenteDTO> obtenerAsistentesPorFestival(Integer idFestival, Integer idActor) {
+    public PaginaDTO<AsistenteDTO> obtenerAsistentesPorFestival(Integer idFestival, Integer idActor, String cursor, Integer limite) {
         log.debug("Service: Obteniendo asistentes para festival ID {} por actor ID {}", idFestival, idActor);
         if (idFestival == null || idActor == null) {
             throw new IllegalArgumentException("ID de festival e ID de actor son requeridos.");
         }
+        String[] claveCursor = Paginacion.decodificarCursor(cursor, CURSOR_FESTIVAL, 2);
+        String despuesDeNombre = claveCursor != null ? claveCursor[0] : null;
+        Integer despuesDeId;
+        try {
+            despuesDeId = claveCursor != null ? Integer.valueOf(claveCursor[1]) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación no válido.");
+        }
+        int tamano = Paginacion.normalizarLimite(limite);
 
         return executeRead(em -> {
             verificarPermisoSobreFestival(em, idFestival, idActor);
-
-            // 1. Ejecutar la consulta optimizada que devuelve datos planos
-            List<Object[]> resultados = asistenteRepository.findAsistenteDetailsByFestivalId(em, idFestival);
-
-            // 2. Procesar y agrupar los resultados para construir los DTOs finales
-            Map<Integer, AsistenteDTO> asistentesMap = new LinkedHashMap<>();
-            for (Object[] row : resultados) {
-                Integer idAsistente = (Integer) row[0];
-
-                // Crea el AsistenteDTO solo la primera vez que se encuentra su ID
-                AsistenteDTO dto = asistentesMap.computeIfAbsent(idAsistente, k -> {
-                    AsistenteDTO nuevoDto = new AsistenteDTO();
-                    nuevoDto.setIdAsistente((Integer) row[0]);
-                    nuevoDto.setNombre((String) row[1]);
-                    nuevoDto.setEmail((String) row[2]);
-                    nuevoDto.setTelefono((String) row[3]);
-                    nuevoDto.setFechaCreacion((LocalDateTime) row[4]);
-                    nuevoDto.setFestivalPulseraInfo(new LinkedHashMap<>());
-                    return nuevoDto;
-                });
-
-                // Añade la información del festival y la pulsera al mapa del asistente
-                String nombreFestival = (String) row[5];
-                String codigoUidPulsera = (String) row[6];
-                dto.getFestivalPulseraInfo().put(nombreFestival, codigoUidPulsera);
-            }
-
-            log.info("Encontrados {} asistentes únicos para el festival ID {}", asistentesMap.size(), idFestival);
-            return new ArrayList<>(asistentesMap.values());
-        }, "obtenerAsistentesPorFestival (optimizado) " + idFestival);
+            // Proyección directa a DTO: una fila por asistente con su pulsera en el festival
+            List<AsistenteDTO> asistentes = asistenteRepository.findDTOsByFestivalId(em, idFestival, despuesDeNombre, despuesDeId, tamano + 1);
+            log.info("Encontrados {} asistentes únicos para el festival ID {} (página tras {})", asistentes.size(), idFestival, despuesDeId);
+            return Paginacion.construirPagina(asistentes, tamano,
+                    ultimo -> Paginacion.codificarCursor(CURSOR_FESTIVAL, ultimo.getNombre(), ultimo.getIdAsistente()));
+        }, "obtenerAsistentesPorFestival " + idFestival);
     }
 
     @Override
-    public List<AsistenteDTO> obtenerTodosLosAsistentesConFiltro(String searchTerm) {
+    public PaginaDTO<AsistenteDTO> obtenerTodosLosAsistentesConFiltro(String searchTerm, String cursor, Integer limite) {
         // Este método mantiene una implementación más simple por ahora,
         // ya que la optimización principal se enfoca en la vista por festival.
-        return buscarAsistentes(searchTerm);
+        return buscarAsistentes(searchTerm, cursor, limite);
+    }
+
+    /**
+     * Búsqueda con el índice de trigramas: las coincidencias (ordenadas por
+     * relevancia y email) salen de memoria y solo se leen de la base de datos
+     * los asistentes de la página, por clave primaria.
+     */
+    private PaginaDTO<AsistenteDTO> buscarEnIndice(String searchTerm, String cursor, int tamano) {
+        IndiceTrigramas.Coincidencia despuesDe = decodificarCursorBusqueda(cursor);
+        cargarIndice();
+        PaginaDTO<IndiceTrigramas.Coincidencia> coincidencias = Paginacion.construirPagina(
+                indice.buscar(searchTerm, despuesDe, tamano + 1), tamano,
+                ultima -> Paginacion.codificarCursor(CURSOR_BUSQUEDA, ultima.rango(), ultima.email()));
+        List<Integer> ids = coincidencias.getItems().stream().map(IndiceTrigramas.Coincidencia::id).collect(Collectors.toList());
+
+        return executeRead(em -> {
+            Map<Integer, Asistente> porId = asistenteRepository.findByIds(em, ids).stream()
+                    .collect(Collectors.toMap(Asistente::getIdAsistente, Function.identity()));
+            List<AsistenteDTO> asistentes = ids.stream()
+                    .map(porId::get)
+                    .filter(Objects::nonNull)
+                    .map(asistenteMapper::asistenteToAsistenteDTO)
+                    .collect(Collectors.toList());
+            log.info("Encontrados {} asistentes en el índice para el término '{}'", asistentes.size(), searchTerm);
+            return new PaginaDTO<>(asistentes, coincidencias.getSiguienteCursor(), coincidencias.getLimite());
+        }, "buscarAsistentes (índice) " + searchTerm);
+    }
+
+    private IndiceTrigramas.Coincidencia decodificarCursorBusqueda(String cursor) {
+        String[] clave = Paginacion.decodificarCursor(cursor, CURSOR_BUSQUEDA, 2);
+        if (clave == null) {
+            return null;
+        }
+        try {
+            return new IndiceTrigramas.Coincidencia(0, Integer.parseInt(clave[0]), clave[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación no válido.");
+        }
+    }
+
+    private void cargarIndice() {
+        indice.cargarSiNecesario(fila -> {
+            long inicio = System.nanoTime();
+            executeRead(em -> {
+                try (Stream<Object[]> filas = asistenteRepository.streamDatosBusqueda(em, TAMANO_LOTE_CARGA)) {
+                    filas.forEach(fila);
+                }
+                return null;
+            }, "cargarIndiceAsistentes");
+            log.info("Índice de búsqueda de asistentes cargado en {} ms.", (System.nanoTime() - inicio) / 1_000_000);
+        });
     }
 }
@@ -0,0 +1,39 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.EstadisticasCacheDTO;
+import com.beatpass.dto.EstadisticasCoalescenciaDTO;
+import java.util.List;
+
+/**
+ * Define la consulta del estado de la caché de segundo nivel de Hibernate
+ * (regiones de Festival, TipoEntrada, Usuario y Festival.tiposEntrada) y de
+ * la agrupación de lecturas concurrentes idénticas.
+ */
+public interface CacheService {
+
+    /**
+     * Obtiene las estadísticas de cada región de la caché de segundo nivel.
+     *
+     * @return Lista de estadísticas por región, ordenada por nombre.
+     */
+    List<EstadisticasCacheDTO> obtenerEstadisticasCache();
+
+    /**
+     * Pone a cero los contadores de estadísticas de Hibernate (no vacía la
+     * caché).
+     */
+    void reiniciarEstadisticas();
+
+    /**
+     * Obtiene las métricas de cada punto de agrupación de lecturas
+     * concurrentes (single-flight).
+     *
+     * @return Lista de métricas, ordenada por nombre.
+     */
+    List<EstadisticasCoalescenciaDTO> obtenerEstadisticasCoalescencia();
+
+    /**
+     * Pone a cero los contadores de agrupación de lecturas.
+     */
+    void reiniciarEstadisticasCoalescencia();
+}
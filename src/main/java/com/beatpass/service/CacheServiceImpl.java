@@ -0,0 +1,73 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.EstadisticasCacheDTO;
+import com.beatpass.dto.EstadisticasCoalescenciaDTO;
+import com.beatpass.util.JPAUtil;
+import com.beatpass.util.LecturasAgrupadas;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implementación de CacheService a partir de las estadísticas de Hibernate
+ * (requiere HIBERNATE_ESTADISTICAS=true en el entorno) y de los
+ * contadores de {@link LecturasAgrupadas}.
+ */
+public class CacheServiceImpl implements CacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheServiceImpl.class);
+
+    @Override
+    public List<EstadisticasCacheDTO> obtenerEstadisticasCache() {
+        Statistics estadisticas = JPAUtil.obtenerEstadisticas();
+        if (!estadisticas.isStatisticsEnabled()) {
+            log.warn("Las estadísticas de Hibernate están desactivadas (HIBERNATE_ESTADISTICAS=true para activarlas). No hay datos de la caché.");
+        }
+        String[] regiones = estadisticas.getSecondLevelCacheRegionNames();
+        Arrays.sort(regiones);
+
+        List<EstadisticasCacheDTO> resultado = new ArrayList<>(regiones.length);
+        for (String region : regiones) {
+            CacheRegionStatistics stats = estadisticas.getDomainDataRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            resultado.add(new EstadisticasCacheDTO(region, stats.getHitCount(), stats.getMissCount(),
+                    stats.getPutCount(), stats.getElementCountInMemory()));
+        }
+        log.debug("Estadísticas de {} regiones de caché obtenidas.", resultado.size());
+        return resultado;
+    }
+
+    @Override
+    public void reiniciarEstadisticas() {
+        JPAUtil.obtenerEstadisticas().clear();
+        log.info("Estadísticas de Hibernate reiniciadas.");
+    }
+
+    @Override
+    public List<EstadisticasCoalescenciaDTO> obtenerEstadisticasCoalescencia() {
+        List<EstadisticasCoalescenciaDTO> resultado = new ArrayList<>();
+        for (LecturasAgrupadas<?, ?> lecturas : LecturasAgrupadas.registradas()) {
+            LecturasAgrupadas.Estadisticas stats = lecturas.estadisticas();
+            List<EstadisticasCoalescenciaDTO.ClaveDTO> claves = new ArrayList<>(stats.clavesMasCompartidas().size());
+            for (LecturasAgrupadas.ContadoresClave clave : stats.clavesMasCompartidas()) {
+                claves.add(new EstadisticasCoalescenciaDTO.ClaveDTO(clave.clave(), clave.ejecuciones(), clave.compartidas()));
+            }
+            resultado.add(new EstadisticasCoalescenciaDTO(stats.nombre(), stats.ejecuciones(), stats.compartidas(),
+                    stats.errores(), stats.enCurso(), claves));
+        }
+        return resultado;
+    }
+
+    @Override
+    public void reiniciarEstadisticasCoalescencia() {
+        LecturasAgrupadas.registradas().forEach(LecturasAgrupadas::reiniciarEstadisticas);
+        log.info("Estadísticas de agrupación de lecturas reiniciadas.");
+    }
+}
@@ -0,0 +1,65 @@
+package com.beatpass.service;
+
+import com.beatpass.exception.FestivalNoPublicadoException;
+import com.beatpass.exception.FestivalNotFoundException;
+import com.beatpass.util.CatalogoPublico;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Define el acceso al catálogo público de festivales (detalle, tipos de
+ * entrada y listado de publicados). Las consultas se resuelven sobre una
+ * instantánea en memoria con las respuestas ya serializadas, sin acceder a la
+ * base de datos; los servicios que modifican festivales o tipos de entrada la
+ * invalidan tras confirmar la transacción. No incluye el stock, que cambia con
+ * cada venta: la disponibilidad publicada la sirve DisponibilidadService.
+ */
+public interface CatalogoPublicoService {
+
+    /**
+     * Obtiene un festival (en cualquier estado) por su ID.
+     *
+     * @param idFestival ID del festival.
+     * @return Optional con el JSON del festival y su ETag, vacío si no existe.
+     */
+    Optional<CatalogoPublico.Recurso> obtenerFestival(Integer idFestival);
+
+    /**
+     * Obtiene los tipos de entrada de un festival publicado.
+     *
+     * @param idFestival ID del festival.
+     * @return El JSON de los tipos de entrada y su ETag.
+     * @throws FestivalNotFoundException Si el festival no existe.
+     * @throws FestivalNoPublicadoException Si el festival no está publicado.
+     */
+    CatalogoPublico.Recurso obtenerTiposEntrada(Integer idFestival);
+
+    /**
+     * Busca los festivales publicados cuyo periodo se solapa con el rango,
+     * mediante un árbol de intervalos en memoria.
+     *
+     * @param fechaDesde Fecha de inicio del rango.
+     * @param fechaHasta Fecha de fin del rango.
+     * @param ubicacion Texto que debe contener la ubicación, sin distinguir
+     * mayúsculas ni tildes (null para no filtrar).
+     * @return El JSON del listado y su ETag.
+     */
+    CatalogoPublico.Recurso buscarFestivalesPublicados(LocalDate fechaDesde, LocalDate fechaHasta, String ubicacion);
+
+    /**
+     * Marca el catálogo como desactualizado y programa su reconstrucción en
+     * segundo plano, sin bloquear. Debe llamarse después del commit de la
+     * transacción que modificó los datos. Las invalidaciones seguidas se
+     * agrupan en una sola reconstrucción; hasta que termine, las consultas
+     * reciben la instantánea anterior.
+     */
+    void invalidar();
+
+    /**
+     * Construye la instantánea si aún no existe. Se llama al arrancar la
+     * aplicación para que la exportación estática, si está activada, esté
+     * disponible sin esperar a la primera consulta.
+     */
+    void precargar();
+}
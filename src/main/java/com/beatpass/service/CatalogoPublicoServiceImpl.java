@@ -0,0 +1,285 @@
+package com.beatpass.service;
+
+import com.beatpass.config.ObjectMapperContextResolver;
+import com.beatpass.dto.FestivalDTO;
+import com.beatpass.dto.TipoEntradaDTO;
+import com.beatpass.exception.FestivalNoPublicadoException;
+import com.beatpass.exception.FestivalNotFoundException;
+import com.beatpass.mapper.FestivalMapper;
+import com.beatpass.mapper.TipoEntradaMapper;
+import com.beatpass.model.EstadoFestival;
+import com.beatpass.model.TipoEntrada;
+import com.beatpass.repository.FestivalRepository;
+import com.beatpass.repository.TipoEntradaRepository;
+import com.beatpass.util.CatalogoPublico;
+import com.beatpass.util.Entorno;
+import com.beatpass.util.PublicadorCatalogoEstatico;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementación del catálogo público en memoria. La instantánea se construye
+ * con dos consultas (festivales con su promotor y tipos de entrada de los
+ * publicados) en la primera petición y después solo tras una invalidación.
+ * No incluye el stock de los tipos de entrada, de modo que las ventas y
+ * cancelaciones no la invalidan; la disponibilidad publicada la sirve
+ * {@link DisponibilidadService}.
+ * <p>
+ * Cada invalidación solo incrementa la versión pedida y programa la
+ * reconstrucción en un único hilo en segundo plano, pasados
+ * CATALOGO_RECONSTRUCCION_RETARDO_MS (por defecto 250), de modo que una
+ * ráfaga de escrituras produce una sola reconstrucción. Los lectores siempre
+ * obtienen la instantánea vigente y solo acceden a la base de datos para la
+ * primera carga. Si una reconstrucción falla se mantiene la instantánea
+ * anterior y se reintenta con espera exponencial (de 1 s a 60 s).
+ * </p>
+ * <p>
+ * Si CATALOGO_ESTATICO_DIR está definida, cada instantánea publicada se
+ * escribe además como ficheros JSON estáticos en ese directorio
+ * ({@link PublicadorCatalogoEstatico}), en un hilo aparte.
+ * </p>
+ */
+public class CatalogoPublicoServiceImpl extends AbstractService implements CatalogoPublicoService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoPublicoServiceImpl.class);
+
+    private static final long ESPERA_REINTENTO_MINIMA_MS = 1_000;
+    private static final long ESPERA_REINTENTO_MAXIMA_MS = 60_000;
+
+    private final FestivalRepository festivalRepository;
+    private final TipoEntradaRepository tipoEntradaRepository;
+    private final FestivalMapper festivalMapper;
+    private final TipoEntradaMapper tipoEntradaMapper;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<CatalogoPublico> catalogo = new AtomicReference<>();
+    private final AtomicLong versionSolicitada = new AtomicLong();
+    private final Object bloqueoInicial = new Object();
+
+    // Reconstrucción en segundo plano
+    private final ScheduledExecutorService reconstructor;
+    private final long retardoReconstruccion;
+    private final AtomicBoolean reconstruccionPendiente = new AtomicBoolean();
+    // Solo los usa el hilo reconstructor
+    private int fallosSeguidos;
+    private long reintentoNoAntesDe = System.nanoTime();
+
+    // Exportación estática (null si CATALOGO_ESTATICO_DIR no está definida)
+    private final PublicadorCatalogoEstatico publicador;
+    private final ExecutorService exportador;
+    private final AtomicBoolean exportacionPendiente = new AtomicBoolean();
+
+    @Inject
+    public CatalogoPublicoServiceImpl(FestivalRepository festivalRepository, TipoEntradaRepository tipoEntradaRepository) {
+        this.festivalRepository = festivalRepository;
+        this.tipoEntradaRepository = tipoEntradaRepository;
+        this.festivalMapper = FestivalMapper.INSTANCE;
+        this.tipoEntradaMapper = TipoEntradaMapper.INSTANCE;
+        this.objectMapper = ObjectMapperContextResolver.crearObjectMapper();
+        this.publicador = PublicadorCatalogoEstatico.desdeEntorno(objectMapper);
+        this.retardoReconstruccion = Entorno.entero("CATALOGO_RECONSTRUCCION_RETARDO_MS", 250);
+        this.reconstructor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "beatpass-catalogo-reconstruccion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        if (publicador != null) {
+            this.exportador = Executors.newSingleThreadExecutor(r -> {
+                Thread hilo = new Thread(r, "beatpass-catalogo-estatico");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            log.info("Exportación estática del catálogo público activada en {}.", publicador.getDirectorio());
+        } else {
+            this.exportador = null;
+        }
+    }
+
+    @Override
+    public Optional<CatalogoPublico.Recurso> obtenerFestival(Integer idFestival) {
+        if (idFestival == null) {
+            return Optional.empty();
+        }
+        return instantanea().festival(idFestival);
+    }
+
+    @Override
+    public CatalogoPublico.Recurso obtenerTiposEntrada(Integer idFestival) {
+        if (idFestival == null) {
+            throw new IllegalArgumentException("ID de festival es requerido.");
+        }
+        CatalogoPublico actual = instantanea();
+        CatalogoPublico.Recurso tipos = actual.tiposEntrada(idFestival);
+        if (tipos != null) {
+            return tipos;
+        }
+        EstadoFestival estado = actual.estado(idFestival)
+                .orElseThrow(() -> new FestivalNotFoundException("Festival no encontrado con ID: " + idFestival));
+        log.warn("Intento de acceso a tipos de entrada de festival ID {} no publicado (Estado: {})", idFestival, estado);
+        throw new FestivalNoPublicadoException("El festival ID " + idFestival + " no está actualmente publicado.");
+    }
+
+    @Override
+    public CatalogoPublico.Recurso buscarFestivalesPublicados(LocalDate fechaDesde, LocalDate fechaHasta, String ubicacion) {
+        if (fechaDesde == null || fechaHasta == null || fechaHasta.isBefore(fechaDesde)) {
+            throw new IllegalArgumentException("Rango de fechas inválido.");
+        }
+        return instantanea().publicadosEntre(fechaDesde, fechaHasta, ubicacion);
+    }
+
+    @Override
+    public void invalidar() {
+        long version = versionSolicitada.incrementAndGet();
+        log.debug("Catálogo público invalidado (versión pedida {}).", version);
+        programarReconstruccion(retardoReconstruccion);
+    }
+
+    @Override
+    public void precargar() {
+        instantanea();
+    }
+
+    /**
+     * Detiene la reconstrucción y la exportación estática al destruir el
+     * servicio.
+     */
+    @PreDestroy
+    public void detener() {
+        reconstructor.shutdownNow();
+        if (exportador != null) {
+            exportador.shutdown();
+        }
+    }
+
+    /**
+     * Devuelve la instantánea vigente. Solo accede a la base de datos para la
+     * primera construcción; después las invalidaciones la sustituyen en
+     * segundo plano.
+     */
+    private CatalogoPublico instantanea() {
+        CatalogoPublico actual = catalogo.get();
+        if (actual == null) {
+            synchronized (bloqueoInicial) {
+                actual = catalogo.get();
+                if (actual == null) {
+                    actual = construir(versionSolicitada.get());
+                    publicar(actual);
+                }
+            }
+        }
+        return actual;
+    }
+
+    /**
+     * Programa una reconstrucción si no hay ya una pendiente; las
+     * invalidaciones que llegan antes de que empiece se agrupan en ella.
+     */
+    private void programarReconstruccion(long retardoMs) {
+        if (!reconstruccionPendiente.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reconstructor.schedule(this::reconstruir, retardoMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            reconstruccionPendiente.set(false);
+            log.warn("No se pudo programar la reconstrucción del catálogo público (servicio detenido).");
+        }
+    }
+
+    private void reconstruir() {
+        long espera = reintentoNoAntesDe - System.nanoTime();
+        if (espera > 0) {
+            // Tras un fallo, las invalidaciones no adelantan el reintento
+            reconstructor.schedule(this::reconstruir, espera, TimeUnit.NANOSECONDS);
+            return;
+        }
+        // Las invalidaciones posteriores a este punto programan otra reconstrucción
+        reconstruccionPendiente.set(false);
+        CatalogoPublico actual = catalogo.get();
+        long version = versionSolicitada.get();
+        if (actual != null && actual.getVersion() >= version) {
+            return;
+        }
+        try {
+            publicar(construir(version));
+            fallosSeguidos = 0;
+        } catch (RuntimeException e) {
+            fallosSeguidos++;
+            long esperaMs = Math.min(ESPERA_REINTENTO_MAXIMA_MS,
+                    ESPERA_REINTENTO_MINIMA_MS << Math.min(fallosSeguidos - 1, 16));
+            log.error("Error reconstruyendo el catálogo público; se mantiene la versión {} y se reintenta en {} ms: {}",
+                    actual != null ? actual.getVersion() : "(ninguna)", esperaMs, e.getMessage(), e);
+            reintentoNoAntesDe = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+            programarReconstruccion(esperaMs);
+        }
+    }
+
+    private void publicar(CatalogoPublico nuevo) {
+        catalogo.accumulateAndGet(nuevo,
+                (actual, candidato) -> actual == null || candidato.getVersion() >= actual.getVersion() ? candidato : actual);
+        programarExportacion();
+    }
+
+    /**
+     * Programa la escritura de la instantánea vigente como ficheros
+     * estáticos. Las publicaciones seguidas se agrupan: la tarea siempre
+     * exporta la última instantánea.
+     */
+    private void programarExportacion() {
+        if (publicador == null || !exportacionPendiente.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            exportador.execute(() -> {
+                exportacionPendiente.set(false);
+                try {
+                    publicador.publicar(catalogo.get());
+                } catch (IOException | RuntimeException e) {
+                    log.error("Error escribiendo el catálogo estático en {}: {}", publicador.getDirectorio(), e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            exportacionPendiente.set(false);
+            log.warn("No se pudo programar la exportación estática del catálogo (servicio detenido).");
+        }
+    }
+
+    private CatalogoPublico construir(long version) {
+        long inicio = System.nanoTime();
+        List<FestivalDTO> festivales = new ArrayList<>();
+        Map<Integer, List<TipoEntradaDTO>> tiposPorFestival = new HashMap<>();
+        executeRead(em -> {
+            festivales.addAll(festivalMapper.toFestivalDTOList(festivalRepository.findAllConPromotor(em)));
+            for (TipoEntrada tipo : tipoEntradaRepository.findByEstadoFestival(em, EstadoFestival.PUBLICADO)) {
+                TipoEntradaDTO dto = tipoEntradaMapper.tipoEntradaToTipoEntradaDTO(tipo);
+                dto.setStock(null); // Cambia con cada venta; no debe invalidar la instantánea
+                tiposPorFestival.computeIfAbsent(tipo.getFestival().getIdFestival(), id -> new ArrayList<>()).add(dto);
+            }
+            return null;
+        }, "construirCatalogoPublico v" + version);
+
+        CatalogoPublico nuevo = new CatalogoPublico(version, festivales, tiposPorFestival, objectMapper);
+        log.info("Catálogo público v{} construido: {} festivales en {} ms.",
+                version, nuevo.numeroFestivales(), (System.nanoTime() - inicio) / 1_000_000);
+        return nuevo;
+    }
+}
@@ -1,9 +1,9 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.CompraDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.exception.FestivalNotFoundException;
 import com.beatpass.exception.UsuarioNotFoundException;
-import java.util.List;
 
 /**
  * Define la lógica de negocio para la gestión de Compras.
@@ -11,17 +11,22 @@ import java.util.List;
 public interface CompraService {
 
     /**
-     * Obtiene las compras realizadas para un festival específico. Verifica
-     * permisos del promotor sobre el festival.
+     * Obtiene una página de las compras realizadas para un festival
+     * específico, de la más reciente a la más antigua. Verifica permisos del
+     * promotor sobre el festival.
      *
      * @param idFestival ID del festival.
      * @param idPromotor ID del promotor solicitante.
-     * @return Lista de CompraDTO.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de CompraDTO.
      * @throws FestivalNotFoundException si el festival no se encuentra.
      * @throws UsuarioNotFoundException si el promotor no se encuentra.
      * @throws SecurityException si el promotor no tiene permisos.
-     * @throws IllegalArgumentException si los IDs son nulos.
+     * @throws IllegalArgumentException si los IDs son nulos o el cursor no es
+     * válido.
      */
-    List<CompraDTO> obtenerComprasPorFestival(Integer idFestival, Integer idPromotor);
+    PaginaDTO<CompraDTO> obtenerComprasPorFestival(Integer idFestival, Integer idPromotor, String cursor, Integer limite);
 
 }
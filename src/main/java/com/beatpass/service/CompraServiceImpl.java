@@ -4,19 +4,22 @@ import com.beatpass.repository.CompraRepository;
 import com.beatpass.repository.UsuarioRepository;
 import com.beatpass.repository.FestivalRepository;
 import com.beatpass.dto.CompraDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.exception.FestivalNotFoundException;
 import com.beatpass.exception.UsuarioNotFoundException;
-import com.beatpass.model.Compra;
 import com.beatpass.model.Festival;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.model.Usuario;
+import com.beatpass.util.Paginacion;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.beatpass.mapper.CompraMapper;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementación de CompraService.
@@ -25,34 +28,51 @@ public class CompraServiceImpl extends AbstractService implements CompraService
 
     private static final Logger log = LoggerFactory.getLogger(CompraServiceImpl.class);
 
+    private static final String CURSOR_COMPRAS = "compras";
+
     private final CompraRepository compraRepository;
     private final FestivalRepository festivalRepository;
     private final UsuarioRepository usuarioRepository;
-    private final CompraMapper compraMapper;
 
     @Inject
     public CompraServiceImpl(CompraRepository compraRepository, FestivalRepository festivalRepository, UsuarioRepository usuarioRepository) {
         this.compraRepository = compraRepository;
         this.festivalRepository = festivalRepository;
         this.usuarioRepository = usuarioRepository;
-        this.compraMapper = CompraMapper.INSTANCE;
     }
 
     @Override
-    public List<CompraDTO> obtenerComprasPorFestival(Integer idFestival, Integer idActor) {
+    public PaginaDTO<CompraDTO> obtenerComprasPorFestival(Integer idFestival, Integer idActor, String cursor, Integer limite) {
         log.debug("Service: Obteniendo compras para festival ID {} por actor ID {}", idFestival, idActor);
         if (idFestival == null || idActor == null) {
             throw new IllegalArgumentException("ID de festival e ID de actor son requeridos.");
         }
+        Integer despuesDeId = Paginacion.decodificarCursorId(cursor, CURSOR_COMPRAS);
+        int tamano = Paginacion.normalizarLimite(limite);
 
         return executeRead(em -> {
             Festival festival = festivalRepository.findById(em, idFestival)
                     .orElseThrow(() -> new FestivalNotFoundException("Festival no encontrado con ID: " + idFestival));
             verificarPermisoSobreFestival(em, festival.getIdFestival(), idActor);
 
-            List<Compra> compras = compraRepository.findByFestivalId(em, idFestival);
+            // Proyección directa a DTO y una segunda consulta plana para el resumen de entradas
+            List<CompraDTO> filas = compraRepository.findDTOsByFestivalId(em, idFestival, despuesDeId, tamano + 1);
+            PaginaDTO<CompraDTO> pagina = Paginacion.construirPagina(filas, tamano,
+                    ultima -> Paginacion.codificarCursor(CURSOR_COMPRAS, ultima.getIdCompra()));
+            List<CompraDTO> compras = pagina.getItems();
+            if (!compras.isEmpty()) {
+                Map<Integer, CompraDTO> comprasPorId = new LinkedHashMap<>();
+                for (CompraDTO dto : compras) {
+                    dto.setResumenEntradas(new ArrayList<>());
+                    comprasPorId.put(dto.getIdCompra(), dto);
+                }
+                for (Object[] row : compraRepository.findResumenDetallesByCompraIds(em, comprasPorId.keySet())) {
+                    String tipo = row[2] != null ? (String) row[2] : "Desconocido";
+                    comprasPorId.get((Integer) row[0]).getResumenEntradas().add(row[1] + " x " + tipo);
+                }
+            }
             log.info("Encontradas {} compras para el festival ID {} (Actor {})", compras.size(), idFestival, idActor);
-            return compraMapper.toCompraDTOList(compras);
+            return pagina;
         }, "obtenerComprasPorFestival " + idFestival);
     }
 }
@@ -1,8 +1,8 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.CompradorDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.model.Comprador;
-import java.util.List;
 
 /**
  * Define la lógica de negocio para la gestión de Compradores.
@@ -22,10 +22,17 @@ public interface CompradorService {
     Comprador obtenerOcrearCompradorPorEmail(String email, String nombre, String telefono);
 
     /**
-     * Busca compradores por nombre o email que contengan el término.
+     * Busca una página de compradores por nombre o email que contengan el
+     * término. Sin término se ordenan por email; con término se resuelve con
+     * un índice de trigramas en memoria y se ordenan por relevancia (prefijo,
+     * prefijo de palabra, subcadena) y después por email.
      *
      * @param searchTerm Término de búsqueda (si es nulo/vacío, devuelve todos).
-     * @return Lista de CompradorDTO coincidentes.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de CompradorDTO coincidentes.
+     * @throws IllegalArgumentException si el cursor no es válido.
      */
-    List<CompradorDTO> buscarCompradores(String searchTerm);
+    PaginaDTO<CompradorDTO> buscarCompradores(String searchTerm, String cursor, Integer limite);
 }
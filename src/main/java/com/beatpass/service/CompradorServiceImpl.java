@@ -1,11 +1,18 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.CompradorDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.model.Comprador;
 import com.beatpass.repository.CompradorRepository;
+import com.beatpass.util.IndiceTrigramas;
+import com.beatpass.util.Paginacion;
 import jakarta.inject.Inject;
-import jakarta.persistence.TypedQuery;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.beatpass.mapper.CompradorMapper;
@@ -16,8 +23,13 @@ public class CompradorServiceImpl extends AbstractService implements CompradorSe
 
     private static final Logger log = LoggerFactory.getLogger(CompradorServiceImpl.class);
 
+    private static final String CURSOR_COMPRADORES = "compradores";
+    private static final String CURSOR_BUSQUEDA = "compradores-busqueda";
+    private static final int TAMANO_LOTE_CARGA = 1000;
+
     private final CompradorRepository compradorRepository;
     private final CompradorMapper compradorMapper;
+    private final IndiceTrigramas indice = new IndiceTrigramas("compradores");
 
     @Inject
     public CompradorServiceImpl(CompradorRepository compradorRepository) {
@@ -32,7 +44,7 @@ public class CompradorServiceImpl extends AbstractService implements CompradorSe
             throw new IllegalArgumentException("El email es obligatorio para obtener o crear un comprador.");
         }
 
-        return executeTransactional(em -> {
+        Comprador comprador = executeTransactional(em -> {
             Optional<Comprador> existenteOpt = compradorRepository.findByEmail(em, email);
 
             if (existenteOpt.isPresent()) {
@@ -68,23 +80,75 @@ public class CompradorServiceImpl extends AbstractService implements CompradorSe
                 return nuevoComprador;
             }
         }, "obtenerOcrearCompradorPorEmail " + email);
+        trasConfirmar(() -> indice.indexar(comprador.getIdComprador(), comprador.getNombre(), comprador.getEmail()));
+        return comprador;
     }
 
     @Override
-    public List<CompradorDTO> buscarCompradores(String searchTerm) {
+    public PaginaDTO<CompradorDTO> buscarCompradores(String searchTerm, String cursor, Integer limite) {
         log.debug("Service: Buscando compradores con término: '{}'", searchTerm);
+        if (IndiceTrigramas.ACTIVO && searchTerm != null && !searchTerm.isBlank()) {
+            return buscarEnIndice(searchTerm, cursor, Paginacion.normalizarLimite(limite));
+        }
+        String[] claveCursor = Paginacion.decodificarCursor(cursor, CURSOR_COMPRADORES, 1);
+        String despuesDeEmail = claveCursor != null ? claveCursor[0] : null;
+        int tamano = Paginacion.normalizarLimite(limite);
         return executeRead(em -> {
-            List<Comprador> compradores;
-            if (searchTerm == null || searchTerm.isBlank()) {
-                compradores = em.createQuery("SELECT c FROM Comprador c ORDER BY c.nombre", Comprador.class).getResultList();
-            } else {
-                TypedQuery<Comprador> query = em.createQuery(
-                        "SELECT c FROM Comprador c WHERE lower(c.nombre) LIKE :term OR lower(c.email) LIKE :term ORDER BY c.nombre", Comprador.class);
-                query.setParameter("term", "%" + searchTerm.toLowerCase() + "%");
-                compradores = query.getResultList();
-            }
+            List<Comprador> compradores = compradorRepository.buscarPagina(em, searchTerm, despuesDeEmail, tamano + 1);
             log.info("Encontrados {} compradores para el término '{}'", compradores.size(), searchTerm);
-            return compradorMapper.toCompradorDTOList(compradores);
+            return Paginacion.construirPagina(compradorMapper.toCompradorDTOList(compradores), tamano,
+                    ultimo -> Paginacion.codificarCursor(CURSOR_COMPRADORES, ultimo.getEmail()));
         }, "buscarCompradores " + searchTerm);
     }
+
+    /**
+     * Búsqueda con el índice de trigramas: las coincidencias (ordenadas por
+     * relevancia y email) salen de memoria y solo se leen de la base de datos
+     * los compradores de la página, por clave primaria.
+     */
+    private PaginaDTO<CompradorDTO> buscarEnIndice(String searchTerm, String cursor, int tamano) {
+        IndiceTrigramas.Coincidencia despuesDe = decodificarCursorBusqueda(cursor);
+        cargarIndice();
+        PaginaDTO<IndiceTrigramas.Coincidencia> coincidencias = Paginacion.construirPagina(
+                indice.buscar(searchTerm, despuesDe, tamano + 1), tamano,
+                ultima -> Paginacion.codificarCursor(CURSOR_BUSQUEDA, ultima.rango(), ultima.email()));
+        List<Integer> ids = coincidencias.getItems().stream().map(IndiceTrigramas.Coincidencia::id).collect(Collectors.toList());
+
+        return executeRead(em -> {
+            Map<Integer, Comprador> porId = compradorRepository.findByIds(em, ids).stream()
+                    .collect(Collectors.toMap(Comprador::getIdComprador, Function.identity()));
+            List<CompradorDTO> compradores = ids.stream()
+                    .map(porId::get)
+                    .filter(Objects::nonNull)
+                    .map(compradorMapper::compradorToCompradorDTO)
+                    .collect(Collectors.toList());
+            log.info("Encontrados {} compradores en el índice para el término '{}'", compradores.size(), searchTerm);
+            return new PaginaDTO<>(compradores, coincidencias.getSiguienteCursor(), coincidencias.getLimite());
+        }, "buscarCompradores (índice) " + searchTerm);
+    }
+
+    private IndiceTrigramas.Coincidencia decodificarCursorBusqueda(String cursor) {
+        String[] clave = Paginacion.decodificarCursor(cursor, CURSOR_BUSQUEDA, 2);
+        if (clave == null) {
+            return null;
+        }
+        try {
+            return new IndiceTrigramas.Coincidencia(0, Integer.parseInt(clave[0]), clave[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación no válido.");
+        }
+    }
+
+    private void cargarIndice() {
+        indice.cargarSiNecesario(fila -> {
+            long inicio = System.nanoTime();
+            executeRead(em -> {
+                try (Stream<Object[]> filas = compradorRepository.streamDatosBusqueda(em, TAMANO_LOTE_CARGA)) {
+                    filas.forEach(fila);
+                }
+                return null;
+            }, "cargarIndiceCompradores");
+            log.info("Índice de búsqueda de compradores cargado en {} ms.", (System.nanoTime() - inicio) / 1_000_000);
+        });
+    }
 }
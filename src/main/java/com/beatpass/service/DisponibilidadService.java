@@ -0,0 +1,45 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.DisponibilidadDTO;
+import com.beatpass.exception.FestivalNoPublicadoException;
+import com.beatpass.exception.FestivalNotFoundException;
+
+/**
+ * Define la disponibilidad aproximada (bandas) de los tipos de entrada de los
+ * festivales publicados. Se sirve desde memoria, de modo que la consulta
+ * periódica de la página de venta no lee las filas de tipos de entrada que
+ * bloquea el proceso de compra. Los servicios que cambian el stock la
+ * actualizan tras confirmar la transacción y además se refresca
+ * periódicamente desde la base de datos.
+ */
+public interface DisponibilidadService {
+
+    /**
+     * Obtiene la disponibilidad de los tipos de entrada de un festival
+     * publicado.
+     *
+     * @param idFestival ID del festival.
+     * @return Las bandas de disponibilidad y su versión.
+     * @throws FestivalNotFoundException Si el festival no existe.
+     * @throws FestivalNoPublicadoException Si el festival no está publicado.
+     */
+    DisponibilidadDTO obtenerDisponibilidad(Integer idFestival);
+
+    /**
+     * Aplica el stock de un tipo de entrada tras un cambio confirmado (venta o
+     * cancelación).
+     *
+     * @param idFestival ID del festival.
+     * @param idTipoEntrada ID del tipo de entrada.
+     * @param stock Stock tras el cambio.
+     */
+    void actualizarStock(Integer idFestival, Integer idTipoEntrada, Integer stock);
+
+    /**
+     * Programa un refresco inmediato desde la base de datos, para cambios que
+     * no son de stock (tipos de entrada creados, editados o eliminados,
+     * festivales publicados o despublicados). Debe llamarse después del
+     * commit.
+     */
+    void invalidar();
+}
@@ -0,0 +1,147 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.DisponibilidadDTO;
+import com.beatpass.model.EstadoFestival;
+import com.beatpass.repository.TipoEntradaRepository;
+import com.beatpass.util.BandasDisponibilidad;
+import com.beatpass.util.Entorno;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementación de la disponibilidad en memoria. Un único hilo refresca las
+ * bandas cada DISPONIBILIDAD_REFRESCO_SEGUNDOS (por defecto 10) con una
+ * lectura sin bloqueos del stock de los festivales publicados; entre
+ * refrescos, las ventas y cancelaciones la actualizan directamente. El stock
+ * a partir del cual se muestran "últimas entradas" se configura con
+ * DISPONIBILIDAD_UMBRAL_ULTIMAS (por defecto 20).
+ */
+public class DisponibilidadServiceImpl extends AbstractService implements DisponibilidadService {
+
+    private static final Logger log = LoggerFactory.getLogger(DisponibilidadServiceImpl.class);
+
+    private final TipoEntradaRepository tipoEntradaRepository;
+    private final CatalogoPublicoService catalogoPublicoService;
+    private final BandasDisponibilidad bandas;
+    private final ScheduledExecutorService planificador;
+    private final int intervaloRefresco;
+    private final AtomicBoolean refrescoPendiente = new AtomicBoolean();
+    private final Object bloqueoRefresco = new Object();
+
+    @Inject
+    public DisponibilidadServiceImpl(TipoEntradaRepository tipoEntradaRepository, CatalogoPublicoService catalogoPublicoService) {
+        this.tipoEntradaRepository = tipoEntradaRepository;
+        this.catalogoPublicoService = catalogoPublicoService;
+        this.bandas = new BandasDisponibilidad(Entorno.entero("DISPONIBILIDAD_UMBRAL_ULTIMAS", 20));
+        this.intervaloRefresco = Entorno.entero("DISPONIBILIDAD_REFRESCO_SEGUNDOS", 10);
+
+        this.planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "beatpass-disponibilidad-refresco");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Inicia el refresco periódico una vez construido el servicio.
+     */
+    @PostConstruct
+    public void iniciar() {
+        planificador.scheduleWithFixedDelay(this::refrescarSinErrores, 0, intervaloRefresco, TimeUnit.SECONDS);
+        log.info("Disponibilidad en memoria iniciada. Refresco cada {} s.", intervaloRefresco);
+    }
+
+    @Override
+    public DisponibilidadDTO obtenerDisponibilidad(Integer idFestival) {
+        if (idFestival == null) {
+            throw new IllegalArgumentException("ID de festival es requerido.");
+        }
+        if (!bandas.isCargado()) {
+            refrescar(); // Primera petición antes del primer refresco programado
+        }
+        return bandas.obtener(idFestival)
+                .map(actual -> {
+                    List<DisponibilidadDTO.TipoDTO> tipos = new ArrayList<>();
+                    actual.bandas().forEach((idTipo, banda) -> tipos.add(new DisponibilidadDTO.TipoDTO(idTipo, banda)));
+                    tipos.sort(Comparator.comparing(DisponibilidadDTO.TipoDTO::getIdTipoEntrada));
+                    return new DisponibilidadDTO(idFestival, actual.version(), tipos);
+                })
+                .orElseGet(() -> {
+                    // Sin bandas: el catálogo (también en memoria) distingue inexistente, no publicado o sin tipos
+                    catalogoPublicoService.obtenerTiposEntrada(idFestival);
+                    return new DisponibilidadDTO(idFestival, 0, List.of());
+                });
+    }
+
+    @Override
+    public void actualizarStock(Integer idFestival, Integer idTipoEntrada, Integer stock) {
+        if (idFestival == null || idTipoEntrada == null || stock == null) {
+            return;
+        }
+        bandas.actualizar(idFestival, idTipoEntrada, stock);
+    }
+
+    @Override
+    public void invalidar() {
+        // Las invalidaciones seguidas se agrupan en un solo refresco
+        if (refrescoPendiente.compareAndSet(false, true)) {
+            try {
+                planificador.execute(() -> {
+                    refrescoPendiente.set(false);
+                    refrescarSinErrores();
+                });
+            } catch (RejectedExecutionException e) {
+                refrescoPendiente.set(false);
+                log.warn("No se pudo programar el refresco de disponibilidad (servicio detenido).");
+            }
+        }
+    }
+
+    /**
+     * Detiene el refresco periódico al destruir el servicio.
+     */
+    @PreDestroy
+    public void detener() {
+        log.info("Deteniendo el refresco de disponibilidad.");
+        planificador.shutdownNow();
+    }
+
+    private void refrescarSinErrores() {
+        try {
+            refrescar();
+        } catch (RuntimeException e) {
+            log.error("Error refrescando la disponibilidad; se mantienen las bandas anteriores: {}", e.getMessage(), e);
+        }
+    }
+
+    private void refrescar() {
+        synchronized (bloqueoRefresco) {
+            long inicio = bandas.inicioRefresco();
+            Map<Integer, Map<Integer, Integer>> stockPorFestival = new HashMap<>();
+            executeRead(em -> {
+                for (Object[] fila : tipoEntradaRepository.findStockByEstadoFestival(em, EstadoFestival.PUBLICADO)) {
+                    Integer stock = (Integer) fila[2];
+                    stockPorFestival.computeIfAbsent((Integer) fila[0], id -> new HashMap<>())
+                            .put((Integer) fila[1], stock != null ? stock : 0);
+                }
+                return null;
+            }, "refrescarDisponibilidad");
+            bandas.aplicarRefresco(inicio, stockPorFestival);
+            log.debug("Disponibilidad refrescada: {} festivales publicados.", bandas.numeroFestivales());
+        }
+    }
+}
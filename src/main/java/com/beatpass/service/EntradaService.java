@@ -1,6 +1,7 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.EntradaDTO;
+import com.beatpass.dto.PaginaDTO;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,18 +55,22 @@ public interface EntradaService {
     EntradaDTO nominarEntradaPorQr(String codigoQr, String emailAsistenteNominado, String nombreAsistenteNominado, String telefonoAsistenteNominado);
 
     /**
-     * Obtiene las entradas para un festival específico. Verifica
-     * permisos del promotor sobre el festival.
+     * Obtiene una página de las entradas de un festival específico, ordenadas
+     * por ID. Verifica permisos del promotor sobre el festival.
      *
      * @param idFestival ID del festival.
      * @param idPromotor ID del promotor solicitante.
-     * @return Lista de EntradaDTO.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de EntradaDTO.
      * @throws FestivalNotFoundException si el festival no se encuentra.
      * @throws UsuarioNotFoundException si el promotor no se encuentra.
      * @throws SecurityException si el promotor no tiene permisos.
-     * @throws IllegalArgumentException si los IDs son nulos.
+     * @throws IllegalArgumentException si los IDs son nulos o el cursor no es
+     * válido.
      */
-    List<EntradaDTO> obtenerEntradasPorFestival(Integer idFestival, Integer idPromotor);
+    PaginaDTO<EntradaDTO> obtenerEntradasPorFestival(Integer idFestival, Integer idPromotor, String cursor, Integer limite);
 
     /**
      * Cancela una entrada (si está ACTIVA) e incrementa el stock
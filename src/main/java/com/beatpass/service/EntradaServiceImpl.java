@@ -1,6 +1,7 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.EntradaDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.exception.EntradaNotFoundException;
 import com.beatpass.exception.FestivalNotFoundException;
 import com.beatpass.exception.UsuarioNotFoundException;
@@ -10,6 +11,8 @@ import com.beatpass.repository.EntradaRepository;
 import com.beatpass.repository.FestivalRepository;
 import com.beatpass.repository.TipoEntradaRepository;
 import com.beatpass.repository.UsuarioRepository;
+import com.beatpass.util.LecturasAgrupadas;
+import com.beatpass.util.Paginacion;
 import jakarta.inject.Inject;
 import jakarta.persistence.LockModeType;
 import org.slf4j.Logger;
@@ -26,22 +29,38 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
 
     private static final Logger log = LoggerFactory.getLogger(EntradaServiceImpl.class);
 
+    private static final String CURSOR_ENTRADAS = "entradas";
+
     private final EntradaRepository entradaRepository;
     private final UsuarioRepository usuarioRepository;
     private final FestivalRepository festivalRepository;
     private final TipoEntradaRepository tipoEntradaRepository;
     private final AsistenteService asistenteService;
     private final EmailService emailService;
+    private final FiltroCodigosService filtroCodigosService;
+    private final DisponibilidadService disponibilidadService;
     private final EntradaMapper entradaMapper;
+    private final LecturasAgrupadas<String, Optional<EntradaDTO>> lecturasPorQr
+            = new LecturasAgrupadas<>("entradaPublicaPorQr", LecturasAgrupadas::etiquetaOculta);
+
+    private record StockActualizado(Integer idFestival, Integer idTipoEntrada, Integer stock) {
+
+    }
+
+    private record EntradaNominada(EntradaDTO entrada, Asistente asistente) {
+
+    }
 
     @Inject
-    public EntradaServiceImpl(EntradaRepository entradaRepository, UsuarioRepository usuarioRepository, FestivalRepository festivalRepository, TipoEntradaRepository tipoEntradaRepository, AsistenteService asistenteService, EmailService emailService) {
+    public EntradaServiceImpl(EntradaRepository entradaRepository, UsuarioRepository usuarioRepository, FestivalRepository festivalRepository, TipoEntradaRepository tipoEntradaRepository, AsistenteService asistenteService, EmailService emailService, FiltroCodigosService filtroCodigosService, DisponibilidadService disponibilidadService) {
         this.entradaRepository = entradaRepository;
         this.usuarioRepository = usuarioRepository;
         this.festivalRepository = festivalRepository;
         this.tipoEntradaRepository = tipoEntradaRepository;
         this.asistenteService = asistenteService;
         this.emailService = emailService;
+        this.filtroCodigosService = filtroCodigosService;
+        this.disponibilidadService = disponibilidadService;
         this.entradaMapper = EntradaMapper.INSTANCE;
     }
 
@@ -52,7 +71,7 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
             throw new IllegalArgumentException("ID de entrada, email de asistente y ID de promotor son requeridos.");
         }
 
-        EntradaDTO entradaNominadaDTO = executeTransactional(em -> {
+        EntradaNominada nominada = executeTransactional(em -> {
             Entrada entradaAActualizar = entradaRepository.findById(em, idEntrada)
                     .orElseThrow(() -> new EntradaNotFoundException("Entrada no encontrada con ID: " + idEntrada));
 
@@ -66,17 +85,18 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
                 throw new IllegalStateException("Solo se pueden nominar entradas en estado ACTIVA.");
             }
 
+            // Se une a esta transacción: el asistente se crea solo si la nominación se confirma
             Asistente asistenteNominado = asistenteService.obtenerOcrearAsistentePorEmail(emailAsistenteNominado, nombreAsistenteNominado, telefonoAsistente);
 
             entradaAActualizar.setAsistente(asistenteNominado);
             entradaAActualizar.setFechaAsignacion(LocalDateTime.now());
 
-            return entradaMapper.entradaToEntradaDTO(entradaRepository.save(em, entradaAActualizar));
+            return new EntradaNominada(entradaMapper.entradaToEntradaDTO(entradaRepository.save(em, entradaAActualizar)), asistenteNominado);
         }, "nominarEntrada (por ID) " + idEntrada);
 
-        enviarEmailNominacionSiProcede(asistenteService.obtenerOcrearAsistentePorEmail(emailAsistenteNominado, nombreAsistenteNominado, telefonoAsistente), entradaNominadaDTO, "nominarEntrada (por ID)");
+        enviarEmailNominacionSiProcede(nominada.asistente(), nominada.entrada(), "nominarEntrada (por ID)");
 
-        return entradaNominadaDTO;
+        return nominada.entrada();
     }
 
     @Override
@@ -85,8 +105,11 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
         if (codigoQr == null || codigoQr.isBlank() || emailAsistenteNominado == null || emailAsistenteNominado.isBlank() || nombreAsistenteNominado == null || nombreAsistenteNominado.isBlank()) {
             throw new IllegalArgumentException("Código QR, email y nombre del asistente son requeridos.");
         }
+        if (filtroCodigosService.qrDescartado(codigoQr)) {
+            throw new EntradaNotFoundException("Entrada no encontrada con código QR proporcionado.");
+        }
 
-        EntradaDTO entradaNominadaDTO = executeTransactional(em -> {
+        EntradaNominada nominada = executeTransactional(em -> {
             Entrada entradaAActualizar = entradaRepository.findByCodigoQr(em, codigoQr)
                     .orElseThrow(() -> new EntradaNotFoundException("Entrada no encontrada con código QR proporcionado."));
 
@@ -101,24 +124,29 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
             entradaAActualizar.setAsistente(asistenteNominado);
             entradaAActualizar.setFechaAsignacion(LocalDateTime.now());
 
-            return entradaMapper.entradaToEntradaDTO(entradaRepository.save(em, entradaAActualizar));
+            return new EntradaNominada(entradaMapper.entradaToEntradaDTO(entradaRepository.save(em, entradaAActualizar)), asistenteNominado);
         }, "nominarEntradaPorQr " + codigoQr);
 
-        enviarEmailNominacionSiProcede(asistenteService.obtenerOcrearAsistentePorEmail(emailAsistenteNominado, nombreAsistenteNominado, telefonoAsistenteNominado), entradaNominadaDTO, "nominarEntradaPorQr");
+        enviarEmailNominacionSiProcede(nominada.asistente(), nominada.entrada(), "nominarEntradaPorQr");
 
-        return entradaNominadaDTO;
+        return nominada.entrada();
     }
 
     @Override
-    public List<EntradaDTO> obtenerEntradasPorFestival(Integer idFestival, Integer idPromotor) {
+    public PaginaDTO<EntradaDTO> obtenerEntradasPorFestival(Integer idFestival, Integer idPromotor, String cursor, Integer limite) {
         if (idFestival == null || idPromotor == null) {
             throw new IllegalArgumentException("ID de festival e ID de promotor son requeridos.");
         }
+        Integer despuesDeId = Paginacion.decodificarCursorId(cursor, CURSOR_ENTRADAS);
+        int tamano = Paginacion.normalizarLimite(limite);
         return executeRead(em -> {
             verificarPermisoSobreFestival(em, idFestival, idPromotor);
-            List<Entrada> entradas = entradaRepository.findByFestivalId(em, idFestival);
-            log.info("Encontradas {} entradas para festival ID {}", entradas.size(), idFestival);
-            return entradaMapper.toEntradaDTOList(entradas);
+            // Proyección directa a DTO: listado de solo lectura, sin entidades gestionadas
+            List<EntradaDTO> entradas = entradaRepository.findDTOsByFestivalId(em, idFestival, despuesDeId, tamano + 1);
+            entradas.forEach(dto -> dto.setQrCodeImageUrl(entradaMapper.buildQrImageUrl(dto.getCodigoQr())));
+            log.info("Encontradas {} entradas para festival ID {} (página tras ID {})", entradas.size(), idFestival, despuesDeId);
+            return Paginacion.construirPagina(entradas, tamano,
+                    ultima -> Paginacion.codificarCursor(CURSOR_ENTRADAS, ultima.getIdEntrada()));
         }, "obtenerEntradasPorFestival " + idFestival);
     }
 
@@ -128,7 +156,7 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
             throw new IllegalArgumentException("ID de entrada e ID de promotor son requeridos.");
         }
 
-        executeTransactional(em -> {
+        StockActualizado stock = executeTransactional(em -> {
             Entrada entrada = entradaRepository.findById(em, idEntrada)
                     .orElseThrow(() -> new EntradaNotFoundException("Entrada no encontrada con ID: " + idEntrada));
 
@@ -146,8 +174,9 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
             tipoEntrada.setStock(tipoEntrada.getStock() + 1);
             tipoEntradaRepository.save(em, tipoEntrada);
             log.info("Stock incrementado para TipoEntrada ID {}. Nuevo stock: {}", tipoEntrada.getIdTipoEntrada(), tipoEntrada.getStock());
-            return null;
+            return new StockActualizado(obtenerFestivalDesdeEntrada(entrada).getIdFestival(), tipoEntrada.getIdTipoEntrada(), tipoEntrada.getStock());
         }, "cancelarEntrada " + idEntrada);
+        trasConfirmar(() -> disponibilidadService.actualizarStock(stock.idFestival(), stock.idTipoEntrada(), stock.stock()));
     }
 
     @Override
@@ -168,13 +197,14 @@ public class EntradaServiceImpl extends AbstractService implements EntradaServic
 
     @Override
     public Optional<EntradaDTO> obtenerParaNominacionPublicaPorQr(String codigoQr) {
-        if (codigoQr == null || codigoQr.isBlank()) {
+        if (codigoQr == null || codigoQr.isBlank() || filtroCodigosService.qrDescartado(codigoQr)) {
             return Optional.empty();
         }
-        return executeRead(em
+        // Durante las aperturas de venta llegan muchas consultas idénticas a la vez
+        return lecturasPorQr.ejecutar(codigoQr, () -> executeRead(em
                 -> entradaRepository.findByCodigoQr(em, codigoQr).map(entradaMapper::entradaToEntradaDTO),
                 "obtenerParaNominacionPublicaPorQr " + codigoQr
-        );
+        ));
     }
 
     private void enviarEmailNominacionSiProcede(Asistente asistente, EntradaDTO entradaDTO, String metodoOrigen) {
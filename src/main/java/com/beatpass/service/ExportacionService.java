@@ -0,0 +1,58 @@
+package com.beatpass.service;
+
+import com.beatpass.exception.FestivalNotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+
+/**
+ * Define las exportaciones completas de un festival (todas las filas, sin
+ * paginar) escritas en streaming como un array JSON. La memoria usada no
+ * crece con el número de filas y el primer byte sale en cuanto se lee la
+ * primera.
+ */
+public interface ExportacionService {
+
+    /**
+     * Escritura diferida de una exportación. Se invoca al serializar la
+     * respuesta, con su propio EntityManager abierto durante toda la escritura.
+     */
+    @FunctionalInterface
+    interface Volcado {
+
+        /**
+         * Escribe la exportación completa como un array JSON.
+         *
+         * @param generador Generador JSON sobre la salida de la respuesta.
+         * @return Número de filas escritas.
+         * @throws IOException Si falla la escritura (p. ej. el cliente cierra
+         * la conexión).
+         */
+        long escribir(JsonGenerator generador) throws IOException;
+    }
+
+    /**
+     * Prepara la exportación de todas las entradas de un festival. Los
+     * permisos se verifican en el momento, antes de empezar a escribir.
+     *
+     * @param idFestival ID del festival.
+     * @param idActor ID del usuario solicitante (ADMIN o promotor dueño).
+     * @return El volcado a ejecutar al escribir la respuesta.
+     * @throws FestivalNotFoundException si el festival no existe.
+     * @throws SecurityException si el actor no tiene permisos.
+     * @throws IllegalArgumentException si los IDs son nulos.
+     */
+    Volcado exportarEntradasPorFestival(Integer idFestival, Integer idActor);
+
+    /**
+     * Prepara la exportación de todos los consumos cashless de un festival.
+     * Los permisos se verifican en el momento, antes de empezar a escribir.
+     *
+     * @param idFestival ID del festival.
+     * @param idActor ID del usuario solicitante (ADMIN o promotor dueño).
+     * @return El volcado a ejecutar al escribir la respuesta.
+     * @throws FestivalNotFoundException si el festival no existe.
+     * @throws SecurityException si el actor no tiene permisos.
+     * @throws IllegalArgumentException si los IDs son nulos.
+     */
+    Volcado exportarConsumosPorFestival(Integer idFestival, Integer idActor);
+}
@@ -0,0 +1,113 @@
+package com.beatpass.service;
+
+import com.beatpass.mapper.ConsumoMapper;
+import com.beatpass.mapper.EntradaMapper;
+import com.beatpass.repository.ConsumoRepository;
+import com.beatpass.repository.EntradaRepository;
+import com.beatpass.util.JPAUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de ExportacionService. Recorre los resultados con un cursor
+ * de solo avance y escribe cada fila en cuanto se lee; cada lote se vacía el
+ * contexto de persistencia y se hace flush de la salida.
+ */
+public class ExportacionServiceImpl extends AbstractService implements ExportacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportacionServiceImpl.class);
+
+    // Filas por lectura del driver y por vaciado del contexto de persistencia
+    private static final int TAMANO_LOTE = 500;
+
+    private final EntradaRepository entradaRepository;
+    private final ConsumoRepository consumoRepository;
+    private final EntradaMapper entradaMapper;
+    private final ConsumoMapper consumoMapper;
+
+    @Inject
+    public ExportacionServiceImpl(EntradaRepository entradaRepository, ConsumoRepository consumoRepository) {
+        this.entradaRepository = entradaRepository;
+        this.consumoRepository = consumoRepository;
+        this.entradaMapper = EntradaMapper.INSTANCE;
+        this.consumoMapper = ConsumoMapper.INSTANCE;
+    }
+
+    @Override
+    public Volcado exportarEntradasPorFestival(Integer idFestival, Integer idActor) {
+        verificarPermisoExportacion(idFestival, idActor, "exportarEntradasPorFestival");
+        return generador -> volcar(generador,
+                em -> entradaRepository.streamDTOsByFestivalId(em, idFestival, TAMANO_LOTE),
+                dto -> {
+                    dto.setQrCodeImageUrl(entradaMapper.buildQrImageUrl(dto.getCodigoQr()));
+                    return dto;
+                },
+                "exportarEntradasPorFestival " + idFestival);
+    }
+
+    @Override
+    public Volcado exportarConsumosPorFestival(Integer idFestival, Integer idActor) {
+        verificarPermisoExportacion(idFestival, idActor, "exportarConsumosPorFestival");
+        return generador -> volcar(generador,
+                em -> consumoRepository.streamByFestivalId(em, idFestival, TAMANO_LOTE),
+                consumoMapper::consumoToConsumoDTO,
+                "exportarConsumosPorFestival " + idFestival);
+    }
+
+    private void verificarPermisoExportacion(Integer idFestival, Integer idActor, String operationName) {
+        if (idFestival == null || idActor == null) {
+            throw new IllegalArgumentException("ID de festival e ID de actor son requeridos.");
+        }
+        executeRead(em -> {
+            verificarPermisoSobreFestival(em, idFestival, idActor);
+            return null;
+        }, operationName + " (permisos) " + idFestival);
+    }
+
+    /**
+     * Escribe un array JSON con las filas del Stream. El EntityManager se abre
+     * aquí porque la escritura ocurre después de que el recurso haya devuelto
+     * la respuesta.
+     */
+    private <T> long volcar(JsonGenerator generador, Function<EntityManager, Stream<T>> consulta,
+            Function<T, ?> mapeo, String operationName) throws IOException {
+        EntityManager em = null;
+        long filas = 0;
+        try {
+            em = JPAUtil.createEntityManager();
+            log.debug("INICIO - Exportación en streaming: {}", operationName);
+            generador.writeStartArray();
+            try (Stream<T> stream = consulta.apply(em)) {
+                Iterator<T> it = stream.iterator();
+                while (it.hasNext()) {
+                    generador.writeObject(mapeo.apply(it.next()));
+                    if (++filas % TAMANO_LOTE == 0) {
+                        // Liberar las entidades ya escritas y enviar lo acumulado al cliente
+                        em.clear();
+                        generador.flush();
+                    }
+                }
+            }
+            generador.writeEndArray();
+            generador.flush();
+            log.info("FIN - Exportación '{}' completada: {} filas.", operationName, filas);
+            return filas;
+        } catch (IOException e) {
+            log.warn("Exportación '{}' interrumpida tras {} filas: {}", operationName, filas, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("ERROR - durante la exportación '{}' tras {} filas: {}", operationName, filas, e.getMessage(), e);
+            throw mapException(e);
+        } finally {
+            closeEntityManager(em);
+        }
+    }
+}
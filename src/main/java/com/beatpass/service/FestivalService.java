@@ -1,10 +1,10 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.FestivalDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.exception.FestivalNotFoundException;
 import com.beatpass.exception.UsuarioNotFoundException;
 import com.beatpass.model.EstadoFestival;
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -73,16 +73,6 @@ public interface FestivalService {
      */
     void eliminarFestival(Integer id, Integer idUsuarioEliminador);
 
-    /**
-     * Busca festivales PUBLICADOS cuyo periodo se solapa con el rango de
-     * fechas.
-     *
-     * @param fechaDesde Fecha de inicio del rango (inclusiva).
-     * @param fechaHasta Fecha de fin del rango (inclusiva).
-     * @return Lista de FestivalDTO coincidentes.
-     */
-    List<FestivalDTO> buscarFestivalesPublicados(LocalDate fechaDesde, LocalDate fechaHasta);
-
     /**
      * Obtiene todos los festivales gestionados por un promotor específico.
      *
@@ -116,12 +106,16 @@ public interface FestivalService {
     List<FestivalDTO> obtenerTodosLosFestivales();
 
     /**
-     * Obtiene festivales filtrando por estado. Si estado es null, devuelve
-     * todos. Pensado para ADMIN.
+     * Obtiene una página de festivales filtrando por estado, ordenados por
+     * ID. Si estado es null, no filtra. Pensado para ADMIN.
      *
      * @param estado EstadoFestival por el cual filtrar, o null.
-     * @return Lista de FestivalDTO.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de FestivalDTO.
+     * @throws IllegalArgumentException si el cursor no es válido.
      */
-    List<FestivalDTO> obtenerFestivalesPorEstado(EstadoFestival estado);
+    PaginaDTO<FestivalDTO> obtenerFestivalesPorEstado(EstadoFestival estado, String cursor, Integer limite);
 
 }
@@ -1,6 +1,7 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.FestivalDTO;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.exception.FestivalNotFoundException;
 import com.beatpass.exception.UsuarioNotFoundException;
 import com.beatpass.mapper.FestivalMapper;
@@ -10,11 +11,11 @@ import com.beatpass.model.RolUsuario;
 import com.beatpass.model.Usuario;
 import com.beatpass.repository.FestivalRepository;
 import com.beatpass.repository.UsuarioRepository;
+import com.beatpass.util.Paginacion;
 import jakarta.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,14 +26,20 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
 
     private static final Logger log = LoggerFactory.getLogger(FestivalServiceImpl.class);
 
+    private static final String CURSOR_FESTIVALES = "festivales";
+
     private final FestivalRepository festivalRepository;
     private final UsuarioRepository usuarioRepository;
+    private final CatalogoPublicoService catalogoPublicoService;
+    private final DisponibilidadService disponibilidadService;
     private final FestivalMapper festivalMapper;
 
     @Inject
-    public FestivalServiceImpl(FestivalRepository festivalRepository, UsuarioRepository usuarioRepository) {
+    public FestivalServiceImpl(FestivalRepository festivalRepository, UsuarioRepository usuarioRepository, CatalogoPublicoService catalogoPublicoService, DisponibilidadService disponibilidadService) {
         this.festivalRepository = festivalRepository;
         this.usuarioRepository = usuarioRepository;
+        this.catalogoPublicoService = catalogoPublicoService;
+        this.disponibilidadService = disponibilidadService;
         this.festivalMapper = FestivalMapper.INSTANCE;
     }
 
@@ -44,7 +51,7 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
         }
         validarDatosBasicosFestivalDTO(festivalDTO);
 
-        return executeTransactional(em -> {
+        FestivalDTO creado = executeTransactional(em -> {
             Usuario promotor = usuarioRepository.findById(em, idPromotor)
                     .filter(u -> u.getRol() == RolUsuario.PROMOTOR)
                     .orElseThrow(() -> new UsuarioNotFoundException("Promotor no encontrado o inválido con ID: " + idPromotor));
@@ -57,6 +64,8 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
             log.info("Festival '{}' creado con ID: {}", festival.getNombre(), festival.getIdFestival());
             return festivalMapper.festivalToFestivalDTO(festival);
         }, "crearFestival");
+        trasConfirmar(catalogoPublicoService::invalidar);
+        return creado;
     }
 
     @Override
@@ -93,7 +102,7 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
         }
         validarDatosBasicosFestivalDTO(festivalDTO);
 
-        return executeTransactional(em -> {
+        FestivalDTO actualizado = executeTransactional(em -> {
             verificarPermisoSobreFestival(em, id, idUsuarioActualizador);
             Festival festival = festivalRepository.findById(em, id)
                     .orElseThrow(() -> new FestivalNotFoundException("Festival no encontrado con ID: " + id));
@@ -103,6 +112,8 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
             log.info("Festival ID: {} actualizado correctamente.", id);
             return festivalMapper.festivalToFestivalDTO(festival);
         }, "actualizarFestival " + id);
+        trasConfirmar(catalogoPublicoService::invalidar);
+        return actualizado;
     }
 
     @Override
@@ -120,14 +131,11 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
             log.info("Festival ID: {} eliminado.", id);
             return null;
         }, "eliminarFestival " + id);
-    }
-
-    @Override
-    public List<FestivalDTO> buscarFestivalesPublicados(LocalDate fechaDesde, LocalDate fechaHasta) {
-        return executeRead(em -> {
-            List<Festival> festivales = festivalRepository.findActivosEntreFechas(em, fechaDesde, fechaHasta);
-            return festivalMapper.toFestivalDTOList(festivales);
-        }, "buscarFestivalesPublicados");
+        trasConfirmar(() -> {
+            invalidarPermisosFestival(id);
+            catalogoPublicoService.invalidar();
+            disponibilidadService.invalidar();
+        });
     }
 
     @Override
@@ -148,7 +156,7 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
             throw new IllegalArgumentException("ID de festival, nuevo estado y ID de actor son requeridos.");
         }
 
-        return executeTransactional(em -> {
+        FestivalDTO actualizado = executeTransactional(em -> {
             Usuario actor = usuarioRepository.findById(em, idActor)
                     .orElseThrow(() -> new UsuarioNotFoundException("Usuario actor no encontrado con ID: " + idActor));
             if (actor.getRol() != RolUsuario.ADMIN) {
@@ -168,6 +176,11 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
             log.info("Estado de festival ID: {} cambiado a {}", idFestival, nuevoEstado);
             return festivalMapper.festivalToFestivalDTO(festival);
         }, "cambiarEstadoFestival " + idFestival + " to " + nuevoEstado);
+        trasConfirmar(() -> {
+            catalogoPublicoService.invalidar();
+            disponibilidadService.invalidar();
+        });
+        return actualizado;
     }
 
     @Override
@@ -179,12 +192,13 @@ public class FestivalServiceImpl extends AbstractService implements FestivalServ
     }
 
     @Override
-    public List<FestivalDTO> obtenerFestivalesPorEstado(EstadoFestival estado) {
+    public PaginaDTO<FestivalDTO> obtenerFestivalesPorEstado(EstadoFestival estado, String cursor, Integer limite) {
+        Integer despuesDeId = Paginacion.decodificarCursorId(cursor, CURSOR_FESTIVALES);
+        int tamano = Paginacion.normalizarLimite(limite);
         return executeRead(em -> {
-            List<Festival> festivales = (estado == null)
-                    ? festivalRepository.findAll(em)
-                    : festivalRepository.findByEstado(em, estado);
-            return festivalMapper.toFestivalDTOList(festivales);
+            List<Festival> festivales = festivalRepository.findPagina(em, estado, despuesDeId, tamano + 1);
+            return Paginacion.construirPagina(festivalMapper.toFestivalDTOList(festivales), tamano,
+                    ultimo -> Paginacion.codificarCursor(CURSOR_FESTIVALES, ultimo.getIdFestival()));
         }, "obtenerFestivalesPorEstado " + (estado != null ? estado.name() : "ALL"));
     }
 
@@ -0,0 +1,58 @@
+package com.beatpass.service;
+
+/**
+ * Define los filtros de códigos válidos (QR de entradas y UID de pulseras),
+ * que permiten rechazar sin acceder a la base de datos los códigos que seguro
+ * no existen, como los de intentos de enumeración o los mal tecleados.
+ * <p>
+ * Los filtros son de Bloom, uno por festival y uno global: pueden dar falsos
+ * positivos (en ese caso se consulta la base de datos como antes) pero nunca
+ * falsos negativos. Mientras no están cargados no descartan nada. Los servicios que
+ * crean entradas o asocian pulseras deben registrar los códigos nuevos tras
+ * confirmar la transacción.
+ * </p>
+ */
+public interface FiltroCodigosService {
+
+    /**
+     * @param codigoQr Código QR a comprobar.
+     * @return true si seguro que no existe ninguna entrada con ese código.
+     */
+    boolean qrDescartado(String codigoQr);
+
+    /**
+     * @param codigoUid UID a comprobar.
+     * @return true si seguro que no existe ninguna pulsera con ese UID.
+     */
+    boolean uidDescartado(String codigoUid);
+
+    /**
+     * @param idFestival ID del festival en el que se usa la pulsera.
+     * @param codigoUid UID a comprobar.
+     * @return true si seguro que no existe ninguna pulsera con ese UID en el
+     * festival.
+     */
+    boolean uidDescartado(Integer idFestival, String codigoUid);
+
+    /**
+     * Registra el código QR de una entrada creada.
+     *
+     * @param idFestival ID del festival de la entrada.
+     * @param codigoQr Código QR.
+     */
+    void registrarQr(Integer idFestival, String codigoQr);
+
+    /**
+     * Registra el UID de una pulsera creada o asociada a otro festival.
+     *
+     * @param idFestival ID del festival de la pulsera.
+     * @param codigoUid UID de la pulsera.
+     */
+    void registrarUid(Integer idFestival, String codigoUid);
+
+    /**
+     * Carga los filtros si aún no lo están (se llama al arrancar la
+     * aplicación).
+     */
+    void precargar();
+}
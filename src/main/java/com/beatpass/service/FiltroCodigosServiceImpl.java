@@ -0,0 +1,120 @@
+package com.beatpass.service;
+
+import com.beatpass.repository.EntradaRepository;
+import com.beatpass.repository.PulseraNFCRepository;
+import com.beatpass.util.Entorno;
+import com.beatpass.util.FiltrosBloomPorFestival;
+import com.beatpass.util.LecturasAgrupadas;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de los filtros de códigos válidos. Se cargan al arrancar con
+ * una consulta de solo avance por tipo de código y, si un filtro supera su
+ * capacidad, un único hilo en segundo plano lo reconstruye desde la base de
+ * datos. La tasa de falsos positivos se configura con
+ * BLOOM_TASA_FALSOS_POSITIVOS (por defecto 0.01).
+ */
+public class FiltroCodigosServiceImpl extends AbstractService implements FiltroCodigosService {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroCodigosServiceImpl.class);
+
+    private static final double TASA_FALSOS_POSITIVOS = Entorno.tasa("BLOOM_TASA_FALSOS_POSITIVOS", 0.01);
+    private static final int TAMANO_LOTE_CARGA = 1000;
+
+    private final EntradaRepository entradaRepository;
+    private final PulseraNFCRepository pulseraNFCRepository;
+
+    private final ExecutorService cargas;
+    private final FiltrosBloomPorFestival codigosQr;
+    private final FiltrosBloomPorFestival codigosUid;
+
+    @Inject
+    public FiltroCodigosServiceImpl(EntradaRepository entradaRepository, PulseraNFCRepository pulseraNFCRepository) {
+        this.entradaRepository = entradaRepository;
+        this.pulseraNFCRepository = pulseraNFCRepository;
+        this.cargas = Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "beatpass-filtros-codigos");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.codigosQr = new FiltrosBloomPorFestival("codigosQr", TASA_FALSOS_POSITIVOS, this::cargarQr, cargas);
+        this.codigosUid = new FiltrosBloomPorFestival("codigosUid", TASA_FALSOS_POSITIVOS, this::cargarUid, cargas);
+    }
+
+    @Override
+    public boolean qrDescartado(String codigoQr) {
+        boolean descartado = !codigosQr.puedeExistir(codigoQr);
+        if (descartado) {
+            log.debug("Código QR {} descartado por el filtro de códigos válidos.", LecturasAgrupadas.etiquetaOculta(codigoQr));
+        }
+        return descartado;
+    }
+
+    @Override
+    public boolean uidDescartado(String codigoUid) {
+        boolean descartado = !codigosUid.puedeExistir(codigoUid);
+        if (descartado) {
+            log.debug("UID {} descartado por el filtro de códigos válidos.", codigoUid);
+        }
+        return descartado;
+    }
+
+    @Override
+    public boolean uidDescartado(Integer idFestival, String codigoUid) {
+        boolean descartado = !codigosUid.puedeExistir(idFestival, codigoUid);
+        if (descartado) {
+            log.debug("UID {} descartado por el filtro de códigos válidos del festival ID {}.", codigoUid, idFestival);
+        }
+        return descartado;
+    }
+
+    @Override
+    public void registrarQr(Integer idFestival, String codigoQr) {
+        codigosQr.agregar(idFestival, codigoQr);
+    }
+
+    @Override
+    public void registrarUid(Integer idFestival, String codigoUid) {
+        codigosUid.agregar(idFestival, codigoUid);
+    }
+
+    @Override
+    public void precargar() {
+        codigosQr.cargar();
+        codigosUid.cargar();
+    }
+
+    /**
+     * Detiene las cargas en segundo plano al destruir el servicio.
+     */
+    @PreDestroy
+    public void detener() {
+        cargas.shutdownNow();
+    }
+
+    private void cargarQr(Integer idFestival, BiConsumer<Integer, String> fila) {
+        executeRead(em -> {
+            try (Stream<Object[]> filas = entradaRepository.streamCodigosQr(em, idFestival, TAMANO_LOTE_CARGA)) {
+                filas.forEach(f -> fila.accept((Integer) f[0], (String) f[1]));
+            }
+            return null;
+        }, "cargarFiltroCodigosQr " + (idFestival != null ? idFestival : "todos"));
+    }
+
+    private void cargarUid(Integer idFestival, BiConsumer<Integer, String> fila) {
+        executeRead(em -> {
+            try (Stream<Object[]> filas = pulseraNFCRepository.streamCodigosUid(em, idFestival, TAMANO_LOTE_CARGA)) {
+                filas.forEach(f -> fila.accept((Integer) f[0], (String) f[1]));
+            }
+            return null;
+        }, "cargarFiltroCodigosUid " + (idFestival != null ? idFestival : "todos"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.OcupacionFestivalDTO;
+import com.beatpass.model.TipoAcceso;
+
+/**
+ * Define la lógica de control de aforo en tiempo real. Mantiene en memoria el
+ * estado dentro/fuera de cada pulsera y contadores de entradas y salidas por
+ * festival y puerta, que se vuelcan periódicamente a la base de datos.
+ * <p>
+ * Tras un reinicio se restauran los contadores volcados, pero no el estado
+ * dentro/fuera de cada pulsera: las salidas de pulseras de estado desconocido
+ * se aceptan hasta agotar la ocupación restaurada.
+ * </p>
+ */
+public interface OcupacionService {
+
+    /**
+     * Registra el escaneo de una pulsera en un control de acceso. Aplica la
+     * máquina de estados dentro/fuera (una pulsera que ya está dentro no puede
+     * volver a entrar sin haber salido) y actualiza los contadores.
+     *
+     * @param codigoUid UID de la pulsera escaneada (obligatorio).
+     * @param idFestival ID del festival (obligatorio).
+     * @param puerta Identificador de la puerta; si es nulo se usa la puerta
+     * principal.
+     * @param tipo Sentido del acceso (ENTRADA o SALIDA).
+     * @param idActor ID del usuario que realiza el escaneo.
+     * @return La ocupación del festival tras registrar el acceso.
+     * @throws PulseraNFCNotFoundException Si la pulsera no existe.
+     * @throws SecurityException Si la pulsera no pertenece al festival o el
+     * actor no tiene permisos.
+     * @throws IllegalStateException Si la transición no es válida para el
+     * estado actual de la pulsera.
+     */
+    OcupacionFestivalDTO registrarAcceso(String codigoUid, Integer idFestival, String puerta, TipoAcceso tipo, Integer idActor);
+
+    /**
+     * Obtiene la ocupación actual de un festival desde los contadores en
+     * memoria, sin consultas de agregación. Verifica permisos del actor.
+     *
+     * @param idFestival ID del festival.
+     * @param idActor ID del usuario solicitante.
+     * @return La ocupación del festival.
+     */
+    OcupacionFestivalDTO obtenerOcupacion(Integer idFestival, Integer idActor);
+
+    /**
+     * Vuelca a la tabla de estadísticas los contadores de los festivales con
+     * cambios pendientes. Se invoca periódicamente y al apagar la aplicación.
+     */
+    void volcarContadores();
+}
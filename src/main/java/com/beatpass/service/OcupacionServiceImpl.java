@@ -0,0 +1,365 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.OcupacionFestivalDTO;
+import com.beatpass.exception.FestivalNotFoundException;
+import com.beatpass.exception.PulseraNFCNotFoundException;
+import com.beatpass.model.EstadisticasFestival;
+import com.beatpass.model.Festival;
+import com.beatpass.model.PulseraNFC;
+import com.beatpass.model.TipoAcceso;
+import com.beatpass.repository.PulseraNFCRepository;
+import com.beatpass.util.Entorno;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementación del control de aforo en tiempo real. El estado de cada
+ * pulsera y los contadores viven en memoria ({@link LongAdder} por festival y
+ * puerta), de modo que consultar la ocupación no requiere agregaciones sobre
+ * la base de datos. Un hilo planificado vuelca los totales a
+ * {@link EstadisticasFestival}.
+ * <p>
+ * Para no consultar la base de datos en cada escaneo se conservan en memoria
+ * el festival y el estado de cada pulsera ya validada y el aforo de cada
+ * festival durante OCUPACION_CACHE_TTL_SEGUNDOS (por defecto 60). La
+ * asociación de una pulsera a su festival no cambia una vez hecha, así que el
+ * tiempo solo acota el retraso con el que se ven cambios hechos fuera de la
+ * aplicación o del aforo.
+ * </p>
+ * <p>
+ * Tras un reinicio los contadores se restauran desde la fila volcada, pero no
+ * el estado dentro/fuera de cada pulsera (no se persiste): las salidas de
+ * pulseras de estado desconocido se aceptan hasta agotar la ocupación
+ * restaurada, y sus entradas se cuentan como nuevas. Perder como mucho un
+ * intervalo de volcado es el coste de no escribir en cada escaneo.
+ * </p>
+ */
+public class OcupacionServiceImpl extends AbstractService implements OcupacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(OcupacionServiceImpl.class);
+
+    private static final String PUERTA_PRINCIPAL = "PRINCIPAL";
+    private static final int HISTERESIS_ALERTA_PCT = 5; // Evita alertas intermitentes en torno al umbral
+
+    private final PulseraNFCRepository pulseraNFCRepository;
+    private final FiltroCodigosService filtroCodigosService;
+    private final Map<Integer, ContadoresFestival> contadoresPorFestival = new ConcurrentHashMap<>();
+    private final Map<String, DatosPulsera> pulseras = new ConcurrentHashMap<>();
+    private final int umbralAlertaPct;
+    private final int intervaloVolcado;
+    private final long ttlCacheNanos;
+    private final int maxPulserasCache;
+    private final ScheduledExecutorService planificador;
+
+    @Inject
+    public OcupacionServiceImpl(PulseraNFCRepository pulseraNFCRepository, FiltroCodigosService filtroCodigosService) {
+        this.pulseraNFCRepository = pulseraNFCRepository;
+        this.filtroCodigosService = filtroCodigosService;
+        this.umbralAlertaPct = Entorno.entero("OCUPACION_UMBRAL_ALERTA_PCT", 90);
+        this.intervaloVolcado = Entorno.entero("OCUPACION_VOLCADO_SEGUNDOS", 30);
+        this.ttlCacheNanos = TimeUnit.SECONDS.toNanos(Entorno.entero("OCUPACION_CACHE_TTL_SEGUNDOS", 60));
+        this.maxPulserasCache = Entorno.entero("OCUPACION_CACHE_MAX_PULSERAS", 100000);
+
+        this.planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "beatpass-ocupacion-volcado");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Inicia el volcado periódico una vez construido el servicio.
+     */
+    @PostConstruct
+    public void iniciar() {
+        planificador.scheduleWithFixedDelay(this::volcarContadores, intervaloVolcado, intervaloVolcado, TimeUnit.SECONDS);
+        log.info("Control de aforo iniciado. Umbral de alerta: {}%, volcado cada {} s.", umbralAlertaPct, intervaloVolcado);
+    }
+
+    @Override
+    public OcupacionFestivalDTO registrarAcceso(String codigoUid, Integer idFestival, String puerta, TipoAcceso tipo, Integer idActor) {
+        log.info("Service: Registrando {} de pulsera UID {} en festival ID {} (puerta {}) por actor ID {}", tipo, codigoUid, idFestival, puerta, idActor);
+        if (codigoUid == null || codigoUid.isBlank() || idFestival == null || tipo == null || idActor == null) {
+            throw new IllegalArgumentException("UID de pulsera, ID de festival, tipo de acceso y ID de actor son requeridos.");
+        }
+        String puertaNormalizada = (puerta == null || puerta.isBlank()) ? PUERTA_PRINCIPAL : puerta.trim().toUpperCase();
+
+        ContadoresFestival contadores = executeRead(em -> {
+            verificarPermisoSobreFestival(em, idFestival, idActor);
+            DatosPulsera pulsera = obtenerDatosPulsera(em, idFestival, codigoUid);
+            if (pulsera.idFestival() == null || !idFestival.equals(pulsera.idFestival())) {
+                throw new SecurityException("La pulsera no pertenece al festival especificado.");
+            }
+            if (!pulsera.activa()) {
+                throw new IllegalStateException("La pulsera no está activa.");
+            }
+            return obtenerContadores(em, idFestival);
+        }, "registrarAcceso " + codigoUid);
+
+        aplicarTransicion(contadores, codigoUid, tipo);
+        contadores.puertas.computeIfAbsent(puertaNormalizada, p -> new ContadoresPuerta()).registrar(tipo);
+        contadores.pendienteVolcado.set(true);
+        evaluarAlerta(contadores);
+
+        return construirDTO(contadores);
+    }
+
+    @Override
+    public OcupacionFestivalDTO obtenerOcupacion(Integer idFestival, Integer idActor) {
+        log.debug("Service: Obteniendo ocupación del festival ID {} por actor ID {}", idFestival, idActor);
+        if (idFestival == null || idActor == null) {
+            throw new IllegalArgumentException("ID de festival y ID de actor son requeridos.");
+        }
+        ContadoresFestival contadores = executeRead(em -> {
+            verificarPermisoSobreFestival(em, idFestival, idActor);
+            return obtenerContadores(em, idFestival);
+        }, "obtenerOcupacion " + idFestival);
+        return construirDTO(contadores);
+    }
+
+    @Override
+    public void volcarContadores() {
+        for (ContadoresFestival contadores : contadoresPorFestival.values()) {
+            if (!contadores.pendienteVolcado.getAndSet(false)) {
+                continue;
+            }
+            try {
+                executeTransactional(em -> {
+                    EstadisticasFestival estadisticas = em.find(EstadisticasFestival.class, contadores.idFestival);
+                    if (estadisticas == null) {
+                        estadisticas = new EstadisticasFestival();
+                        estadisticas.setFestival(em.getReference(Festival.class, contadores.idFestival));
+                        em.persist(estadisticas);
+                    }
+                    estadisticas.setAccesosTotales(Math.toIntExact(contadores.entradas.sum()));
+                    estadisticas.setSalidasTotales(Math.toIntExact(contadores.salidas.sum()));
+                    estadisticas.setOcupacionActual(Math.toIntExact(Math.max(0, contadores.ocupacion())));
+                    estadisticas.setUltimaActualizacion(LocalDateTime.now());
+                    return null;
+                }, "volcarContadores festival " + contadores.idFestival);
+            } catch (RuntimeException e) {
+                // Se reintenta en el siguiente ciclo
+                contadores.pendienteVolcado.set(true);
+                log.error("Error al volcar los contadores de aforo del festival ID {}: {}", contadores.idFestival, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Detiene el volcado periódico y persiste los últimos contadores al
+     * destruir el servicio.
+     */
+    @PreDestroy
+    public void detener() {
+        log.info("Deteniendo control de aforo. Volcando contadores pendientes...");
+        planificador.shutdown();
+        volcarContadores();
+    }
+
+    /**
+     * Devuelve el festival y el estado de la pulsera, desde memoria si se
+     * leyeron hace menos del tiempo de caché. Sin caché, el filtro de códigos
+     * del festival descarta las pulseras que seguro no son suyas.
+     */
+    private DatosPulsera obtenerDatosPulsera(EntityManager em, Integer idFestival, String codigoUid) {
+        DatosPulsera datos = pulseras.get(codigoUid);
+        if (datos != null && datos.expiraNanos() - System.nanoTime() > 0) {
+            return datos;
+        }
+        if (filtroCodigosService.uidDescartado(idFestival, codigoUid)) {
+            throw new PulseraNFCNotFoundException("Pulsera no encontrada con UID: " + codigoUid + " en el festival ID " + idFestival);
+        }
+        PulseraNFC pulsera = pulseraNFCRepository.findByCodigoUid(em, codigoUid)
+                .orElseThrow(() -> new PulseraNFCNotFoundException("Pulsera no encontrada con UID: " + codigoUid));
+        datos = new DatosPulsera(pulsera.getFestival() != null ? pulsera.getFestival().getIdFestival() : null,
+                Boolean.TRUE.equals(pulsera.getActiva()), System.nanoTime() + ttlCacheNanos);
+        if (pulseras.size() >= maxPulserasCache) {
+            pulseras.clear();
+        }
+        pulseras.put(codigoUid, datos);
+        return datos;
+    }
+
+    /**
+     * Devuelve los contadores en memoria del festival, cargándolos desde las
+     * estadísticas persistidas la primera vez que se usan (p. ej. tras un
+     * reinicio). El aforo se relee del festival cuando caduca.
+     */
+    private ContadoresFestival obtenerContadores(EntityManager em, Integer idFestival) {
+        ContadoresFestival existentes = contadoresPorFestival.get(idFestival);
+        if (existentes != null && existentes.aforoExpiraNanos - System.nanoTime() > 0) {
+            return existentes;
+        }
+        Festival festival = em.find(Festival.class, idFestival);
+        if (festival == null) {
+            throw new FestivalNotFoundException("Festival no encontrado con ID: " + idFestival);
+        }
+        ContadoresFestival contadores = contadoresPorFestival.computeIfAbsent(idFestival, id -> {
+            EstadisticasFestival estadisticas = em.find(EstadisticasFestival.class, id);
+            long entradas = estadisticas != null && estadisticas.getAccesosTotales() != null ? estadisticas.getAccesosTotales() : 0;
+            long salidas = estadisticas != null && estadisticas.getSalidasTotales() != null ? estadisticas.getSalidasTotales() : 0;
+            log.info("Contadores de aforo del festival ID {} inicializados (entradas={}, salidas={}).", id, entradas, salidas);
+            return new ContadoresFestival(id, entradas, salidas);
+        });
+        contadores.aforo = festival.getAforo();
+        contadores.aforoExpiraNanos = System.nanoTime() + ttlCacheNanos;
+        return contadores;
+    }
+
+    /**
+     * Aplica la máquina de estados dentro/fuera de forma atómica para la
+     * pulsera. Tras un reinicio se desconoce el estado de las pulseras que ya
+     * estaban dentro, por lo que se aceptan sus salidas hasta agotar la
+     * ocupación restaurada.
+     */
+    private void aplicarTransicion(ContadoresFestival contadores, String codigoUid, TipoAcceso tipo) {
+        contadores.presencia.compute(codigoUid, (uid, estadoActual) -> {
+            if (tipo == TipoAcceso.ENTRADA) {
+                if (estadoActual == EstadoPresencia.DENTRO) {
+                    throw new IllegalStateException("La pulsera " + uid + " ya consta dentro del recinto. Debe registrarse su salida antes de volver a entrar.");
+                }
+                if (estadoActual == EstadoPresencia.FUERA) {
+                    contadores.reentradas.increment();
+                }
+                contadores.entradas.increment();
+                return EstadoPresencia.DENTRO;
+            }
+
+            if (estadoActual == EstadoPresencia.FUERA
+                    || (estadoActual == null && contadores.ocupacionRestaurada.getAndUpdate(v -> v > 0 ? v - 1 : 0) == 0)) {
+                throw new IllegalStateException("La pulsera " + uid + " no consta dentro del recinto.");
+            }
+            contadores.salidas.increment();
+            return EstadoPresencia.FUERA;
+        });
+    }
+
+    private void evaluarAlerta(ContadoresFestival contadores) {
+        Integer aforo = contadores.aforo;
+        if (aforo == null || aforo <= 0) {
+            return;
+        }
+        long ocupacion = contadores.ocupacion();
+        double porcentaje = ocupacion * 100.0 / aforo;
+
+        if (porcentaje >= umbralAlertaPct && contadores.alertaActiva.compareAndSet(false, true)) {
+            log.warn("ALERTA AFORO - Festival ID {} al {}% de su aforo ({} de {}).",
+                    contadores.idFestival, String.format("%.1f", porcentaje), ocupacion, aforo);
+        } else if (porcentaje < umbralAlertaPct - HISTERESIS_ALERTA_PCT && contadores.alertaActiva.compareAndSet(true, false)) {
+            log.info("Fin de alerta de aforo para festival ID {} ({} de {}).", contadores.idFestival, ocupacion, aforo);
+        }
+    }
+
+    private OcupacionFestivalDTO construirDTO(ContadoresFestival contadores) {
+        long entradas = contadores.entradas.sum();
+        long salidas = contadores.salidas.sum();
+        long ocupacion = Math.max(0, entradas - salidas);
+        Integer aforo = contadores.aforo;
+
+        OcupacionFestivalDTO dto = new OcupacionFestivalDTO();
+        dto.setIdFestival(contadores.idFestival);
+        dto.setAforo(aforo);
+        dto.setOcupacionActual(ocupacion);
+        dto.setEntradasTotales(entradas);
+        dto.setSalidasTotales(salidas);
+        dto.setReentradas(contadores.reentradas.sum());
+        dto.setUmbralAlerta(umbralAlertaPct);
+        dto.setFechaCalculo(LocalDateTime.now());
+
+        String nivel = "NORMAL";
+        if (aforo != null && aforo > 0) {
+            double porcentaje = ocupacion * 100.0 / aforo;
+            dto.setPorcentajeOcupacion(Math.round(porcentaje * 10) / 10.0);
+            if (porcentaje >= 100) {
+                nivel = "COMPLETO";
+            } else if (contadores.alertaActiva.get()) {
+                nivel = "ALERTA";
+            }
+        }
+        dto.setNivelAlerta(nivel);
+
+        Map<String, Map<String, Long>> puertas = new TreeMap<>();
+        contadores.puertas.forEach((puerta, c) -> {
+            Map<String, Long> flujo = new LinkedHashMap<>();
+            flujo.put("entradas", c.entradas.sum());
+            flujo.put("salidas", c.salidas.sum());
+            puertas.put(puerta, flujo);
+        });
+        dto.setPuertas(puertas);
+        return dto;
+    }
+
+    private enum EstadoPresencia {
+        DENTRO, FUERA
+    }
+
+    /**
+     * Festival y estado de una pulsera validada, con su caducidad en memoria.
+     */
+    private record DatosPulsera(Integer idFestival, boolean activa, long expiraNanos) {
+
+    }
+
+    /**
+     * Contadores en memoria de un festival.
+     */
+    private static final class ContadoresFestival {
+
+        private final Integer idFestival;
+        private final LongAdder entradas = new LongAdder();
+        private final LongAdder salidas = new LongAdder();
+        private final LongAdder reentradas = new LongAdder();
+        private final AtomicLong ocupacionRestaurada;
+        private final Map<String, EstadoPresencia> presencia = new ConcurrentHashMap<>();
+        private final Map<String, ContadoresPuerta> puertas = new ConcurrentHashMap<>();
+        private final AtomicBoolean pendienteVolcado = new AtomicBoolean(false);
+        private final AtomicBoolean alertaActiva = new AtomicBoolean(false);
+        private volatile Integer aforo;
+        private volatile long aforoExpiraNanos;
+
+        private ContadoresFestival(Integer idFestival, long entradasIniciales, long salidasIniciales) {
+            this.idFestival = idFestival;
+            this.entradas.add(entradasIniciales);
+            this.salidas.add(salidasIniciales);
+            this.ocupacionRestaurada = new AtomicLong(Math.max(0, entradasIniciales - salidasIniciales));
+            this.aforoExpiraNanos = System.nanoTime(); // Aún sin aforo leído
+        }
+
+        private long ocupacion() {
+            return entradas.sum() - salidas.sum();
+        }
+    }
+
+    /**
+     * Contadores de flujo de una puerta de acceso.
+     */
+    private static final class ContadoresPuerta {
+
+        private final LongAdder entradas = new LongAdder();
+        private final LongAdder salidas = new LongAdder();
+
+        private void registrar(TipoAcceso tipo) {
+            if (tipo == TipoAcceso.ENTRADA) {
+                entradas.increment();
+            } else {
+                salidas.increment();
+            }
+        }
+    }
+}
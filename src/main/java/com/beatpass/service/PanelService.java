@@ -0,0 +1,40 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.SubPeticionPanelDTO;
+
+import java.util.List;
+
+/**
+ * Define la ejecución en lote de las consultas del panel del promotor. Evita
+ * una petición HTTP por cada tabla del panel: las sub-peticiones se ejecutan
+ * en paralelo y la verificación de permisos se hace una sola vez por
+ * festival.
+ */
+public interface PanelService {
+
+    /**
+     * Resultado de una sub-petición: el valor devuelto por el servicio
+     * correspondiente o el error que produjo.
+     *
+     * @param id Identificador de la sub-petición.
+     * @param valor Cuerpo de la respuesta (null si hubo error).
+     * @param siguienteCursor Cursor de la siguiente página, o null.
+     * @param error Excepción producida, o null si tuvo éxito.
+     */
+    record Resultado(String id, Object valor, String siguienteCursor, RuntimeException error) {
+
+    }
+
+    /**
+     * Ejecuta las sub-peticiones en paralelo, cada una en un hilo virtual con
+     * su propio EntityManager. Un error en una sub-petición no afecta a las
+     * demás.
+     *
+     * @param peticiones Sub-peticiones del lote.
+     * @param idActor ID del usuario autenticado (ADMIN o PROMOTOR).
+     * @return Resultados en el mismo orden que las sub-peticiones.
+     * @throws IllegalArgumentException Si el lote es inválido (vacío,
+     * demasiado grande, IDs repetidos o recursos desconocidos).
+     */
+    List<Resultado> ejecutarLote(List<SubPeticionPanelDTO> peticiones, Integer idActor);
+}
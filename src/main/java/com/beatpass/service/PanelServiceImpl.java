@@ -0,0 +1,210 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.PaginaDTO;
+import com.beatpass.dto.SubPeticionPanelDTO;
+import com.beatpass.exception.FestivalNotFoundException;
+import com.beatpass.util.Entorno;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementación de la ejecución en lote del panel del promotor.
+ * <p>
+ * Primero verifica, con un único EntityManager, el permiso del actor sobre
+ * cada festival distinto del lote; las sub-peticiones de festivales sin
+ * permiso fallan sin llegar a ejecutarse. Después lanza cada sub-petición en
+ * un hilo virtual, compartiendo los permisos ya concedidos para que los
+ * servicios no repitan la verificación. Como mucho PANEL_CONCURRENCIA_MAX
+ * (por defecto 4) sub-peticiones de un lote usan a la vez una conexión del
+ * pool.
+ * </p>
+ * <p>
+ * El lote no dura más de 30 s: las consultas llevan como timeout el tiempo
+ * que le quede y, al vencer, las sub-peticiones sin terminar se interrumpen
+ * sin esperarlas.
+ * </p>
+ */
+public class PanelServiceImpl extends AbstractService implements PanelService {
+
+    private static final Logger log = LoggerFactory.getLogger(PanelServiceImpl.class);
+
+    private static final int MAX_SUBPETICIONES = 10;
+    private static final long TIEMPO_MAXIMO_SEGUNDOS = 30;
+    private static final int MAX_CONCURRENCIA = Entorno.entero("PANEL_CONCURRENCIA_MAX", 4);
+    private static final Set<String> RECURSOS = Set.of(
+            "festival", "tiposEntrada", "entradas", "asistentes", "compras", "pulseras");
+
+    private final FestivalService festivalService;
+    private final TipoEntradaService tipoEntradaService;
+    private final EntradaService entradaService;
+    private final AsistenteService asistenteService;
+    private final CompraService compraService;
+    private final PulseraNFCService pulseraNFCService;
+
+    @Inject
+    public PanelServiceImpl(FestivalService festivalService, TipoEntradaService tipoEntradaService,
+            EntradaService entradaService, AsistenteService asistenteService,
+            CompraService compraService, PulseraNFCService pulseraNFCService) {
+        this.festivalService = festivalService;
+        this.tipoEntradaService = tipoEntradaService;
+        this.entradaService = entradaService;
+        this.asistenteService = asistenteService;
+        this.compraService = compraService;
+        this.pulseraNFCService = pulseraNFCService;
+    }
+
+    @Override
+    public List<Resultado> ejecutarLote(List<SubPeticionPanelDTO> peticiones, Integer idActor) {
+        validarLote(peticiones, idActor);
+        log.info("Service: Ejecutando lote de {} sub-peticiones del panel para actor ID {}", peticiones.size(), idActor);
+        long inicio = System.nanoTime();
+
+        Set<String> concedidos = ConcurrentHashMap.newKeySet();
+        Map<Integer, RuntimeException> denegados = verificarPermisos(peticiones, idActor, concedidos);
+
+        List<Resultado> resultados = new ArrayList<>(peticiones.size());
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIEMPO_MAXIMO_SEGUNDOS);
+        Semaphore turnos = new Semaphore(MAX_CONCURRENCIA);
+        // Sin try-with-resources: close() esperaría a las sub-peticiones que superen el límite
+        ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<Resultado>> pendientes = new ArrayList<>(peticiones.size());
+            for (SubPeticionPanelDTO peticion : peticiones) {
+                RuntimeException denegado = denegados.get(peticion.getIdFestival());
+                pendientes.add(denegado != null
+                        ? CompletableFuture.completedFuture(new Resultado(peticion.getId(), null, null, denegado))
+                        : ejecutor.submit(() -> ejecutarConTurno(turnos, limite, concedidos, peticion, idActor)));
+            }
+
+            for (int i = 0; i < peticiones.size(); i++) {
+                resultados.add(esperar(pendientes.get(i), peticiones.get(i), limite));
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        log.info("Lote del panel de {} sub-peticiones completado en {} ms.", peticiones.size(), (System.nanoTime() - inicio) / 1_000_000);
+        return resultados;
+    }
+
+    private void validarLote(List<SubPeticionPanelDTO> peticiones, Integer idActor) {
+        if (idActor == null) {
+            throw new IllegalArgumentException("El ID del usuario actor es requerido.");
+        }
+        if (peticiones == null || peticiones.isEmpty() || peticiones.size() > MAX_SUBPETICIONES) {
+            throw new IllegalArgumentException("El lote debe contener entre 1 y " + MAX_SUBPETICIONES + " sub-peticiones.");
+        }
+        Set<String> ids = new HashSet<>();
+        for (SubPeticionPanelDTO peticion : peticiones) {
+            if (peticion == null || peticion.getId() == null || !ids.add(peticion.getId())) {
+                throw new IllegalArgumentException("Cada sub-petición necesita un identificador único.");
+            }
+            if (!RECURSOS.contains(peticion.getRecurso())) {
+                throw new IllegalArgumentException("Recurso desconocido en la sub-petición '" + peticion.getId() + "': " + peticion.getRecurso());
+            }
+            if (peticion.getIdFestival() == null) {
+                throw new IllegalArgumentException("La sub-petición '" + peticion.getId() + "' no indica el festival.");
+            }
+        }
+    }
+
+    /**
+     * Verifica el permiso sobre cada festival distinto del lote con un único
+     * EntityManager. Los concedidos se registran en el conjunto compartido.
+     *
+     * @return Errores de los festivales sin permiso (o inexistentes).
+     */
+    private Map<Integer, RuntimeException> verificarPermisos(List<SubPeticionPanelDTO> peticiones, Integer idActor, Set<String> concedidos) {
+        Set<Integer> festivales = new LinkedHashSet<>();
+        peticiones.forEach(peticion -> festivales.add(peticion.getIdFestival()));
+        Map<Integer, RuntimeException> denegados = new HashMap<>();
+        conPermisosCompartidos(concedidos, () -> executeRead(em -> {
+            for (Integer idFestival : festivales) {
+                try {
+                    verificarPermisoSobreFestival(em, idFestival, idActor);
+                } catch (RuntimeException e) {
+                    denegados.put(idFestival, e);
+                }
+            }
+            return null;
+        }, "verificarPermisosLotePanel actor " + idActor));
+        return denegados;
+    }
+
+    private Resultado ejecutarConTurno(Semaphore turnos, long limite, Set<String> concedidos,
+            SubPeticionPanelDTO peticion, Integer idActor) throws InterruptedException {
+        turnos.acquire();
+        try {
+            return conLimiteConsultas(limite, () -> conPermisosCompartidos(concedidos, () -> ejecutar(peticion, idActor)));
+        } finally {
+            turnos.release();
+        }
+    }
+
+    private Resultado ejecutar(SubPeticionPanelDTO peticion, Integer idActor) {
+        Integer idFestival = peticion.getIdFestival();
+        try {
+            return switch (peticion.getRecurso()) {
+                case "festival" ->
+                    resultado(peticion, festivalService.obtenerFestivalPorId(idFestival, idActor)
+                            .orElseThrow(() -> new FestivalNotFoundException("Festival no encontrado con ID: " + idFestival)));
+                case "tiposEntrada" ->
+                    resultado(peticion, tipoEntradaService.obtenerTipoEntradasPorFestival(idFestival, idActor));
+                case "entradas" ->
+                    resultadoPagina(peticion, entradaService.obtenerEntradasPorFestival(idFestival, idActor, peticion.getCursor(), peticion.getLimite()));
+                case "asistentes" ->
+                    resultadoPagina(peticion, asistenteService.obtenerAsistentesPorFestival(idFestival, idActor, peticion.getCursor(), peticion.getLimite()));
+                case "compras" ->
+                    resultadoPagina(peticion, compraService.obtenerComprasPorFestival(idFestival, idActor, peticion.getCursor(), peticion.getLimite()));
+                case "pulseras" ->
+                    resultadoPagina(peticion, pulseraNFCService.obtenerPulserasPorFestival(idFestival, idActor, peticion.getCursor(), peticion.getLimite()));
+                default ->
+                    throw new IllegalArgumentException("Recurso desconocido: " + peticion.getRecurso());
+            };
+        } catch (RuntimeException e) {
+            return new Resultado(peticion.getId(), null, null, e);
+        }
+    }
+
+    private static Resultado resultado(SubPeticionPanelDTO peticion, Object valor) {
+        return new Resultado(peticion.getId(), valor, null, null);
+    }
+
+    private static Resultado resultadoPagina(SubPeticionPanelDTO peticion, PaginaDTO<?> pagina) {
+        return new Resultado(peticion.getId(), pagina.getItems(), pagina.getSiguienteCursor(), null);
+    }
+
+    private Resultado esperar(Future<Resultado> pendiente, SubPeticionPanelDTO peticion, long limiteNanos) {
+        try {
+            return pendiente.get(Math.max(0, limiteNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            pendiente.cancel(true);
+            log.warn("Sub-petición '{}' del panel cancelada por superar {} s.", peticion.getId(), TIEMPO_MAXIMO_SEGUNDOS);
+            return new Resultado(peticion.getId(), null, null,
+                    new RuntimeException("La sub-petición superó el tiempo máximo de ejecución."));
+        } catch (ExecutionException e) {
+            RuntimeException causa = e.getCause() instanceof RuntimeException re ? re : mapException(e);
+            return new Resultado(peticion.getId(), null, null, causa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ejecución del lote del panel interrumpida.", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.beatpass.service;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+
+/**
+ * Define el hashing y la verificación de contraseñas. BCrypt es deliberadamente
+ * costoso, así que se ejecuta en un grupo de hilos acotado y separado de los
+ * hilos de petición: una avalancha de logins (inicio de turno de los cajeros o
+ * un ataque de relleno de credenciales) se rechaza rápido con 503 en lugar de
+ * ocupar todas las CPU y retrasar las operaciones de los puntos de venta.
+ */
+public interface PasswordService {
+
+    /**
+     * Verifica una contraseña contra su hash almacenado.
+     *
+     * @param password Contraseña en texto plano.
+     * @param hash Hash BCrypt almacenado.
+     * @return true si coinciden.
+     * @throws ServiceUnavailableException Si el grupo de hashing está
+     * saturado.
+     */
+    boolean verificar(String password, String hash);
+
+    /**
+     * Genera el hash BCrypt de una contraseña con el factor de trabajo
+     * configurado.
+     *
+     * @param password Contraseña en texto plano (no nula/vacía).
+     * @return El hash generado.
+     * @throws ServiceUnavailableException Si el grupo de hashing está
+     * saturado.
+     */
+    String hashear(String password);
+
+    /**
+     * Tras un login correcto, regenera en segundo plano el hash de la
+     * contraseña si se generó con otro factor de trabajo. Solo se hace cuando
+     * el grupo de hashing está libre y sin cambiar una contraseña modificada
+     * entretanto; si no, se intentará en el siguiente login.
+     *
+     * @param idUsuario ID del usuario.
+     * @param password Contraseña ya verificada.
+     * @param hashActual Hash con el que se verificó.
+     */
+    void actualizarFactorSiNecesario(Integer idUsuario, String password, String hashActual);
+}
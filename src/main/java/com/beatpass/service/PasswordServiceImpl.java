@@ -0,0 +1,132 @@
+package com.beatpass.service;
+
+import com.beatpass.repository.UsuarioRepository;
+import com.beatpass.util.Entorno;
+import com.beatpass.util.PasswordUtil;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementación del hashing de contraseñas en un grupo acotado de
+ * BCRYPT_HILOS hilos de baja prioridad (por defecto una cuarta parte de las
+ * CPU, al menos uno) con una cola de BCRYPT_COLA_MAX tareas (por defecto 32).
+ * Con la cola llena la petición se rechaza al momento con 503 y Retry-After.
+ */
+public class PasswordServiceImpl extends AbstractService implements PasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordServiceImpl.class);
+
+    private static final long REINTENTO_SEGUNDOS = 2;
+
+    private final UsuarioRepository usuarioRepository;
+    private final ThreadPoolExecutor ejecutor;
+
+    @Inject
+    public PasswordServiceImpl(UsuarioRepository usuarioRepository) {
+        this.usuarioRepository = usuarioRepository;
+        int hilos = Entorno.entero("BCRYPT_HILOS", Math.max(1, Runtime.getRuntime().availableProcessors() / 4));
+        int cola = Entorno.entero("BCRYPT_COLA_MAX", 32);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(cola), r -> {
+            Thread hilo = new Thread(r, "beatpass-bcrypt-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            hilo.setPriority(Thread.MIN_PRIORITY);
+            return hilo;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        log.info("Hashing de contraseñas iniciado: {} hilos, cola de {}, factor de trabajo {}.", hilos, cola, PasswordUtil.getFactorTrabajo());
+    }
+
+    @Override
+    public boolean verificar(String password, String hash) {
+        return ejecutar(() -> PasswordUtil.checkPassword(password, hash), "verificar contraseña");
+    }
+
+    @Override
+    public String hashear(String password) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("La contraseña no puede ser nula o vacía.");
+        }
+        return ejecutar(() -> PasswordUtil.hashPassword(password), "generar hash de contraseña");
+    }
+
+    @Override
+    public void actualizarFactorSiNecesario(Integer idUsuario, String password, String hashActual) {
+        if (idUsuario == null || password == null || !PasswordUtil.necesitaRehash(hashActual)) {
+            return;
+        }
+        // Nunca a costa de los logins que esperan: solo con la cola vacía
+        if (!ejecutor.getQueue().isEmpty()) {
+            log.debug("Rehash de la contraseña del usuario ID {} aplazado: grupo de hashing ocupado.", idUsuario);
+            return;
+        }
+        try {
+            ejecutor.execute(() -> rehashear(idUsuario, password, hashActual));
+        } catch (RejectedExecutionException e) {
+            log.debug("Rehash de la contraseña del usuario ID {} aplazado: {}", idUsuario, e.getMessage());
+        }
+    }
+
+    /**
+     * Detiene el grupo de hashing al destruir el servicio.
+     */
+    @PreDestroy
+    public void detener() {
+        log.info("Deteniendo el grupo de hashing de contraseñas.");
+        ejecutor.shutdownNow();
+    }
+
+    private void rehashear(Integer idUsuario, String password, String hashActual) {
+        try {
+            String hashNuevo = PasswordUtil.hashPassword(password);
+            boolean actualizado = executeTransactional(em -> usuarioRepository.findById(em, idUsuario)
+                    .filter(usuario -> hashActual.equals(usuario.getPassword())) // No pisar un cambio de contraseña posterior
+                    .map(usuario -> {
+                        usuario.setPassword(hashNuevo);
+                        usuarioRepository.save(em, usuario);
+                        return true;
+                    })
+                    .orElse(false), "actualizar factor de trabajo de la contraseña del usuario ID " + idUsuario);
+            if (actualizado) {
+                log.info("Hash de la contraseña del usuario ID {} regenerado con factor de trabajo {}.", idUsuario, PasswordUtil.getFactorTrabajo());
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo regenerar el hash de la contraseña del usuario ID {}: {}", idUsuario, e.getMessage());
+        }
+    }
+
+    private <R> R ejecutar(Callable<R> tarea, String operacion) {
+        Future<R> futuro;
+        try {
+            futuro = ejecutor.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            log.warn("Grupo de hashing saturado ({} en cola). Rechazada la operación '{}'.", ejecutor.getQueue().size(), operacion);
+            throw new ServiceUnavailableException("Servicio de autenticación saturado. Inténtelo de nuevo en unos segundos.", REINTENTO_SEGUNDOS);
+        }
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Operación de autenticación interrumpida.", REINTENTO_SEGUNDOS);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error inesperado en la operación '" + operacion + "'.", causa);
+        }
+    }
+}
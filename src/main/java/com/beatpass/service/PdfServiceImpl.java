@@ -1,19 +1,18 @@
 package com.beatpass.service;
 
 import com.beatpass.dto.EntradaDTO;
+import com.beatpass.util.QRCodeUtil;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
-import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Base64;
 import java.util.List;
 
 /**
@@ -91,30 +90,17 @@ public class PdfServiceImpl implements PdfService {
                     currentY -= (lineHeight * 1.5f); // Más espacio antes del QR
 
                     // Imagen del Código QR
-                    if (entrada.getQrCodeImageDataUrl() != null && entrada.getQrCodeImageDataUrl().startsWith("data:image/png;base64,")) {
-                        try {
-                            String base64Image = entrada.getQrCodeImageDataUrl().substring("data:image/png;base64,".length());
-                            byte[] imageBytes = Base64.getDecoder().decode(base64Image);
-                            PDImageXObject pdImage = PDImageXObject.createFromByteArray(document, imageBytes, "qr-" + entrada.getIdEntrada());
-
-                            float qrSize = 140f;
-                            float qrX = (page.getMediaBox().getWidth() - qrSize) / 2;
-                            float qrY = currentY - qrSize - lineHeight;
-
-                            contentStream.drawImage(pdImage, qrX, qrY, qrSize, qrSize);
-                            currentY = qrY - (lineHeight * 1.5f);
-                            log.debug("Imagen QR añadida al PDF para la entrada ID {}", entrada.getIdEntrada());
-                        } catch (IllegalArgumentException | IOException e_qr) {
-                            log.error("Error al decodificar o añadir la imagen QR Base64 al PDF para entrada ID {}: {}", entrada.getIdEntrada(), e_qr.getMessage());
-                            contentStream.beginText();
-                            contentStream.setFont(fontRegular, 10);
-                            contentStream.newLineAtOffset(margin, currentY - lineHeight);
-                            contentStream.showText("Error al mostrar QR. Presentar código: " + (entrada.getCodigoQr() != null ? entrada.getCodigoQr() : "N/A"));
-                            contentStream.endText();
-                            currentY -= (lineHeight * 2);
-                        }
+                    // Se dibuja como vectores a partir de la matriz: sin rasterizar ni codificar PNG
+                    boolean[][] modulos = QRCodeUtil.generarMatrizQr(entrada.getCodigoQr());
+                    if (modulos != null) {
+                        float qrSize = 140f;
+                        float qrX = (page.getMediaBox().getWidth() - qrSize) / 2;
+                        float qrY = currentY - qrSize - lineHeight;
+                        dibujarQr(contentStream, modulos, qrX, qrY, qrSize);
+                        currentY = qrY - (lineHeight * 1.5f);
+                        log.debug("QR vectorial añadido al PDF para la entrada ID {}", entrada.getIdEntrada());
                     } else {
-                        log.warn("No se encontró URL de imagen QR válida para la entrada ID {}", entrada.getIdEntrada());
+                        log.warn("No se pudo generar la imagen QR para la entrada ID {}", entrada.getIdEntrada());
                         contentStream.beginText();
                         contentStream.setFont(fontRegular, 10);
                         contentStream.newLineAtOffset(margin, currentY - lineHeight);
@@ -151,4 +137,32 @@ public class PdfServiceImpl implements PdfService {
             throw e;
         }
     }
+
+    /**
+     * Dibuja el QR como rectángulos vectoriales, uno por cada racha horizontal
+     * de módulos oscuros, respetando la zona de silencio.
+     */
+    private void dibujarQr(PDPageContentStream contentStream, boolean[][] modulos, float x, float y, float lado) throws IOException {
+        int dimension = modulos.length;
+        float modulo = lado / (dimension + 2 * QRCodeUtil.MARGEN_MODULOS);
+        float origenX = x + QRCodeUtil.MARGEN_MODULOS * modulo;
+        float origenYSuperior = y + lado - QRCodeUtil.MARGEN_MODULOS * modulo;
+
+        for (int fila = 0; fila < dimension; fila++) {
+            int columna = 0;
+            while (columna < dimension) {
+                if (!modulos[fila][columna]) {
+                    columna++;
+                    continue;
+                }
+                int inicio = columna;
+                while (columna < dimension && modulos[fila][columna]) {
+                    columna++;
+                }
+                contentStream.addRect(origenX + inicio * modulo, origenYSuperior - (fila + 1) * modulo,
+                        (columna - inicio) * modulo, modulo);
+            }
+        }
+        contentStream.fill();
+    }
 }
@@ -5,6 +5,7 @@ import com.beatpass.exception.EntradaNoNominadaException;
 import com.beatpass.exception.FestivalNotFoundException;
 import com.beatpass.exception.PulseraNFCNotFoundException;
 import com.beatpass.exception.PulseraYaAsociadaException;
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.dto.PulseraNFCDTO;
 import java.math.BigDecimal;
 import java.util.List;
@@ -63,16 +64,20 @@ public interface PulseraNFCService {
     BigDecimal obtenerSaldo(Integer idPulsera, Integer idActor);
 
     /**
-     * Obtiene las pulseras asociadas a un festival. Verifica permisos (ADMIN o
-     * promotor dueño).
+     * Obtiene una página de las pulseras asociadas a un festival, ordenadas
+     * por ID. Verifica permisos (ADMIN o promotor dueño).
      *
      * @param idFestival ID del festival.
      * @param idActor ID del usuario solicitante.
-     * @return Lista de PulseraNFCDTO.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de PulseraNFCDTO.
      * @throws FestivalNotFoundException si el festival no existe.
      * @throws SecurityException si no tiene permisos.
+     * @throws IllegalArgumentException si el cursor no es válido.
      */
-    List<PulseraNFCDTO> obtenerPulserasPorFestival(Integer idFestival, Integer idActor);
+    PaginaDTO<PulseraNFCDTO> obtenerPulserasPorFestival(Integer idFestival, Integer idActor, String cursor, Integer limite);
 
     /**
      * Registra una recarga de saldo en una pulsera. Verifica que la pulsera
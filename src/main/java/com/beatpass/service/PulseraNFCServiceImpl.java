@@ -1,10 +1,12 @@
 package com.beatpass.service;
 
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.dto.PulseraNFCDTO;
 import com.beatpass.exception.*;
 import com.beatpass.mapper.PulseraNFCMapper;
 import com.beatpass.model.*;
 import com.beatpass.repository.*;
+import com.beatpass.util.Paginacion;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
@@ -24,20 +26,24 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
 
     private static final Logger log = LoggerFactory.getLogger(PulseraNFCServiceImpl.class);
 
+    private static final String CURSOR_PULSERAS = "pulseras";
+
     private final PulseraNFCRepository pulseraNFCRepository;
     private final EntradaRepository entradaRepository;
     private final FestivalRepository festivalRepository;
     private final RecargaRepository recargaRepository;
     private final ConsumoRepository consumoRepository;
+    private final FiltroCodigosService filtroCodigosService;
     private final PulseraNFCMapper pulseraNFCMapper;
 
     @Inject
-    public PulseraNFCServiceImpl(PulseraNFCRepository pulseraNFCRepository, EntradaRepository entradaRepository, FestivalRepository festivalRepository, RecargaRepository recargaRepository, ConsumoRepository consumoRepository) {
+    public PulseraNFCServiceImpl(PulseraNFCRepository pulseraNFCRepository, EntradaRepository entradaRepository, FestivalRepository festivalRepository, RecargaRepository recargaRepository, ConsumoRepository consumoRepository, FiltroCodigosService filtroCodigosService) {
         this.pulseraNFCRepository = pulseraNFCRepository;
         this.entradaRepository = entradaRepository;
         this.festivalRepository = festivalRepository;
         this.recargaRepository = recargaRepository;
         this.consumoRepository = consumoRepository;
+        this.filtroCodigosService = filtroCodigosService;
         this.pulseraNFCMapper = PulseraNFCMapper.INSTANCE;
     }
 
@@ -48,7 +54,7 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
             throw new IllegalArgumentException("UID de pulsera, ID de entrada y ID de actor son requeridos.");
         }
 
-        return executeTransactional(em -> {
+        PulseraNFCDTO pulseraAsociada = executeTransactional(em -> {
             Entrada entrada = entradaRepository.findById(em, idEntrada)
                     .orElseThrow(() -> new EntradaNotFoundException("Entrada no encontrada con ID: " + idEntrada));
 
@@ -59,6 +65,8 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
 
             return asociarPulsera(em, codigoUid, entrada, festival);
         }, "asociarPulseraEntrada " + codigoUid + " to " + idEntrada);
+        trasConfirmar(() -> filtroCodigosService.registrarUid(pulseraAsociada.getIdFestival(), pulseraAsociada.getCodigoUid()));
+        return pulseraAsociada;
     }
 
     @Override
@@ -77,7 +85,7 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
 
     @Override
     public Optional<PulseraNFCDTO> obtenerPulseraPorCodigoUid(String codigoUid, Integer idActor) {
-        if (codigoUid == null || codigoUid.isBlank() || idActor == null) {
+        if (codigoUid == null || codigoUid.isBlank() || idActor == null || filtroCodigosService.uidDescartado(codigoUid)) {
             return Optional.empty();
         }
         return executeRead(em -> {
@@ -97,14 +105,18 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
     }
 
     @Override
-    public List<PulseraNFCDTO> obtenerPulserasPorFestival(Integer idFestival, Integer idActor) {
+    public PaginaDTO<PulseraNFCDTO> obtenerPulserasPorFestival(Integer idFestival, Integer idActor, String cursor, Integer limite) {
         if (idFestival == null || idActor == null) {
             throw new IllegalArgumentException("ID de festival y ID de actor requeridos.");
         }
+        Integer despuesDeId = Paginacion.decodificarCursorId(cursor, CURSOR_PULSERAS);
+        int tamano = Paginacion.normalizarLimite(limite);
         return executeRead(em -> {
             verificarPermisoSobreFestival(em, idFestival, idActor);
-            List<PulseraNFC> pulseras = pulseraNFCRepository.findByFestivalId(em, idFestival);
-            return pulseraNFCMapper.toPulseraNFCDTOList(pulseras);
+            // Proyección directa a DTO: listado de solo lectura, sin entidades gestionadas
+            List<PulseraNFCDTO> pulseras = pulseraNFCRepository.findDTOsByFestivalId(em, idFestival, despuesDeId, tamano + 1);
+            return Paginacion.construirPagina(pulseras, tamano,
+                    ultima -> Paginacion.codificarCursor(CURSOR_PULSERAS, ultima.getIdPulsera()));
         }, "obtenerPulserasPorFestival " + idFestival);
     }
 
@@ -117,6 +129,9 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
 
         return executeTransactional(em -> {
             verificarPermisoSobreFestival(em, idFestival, idUsuarioCajero);
+            if (filtroCodigosService.uidDescartado(idFestival, codigoUid)) {
+                throw new PulseraNFCNotFoundException("Pulsera no encontrada con UID: " + codigoUid + " en el festival ID " + idFestival);
+            }
 
             PulseraNFC pulsera = pulseraNFCRepository.findByCodigoUid(em, codigoUid)
                     .orElseThrow(() -> new PulseraNFCNotFoundException("Pulsera no encontrada con UID: " + codigoUid));
@@ -151,6 +166,9 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
 
         return executeTransactional(em -> {
             verificarPermisoSobreFestival(em, idFestival, idActor);
+            if (filtroCodigosService.uidDescartado(idFestival, codigoUid)) {
+                throw new PulseraNFCNotFoundException("Pulsera no encontrada con UID: " + codigoUid + " en el festival ID " + idFestival);
+            }
 
             PulseraNFC pulsera = pulseraNFCRepository.findByCodigoUid(em, codigoUid)
                     .orElseThrow(() -> new PulseraNFCNotFoundException("Pulsera no encontrada con UID: " + codigoUid));
@@ -186,8 +204,11 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
         if (codigoQrEntrada == null || codigoQrEntrada.isBlank() || codigoUidPulsera == null || codigoUidPulsera.isBlank()) {
             throw new IllegalArgumentException("El código QR de la entrada y el UID de la pulsera son requeridos.");
         }
+        if (filtroCodigosService.qrDescartado(codigoQrEntrada)) {
+            throw new EntradaNotFoundException("Entrada no encontrada con el código QR proporcionado.");
+        }
 
-        return executeTransactional(em -> {
+        PulseraNFCDTO pulseraAsociada = executeTransactional(em -> {
             Entrada entrada = entradaRepository.findByCodigoQr(em, codigoQrEntrada)
                     .orElseThrow(() -> new EntradaNotFoundException("Entrada no encontrada con el código QR proporcionado."));
 
@@ -204,6 +225,8 @@ public class PulseraNFCServiceImpl extends AbstractService implements PulseraNFC
 
             return asociarPulsera(em, codigoUidPulsera, entrada, festival);
         }, "asociarPulseraViaQrEntrada " + codigoUidPulsera);
+        trasConfirmar(() -> filtroCodigosService.registrarUid(pulseraAsociada.getIdFestival(), pulseraAsociada.getCodigoUid()));
+        return pulseraAsociada;
     }
 
     private PulseraNFCDTO asociarPulsera(EntityManager em, String codigoUid, Entrada entrada, Festival festival) {
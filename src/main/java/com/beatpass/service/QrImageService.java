@@ -0,0 +1,32 @@
+package com.beatpass.service;
+
+import com.beatpass.util.FormatoQr;
+import com.beatpass.util.QrImageCache;
+import java.util.Optional;
+
+/**
+ * Define el renderizado de los códigos QR de las entradas. Los QR se generan
+ * bajo demanda, en el formato que pida el cliente, y se guardan en una caché
+ * LRU acotada en bytes, de modo que los listados de entradas no necesitan
+ * incrustarlos.
+ */
+public interface QrImageService {
+
+    /**
+     * Tamaño, en píxeles, usado para PNG cuando no se indica otro.
+     */
+    int TAMANO_POR_DEFECTO = 300;
+
+    /**
+     * Obtiene el QR de una entrada existente en el formato indicado. Solo se
+     * consulta la base de datos cuando el QR no está en caché.
+     *
+     * @param codigoQr Código QR de la entrada.
+     * @param formato Formato de salida (PNG, SVG o MATRIZ).
+     * @param tamano Lado de la imagen en píxeles; solo aplica a PNG y se acota
+     * a un rango permitido.
+     * @return Optional con el contenido y su ETag, vacío si no existe ninguna
+     * entrada con ese código.
+     */
+    Optional<QrImageCache.Imagen> obtenerQrEntrada(String codigoQr, FormatoQr formato, int tamano);
+}
@@ -0,0 +1,127 @@
+package com.beatpass.service;
+
+import com.beatpass.repository.EntradaRepository;
+import com.beatpass.util.Entorno;
+import com.beatpass.util.FormatoQr;
+import com.beatpass.util.LecturasAgrupadas;
+import com.beatpass.util.QRCodeUtil;
+import com.beatpass.util.QrImageCache;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Implementación del servicio de códigos QR con caché LRU en memoria. El
+ * límite de la caché se configura con la variable de entorno
+ * QR_CACHE_MAX_BYTES (16 MB por defecto).
+ */
+public class QrImageServiceImpl extends AbstractService implements QrImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(QrImageServiceImpl.class);
+
+    private static final int TAMANO_MINIMO = 100;
+    private static final int TAMANO_MAXIMO = 1000;
+    private static final long CACHE_MAX_BYTES_POR_DEFECTO = 16L * 1024 * 1024;
+
+    private final EntradaRepository entradaRepository;
+    private final FiltroCodigosService filtroCodigosService;
+    private final QrImageCache cache;
+    // Varias peticiones del mismo QR no cacheado comparten la consulta y el renderizado
+    private final LecturasAgrupadas<String, Optional<QrImageCache.Imagen>> renderizados
+            = new LecturasAgrupadas<>("qrEntrada", LecturasAgrupadas::etiquetaOculta);
+
+    @Inject
+    public QrImageServiceImpl(EntradaRepository entradaRepository, FiltroCodigosService filtroCodigosService) {
+        this.entradaRepository = entradaRepository;
+        this.filtroCodigosService = filtroCodigosService;
+        this.cache = new QrImageCache(Entorno.largo("QR_CACHE_MAX_BYTES", CACHE_MAX_BYTES_POR_DEFECTO));
+    }
+
+    @Override
+    public Optional<QrImageCache.Imagen> obtenerQrEntrada(String codigoQr, FormatoQr formato, int tamano) {
+        if (codigoQr == null || codigoQr.isBlank() || formato == null) {
+            return Optional.empty();
+        }
+        // SVG y matriz son independientes del tamaño: una sola entrada de caché
+        int tamanoAcotado = formato == FormatoQr.PNG ? Math.max(TAMANO_MINIMO, Math.min(TAMANO_MAXIMO, tamano)) : 0;
+        String clave = QrImageCache.clave(codigoQr, formato, tamanoAcotado);
+
+        QrImageCache.Imagen imagen = cache.get(clave);
+        if (imagen != null) {
+            log.trace("QR servido desde caché ({}).", clave);
+            return Optional.of(imagen);
+        }
+        if (filtroCodigosService.qrDescartado(codigoQr)) {
+            return Optional.empty();
+        }
+
+        return renderizados.ejecutar(clave, () -> cargarYRenderizar(codigoQr, formato, tamanoAcotado, clave));
+    }
+
+    private Optional<QrImageCache.Imagen> cargarYRenderizar(String codigoQr, FormatoQr formato, int tamano, String clave) {
+        // Otra petición pudo terminar el renderizado justo antes de entrar aquí
+        QrImageCache.Imagen imagen = cache.get(clave);
+        if (imagen != null) {
+            return Optional.of(imagen);
+        }
+
+        boolean existe = executeRead(em -> entradaRepository.findByCodigoQr(em, codigoQr).isPresent(),
+                "obtenerQrEntrada " + codigoQr);
+        if (!existe) {
+            return Optional.empty();
+        }
+
+        byte[] contenido = renderizar(codigoQr, formato, tamano);
+        if (contenido == null) {
+            return Optional.empty();
+        }
+        imagen = cache.put(clave, contenido, formato);
+        log.debug("QR renderizado en formato {} ({} bytes). Caché: {} elementos, {} bytes.",
+                formato, contenido.length, cache.size(), cache.bytesOcupados());
+        return Optional.of(imagen);
+    }
+
+    private byte[] renderizar(String codigoQr, FormatoQr formato, int tamano) {
+        switch (formato) {
+            case PNG:
+                return QRCodeUtil.generarQrComoPng(codigoQr, tamano, tamano);
+            case SVG:
+                String svg = QRCodeUtil.generarQrComoSvg(codigoQr);
+                return svg != null ? svg.getBytes(StandardCharsets.UTF_8) : null;
+            case MATRIZ:
+                boolean[][] modulos = QRCodeUtil.generarMatrizQr(codigoQr);
+                return modulos != null ? construirJsonMatriz(modulos).getBytes(StandardCharsets.UTF_8) : null;
+            default:
+                throw new IllegalArgumentException("Formato QR no soportado: " + formato);
+        }
+    }
+
+    /**
+     * Serializa la matriz como {"dimension":N,"margen":4,"filas":[[...],...]},
+     * donde cada fila son rachas alternas empezando por módulos claros.
+     */
+    private static String construirJsonMatriz(boolean[][] modulos) {
+        int[][] filas = QRCodeUtil.codificarFilasRle(modulos);
+        StringBuilder sb = new StringBuilder(modulos.length * 24);
+        sb.append("{\"dimension\":").append(modulos.length)
+                .append(",\"margen\":").append(QRCodeUtil.MARGEN_MODULOS)
+                .append(",\"filas\":[");
+        for (int i = 0; i < filas.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append('[');
+            for (int j = 0; j < filas[i].length; j++) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append(filas[i][j]);
+            }
+            sb.append(']');
+        }
+        return sb.append("]}").toString();
+    }
+}
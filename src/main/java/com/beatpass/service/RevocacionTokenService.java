@@ -0,0 +1,45 @@
+package com.beatpass.service;
+
+import java.util.Date;
+
+/**
+ * Define la revocación de tokens JWT antes de su expiración: de una sesión de
+ * login (al cerrar sesión) o de todos los de un usuario (al desactivarlo o
+ * eliminarlo).
+ * <p>
+ * La comprobación se hace en memoria en cada petición autenticada, sin
+ * consultar la base de datos: las sesiones revocadas se guardan en un filtro
+ * de Bloom, y solo cuando este responde "puede estar" se confirma en la
+ * tabla de revocaciones; las revocaciones de usuario, pocas, se guardan
+ * exactas. Ambas se reconstruyen periódicamente desde la tabla, lo que además
+ * recoge las revocaciones hechas por otras instancias.
+ * </p>
+ */
+public interface RevocacionTokenService {
+
+    /**
+     * @param idSesion ID de la sesión del token (puede ser null en tokens
+     * antiguos).
+     * @param idUsuario ID del usuario del token.
+     * @param emitido Fecha de emisión del token.
+     * @return true si el token está revocado.
+     */
+    boolean estaRevocado(String idSesion, String idUsuario, Date emitido);
+
+    /**
+     * Revoca una sesión de login: su token de refresco y todos los tokens de
+     * acceso emitidos con él.
+     *
+     * @param idSesion ID de la sesión.
+     * @param idUsuario ID del usuario dueño de la sesión.
+     */
+    void revocarSesion(String idSesion, Integer idUsuario);
+
+    /**
+     * Revoca todos los tokens emitidos hasta ahora para un usuario. Debe
+     * llamarse tras confirmar la transacción que lo desactiva o elimina.
+     *
+     * @param idUsuario ID del usuario.
+     */
+    void revocarUsuario(Integer idUsuario);
+}
@@ -0,0 +1,248 @@
+package com.beatpass.service;
+
+import com.beatpass.model.TokenRevocado;
+import com.beatpass.repository.TokenRevocadoRepository;
+import com.beatpass.util.Entorno;
+import com.beatpass.util.FiltroBloom;
+import com.beatpass.util.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementación de la revocación de tokens. Un único hilo purga las
+ * revocaciones expiradas y reconstruye las estructuras en memoria desde la
+ * tabla cada REVOCACION_RECARGA_SEGUNDOS (por defecto 60), y antes si el
+ * filtro supera su capacidad. La tasa de falsos positivos del filtro se
+ * configura con REVOCACION_TASA_FALSOS_POSITIVOS (por defecto 0.001).
+ */
+public class RevocacionTokenServiceImpl extends AbstractService implements RevocacionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocacionTokenServiceImpl.class);
+
+    private static final String PREFIJO_USUARIO = "usuario:";
+    private static final int CAPACIDAD_MINIMA = 1024;
+    private static final double TASA_FALSOS_POSITIVOS = Entorno.tasa("REVOCACION_TASA_FALSOS_POSITIVOS", 0.001);
+
+    /**
+     * Sesiones revocadas (filtro) y, por usuario, el instante en milisegundos
+     * hasta el que sus tokens están revocados.
+     */
+    private record Revocaciones(FiltroBloom sesiones, Map<String, Long> usuarios) {
+
+    }
+
+    private final TokenRevocadoRepository tokenRevocadoRepository;
+    private final ScheduledExecutorService planificador;
+    private final int intervaloRecarga;
+    private final AtomicBoolean reconstruccionPendiente = new AtomicBoolean();
+    private final Object bloqueoReconstruccion = new Object();
+
+    private volatile Revocaciones revocaciones;
+    // Revocaciones registradas mientras se reconstruye, para no perder las que la lectura no ve
+    private volatile Queue<TokenRevocado> pendientes;
+
+    @Inject
+    public RevocacionTokenServiceImpl(TokenRevocadoRepository tokenRevocadoRepository) {
+        this.tokenRevocadoRepository = tokenRevocadoRepository;
+        this.intervaloRecarga = Entorno.entero("REVOCACION_RECARGA_SEGUNDOS", 60);
+
+        this.planificador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "beatpass-revocaciones");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Inicia la recarga periódica una vez construido el servicio.
+     */
+    @PostConstruct
+    public void iniciar() {
+        planificador.scheduleWithFixedDelay(this::reconstruirSinErrores, 0, intervaloRecarga, TimeUnit.SECONDS);
+        log.info("Revocación de tokens iniciada. Recarga cada {} s.", intervaloRecarga);
+    }
+
+    @Override
+    public boolean estaRevocado(String idSesion, String idUsuario, Date emitido) {
+        Revocaciones actual = revocaciones;
+        if (actual == null) {
+            synchronized (bloqueoReconstruccion) {
+                if (revocaciones == null) {
+                    reconstruir(); // Primera petición antes de la primera carga programada
+                }
+            }
+            actual = revocaciones;
+        }
+
+        if (idUsuario != null) {
+            Long revocadoHasta = actual.usuarios().get(idUsuario);
+            if (revocadoHasta != null && (emitido == null || emitido.getTime() <= revocadoHasta)) {
+                log.debug("Token del usuario ID {} emitido antes de la revocación de sus tokens.", idUsuario);
+                return true;
+            }
+        }
+
+        if (idSesion == null || !actual.sesiones().puedeContener(idSesion)) {
+            return false;
+        }
+        // Puede ser un falso positivo del filtro: se confirma en la base de datos
+        LocalDateTime ahora = LocalDateTime.now();
+        boolean revocada = executeRead(em -> tokenRevocadoRepository.findById(em, idSesion)
+                .map(t -> t.getExpiracion().isAfter(ahora))
+                .orElse(false), "comprobar revocación de la sesión " + idSesion);
+        if (!revocada) {
+            log.trace("Falso positivo del filtro de revocaciones para la sesión {}.", idSesion);
+        }
+        return revocada;
+    }
+
+    @Override
+    public void revocarSesion(String idSesion, Integer idUsuario) {
+        if (idSesion == null || idSesion.isBlank()) {
+            throw new IllegalArgumentException("ID de sesión es requerido.");
+        }
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        // Ningún token de la sesión sobrevive al de refresco
+        TokenRevocado revocacion = new TokenRevocado(idSesion, idUsuario, ahora,
+                ahora.plus(JwtUtil.getDuracionRefrescoMs(), ChronoUnit.MILLIS));
+        guardar(revocacion, "revocar sesión " + idSesion);
+        log.info("Sesión {} del usuario ID {} revocada.", idSesion, idUsuario);
+    }
+
+    @Override
+    public void revocarUsuario(Integer idUsuario) {
+        if (idUsuario == null) {
+            throw new IllegalArgumentException("ID de usuario es requerido.");
+        }
+        LocalDateTime ahora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        TokenRevocado revocacion = new TokenRevocado(PREFIJO_USUARIO + idUsuario, idUsuario, ahora,
+                ahora.plus(JwtUtil.getDuracionRefrescoMs(), ChronoUnit.MILLIS));
+        guardar(revocacion, "revocar tokens del usuario ID " + idUsuario);
+        log.info("Tokens del usuario ID {} emitidos hasta {} revocados.", idUsuario, ahora);
+    }
+
+    /**
+     * Detiene la recarga periódica al destruir el servicio.
+     */
+    @PreDestroy
+    public void detener() {
+        log.info("Deteniendo la recarga de revocaciones de tokens.");
+        planificador.shutdownNow();
+    }
+
+    private void guardar(TokenRevocado revocacion, String operacion) {
+        try {
+            // Transacción propia: un fallo no debe dejar marcada para rollback la de quien revoca
+            executeTransactional(em -> tokenRevocadoRepository.save(em, revocacion), operacion, Propagacion.REQUIRES_NEW);
+        } catch (RuntimeException e) {
+            // Dos revocaciones simultáneas de la misma sesión: basta con que una haya quedado guardada
+            boolean guardada = executeRead(em -> tokenRevocadoRepository.findById(em, revocacion.getIdToken()).isPresent(),
+                    "comprobar revocación " + revocacion.getIdToken());
+            if (!guardada) {
+                throw e;
+            }
+        }
+        registrar(revocacion);
+    }
+
+    /**
+     * Aplica una revocación ya confirmada a las estructuras en memoria (y a
+     * las que se estén reconstruyendo).
+     */
+    private void registrar(TokenRevocado revocacion) {
+        Queue<TokenRevocado> cola = pendientes;
+        if (cola != null) {
+            cola.add(revocacion);
+        }
+        Revocaciones actual;
+        do {
+            actual = revocaciones;
+            if (actual != null) {
+                aplicar(actual, revocacion);
+            }
+        } while (actual != revocaciones); // Reemplazadas entretanto: aplicar también a las nuevas
+
+        if (actual != null && actual.sesiones().isSaturado()) {
+            programarReconstruccion();
+        }
+    }
+
+    private void programarReconstruccion() {
+        if (reconstruccionPendiente.compareAndSet(false, true)) {
+            try {
+                planificador.execute(() -> {
+                    reconstruccionPendiente.set(false);
+                    reconstruirSinErrores();
+                });
+            } catch (RejectedExecutionException e) {
+                reconstruccionPendiente.set(false);
+                log.warn("No se pudo programar la reconstrucción de revocaciones (servicio detenido).");
+            }
+        }
+    }
+
+    private void reconstruirSinErrores() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.error("Error recargando las revocaciones de tokens; se mantienen las anteriores: {}", e.getMessage(), e);
+        }
+    }
+
+    private void reconstruir() {
+        synchronized (bloqueoReconstruccion) {
+            try {
+                executeTransactional(em -> tokenRevocadoRepository.deleteExpiradas(em, LocalDateTime.now()),
+                        "purgar revocaciones de tokens expiradas");
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron purgar las revocaciones expiradas: {}", e.getMessage());
+            }
+
+            Queue<TokenRevocado> cola = new ConcurrentLinkedQueue<>();
+            pendientes = cola;
+            try {
+                List<TokenRevocado> vigentes = executeRead(em -> tokenRevocadoRepository.findVigentes(em, LocalDateTime.now()),
+                        "cargar revocaciones de tokens");
+                long sesiones = vigentes.stream().filter(t -> !t.getIdToken().startsWith(PREFIJO_USUARIO)).count();
+                int capacidad = (int) Math.min(Integer.MAX_VALUE, Math.max(CAPACIDAD_MINIMA, sesiones * 2));
+                Revocaciones nuevas = new Revocaciones(new FiltroBloom(capacidad, TASA_FALSOS_POSITIVOS), new ConcurrentHashMap<>());
+                vigentes.forEach(t -> aplicar(nuevas, t));
+                cola.forEach(t -> aplicar(nuevas, t));
+                revocaciones = nuevas;
+                // Las registradas entre la pasada anterior y el cambio se aplicaron solo a las anteriores
+                cola.forEach(t -> aplicar(nuevas, t));
+                log.debug("Revocaciones de tokens recargadas: {} sesiones y {} usuarios.", sesiones, nuevas.usuarios().size());
+            } finally {
+                pendientes = null;
+            }
+        }
+    }
+
+    private static void aplicar(Revocaciones destino, TokenRevocado revocacion) {
+        String id = revocacion.getIdToken();
+        if (id.startsWith(PREFIJO_USUARIO)) {
+            long hasta = revocacion.getRevocadoDesde().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            destino.usuarios().merge(id.substring(PREFIJO_USUARIO.length()), hasta, Math::max);
+        } else {
+            destino.sesiones().agregar(id);
+        }
+    }
+}
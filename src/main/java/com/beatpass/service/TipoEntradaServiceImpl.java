@@ -29,13 +29,17 @@ public class TipoEntradaServiceImpl extends AbstractService implements TipoEntra
     private final TipoEntradaRepository tipoEntradaRepository;
     private final FestivalRepository festivalRepository;
     private final UsuarioRepository usuarioRepository;
+    private final CatalogoPublicoService catalogoPublicoService;
+    private final DisponibilidadService disponibilidadService;
     private final TipoEntradaMapper tipoEntradaMapper;
 
     @Inject
-    public TipoEntradaServiceImpl(TipoEntradaRepository tipoEntradaRepository, FestivalRepository festivalRepository, UsuarioRepository usuarioRepository) {
+    public TipoEntradaServiceImpl(TipoEntradaRepository tipoEntradaRepository, FestivalRepository festivalRepository, UsuarioRepository usuarioRepository, CatalogoPublicoService catalogoPublicoService, DisponibilidadService disponibilidadService) {
         this.tipoEntradaRepository = tipoEntradaRepository;
         this.festivalRepository = festivalRepository;
         this.usuarioRepository = usuarioRepository;
+        this.catalogoPublicoService = catalogoPublicoService;
+        this.disponibilidadService = disponibilidadService;
         this.tipoEntradaMapper = TipoEntradaMapper.INSTANCE;
     }
 
@@ -47,7 +51,7 @@ public class TipoEntradaServiceImpl extends AbstractService implements TipoEntra
         }
         validarDatosEntradaDTO(tipoEntradaDTO);
 
-        return executeTransactional(em -> {
+        TipoEntradaDTO creado = executeTransactional(em -> {
             verificarPermisoSobreFestival(em, idFestival, idActor);
 
             Festival festival = festivalRepository.findById(em, idFestival)
@@ -60,6 +64,11 @@ public class TipoEntradaServiceImpl extends AbstractService implements TipoEntra
             log.info("Nuevo tipo de entrada ID {} creado para festival ID {}", entradaGuardada.getIdTipoEntrada(), idFestival);
             return tipoEntradaMapper.tipoEntradaToTipoEntradaDTO(entradaGuardada);
         }, "crearTipoEntrada for festival " + idFestival);
+        trasConfirmar(() -> {
+            catalogoPublicoService.invalidar();
+            disponibilidadService.invalidar();
+        });
+        return creado;
     }
 
     @Override
@@ -108,7 +117,7 @@ public class TipoEntradaServiceImpl extends AbstractService implements TipoEntra
         }
         validarDatosEntradaDTO(tipoEntradaDTO);
 
-        return executeTransactional(em -> {
+        TipoEntradaDTO actualizado = executeTransactional(em -> {
             TipoEntrada entrada = tipoEntradaRepository.findById(em, idEntrada)
                     .orElseThrow(() -> new TipoEntradaNotFoundException("Tipo de entrada no encontrado con ID: " + idEntrada));
 
@@ -120,6 +129,11 @@ public class TipoEntradaServiceImpl extends AbstractService implements TipoEntra
             log.info("Tipo de entrada ID {} actualizado exitosamente.", idEntrada);
             return tipoEntradaMapper.tipoEntradaToTipoEntradaDTO(entradaActualizada);
         }, "actualizarTipoEntrada " + idEntrada);
+        trasConfirmar(() -> {
+            catalogoPublicoService.invalidar();
+            disponibilidadService.invalidar();
+        });
+        return actualizado;
     }
 
     @Override
@@ -143,6 +157,10 @@ public class TipoEntradaServiceImpl extends AbstractService implements TipoEntra
             log.info("Tipo de entrada ID {} eliminado exitosamente.", idEntrada);
             return null;
         }, "eliminarTipoEntrada " + idEntrada);
+        trasConfirmar(() -> {
+            catalogoPublicoService.invalidar();
+            disponibilidadService.invalidar();
+        });
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.beatpass.service;
 
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.dto.UsuarioCreacionDTO;
 import com.beatpass.dto.UsuarioDTO;
 import com.beatpass.exception.EmailExistenteException;
@@ -7,7 +8,6 @@ import com.beatpass.exception.PasswordIncorrectoException;
 import com.beatpass.exception.UsuarioNotFoundException;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.model.Usuario;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -52,12 +52,18 @@ public interface UsuarioService {
     Optional<Usuario> obtenerEntidadUsuarioPorEmailParaAuth(String email);
 
     /**
-     * Obtiene los usuarios con un rol específico.
+     * Obtiene una página de los usuarios con un rol específico, ordenados por
+     * nombre.
      *
      * @param rol RolUsuario a filtrar.
-     * @return Lista de UsuarioDTO.
+     * @param cursor Cursor opaco de la página anterior, o null para la
+     * primera.
+     * @param limite Tamaño de página (null para el valor por defecto).
+     * @return Página de UsuarioDTO.
+     * @throws IllegalArgumentException si el rol es nulo o el cursor no es
+     * válido.
      */
-    List<UsuarioDTO> obtenerUsuariosPorRol(RolUsuario rol);
+    PaginaDTO<UsuarioDTO> obtenerUsuariosPorRol(RolUsuario rol, String cursor, Integer limite);
 
     /**
      * Actualiza el estado de activación de un usuario (activo/inactivo). Es
@@ -1,5 +1,6 @@
 package com.beatpass.service;
 
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.dto.UsuarioCreacionDTO;
 import com.beatpass.dto.UsuarioDTO;
 import com.beatpass.exception.EmailExistenteException;
@@ -9,7 +10,9 @@ import com.beatpass.mapper.UsuarioMapper;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.model.Usuario;
 import com.beatpass.repository.UsuarioRepository;
+import com.beatpass.util.Paginacion;
 import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,12 +25,19 @@ import java.util.Optional;
 public class UsuarioServiceImpl extends AbstractService implements UsuarioService {
 
     private static final Logger log = LoggerFactory.getLogger(UsuarioServiceImpl.class);
+    private static final String CURSOR_ROL = "usuarios-rol";
+
     private final UsuarioRepository usuarioRepository;
     private final UsuarioMapper usuarioMapper;
+    private final PasswordService passwordService;
+    private final RevocacionTokenService revocacionTokenService;
 
     @Inject
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, PasswordService passwordService,
+            RevocacionTokenService revocacionTokenService) {
         this.usuarioRepository = usuarioRepository;
+        this.passwordService = passwordService;
+        this.revocacionTokenService = revocacionTokenService;
         this.usuarioMapper = UsuarioMapper.INSTANCE;
     }
 
@@ -35,6 +45,8 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
     public UsuarioDTO crearUsuario(UsuarioCreacionDTO ucDTO) {
         log.info("Service: Iniciando creación de usuario con email: {}", ucDTO != null ? ucDTO.getEmail() : "null");
         validarUsuarioCreacionDTO(ucDTO);
+        // Fuera de la transacción: no retener la conexión mientras se calcula el hash
+        String hashPassword = passwordService.hashear(ucDTO.getPassword());
 
         return executeTransactional(em -> {
             if (usuarioRepository.findByEmail(em, ucDTO.getEmail()).isPresent()) {
@@ -44,7 +56,7 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
             Usuario usuario = usuarioMapper.usuarioCreacionDTOToUsuario(ucDTO);
             usuario.setEstado(true);
             usuario.setCambioPasswordRequerido(true);
-            usuario.setPassword(com.beatpass.util.PasswordUtil.hashPassword(ucDTO.getPassword()));
+            usuario.setPassword(hashPassword);
 
             usuario = usuarioRepository.save(em, usuario);
             log.info("Usuario creado exitosamente con ID: {} y email: {}", usuario.getIdUsuario(), usuario.getEmail());
@@ -86,15 +98,26 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
     }
 
     @Override
-    public List<UsuarioDTO> obtenerUsuariosPorRol(RolUsuario rol) {
+    public PaginaDTO<UsuarioDTO> obtenerUsuariosPorRol(RolUsuario rol, String cursor, Integer limite) {
         log.debug("Service: Obteniendo usuarios con rol: {}", rol);
         if (rol == null) {
             throw new IllegalArgumentException("El rol no puede ser nulo.");
         }
+        String[] claveCursor = Paginacion.decodificarCursor(cursor, CURSOR_ROL, 2);
+        String despuesDeNombre = claveCursor != null ? claveCursor[0] : null;
+        Integer despuesDeId;
+        try {
+            despuesDeId = claveCursor != null ? Integer.valueOf(claveCursor[1]) : null;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación no válido.");
+        }
+        int tamano = Paginacion.normalizarLimite(limite);
         return executeRead(em -> {
-            List<Usuario> usuarios = usuarioRepository.findByRol(em, rol);
+            // Proyección directa a DTO: listado de solo lectura, sin entidades gestionadas
+            List<UsuarioDTO> usuarios = usuarioRepository.findDTOsByRol(em, rol, despuesDeNombre, despuesDeId, tamano + 1);
             log.info("Encontrados {} usuarios con rol {}", usuarios.size(), rol);
-            return usuarioMapper.toUsuarioDTOList(usuarios);
+            return Paginacion.construirPagina(usuarios, tamano,
+                    ultimo -> Paginacion.codificarCursor(CURSOR_ROL, ultimo.getNombre(), ultimo.getIdUsuario()));
         }, "obtener usuarios por rol " + rol);
     }
 
@@ -105,7 +128,7 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
             throw new IllegalArgumentException("ID de usuario es requerido.");
         }
 
-        return executeTransactional(em -> {
+        UsuarioDTO actualizado = executeTransactional(em -> {
             Usuario usuario = usuarioRepository.findById(em, id)
                     .orElseThrow(() -> new UsuarioNotFoundException("Usuario no encontrado con ID: " + id));
 
@@ -119,6 +142,12 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
             log.info("Estado de usuario ID: {} actualizado a {} correctamente.", id, nuevoEstado);
             return usuarioMapper.usuarioToUsuarioDTO(usuario);
         }, "actualizar estado usuario ID " + id);
+        trasConfirmar(() -> invalidarPermisosActor(id));
+        if (!nuevoEstado) {
+            // Los tokens ya emitidos dejan de valer al momento, sin esperar a su expiración
+            revocacionTokenService.revocarUsuario(id);
+        }
+        return actualizado;
     }
 
     @Override
@@ -137,6 +166,8 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
             log.info("Usuario ID: {} eliminado correctamente.", id);
             return null;
         }, "eliminar usuario ID " + id);
+        trasConfirmar(() -> invalidarPermisosActor(id));
+        revocacionTokenService.revocarUsuario(id);
     }
 
     @Override
@@ -144,15 +175,27 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
         log.info("Service: Iniciando cambio de contraseña para usuario ID: {}", userId);
         validarCambioPassword(userId, passwordAntigua, passwordNueva);
 
+        // Verificar y hashear cuesta decenas de ms: se hace sin conexión ni transacción abiertas
+        String hashActual = executeRead(em -> usuarioRepository.findById(em, userId)
+                .map(Usuario::getPassword)
+                .orElseThrow(() -> new UsuarioNotFoundException("Usuario no encontrado con ID: " + userId)),
+                "leer contraseña de usuario ID " + userId);
+        if (!passwordService.verificar(passwordAntigua, hashActual)) {
+            throw new PasswordIncorrectoException("La contraseña actual introducida es incorrecta.");
+        }
+        String hashNuevo = passwordService.hashear(passwordNueva);
+
         executeTransactional(em -> {
             Usuario usuario = usuarioRepository.findById(em, userId)
                     .orElseThrow(() -> new UsuarioNotFoundException("Usuario no encontrado con ID: " + userId));
+            em.refresh(usuario, LockModeType.PESSIMISTIC_WRITE); // Estado actual de la fila, no el de la caché
 
-            if (!com.beatpass.util.PasswordUtil.checkPassword(passwordAntigua, usuario.getPassword())) {
-                throw new PasswordIncorrectoException("La contraseña actual introducida es incorrecta.");
+            // La contraseña verificada debe seguir siendo la vigente
+            if (!hashActual.equals(usuario.getPassword())) {
+                throw new IllegalStateException("La contraseña se ha modificado mientras tanto. Inténtelo de nuevo.");
             }
 
-            usuario.setPassword(com.beatpass.util.PasswordUtil.hashPassword(passwordNueva));
+            usuario.setPassword(hashNuevo);
             usuario.setCambioPasswordRequerido(false);
             usuarioRepository.save(em, usuario);
             log.info("Contraseña cambiada exitosamente para usuario ID: {}", userId);
@@ -164,12 +207,13 @@ public class UsuarioServiceImpl extends AbstractService implements UsuarioServic
     public void cambiarPasswordYMarcarActualizada(Integer userId, String passwordNueva) {
         log.info("Service: Iniciando cambio de contraseña obligatorio para usuario ID: {}", userId);
         validarPasswordNueva(userId, passwordNueva);
+        String hashNuevo = passwordService.hashear(passwordNueva);
 
         executeTransactional(em -> {
             Usuario usuario = usuarioRepository.findById(em, userId)
                     .orElseThrow(() -> new UsuarioNotFoundException("Usuario no encontrado con ID: " + userId));
 
-            usuario.setPassword(com.beatpass.util.PasswordUtil.hashPassword(passwordNueva));
+            usuario.setPassword(hashNuevo);
             usuario.setCambioPasswordRequerido(false);
             usuarioRepository.save(em, usuario);
             log.info("Contraseña cambiada (obligatorio) exitosamente para usuario ID: {}", userId);
@@ -43,27 +43,34 @@ public class VentaServiceImpl extends AbstractService implements VentaService {
     private final CompraEntradaRepository compraEntradaRepository;
     private final EntradaRepository entradaRepository;
     private final EmailService emailService;
+    private final FiltroCodigosService filtroCodigosService;
+    private final DisponibilidadService disponibilidadService;
     private final CompraMapper compraMapper;
     private final EntradaMapper entradaMapper;
 
     private static final String EXPECTED_CURRENCY = "eur";
 
     @Inject
-    public VentaServiceImpl(CompradorService compradorService, TipoEntradaRepository tipoEntradaRepository, CompraRepository compraRepository, CompraEntradaRepository compraEntradaRepository, EntradaRepository entradaRepository, EmailService emailService) {
+    public VentaServiceImpl(CompradorService compradorService, TipoEntradaRepository tipoEntradaRepository, CompraRepository compraRepository, CompraEntradaRepository compraEntradaRepository, EntradaRepository entradaRepository, EmailService emailService, FiltroCodigosService filtroCodigosService, DisponibilidadService disponibilidadService) {
         this.compradorService = compradorService;
         this.tipoEntradaRepository = tipoEntradaRepository;
         this.compraRepository = compraRepository;
         this.compraEntradaRepository = compraEntradaRepository;
         this.entradaRepository = entradaRepository;
         this.emailService = emailService;
+        this.filtroCodigosService = filtroCodigosService;
+        this.disponibilidadService = disponibilidadService;
         this.compraMapper = CompraMapper.INSTANCE;
         this.entradaMapper = EntradaMapper.INSTANCE;
     }
 
     private record PurchaseConfirmationResult(
+            Comprador comprador,
             CompraDTO compraDTO,
             List<EntradaDTO> entradasDTOs,
-            String festivalName) {
+            String festivalName,
+            Integer idFestival,
+            Integer stockRestante) {
 
     }
 
@@ -77,15 +84,11 @@ public class VentaServiceImpl extends AbstractService implements VentaService {
 
         validarParametrosConfirmacion(emailComprador, nombreComprador, idTipoEntrada, cantidad, paymentIntentId);
 
-        Comprador compradorParaEmail = compradorService.obtenerOcrearCompradorPorEmail(emailComprador, nombreComprador, telefonoComprador);
-
         PaymentIntent paymentIntent = verificarPagoStripe(paymentIntentId, 0);
 
         PurchaseConfirmationResult result = executeTransactional(em -> {
-            Comprador compradorEnTx = em.find(Comprador.class, compradorParaEmail.getIdComprador());
-            if (compradorEnTx == null) {
-                throw new RuntimeException("Comprador no encontrado en el contexto transaccional.");
-            }
+            // Se une a esta transacción: mismo EntityManager, y el comprador solo se crea si la venta se confirma
+            Comprador compradorEnTx = compradorService.obtenerOcrearCompradorPorEmail(emailComprador, nombreComprador, telefonoComprador);
 
             TipoEntrada tipoEntradaEnTx = tipoEntradaRepository.findById(em, idTipoEntrada, LockModeType.PESSIMISTIC_WRITE)
                     .orElseThrow(() -> new TipoEntradaNotFoundException("Tipo de entrada no encontrado con ID: " + idTipoEntrada));
@@ -126,15 +129,22 @@ public class VentaServiceImpl extends AbstractService implements VentaService {
             log.info("Venta confirmada and TX completed. Compra ID: {}, PI: {}", compra.getIdCompra(), paymentIntentId);
 
             return new PurchaseConfirmationResult(
+                    compradorEnTx,
                     finalCompraDTO,
                     entradasCompradasDTOs,
-                    festivalEnTx.getNombre()
+                    festivalEnTx.getNombre(),
+                    festivalEnTx.getIdFestival(),
+                    tipoEntradaEnTx.getStock()
             );
         }, "confirmarVentaConPago " + paymentIntentId);
+        trasConfirmar(() -> {
+            disponibilidadService.actualizarStock(result.idFestival(), idTipoEntrada, result.stockRestante());
+            result.entradasDTOs().forEach(entrada -> filtroCodigosService.registrarQr(entrada.getIdFestival(), entrada.getCodigoQr()));
+        });
 
         emailService.enviarEmailEntradasCompradas(
-                compradorParaEmail.getEmail(),
-                compradorParaEmail.getNombre(),
+                result.comprador().getEmail(),
+                result.comprador().getNombre(),
                 result.festivalName(),
                 result.entradasDTOs()
         );
@@ -0,0 +1,162 @@
+package com.beatpass.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disponibilidad aproximada en memoria de los tipos de entrada de los
+ * festivales publicados: solo se guarda la banda (disponible, últimas
+ * entradas o agotado), no el stock exacto. Cada festival lleva una versión
+ * que cambia únicamente cuando cambia alguna de sus bandas, de modo que los
+ * clientes que consultan periódicamente pueden revalidar con ETag.
+ * <p>
+ * Se alimenta de dos formas: actualizaciones directas tras cada cambio de
+ * stock confirmado y refrescos completos periódicos desde la base de datos.
+ * Un refresco no sobrescribe los tipos actualizados directamente después de
+ * que empezara, para no volver a un stock anterior leído antes del commit.
+ * </p>
+ */
+public final class BandasDisponibilidad {
+
+    /**
+     * Banda de disponibilidad de un tipo de entrada.
+     */
+    public enum Banda {
+        DISPONIBLE, ULTIMAS, AGOTADO
+    }
+
+    /**
+     * Bandas de un festival y su versión.
+     */
+    public record BandasFestival(long version, Map<Integer, Banda> bandas) {
+
+    }
+
+    private record Tipo(Banda banda, long secuencia) {
+
+    }
+
+    private record Estado(long version, Map<Integer, Tipo> tipos) {
+
+    }
+
+    private final int umbralUltimas;
+    // Parte de la hora de arranque para que las versiones no retrocedan tras un reinicio
+    private final AtomicLong versiones = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong secuencia = new AtomicLong();
+    private final Map<Integer, Estado> festivales = new ConcurrentHashMap<>();
+    private volatile boolean cargado = false;
+
+    /**
+     * @param umbralUltimas Stock máximo (incluido) con el que se muestran
+     * "últimas entradas".
+     */
+    public BandasDisponibilidad(int umbralUltimas) {
+        this.umbralUltimas = umbralUltimas;
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * @param idFestival ID del festival.
+     * @return Las bandas del festival, vacío si no está publicado (según el
+     * último refresco).
+     */
+    public Optional<BandasFestival> obtener(Integer idFestival) {
+        Estado estado = festivales.get(idFestival);
+        if (estado == null) {
+            return Optional.empty();
+        }
+        Map<Integer, Banda> bandas = new HashMap<>();
+        estado.tipos().forEach((idTipo, tipo) -> bandas.put(idTipo, tipo.banda()));
+        return Optional.of(new BandasFestival(estado.version(), Collections.unmodifiableMap(bandas)));
+    }
+
+    /**
+     * Aplica el stock de un tipo de entrada tras un cambio confirmado. Se
+     * ignora si el festival no está en memoria (no publicado o aún sin
+     * cargar); el siguiente refresco lo incorporará.
+     *
+     * @param idFestival ID del festival.
+     * @param idTipoEntrada ID del tipo de entrada.
+     * @param stock Stock tras el cambio.
+     */
+    public void actualizar(Integer idFestival, Integer idTipoEntrada, int stock) {
+        long marca = secuencia.incrementAndGet();
+        Banda banda = banda(stock);
+        festivales.computeIfPresent(idFestival, (id, estado) -> {
+            Map<Integer, Tipo> tipos = new HashMap<>(estado.tipos());
+            Tipo anterior = tipos.put(idTipoEntrada, new Tipo(banda, marca));
+            boolean cambia = anterior == null || anterior.banda() != banda;
+            return new Estado(cambia ? versiones.incrementAndGet() : estado.version(), Collections.unmodifiableMap(tipos));
+        });
+    }
+
+    /**
+     * @return Marca que debe tomarse antes de leer los datos de un refresco y
+     * pasarse a {@link #aplicarRefresco(long, Map)}.
+     */
+    public long inicioRefresco() {
+        return secuencia.get();
+    }
+
+    /**
+     * Sustituye el contenido por el leído de la base de datos. Los festivales
+     * que ya no aparecen (despublicados) se eliminan.
+     *
+     * @param inicio Marca tomada con {@link #inicioRefresco()} antes de leer.
+     * @param stockPorFestival Stock de cada tipo de entrada, por festival.
+     */
+    public void aplicarRefresco(long inicio, Map<Integer, Map<Integer, Integer>> stockPorFestival) {
+        festivales.keySet().retainAll(stockPorFestival.keySet());
+        stockPorFestival.forEach((idFestival, stocks) -> festivales.compute(idFestival, (id, estado) -> {
+            Map<Integer, Tipo> tipos = new HashMap<>();
+            stocks.forEach((idTipo, stock) -> tipos.put(idTipo, new Tipo(banda(stock), inicio)));
+            if (estado != null) {
+                // Cambios directos posteriores al inicio de la lectura: más recientes que lo leído
+                estado.tipos().forEach((idTipo, tipo) -> {
+                    if (tipo.secuencia() > inicio) {
+                        tipos.put(idTipo, tipo);
+                    }
+                });
+                if (mismasBandas(estado.tipos(), tipos)) {
+                    return estado;
+                }
+            }
+            return new Estado(versiones.incrementAndGet(), Collections.unmodifiableMap(tipos));
+        }));
+        cargado = true;
+    }
+
+    /**
+     * @return Número de festivales en memoria.
+     */
+    public int numeroFestivales() {
+        return festivales.size();
+    }
+
+    private Banda banda(int stock) {
+        if (stock <= 0) {
+            return Banda.AGOTADO;
+        }
+        return stock <= umbralUltimas ? Banda.ULTIMAS : Banda.DISPONIBLE;
+    }
+
+    private static boolean mismasBandas(Map<Integer, Tipo> anteriores, Map<Integer, Tipo> nuevos) {
+        if (!anteriores.keySet().equals(nuevos.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Integer, Tipo> anterior : anteriores.entrySet()) {
+            if (nuevos.get(anterior.getKey()).banda() != anterior.getValue().banda()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,133 @@
+package com.beatpass.util;
+
+import com.beatpass.model.RolUsuario;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Datos en memoria para decidir los permisos sobre festivales sin consultar la
+ * base de datos: el rol de cada actor y el promotor dueño de cada festival.
+ * La decisión (actor, festival) se deriva de ambos, así que basta invalidar
+ * el actor o el festival que cambia para que todas sus decisiones se
+ * recalculen.
+ * <p>
+ * Las invalidaciones deben hacerse después del commit. Una carga que empezó
+ * antes de una invalidación no se conserva, de modo que nunca queda en
+ * memoria un dato leído antes del cambio. Cada entrada caduca además pasado
+ * un tiempo, para recoger los cambios hechos fuera de la aplicación. Si una
+ * tabla supera el tamaño máximo se vacía.
+ * </p>
+ */
+public final class CachePermisosFestival {
+
+    /**
+     * Valor del promotor de un festival que no tiene promotor asignado.
+     */
+    public static final Integer SIN_PROMOTOR = 0;
+
+    private final Tabla<RolUsuario> roles;
+    private final Tabla<Integer> promotores;
+
+    /**
+     * @param maxEntradas Número máximo de actores y de festivales en memoria.
+     * @param ttlSegundos Segundos que se conserva cada dato.
+     */
+    public CachePermisosFestival(int maxEntradas, int ttlSegundos) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(ttlSegundos);
+        this.roles = new Tabla<>(maxEntradas, ttlNanos);
+        this.promotores = new Tabla<>(maxEntradas, ttlNanos);
+    }
+
+    /**
+     * @param idActor ID del actor.
+     * @param cargador Lectura del rol en la base de datos (null si el actor no
+     * existe).
+     * @return El rol del actor, o null si no existe.
+     */
+    public RolUsuario rol(Integer idActor, Function<Integer, RolUsuario> cargador) {
+        return roles.obtener(idActor, cargador);
+    }
+
+    /**
+     * @param idFestival ID del festival.
+     * @param cargador Lectura del ID del promotor en la base de datos
+     * ({@link #SIN_PROMOTOR} si no tiene; null si el festival no existe).
+     * @return El ID del promotor, {@link #SIN_PROMOTOR} o null si el festival
+     * no existe.
+     */
+    public Integer promotor(Integer idFestival, Function<Integer, Integer> cargador) {
+        return promotores.obtener(idFestival, cargador);
+    }
+
+    /**
+     * Olvida los datos de un actor (cambio de rol o estado, o eliminación).
+     */
+    public void invalidarActor(Integer idActor) {
+        roles.invalidar(idActor);
+    }
+
+    /**
+     * Olvida el promotor de un festival (cambio de dueño o eliminación).
+     */
+    public void invalidarFestival(Integer idFestival) {
+        promotores.invalidar(idFestival);
+    }
+
+    /**
+     * @return Número de actores y festivales en memoria.
+     */
+    public int size() {
+        return roles.entradas.size() + promotores.entradas.size();
+    }
+
+    private static final class Tabla<V> {
+
+        private record Entrada<V>(V valor, long expiraNanos) {
+
+        }
+
+        private final int maxEntradas;
+        private final long ttlNanos;
+        private final Map<Integer, Entrada<V>> entradas = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+
+        Tabla(int maxEntradas, long ttlNanos) {
+            this.maxEntradas = maxEntradas;
+            this.ttlNanos = ttlNanos;
+        }
+
+        V obtener(Integer id, Function<Integer, V> cargador) {
+            Entrada<V> entrada = entradas.get(id);
+            if (entrada != null && entrada.expiraNanos() - System.nanoTime() > 0) {
+                return entrada.valor();
+            }
+            long versionInicio = version.get();
+            V valor = cargador.apply(id);
+            if (valor == null) {
+                entradas.remove(id);
+                return null; // Los inexistentes no se guardan
+            }
+            if (entradas.size() >= maxEntradas) {
+                entradas.clear();
+            }
+            Entrada<V> nueva = new Entrada<>(valor, System.nanoTime() + ttlNanos);
+            entradas.put(id, nueva);
+            if (version.get() != versionInicio) {
+                entradas.remove(id, nueva); // Invalidación durante la carga: el valor puede ser anterior
+            }
+            return valor;
+        }
+
+        void invalidar(Integer id) {
+            if (id == null) {
+                return;
+            }
+            version.incrementAndGet();
+            entradas.remove(id);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.beatpass.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caché acotada de JWT cuya firma ya se ha verificado, para no repetir el
+ * parseo y el HMAC cuando un mismo cliente (p. ej. un TPV) envía el mismo
+ * token en cada petición. La clave es el SHA-256 del token, nunca el token
+ * en claro, y cada entrada caduca con la expiración del propio token.
+ * <p>
+ * Es segura para uso concurrente sin bloqueos en la lectura. Cuando se llena
+ * se eliminan las entradas caducadas; si aun así no hay sitio, los tokens
+ * nuevos no se guardan (se siguen verificando completos) y las entradas
+ * existentes, las más usadas, se conservan hasta caducar.
+ * </p>
+ */
+public final class CacheTokensVerificados {
+
+    private static final long INTERVALO_PURGA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private record Entrada(Claims claims, long expiraMillis) {
+
+    }
+
+    private final int maxEntradas;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private volatile long ultimaPurga = System.nanoTime() - INTERVALO_PURGA_NANOS;
+
+    /**
+     * @param maxEntradas Número máximo de tokens almacenados.
+     */
+    public CacheTokensVerificados(int maxEntradas) {
+        if (maxEntradas <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser positivo.");
+        }
+        this.maxEntradas = maxEntradas;
+    }
+
+    /**
+     * @param token JWT recibido.
+     * @return Los claims del token si ya se verificó y no ha caducado, o null.
+     * Los claims se comparten entre peticiones y no deben modificarse.
+     */
+    public Claims obtener(String token) {
+        String clave = clave(token);
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraMillis() <= System.currentTimeMillis()) {
+            entradas.remove(clave, entrada);
+            return null;
+        }
+        return entrada.claims();
+    }
+
+    /**
+     * Guarda un token recién verificado. Los tokens sin expiración no se
+     * guardan.
+     *
+     * @param token JWT verificado.
+     * @param claims Sus claims.
+     */
+    public void guardar(String token, Claims claims) {
+        Date expiracion = claims.getExpiration();
+        if (expiracion == null) {
+            return;
+        }
+        if (entradas.size() >= maxEntradas && !purgarCaducadas()) {
+            return;
+        }
+        entradas.put(clave(token), new Entrada(claims, expiracion.getTime()));
+    }
+
+    /**
+     * Elimina un token de la caché, de modo que la siguiente petición vuelva a
+     * verificarlo completo.
+     *
+     * @param token JWT a eliminar.
+     */
+    public void eliminar(String token) {
+        entradas.remove(clave(token));
+    }
+
+    /**
+     * Vacía la caché.
+     */
+    public void limpiar() {
+        entradas.clear();
+    }
+
+    /**
+     * @return Número de tokens almacenados.
+     */
+    public int size() {
+        return entradas.size();
+    }
+
+    /**
+     * Elimina las entradas caducadas, como mucho una vez por segundo para que
+     * una avalancha de tokens distintos no recorra la caché en cada petición.
+     *
+     * @return true si queda sitio para una entrada más.
+     */
+    private boolean purgarCaducadas() {
+        long ahora = System.nanoTime();
+        if (ahora - ultimaPurga >= INTERVALO_PURGA_NANOS) {
+            ultimaPurga = ahora;
+            long ahoraMillis = System.currentTimeMillis();
+            entradas.values().removeIf(entrada -> entrada.expiraMillis() <= ahoraMillis);
+        }
+        return entradas.size() < maxEntradas;
+    }
+
+    private static String clave(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 está garantizado en toda JVM
+            throw new IllegalStateException("Algoritmo SHA-256 no disponible.", e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.beatpass.util;
+
+import com.beatpass.dto.FestivalDTO;
+import com.beatpass.dto.TipoEntradaDTO;
+import com.beatpass.model.EstadoFestival;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Instantánea inmutable y versionada del catálogo público: todos los
+ * festivales y los tipos de entrada de los publicados, ya serializados a JSON
+ * junto con su ETag fuerte y, si procede, ya comprimidos. Se construye de una vez y se sustituye entera
+ * cuando cambia algún dato, de modo que los lectores nunca ven un estado
+ * intermedio.
+ * <p>
+ * Los listados de festivales publicados dependen del rango de fechas pedido;
+ * se resuelven con un árbol de intervalos ({@link IndiceIntervalos}) más los
+ * filtros opcionales en memoria, y las respuestas de las consultas más
+ * frecuentes se memorizan dentro de la propia instantánea.
+ * </p>
+ */
+public final class CatalogoPublico {
+
+    /**
+     * Respuesta JSON serializada, su ETag (sin comillas) y, si supera el
+     * umbral de compresión, su versión gzip calculada una sola vez (null en
+     * otro caso).
+     */
+    public record Recurso(byte[] contenido, String etag, byte[] contenidoGzip) {
+
+    }
+
+    // Consultas distintas (rango y filtros) memorizadas por instantánea
+    private static final int MAX_CONSULTAS_MEMORIZADAS = 64;
+
+    private final long version;
+    private final ObjectMapper objectMapper;
+    private final Map<Integer, Recurso> festivales;
+    private final Map<Integer, EstadoFestival> estados;
+    private final Map<Integer, Recurso> tiposEntrada;
+    private final IndiceIntervalos<FestivalDTO> publicados;
+    private final Recurso todosPublicados;
+    private final Map<Integer, String> ubicaciones; // Ubicación normalizada de cada publicado
+    private final Map<String, Recurso> consultasPublicados = new ConcurrentHashMap<>();
+
+    /**
+     * Construye la instantánea serializando todos los recursos.
+     *
+     * @param version Versión de los datos de origen.
+     * @param todos Todos los festivales, ordenados por fecha de inicio.
+     * @param tiposPorFestival Tipos de entrada de cada festival publicado.
+     * @param objectMapper Mapper con la configuración de JAX-RS.
+     * @throws IllegalStateException Si algún recurso no se puede serializar.
+     */
+    public CatalogoPublico(long version, List<FestivalDTO> todos,
+            Map<Integer, List<TipoEntradaDTO>> tiposPorFestival, ObjectMapper objectMapper) {
+        this.version = version;
+        this.objectMapper = objectMapper;
+
+        Map<Integer, Recurso> festivalesSerializados = new HashMap<>();
+        Map<Integer, EstadoFestival> estadosFestival = new HashMap<>();
+        Map<Integer, Recurso> tiposSerializados = new HashMap<>();
+        List<FestivalDTO> festivalesPublicados = new ArrayList<>();
+        Map<Integer, String> ubicacionesNormalizadas = new HashMap<>();
+        for (FestivalDTO festival : todos) {
+            festivalesSerializados.put(festival.getIdFestival(), serializar(festival));
+            estadosFestival.put(festival.getIdFestival(), festival.getEstado());
+            if (festival.getEstado() == EstadoFestival.PUBLICADO) {
+                festivalesPublicados.add(festival);
+                ubicacionesNormalizadas.put(festival.getIdFestival(), IndiceTrigramas.normalizar(festival.getUbicacion()));
+                tiposSerializados.put(festival.getIdFestival(),
+                        serializar(tiposPorFestival.getOrDefault(festival.getIdFestival(), Collections.emptyList())));
+            }
+        }
+        this.festivales = Collections.unmodifiableMap(festivalesSerializados);
+        this.estados = Collections.unmodifiableMap(estadosFestival);
+        this.tiposEntrada = Collections.unmodifiableMap(tiposSerializados);
+        this.publicados = new IndiceIntervalos<>(festivalesPublicados, FestivalDTO::getFechaInicio, FestivalDTO::getFechaFin);
+        this.todosPublicados = serializar(festivalesPublicados);
+        this.ubicaciones = Collections.unmodifiableMap(ubicacionesNormalizadas);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Número de festivales en la instantánea.
+     */
+    public int numeroFestivales() {
+        return festivales.size();
+    }
+
+    /**
+     * @param idFestival ID del festival.
+     * @return El festival serializado, vacío si no existe.
+     */
+    public Optional<Recurso> festival(Integer idFestival) {
+        return Optional.ofNullable(festivales.get(idFestival));
+    }
+
+    /**
+     * @param idFestival ID del festival.
+     * @return El estado del festival, vacío si no existe.
+     */
+    public Optional<EstadoFestival> estado(Integer idFestival) {
+        return Optional.ofNullable(estados.get(idFestival));
+    }
+
+    /**
+     * @param idFestival ID de un festival publicado.
+     * @return Sus tipos de entrada serializados, o null si el festival no
+     * existe o no está publicado.
+     */
+    public Recurso tiposEntrada(Integer idFestival) {
+        return tiposEntrada.get(idFestival);
+    }
+
+    /**
+     * @return IDs de los festivales publicados.
+     */
+    public Set<Integer> idsPublicados() {
+        return tiposEntrada.keySet();
+    }
+
+    /**
+     * @return Todos los festivales publicados serializados, ordenados por
+     * fecha de inicio.
+     */
+    public Recurso publicados() {
+        return todosPublicados;
+    }
+
+    /**
+     * Festivales publicados cuyo periodo se solapa con el rango, con el mismo
+     * criterio y orden que la consulta a base de datos, opcionalmente
+     * filtrados por ubicación.
+     *
+     * @param fechaDesde Fecha de inicio del rango.
+     * @param fechaHasta Fecha de fin del rango.
+     * @param ubicacion Texto que debe contener la ubicación, sin distinguir
+     * mayúsculas ni tildes (null o vacío para no filtrar).
+     * @return El listado serializado.
+     */
+    public Recurso publicadosEntre(LocalDate fechaDesde, LocalDate fechaHasta, String ubicacion) {
+        String ubicacionNormalizada = IndiceTrigramas.normalizar(ubicacion);
+        String clave = fechaDesde + "/" + fechaHasta + "/" + ubicacionNormalizada;
+        Recurso recurso = consultasPublicados.get(clave);
+        if (recurso != null) {
+            return recurso;
+        }
+        Predicate<FestivalDTO> filtro = ubicacionNormalizada.isEmpty()
+                ? festival -> true
+                : festival -> ubicaciones.get(festival.getIdFestival()).contains(ubicacionNormalizada);
+        recurso = serializar(publicados.solapados(fechaDesde, fechaHasta, filtro));
+        if (consultasPublicados.size() < MAX_CONSULTAS_MEMORIZADAS) {
+            consultasPublicados.putIfAbsent(clave, recurso);
+        }
+        return recurso;
+    }
+
+    private Recurso serializar(Object valor) {
+        try {
+            byte[] contenido = objectMapper.writeValueAsBytes(valor);
+            byte[] gzip = contenido.length >= Compresion.UMBRAL_BYTES ? Compresion.gzip(contenido) : null;
+            return new Recurso(contenido, QrImageCache.calcularEtag(contenido), gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el catálogo público.", e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.beatpass.util;
+
+import jakarta.ws.rs.core.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utilidades de compresión de respuestas HTTP (gzip y deflate): negociación
+ * con la cabecera Accept-Encoding, tipos de contenido comprimibles y umbral
+ * mínimo de tamaño. Por debajo del umbral la compresión no compensa la CPU ni
+ * la cabecera gzip.
+ */
+public final class Compresion {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    /**
+     * Tamaño mínimo, en bytes, a partir del cual se comprime una respuesta.
+     */
+    public static final int UMBRAL_BYTES = Entorno.entero("COMPRESION_UMBRAL_BYTES", 1024);
+
+    private Compresion() {
+    }
+
+    /**
+     * Elige la codificación según Accept-Encoding, respetando los valores q. A
+     * igual preferencia se elige gzip.
+     *
+     * @param acceptEncoding Valor de la cabecera Accept-Encoding (puede ser
+     * null).
+     * @return {@link #GZIP}, {@link #DEFLATE} o null si el cliente no acepta
+     * ninguna.
+     */
+    public static String negociar(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        float qGzip = -1;
+        float qDeflate = -1;
+        float qComodin = -1;
+        for (String parte : acceptEncoding.split(",")) {
+            String[] elementos = parte.split(";");
+            String codificacion = elementos[0].trim().toLowerCase(Locale.ROOT);
+            float q = 1;
+            for (int i = 1; i < elementos.length; i++) {
+                String parametro = elementos[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        q = Float.parseFloat(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            switch (codificacion) {
+                case GZIP, "x-gzip" ->
+                    qGzip = Math.max(qGzip, q);
+                case DEFLATE ->
+                    qDeflate = Math.max(qDeflate, q);
+                case "*" ->
+                    qComodin = q;
+                default -> {
+                }
+            }
+        }
+        if (qGzip < 0) {
+            qGzip = qComodin;
+        }
+        if (qDeflate < 0) {
+            qDeflate = qComodin;
+        }
+        if (qGzip <= 0 && qDeflate <= 0) {
+            return null;
+        }
+        return qGzip >= qDeflate ? GZIP : DEFLATE;
+    }
+
+    /**
+     * Indica si merece la pena comprimir un tipo de contenido (texto, JSON,
+     * XML, SVG). Las imágenes PNG y similares ya van comprimidas.
+     *
+     * @param tipo Tipo de contenido de la respuesta (puede ser null).
+     * @return true si es comprimible.
+     */
+    public static boolean esComprimible(MediaType tipo) {
+        if (tipo == null) {
+            return false;
+        }
+        String subtipo = tipo.getSubtype().toLowerCase(Locale.ROOT);
+        return "text".equalsIgnoreCase(tipo.getType())
+                || subtipo.equals("json") || subtipo.endsWith("+json")
+                || subtipo.equals("xml") || subtipo.endsWith("+xml")
+                || subtipo.equals("javascript");
+    }
+
+    /**
+     * ETag de la variante comprimida de una respuesta: un recurso con ETag
+     * fuerte no puede compartirla entre representaciones con distintos bytes.
+     *
+     * @param etag ETag de la respuesta sin comprimir (sin comillas).
+     * @param codificacion Codificación aplicada, o null si no se comprime.
+     * @return El ETag de la variante.
+     */
+    public static String etagVariante(String etag, String codificacion) {
+        return codificacion == null ? etag : etag + "-" + codificacion;
+    }
+
+    /**
+     * Crea el compresor para una codificación. Quien lo crea debe liberarlo
+     * con {@link Deflater#end()} (su memoria es nativa y, si no, solo se
+     * libera cuando lo recoge el GC).
+     *
+     * @param codificacion {@link #GZIP} o {@link #DEFLATE}.
+     * @return Un Deflater nuevo.
+     */
+    public static Deflater nuevoDeflater(String codificacion) {
+        // gzip lleva su propia cabecera y cola; deflate (RFC 9110) es el formato zlib
+        return new Deflater(Deflater.DEFAULT_COMPRESSION, GZIP.equals(codificacion));
+    }
+
+    /**
+     * Envuelve un flujo para escribir comprimido con un Deflater creado con
+     * {@link #nuevoDeflater(String)}, que no se libera al terminar. El flujo
+     * devuelto vacía el compresor en cada flush (para no retener respuestas
+     * en streaming) y debe terminarse con
+     * {@link DeflaterOutputStream#finish()}.
+     *
+     * @param codificacion {@link #GZIP} o {@link #DEFLATE}.
+     * @param salida Flujo de destino.
+     * @param deflater Compresor de la codificación.
+     * @return El flujo compresor.
+     * @throws IOException Si falla la escritura de la cabecera gzip.
+     */
+    public static DeflaterOutputStream comprimir(String codificacion, OutputStream salida, Deflater deflater) throws IOException {
+        return GZIP.equals(codificacion)
+                ? new SalidaGzip(salida, deflater)
+                : new DeflaterOutputStream(salida, deflater, true);
+    }
+
+    /**
+     * Comprime en gzip un contenido completo.
+     *
+     * @param contenido Bytes sin comprimir.
+     * @return Bytes comprimidos.
+     */
+    public static byte[] gzip(byte[] contenido) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(Math.max(64, contenido.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(contenido);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo comprimir el contenido.", e);
+        }
+        return salida.toByteArray();
+    }
+
+    /**
+     * Formato gzip (RFC 1952) sobre un Deflater sin envoltorio ajeno:
+     * {@link GZIPOutputStream} crea el suyo y no permite liberarlo sin cerrar
+     * el flujo de destino.
+     */
+    private static final class SalidaGzip extends DeflaterOutputStream {
+
+        private static final byte[] CABECERA = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+        private final CRC32 crc = new CRC32();
+        private boolean terminada = false;
+
+        SalidaGzip(OutputStream salida, Deflater deflater) throws IOException {
+            super(salida, deflater, true);
+            salida.write(CABECERA);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (terminada) {
+                return;
+            }
+            super.finish();
+            terminada = true;
+            escribirEntero((int) crc.getValue());
+            escribirEntero((int) def.getBytesRead()); // Tamaño original módulo 2^32
+        }
+
+        private void escribirEntero(int valor) throws IOException {
+            out.write(valor & 0xff);
+            out.write((valor >>> 8) & 0xff);
+            out.write((valor >>> 16) & 0xff);
+            out.write((valor >>> 24) & 0xff);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.beatpass.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lectura de parámetros de configuración numéricos desde variables de entorno.
+ * Una variable ausente, vacía, no numérica o fuera de rango se sustituye por
+ * el valor por defecto; si no es numérica se avisa en el log.
+ */
+public final class Entorno {
+
+    private static final Logger log = LoggerFactory.getLogger(Entorno.class);
+
+    private Entorno() {
+    }
+
+    /**
+     * Lee un entero positivo.
+     *
+     * @param variable Nombre de la variable de entorno.
+     * @param valorPorDefecto Valor si la variable no está definida o no es un
+     * entero positivo.
+     * @return El valor configurado o el valor por defecto.
+     */
+    public static int entero(String variable, int valorPorDefecto) {
+        String valor = leer(variable);
+        if (valor == null) {
+            return valorPorDefecto;
+        }
+        try {
+            int entero = Integer.parseInt(valor);
+            return entero > 0 ? entero : valorPorDefecto;
+        } catch (NumberFormatException e) {
+            return invalido(variable, valor, valorPorDefecto);
+        }
+    }
+
+    /**
+     * Lee un entero largo positivo.
+     *
+     * @param variable Nombre de la variable de entorno.
+     * @param valorPorDefecto Valor si la variable no está definida o no es un
+     * entero positivo.
+     * @return El valor configurado o el valor por defecto.
+     */
+    public static long largo(String variable, long valorPorDefecto) {
+        String valor = leer(variable);
+        if (valor == null) {
+            return valorPorDefecto;
+        }
+        try {
+            long largo = Long.parseLong(valor);
+            return largo > 0 ? largo : valorPorDefecto;
+        } catch (NumberFormatException e) {
+            return invalido(variable, valor, valorPorDefecto);
+        }
+    }
+
+    /**
+     * Lee una tasa o proporción estrictamente entre 0 y 1.
+     *
+     * @param variable Nombre de la variable de entorno.
+     * @param valorPorDefecto Valor si la variable no está definida o está
+     * fuera del intervalo (0, 1).
+     * @return El valor configurado o el valor por defecto.
+     */
+    public static double tasa(String variable, double valorPorDefecto) {
+        String valor = leer(variable);
+        if (valor == null) {
+            return valorPorDefecto;
+        }
+        try {
+            double tasa = Double.parseDouble(valor);
+            return tasa > 0 && tasa < 1 ? tasa : valorPorDefecto;
+        } catch (NumberFormatException e) {
+            return invalido(variable, valor, valorPorDefecto);
+        }
+    }
+
+    private static String leer(String variable) {
+        String valor = System.getenv(variable);
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
+    private static <T> T invalido(String variable, String valor, T valorPorDefecto) {
+        log.warn("Valor inválido '{}' para {}. Se usa {}.", valor, variable, valorPorDefecto);
+        return valorPorDefecto;
+    }
+}
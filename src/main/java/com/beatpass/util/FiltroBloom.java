@@ -0,0 +1,115 @@
+package com.beatpass.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de cadenas, de capacidad fija y seguro para uso concurrente
+ * sin bloqueos. Responde "definitivamente no está" o "puede estar": nunca da
+ * falsos negativos, y la tasa de falsos positivos se mantiene en la indicada
+ * mientras no se supere la capacidad.
+ * <p>
+ * Los índices se obtienen por doble hashing a partir de un hash de 64 bits
+ * (FNV-1a con mezcla final de MurmurHash3).
+ * </p>
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+    private final int capacidad;
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * @param capacidad Número de elementos previsto.
+     * @param tasaFalsosPositivos Tasa de falsos positivos deseada (entre 0 y
+     * 1, exclusivos).
+     */
+    public FiltroBloom(int capacidad, double tasaFalsosPositivos) {
+        if (capacidad <= 0 || tasaFalsosPositivos <= 0 || tasaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos no válidas.");
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-capacidad * Math.log(tasaFalsosPositivos) / (ln2 * ln2));
+        this.numBits = Math.max(64, Math.min(m, (long) Integer.MAX_VALUE * 64));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacidad * ln2));
+        this.capacidad = capacidad;
+        this.bits = new AtomicLongArray((int) ((numBits + 63) / 64));
+    }
+
+    /**
+     * Añade un valor al filtro.
+     *
+     * @param valor Valor a añadir (no nulo).
+     */
+    public void agregar(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual;
+            do {
+                actual = bits.get(palabra);
+            } while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara));
+        }
+        elementos.increment();
+    }
+
+    /**
+     * @param valor Valor a comprobar.
+     * @return false si el valor no se ha añadido nunca; true si puede haberse
+     * añadido.
+     */
+    public boolean puedeContener(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true si se han añadido más elementos que la capacidad prevista
+     * (la tasa de falsos positivos ya es mayor que la configurada).
+     */
+    public boolean isSaturado() {
+        return elementos.sum() > capacidad;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * @return Número de inserciones (incluidas las repetidas).
+     */
+    public long getElementos() {
+        return elementos.sum();
+    }
+
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,279 @@
+package com.beatpass.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Conjunto de filtros de Bloom con los códigos válidos de un tipo (QR de
+ * entradas o UID de pulseras): uno por festival y uno global con todos los
+ * códigos. Permite rechazar sin acceder a la base de datos los códigos que
+ * seguro no existen, consultando un solo filtro por búsqueda.
+ * <p>
+ * Mientras no se han cargado, las consultas responden siempre true y
+ * programan la carga: el filtro solo ahorra consultas, nunca cambia un
+ * resultado. Los códigos nuevos deben añadirse después del commit que los
+ * crea; los que llegan durante una carga se aplican al terminarla, de modo que
+ * una reconstrucción no pierde ninguno. Un filtro que supera su capacidad se
+ * reconstruye con el doble, en el ejecutor indicado y nunca en el hilo que
+ * consulta o añade.
+ * </p>
+ */
+public final class FiltrosBloomPorFestival {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltrosBloomPorFestival.class);
+
+    private static final int CAPACIDAD_MINIMA = 1024;
+    private static final long REINTENTO_CARGA_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final Object TODOS = new Object(); // Clave de la carga completa en 'programadas'
+
+    /**
+     * Recorre los códigos existentes.
+     */
+    @FunctionalInterface
+    public interface Cargador {
+
+        /**
+         * @param idFestival Festival a cargar, o null para todos.
+         * @param fila Receptor de cada par (ID de festival, código).
+         */
+        void cargar(Integer idFestival, BiConsumer<Integer, String> fila);
+    }
+
+    private final String nombre;
+    private final double tasaFalsosPositivos;
+    private final Cargador cargador;
+    private final Executor ejecutor;
+    private final Map<Integer, FiltroBloom> filtros = new ConcurrentHashMap<>();
+    private final Set<Object> programadas = ConcurrentHashMap.newKeySet();
+    private volatile FiltroBloom global;
+    private volatile boolean cargado = false;
+    private volatile long ultimoFallo = 0;
+
+    // Protegidos por 'this': carga completa o festivales en reconstrucción y códigos recibidos mientras tanto
+    private boolean cargandoTodos = false;
+    private final Set<Integer> enReconstruccion = new HashSet<>();
+    private final List<Object[]> pendientes = new ArrayList<>();
+
+    /**
+     * @param nombre Nombre para los mensajes de log.
+     * @param tasaFalsosPositivos Tasa de falsos positivos de cada filtro.
+     * @param cargador Origen de los códigos.
+     * @param ejecutor Ejecutor de las cargas y reconstrucciones en segundo
+     * plano.
+     */
+    public FiltrosBloomPorFestival(String nombre, double tasaFalsosPositivos, Cargador cargador, Executor ejecutor) {
+        this.nombre = nombre;
+        this.tasaFalsosPositivos = tasaFalsosPositivos;
+        this.cargador = cargador;
+        this.ejecutor = ejecutor;
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Carga todos los filtros en el hilo actual si aún no lo están (se usa al
+     * arrancar la aplicación).
+     */
+    public void cargar() {
+        if (!cargado) {
+            cargarTodos();
+        }
+    }
+
+    /**
+     * Añade un código recién creado (después del commit).
+     *
+     * @param idFestival Festival del código.
+     * @param codigo Código.
+     */
+    public void agregar(Integer idFestival, String codigo) {
+        if (idFestival == null || codigo == null) {
+            return;
+        }
+        synchronized (this) {
+            if (cargandoTodos || enReconstruccion.contains(idFestival)) {
+                pendientes.add(new Object[]{idFestival, codigo});
+            }
+        }
+        if (!cargado) {
+            return;
+        }
+        FiltroBloom filtro = filtros.computeIfAbsent(idFestival, id -> new FiltroBloom(CAPACIDAD_MINIMA, tasaFalsosPositivos));
+        filtro.agregar(codigo);
+        FiltroBloom todos = global;
+        todos.agregar(codigo);
+        if (todos.isSaturado()) {
+            programar(TODOS, this::cargarTodos);
+        } else if (filtro.isSaturado()) {
+            programar(idFestival, () -> reconstruir(idFestival));
+        }
+    }
+
+    /**
+     * @param codigo Código a comprobar.
+     * @return false solo si el código seguro que no existe en ningún
+     * festival.
+     */
+    public boolean puedeExistir(String codigo) {
+        if (!cargado) {
+            programarCarga();
+            return true;
+        }
+        return codigo == null || global.puedeContener(codigo);
+    }
+
+    /**
+     * @param idFestival Festival en el que se busca el código.
+     * @param codigo Código a comprobar.
+     * @return false solo si el código seguro que no existe en ese festival.
+     */
+    public boolean puedeExistir(Integer idFestival, String codigo) {
+        if (!cargado) {
+            programarCarga();
+            return true;
+        }
+        if (idFestival == null || codigo == null) {
+            return true;
+        }
+        FiltroBloom filtro = filtros.get(idFestival);
+        return filtro != null && filtro.puedeContener(codigo);
+    }
+
+    private void programarCarga() {
+        if (ultimoFallo != 0 && System.nanoTime() - ultimoFallo < REINTENTO_CARGA_NANOS) {
+            return;
+        }
+        programar(TODOS, this::cargar);
+    }
+
+    /**
+     * Ejecuta la tarea en segundo plano salvo que ya haya una programada con
+     * la misma clave (la carga completa o un festival): la pendiente ya leerá
+     * los códigos más recientes.
+     */
+    private void programar(Object clave, Runnable tarea) {
+        if (!programadas.add(clave)) {
+            return;
+        }
+        try {
+            ejecutor.execute(() -> {
+                programadas.remove(clave);
+                tarea.run();
+            });
+        } catch (RejectedExecutionException e) {
+            programadas.remove(clave);
+            log.warn("No se pudo programar la carga de los filtros de Bloom '{}' (servicio detenido).", nombre);
+        }
+    }
+
+    private void cargarTodos() {
+        synchronized (this) {
+            if (cargandoTodos) {
+                return;
+            }
+            cargandoTodos = true;
+        }
+        long inicio = System.nanoTime();
+        try {
+            Map<Integer, List<String>> codigos = leer(null);
+            int total = codigos.values().stream().mapToInt(List::size).sum();
+            FiltroBloom nuevoGlobal = new FiltroBloom(Math.max(CAPACIDAD_MINIMA, total * 2), tasaFalsosPositivos);
+            codigos.forEach((idFestival, lista) -> {
+                filtros.put(idFestival, construir(lista));
+                lista.forEach(nuevoGlobal::agregar);
+            });
+            synchronized (this) {
+                global = nuevoGlobal;
+                cargandoTodos = false;
+                cargado = true;
+                aplicarPendientes(null);
+            }
+            log.info("Filtros de Bloom '{}' cargados: {} festivales, {} códigos en {} ms.", nombre, codigos.size(),
+                    total, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                cargandoTodos = false;
+                if (cargado) {
+                    // Ya aplicados a los filtros vigentes; se conservan los de un festival en reconstrucción
+                    pendientes.removeIf(cambio -> !enReconstruccion.contains((Integer) cambio[0]));
+                } else {
+                    pendientes.clear();
+                    filtros.clear();
+                }
+            }
+            ultimoFallo = System.nanoTime();
+            log.error("Error cargando los filtros de Bloom '{}'; {}: {}", nombre,
+                    cargado ? "se mantienen los anteriores" : "se seguirá consultando la base de datos", e.getMessage(), e);
+        }
+    }
+
+    private void reconstruir(Integer idFestival) {
+        synchronized (this) {
+            if (cargandoTodos || !enReconstruccion.add(idFestival)) {
+                return; // Otro hilo ya lo está haciendo
+            }
+        }
+        try {
+            List<String> codigos = leer(idFestival).getOrDefault(idFestival, List.of());
+            filtros.put(idFestival, construir(codigos));
+            log.info("Filtro de Bloom '{}' del festival ID {} reconstruido con {} códigos.", nombre, idFestival, codigos.size());
+        } catch (RuntimeException e) {
+            log.error("Error reconstruyendo el filtro de Bloom '{}' del festival ID {}: {}", nombre, idFestival, e.getMessage(), e);
+        } finally {
+            synchronized (this) {
+                enReconstruccion.remove(idFestival);
+                aplicarPendientes(idFestival);
+            }
+        }
+    }
+
+    private Map<Integer, List<String>> leer(Integer idFestival) {
+        Map<Integer, List<String>> codigos = new HashMap<>();
+        cargador.cargar(idFestival, (id, codigo) -> {
+            if (id != null && codigo != null) {
+                codigos.computeIfAbsent(id, k -> new ArrayList<>()).add(codigo);
+            }
+        });
+        return codigos;
+    }
+
+    private FiltroBloom construir(List<String> codigos) {
+        // Holgura para las ventas posteriores antes de saturarse
+        FiltroBloom filtro = new FiltroBloom(Math.max(CAPACIDAD_MINIMA, codigos.size() * 2), tasaFalsosPositivos);
+        codigos.forEach(filtro::agregar);
+        return filtro;
+    }
+
+    /**
+     * Aplica los códigos recibidos durante la carga (de todos los festivales
+     * si idFestival es null). Debe llamarse con el monitor de 'this'.
+     */
+    private void aplicarPendientes(Integer idFestival) {
+        pendientes.removeIf(cambio -> {
+            Integer id = (Integer) cambio[0];
+            if (idFestival != null && !idFestival.equals(id)) {
+                return false;
+            }
+            String codigo = (String) cambio[1];
+            filtros.computeIfAbsent(id, k -> new FiltroBloom(CAPACIDAD_MINIMA, tasaFalsosPositivos)).agregar(codigo);
+            if (idFestival == null) {
+                global.agregar(codigo); // En una reconstrucción de un festival el global ya lo tiene
+            }
+            return true;
+        });
+    }
+}
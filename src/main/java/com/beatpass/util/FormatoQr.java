@@ -0,0 +1,30 @@
+package com.beatpass.util;
+
+/**
+ * Formatos en los que se puede servir el código QR de una entrada.
+ */
+public enum FormatoQr {
+    /**
+     * Imagen rasterizada PNG. Es el formato más costoso de generar.
+     */
+    PNG("image/png"),
+    /**
+     * Documento SVG vectorial, escalable sin pérdida.
+     */
+    SVG("image/svg+xml"),
+    /**
+     * Matriz de módulos codificada por rachas (JSON), para clientes que
+     * dibujan el QR por su cuenta.
+     */
+    MATRIZ("application/vnd.beatpass.qr-matrix+json");
+
+    private final String mediaType;
+
+    FormatoQr(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
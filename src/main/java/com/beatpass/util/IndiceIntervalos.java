@@ -0,0 +1,125 @@
+package com.beatpass.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Árbol de intervalos inmutable sobre rangos de fechas [inicio, fin]
+ * (ambos inclusive). Responde a "¿qué elementos se solapan con este rango?"
+ * en O(log n + k), donde k es el número de resultados, y los devuelve
+ * ordenados por fecha de inicio.
+ * <p>
+ * Es un árbol binario de búsqueda implícito sobre el array ordenado por
+ * inicio: la raíz de cada tramo es su punto medio y cada nodo guarda el fin
+ * máximo de su subárbol, lo que permite descartar subárboles enteros que
+ * terminan antes del rango pedido. Al ser inmutable no necesita
+ * sincronización; para reflejar cambios se construye uno nuevo.
+ * </p>
+ *
+ * @param <T> Tipo de los elementos indexados.
+ */
+public final class IndiceIntervalos<T> {
+
+    private final List<T> elementos;
+    private final long[] inicios;
+    private final long[] fines;
+    private final long[] finMaximo;
+
+    /**
+     * Construye el índice. Los elementos con inicio o fin nulos se ignoran.
+     *
+     * @param elementos Elementos a indexar.
+     * @param inicio Fecha de inicio de cada elemento.
+     * @param fin Fecha de fin de cada elemento.
+     */
+    public IndiceIntervalos(List<T> elementos, Function<T, LocalDate> inicio, Function<T, LocalDate> fin) {
+        List<T> validos = new ArrayList<>(elementos.size());
+        for (T elemento : elementos) {
+            if (inicio.apply(elemento) != null && fin.apply(elemento) != null) {
+                validos.add(elemento);
+            }
+        }
+        // Ordenación estable: a igual inicio se conserva el orden recibido
+        validos.sort(Comparator.comparing(inicio));
+
+        int n = validos.size();
+        this.elementos = List.copyOf(validos);
+        this.inicios = new long[n];
+        this.fines = new long[n];
+        this.finMaximo = new long[n];
+        for (int i = 0; i < n; i++) {
+            inicios[i] = inicio.apply(validos.get(i)).toEpochDay();
+            fines[i] = fin.apply(validos.get(i)).toEpochDay();
+        }
+        calcularFinMaximo(0, n);
+    }
+
+    /**
+     * @return Número de elementos indexados.
+     */
+    public int size() {
+        return elementos.size();
+    }
+
+    /**
+     * Busca los elementos cuyo intervalo se solapa con [desde, hasta].
+     *
+     * @param desde Fecha de inicio del rango (inclusive).
+     * @param hasta Fecha de fin del rango (inclusive).
+     * @return Elementos solapados, ordenados por fecha de inicio.
+     */
+    public List<T> solapados(LocalDate desde, LocalDate hasta) {
+        return solapados(desde, hasta, elemento -> true);
+    }
+
+    /**
+     * Igual que {@link #solapados(LocalDate, LocalDate)} aplicando además un
+     * filtro a cada elemento solapado.
+     *
+     * @param desde Fecha de inicio del rango (inclusive).
+     * @param hasta Fecha de fin del rango (inclusive).
+     * @param filtro Condición adicional que deben cumplir los elementos.
+     * @return Elementos solapados que cumplen el filtro, ordenados por fecha
+     * de inicio.
+     */
+    public List<T> solapados(LocalDate desde, LocalDate hasta, Predicate<T> filtro) {
+        List<T> resultado = new ArrayList<>();
+        if (desde != null && hasta != null && !hasta.isBefore(desde)) {
+            buscar(0, elementos.size(), desde.toEpochDay(), hasta.toEpochDay(), filtro, resultado);
+        }
+        return resultado;
+    }
+
+    private long calcularFinMaximo(int desde, int hasta) {
+        if (desde >= hasta) {
+            return Long.MIN_VALUE;
+        }
+        int medio = (desde + hasta) >>> 1;
+        long maximo = Math.max(fines[medio],
+                Math.max(calcularFinMaximo(desde, medio), calcularFinMaximo(medio + 1, hasta)));
+        finMaximo[medio] = maximo;
+        return maximo;
+    }
+
+    private void buscar(int desde, int hasta, long inicioRango, long finRango, Predicate<T> filtro, List<T> resultado) {
+        if (desde >= hasta) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        if (finMaximo[medio] < inicioRango) {
+            return; // Todo el subárbol termina antes del rango
+        }
+        buscar(desde, medio, inicioRango, finRango, filtro, resultado);
+        if (inicios[medio] > finRango) {
+            return; // Este nodo y los de su derecha empiezan después del rango
+        }
+        if (fines[medio] >= inicioRango && filtro.test(elementos.get(medio))) {
+            resultado.add(elementos.get(medio));
+        }
+        buscar(medio + 1, hasta, inicioRango, finRango, filtro, resultado);
+    }
+}
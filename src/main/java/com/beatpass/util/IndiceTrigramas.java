@@ -0,0 +1,412 @@
+package com.beatpass.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Índice invertido de trigramas en memoria sobre el nombre y el email de
+ * personas (compradores, asistentes). Sustituye a los
+ * {@code lower(x) LIKE '%term%'} que recorren la tabla entera.
+ * <p>
+ * Cada trigrama apunta a la lista ordenada de IDs que lo contienen. Se indexan
+ * los trigramas del texto completo (búsqueda por subcadena, términos de 3 o
+ * más caracteres) y los del inicio de cada palabra con relleno (búsqueda por
+ * prefijo de palabra, términos de 1 o 2 caracteres). Una búsqueda intersecta
+ * las listas de sus trigramas, verifica los candidatos sobre el texto y los
+ * ordena por relevancia: primero prefijo del nombre o del email, después
+ * prefijo de alguna palabra y por último subcadena; a igual relevancia, por
+ * email.
+ * </p>
+ * <p>
+ * El índice se carga una vez desde la base de datos y después se mantiene con
+ * {@link #indexar(int, String, String)} tras cada alta o modificación. Los
+ * cambios que llegan durante la carga se aplican al terminarla. Es seguro para
+ * uso concurrente.
+ * </p>
+ */
+public final class IndiceTrigramas {
+
+    /**
+     * Resultado de una búsqueda. {@code rango} es 0 (prefijo del nombre o del
+     * email), 1 (prefijo de palabra) o 2 (subcadena).
+     */
+    public record Coincidencia(int id, int rango, String email) {
+
+    }
+
+    /**
+     * Receptor de las filas durante la carga inicial.
+     */
+    @FunctionalInterface
+    public interface Cargador {
+
+        void cargar(Consumer<Object[]> fila);
+    }
+
+    /**
+     * Permite desactivar los índices (BUSQUEDA_INDICE_MEMORIA=false) para
+     * volver a la búsqueda con LIKE en base de datos, p. ej. con poca memoria.
+     */
+    public static final boolean ACTIVO = !"false".equalsIgnoreCase(System.getenv("BUSQUEDA_INDICE_MEMORIA"));
+
+    private static final Comparator<Coincidencia> ORDEN = Comparator
+            .comparingInt(Coincidencia::rango)
+            .thenComparing(Coincidencia::email);
+
+    private static final String RELLENO = "  ";
+
+    private final String nombre;
+    private final ReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    private final Map<Long, ListaIds> listas = new HashMap<>();
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+
+    private final Object bloqueoCarga = new Object();
+    private volatile boolean cargado = false;
+    private List<Object[]> pendientes; // Cambios recibidos durante la carga
+
+    private record Documento(String nombre, String email, String texto) {
+
+    }
+
+    /**
+     * @param nombre Nombre del índice, para los mensajes de log.
+     */
+    public IndiceTrigramas(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * @return Número de documentos indexados.
+     */
+    public int size() {
+        bloqueo.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /**
+     * Carga el índice la primera vez que se llama; las siguientes llamadas no
+     * hacen nada. Los hilos que llegan durante la carga esperan a que
+     * termine.
+     *
+     * @param cargador Recorre las filas {id, nombre, email} a indexar.
+     */
+    public void cargarSiNecesario(Cargador cargador) {
+        if (cargado) {
+            return;
+        }
+        synchronized (bloqueoCarga) {
+            if (cargado) {
+                return;
+            }
+            synchronized (this) {
+                pendientes = new ArrayList<>();
+            }
+            try {
+                cargador.cargar(fila -> upsert((Integer) fila[0], (String) fila[1], (String) fila[2]));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendientes = null;
+                }
+                limpiar();
+                throw e;
+            }
+            List<Object[]> aplicar;
+            synchronized (this) {
+                aplicar = pendientes;
+                pendientes = null;
+                cargado = true;
+            }
+            for (Object[] cambio : aplicar) {
+                upsert((Integer) cambio[0], (String) cambio[1], (String) cambio[2]);
+            }
+        }
+    }
+
+    /**
+     * Indexa o reindexa una persona tras su alta o modificación. Si el índice
+     * aún no se ha cargado, el cambio se ignora (lo recogerá la carga) salvo
+     * que la carga esté en curso, en cuyo caso se aplica al terminar.
+     *
+     * @param id ID de la persona.
+     * @param nombrePersona Nombre.
+     * @param email Email.
+     */
+    public void indexar(int id, String nombrePersona, String email) {
+        synchronized (this) {
+            if (pendientes != null) {
+                pendientes.add(new Object[]{id, nombrePersona, email});
+                return;
+            }
+            if (!cargado) {
+                return;
+            }
+        }
+        upsert(id, nombrePersona, email);
+    }
+
+    /**
+     * Busca por nombre o email. Todas las palabras del término deben
+     * aparecer.
+     *
+     * @param termino Término de búsqueda (no vacío).
+     * @param despuesDe Última coincidencia de la página anterior, o null.
+     * @param limite Número máximo de coincidencias.
+     * @return Coincidencias ordenadas por relevancia y email.
+     */
+    public List<Coincidencia> buscar(String termino, Coincidencia despuesDe, int limite) {
+        String[] palabras = normalizar(termino).split("\\s+");
+        List<String> consulta = new ArrayList<>();
+        Set<Long> trigramas = new LinkedHashSet<>();
+        for (String palabra : palabras) {
+            if (palabra.isEmpty()) {
+                continue;
+            }
+            consulta.add(palabra);
+            if (palabra.length() < 3) {
+                trigramas.add(codificar((RELLENO + palabra).substring(palabra.length() - 1), 0));
+            } else {
+                for (int i = 0; i + 3 <= palabra.length(); i++) {
+                    trigramas.add(codificar(palabra, i));
+                }
+            }
+        }
+        if (consulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        // Montículo de máximos acotado a 'limite': se queda con los mejores
+        PriorityQueue<Coincidencia> mejores = new PriorityQueue<>(limite + 1, ORDEN.reversed());
+        bloqueo.readLock().lock();
+        try {
+            ListaIds[] seleccion = new ListaIds[trigramas.size()];
+            int n = 0;
+            for (Long trigrama : trigramas) {
+                ListaIds lista = listas.get(trigrama);
+                if (lista == null) {
+                    return List.of();
+                }
+                seleccion[n++] = lista;
+            }
+            Arrays.sort(seleccion, Comparator.comparingInt(ListaIds::size));
+
+            ListaIds menor = seleccion[0];
+            candidatos:
+            for (int i = 0; i < menor.size; i++) {
+                int id = menor.ids[i];
+                for (int j = 1; j < seleccion.length; j++) {
+                    if (!seleccion[j].contiene(id)) {
+                        continue candidatos;
+                    }
+                }
+                Documento doc = documentos.get(id);
+                int rango = rango(doc, consulta);
+                if (rango < 0) {
+                    continue;
+                }
+                Coincidencia coincidencia = new Coincidencia(id, rango, doc.email());
+                if (despuesDe != null && ORDEN.compare(coincidencia, despuesDe) <= 0) {
+                    continue;
+                }
+                mejores.add(coincidencia);
+                if (mejores.size() > limite) {
+                    mejores.poll();
+                }
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        List<Coincidencia> resultado = new ArrayList<>(mejores);
+        resultado.sort(ORDEN);
+        return resultado;
+    }
+
+    /**
+     * Pasa a minúsculas y elimina tildes y espacios sobrantes.
+     *
+     * @param texto Texto a normalizar (puede ser null).
+     * @return El texto normalizado, vacío si era null.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = Normalizer.normalize(texto.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    private void upsert(int id, String nombrePersona, String email) {
+        String nombreNormalizado = normalizar(nombrePersona);
+        String emailNormalizado = normalizar(email);
+        Documento nuevo = new Documento(nombreNormalizado, emailNormalizado, nombreNormalizado + " " + emailNormalizado);
+        Set<Long> trigramasNuevos = trigramas(nuevo.texto());
+
+        bloqueo.writeLock().lock();
+        try {
+            Documento anterior = documentos.put(id, nuevo);
+            if (anterior != null) {
+                if (anterior.texto().equals(nuevo.texto())) {
+                    return;
+                }
+                for (Long trigrama : trigramas(anterior.texto())) {
+                    if (!trigramasNuevos.contains(trigrama)) {
+                        ListaIds lista = listas.get(trigrama);
+                        if (lista != null && lista.eliminar(id) && lista.size == 0) {
+                            listas.remove(trigrama);
+                        }
+                    }
+                }
+            }
+            for (Long trigrama : trigramasNuevos) {
+                listas.computeIfAbsent(trigrama, t -> new ListaIds()).anadir(id);
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    private void limpiar() {
+        bloqueo.writeLock().lock();
+        try {
+            listas.clear();
+            documentos.clear();
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Trigramas del texto completo más los de inicio de palabra con relleno.
+     */
+    private static Set<Long> trigramas(String texto) {
+        Set<Long> resultado = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            resultado.add(codificar(texto, i));
+        }
+        for (int i = 0; i < texto.length(); i++) {
+            if (esInicioPalabra(texto, i)) {
+                String inicio = RELLENO + texto.substring(i, Math.min(texto.length(), i + 2));
+                resultado.add(codificar(inicio, 0));
+                if (inicio.length() == 4) {
+                    resultado.add(codificar(inicio, 1));
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Relevancia del documento para las palabras de la consulta (la peor de
+     * todas), o -1 si alguna no aparece.
+     */
+    private static int rango(Documento doc, List<String> palabras) {
+        int peor = 0;
+        for (String palabra : palabras) {
+            int rango;
+            if (doc.nombre().startsWith(palabra) || doc.email().startsWith(palabra)) {
+                rango = 0;
+            } else if (empiezaPalabra(doc.texto(), palabra)) {
+                rango = 1;
+            } else if (palabra.length() >= 3 && doc.texto().contains(palabra)) {
+                rango = 2;
+            } else {
+                return -1;
+            }
+            peor = Math.max(peor, rango);
+        }
+        return peor;
+    }
+
+    private static boolean empiezaPalabra(String texto, String palabra) {
+        for (int i = texto.indexOf(palabra); i >= 0; i = texto.indexOf(palabra, i + 1)) {
+            if (esInicioPalabra(texto, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean esInicioPalabra(String texto, int i) {
+        return Character.isLetterOrDigit(texto.charAt(i))
+                && (i == 0 || !Character.isLetterOrDigit(texto.charAt(i - 1)));
+    }
+
+    private static long codificar(String texto, int i) {
+        return ((long) texto.charAt(i) << 32) | ((long) texto.charAt(i + 1) << 16) | texto.charAt(i + 2);
+    }
+
+    /**
+     * Lista ordenada de IDs sobre un array primitivo que crece bajo demanda.
+     * Las altas suelen tener IDs crecientes, por lo que añadir es casi siempre
+     * una inserción al final.
+     */
+    private static final class ListaIds {
+
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        int size() {
+            return size;
+        }
+
+        boolean contiene(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void anadir(int id) {
+            if (size > 0 && ids[size - 1] < id) {
+                asegurarCapacidad();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            asegurarCapacidad();
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean eliminar(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void asegurarCapacidad() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import java.util.HashMap;
 import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +34,10 @@ public class JPAUtil {
                 properties.put("jakarta.persistence.jdbc.user", dbUser);
                 properties.put("jakarta.persistence.jdbc.password", dbPassword);
 
+                // Estadísticas de Hibernate (aciertos de caché...) solo si se activan: tienen coste por consulta
+                boolean estadisticas = "true".equalsIgnoreCase(System.getenv("HIBERNATE_ESTADISTICAS"));
+                properties.put("hibernate.generate_statistics", String.valueOf(estadisticas));
+
                 Class.forName("org.mariadb.jdbc.Driver");
 
                 emf = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, properties);
@@ -55,6 +61,14 @@ public class JPAUtil {
         }
     }
 
+    // Estadísticas de Hibernate (caché de segundo nivel, consultas...)
+    public static Statistics obtenerEstadisticas() {
+        if (emf == null) {
+            throw new IllegalStateException("EntityManagerFactory no ha sido inicializado. Llama a JPAUtil.init() primero.");
+        }
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
     public static EntityManager createEntityManager() {
         if (emf == null) {
             throw new IllegalStateException("EntityManagerFactory no ha sido inicializado. Llama a JPAUtil.init() primero.");
@@ -13,16 +13,36 @@ import java.util.Objects;
 /**
  * Clase de utilidad para generar y validar JSON Web Tokens (JWT). La clave
  * secreta debe cargarse de forma segura (variable de entorno TFG_TOKEN_KEY).
+ * <p>
+ * El parser se construye una sola vez (es inmutable y seguro entre hilos) y
+ * los tokens ya verificados se guardan hasta su expiración en una caché
+ * compartida de JWT_CACHE_MAX_TOKENS entradas (por defecto 10000), de modo
+ * que un cliente que repite el mismo token solo paga la verificación HMAC la
+ * primera vez.
+ * </p>
+ * <p>
+ * Los tokens de acceso duran JWT_ACCESO_MINUTOS (por defecto 15) y se renuevan
+ * con un token de refresco de JWT_REFRESCO_HORAS (por defecto 168, una
+ * semana). Ambos llevan el identificador de la sesión de login ("sid"), que es
+ * lo que se revoca al cerrar sesión.
+ * </p>
  */
 public class JwtUtil {
 
     private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
 
     private static final String SECRET_KEY_STRING = System.getenv("TFG_TOKEN_KEY");
-    private static final long EXPIRATION_TIME_MS = 1000 * 60 * 60; // 1 hora
+    private static final long DURACION_ACCESO_MS = Entorno.entero("JWT_ACCESO_MINUTOS", 15) * 60_000L;
+    private static final long DURACION_REFRESCO_MS = Entorno.entero("JWT_REFRESCO_HORAS", 168) * 3_600_000L;
     private static final String ROLE_CLAIM_NAME = "role";
     private static final String PWD_CHANGE_CLAIM_NAME = "pwdChangeRequired";
+    private static final String SESSION_CLAIM_NAME = "sid";
+    private static final String TYPE_CLAIM_NAME = "typ";
+    private static final String TIPO_REFRESCO = "refresh";
     private static final SecretKey key;
+    private static final JwtParser parser;
+    private static final CacheTokensVerificados tokensVerificados
+            = new CacheTokensVerificados(Entorno.entero("JWT_CACHE_MAX_TOKENS", 10000));
 
     static {
         if (SECRET_KEY_STRING == null || SECRET_KEY_STRING.length() < 32) {
@@ -30,35 +50,39 @@ public class JwtUtil {
             // Considerar lanzar una excepción aquí si es apropiado para el ciclo de vida de la app
             // throw new RuntimeException("TFG_TOKEN_KEY inválida.");
             key = null; // Dejar la llave nula para que falle después
+            parser = null;
         } else {
             key = Keys.hmacShaKeyFor(SECRET_KEY_STRING.getBytes());
+            parser = Jwts.parserBuilder().setSigningKey(key).build();
             log.info("Clave secreta JWT inicializada desde TFG_TOKEN_KEY.");
         }
     }
 
     /**
-     * Genera un JWT para un ID de usuario y rol dados.
+     * Genera un JWT de acceso para un ID de usuario y rol dados.
      *
      * @param userId El ID del usuario (subject). No puede ser nulo.
      * @param role El rol del usuario (claim). No puede ser nulo.
      * @param userName El nombre del usuario. No puede ser nulo.
      * @param passwordChangeRequired Si el usuario debe cambiar password obligatoriamente
+     * @param idSesion Identificador de la sesión de login. No puede ser nulo.
      * @return El JWT generado como String.
      * @throws NullPointerException si la clave secreta no pudo inicializarse.
      * @throws IllegalArgumentException si userId o role es nulo.
      */
-    public String generarToken(String userId, String role, String userName, Boolean passwordChangeRequired) {
+    public String generarToken(String userId, String role, String userName, Boolean passwordChangeRequired, String idSesion) {
         Objects.requireNonNull(userId, "El ID de usuario no puede ser nulo para generar el token.");
         Objects.requireNonNull(role, "El Rol no puede ser nulo para generar el token.");
         Objects.requireNonNull(userName, "El nombre de usuario no puede ser nulo para generar el token.");
         Objects.requireNonNull(passwordChangeRequired, "El flag de cambio de password no puede ser nulo.");
+        Objects.requireNonNull(idSesion, "El ID de sesión no puede ser nulo para generar el token.");
 
         if (key == null) {
             throw new IllegalStateException("La clave secreta JWT no está inicializada. Revisa las variables de entorno.");
         }
 
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + EXPIRATION_TIME_MS);
+        Date expiryDate = new Date(now.getTime() + DURACION_ACCESO_MS);
 
         log.debug("Generando token para userId: {}, rol: {}, nombre: {}, pwdChangeRequired: {}", userId, role, userName, passwordChangeRequired);
 
@@ -67,6 +91,7 @@ public class JwtUtil {
                 .claim(ROLE_CLAIM_NAME, role)
                 .claim("name", userName)
                 .claim(PWD_CHANGE_CLAIM_NAME, passwordChangeRequired) // --- CAMBIO: Añadimos el nuevo claim al token ---
+                .claim(SESSION_CLAIM_NAME, idSesion)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -74,7 +99,40 @@ public class JwtUtil {
     }
 
     /**
-     * Valida una cadena JWT (firma y expiración) y devuelve los claims.
+     * Genera un JWT de refresco, que solo sirve para obtener nuevos tokens de
+     * acceso de la misma sesión en /api/auth/refresh.
+     *
+     * @param userId El ID del usuario (subject). No puede ser nulo.
+     * @param idSesion Identificador de la sesión de login (también su jti).
+     * No puede ser nulo.
+     * @return El JWT de refresco generado como String.
+     */
+    public String generarTokenRefresco(String userId, String idSesion) {
+        Objects.requireNonNull(userId, "El ID de usuario no puede ser nulo para generar el token.");
+        Objects.requireNonNull(idSesion, "El ID de sesión no puede ser nulo para generar el token.");
+
+        if (key == null) {
+            throw new IllegalStateException("La clave secreta JWT no está inicializada. Revisa las variables de entorno.");
+        }
+
+        Date now = new Date();
+        log.debug("Generando token de refresco para userId: {}, sesión: {}", userId, idSesion);
+
+        return Jwts.builder()
+                .setSubject(userId)
+                .setId(idSesion)
+                .claim(SESSION_CLAIM_NAME, idSesion)
+                .claim(TYPE_CLAIM_NAME, TIPO_REFRESCO)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + DURACION_REFRESCO_MS))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Valida una cadena JWT (firma y expiración) y devuelve los claims. Si el
+     * token ya se verificó y no ha expirado, se devuelven los claims de la
+     * caché sin volver a parsearlo; no deben modificarse.
      *
      * @param token La cadena JWT a validar. No puede ser nula/vacía.
      * @return El objeto Claims extraído si es válido.
@@ -90,17 +148,21 @@ public class JwtUtil {
             throw new IllegalArgumentException("La cadena del token no puede ser nula o estar en blanco.");
         }
 
+        Claims verificados = tokensVerificados.obtener(token);
+        if (verificados != null) {
+            log.trace("Token ya verificado en caché. Subject: {}", verificados.getSubject());
+            return verificados;
+        }
+
         log.debug("Validando token y extrayendo claims...");
         try {
-            Jws<Claims> claimsJws = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
+            Jws<Claims> claimsJws = parser.parseClaimsJws(token);
 
             Claims body = claimsJws.getBody();
             log.debug("Token validado exitosamente. Subject: {}, Role: {}",
                     body.getSubject(),
                     body.get(ROLE_CLAIM_NAME, String.class));
+            tokensVerificados.guardar(token, body);
             return body;
 
         } catch (ExpiredJwtException eje) {
@@ -159,4 +221,50 @@ public class JwtUtil {
         return claims.getExpiration();
     }
 
+    /**
+     * Extrae el identificador de la sesión de login.
+     *
+     * @param claims El objeto Claims validado. No nulo.
+     * @return El ID de sesión, o null en tokens emitidos antes de que
+     * existiera.
+     */
+    public String obtenerIdSesionDeClaims(Claims claims) {
+        Objects.requireNonNull(claims, "El objeto Claims no puede ser nulo.");
+        return claims.get(SESSION_CLAIM_NAME, String.class);
+    }
+
+    /**
+     * Extrae la fecha de emisión de los claims.
+     *
+     * @param claims El objeto Claims validado. No nulo.
+     * @return La fecha de emisión.
+     */
+    public Date obtenerEmisionDeClaims(Claims claims) {
+        Objects.requireNonNull(claims, "El objeto Claims no puede ser nulo.");
+        return claims.getIssuedAt();
+    }
+
+    /**
+     * @param claims El objeto Claims validado. No nulo.
+     * @return true si es un token de refresco (no válido como token de
+     * acceso).
+     */
+    public boolean esTokenRefresco(Claims claims) {
+        Objects.requireNonNull(claims, "El objeto Claims no puede ser nulo.");
+        return TIPO_REFRESCO.equals(claims.get(TYPE_CLAIM_NAME, String.class));
+    }
+
+    /**
+     * @return Duración de los tokens de acceso, en milisegundos.
+     */
+    public static long getDuracionAccesoMs() {
+        return DURACION_ACCESO_MS;
+    }
+
+    /**
+     * @return Duración de los tokens de refresco, en milisegundos.
+     */
+    public static long getDuracionRefrescoMs() {
+        return DURACION_REFRESCO_MS;
+    }
 }
@@ -0,0 +1,184 @@
+package com.beatpass.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa lecturas idénticas concurrentes ("single-flight"): si llegan varias
+ * peticiones con la misma clave mientras la primera aún se está calculando,
+ * las demás esperan y reciben su mismo resultado (o su misma excepción) en
+ * lugar de repetir la consulta. No es una caché: en cuanto el cálculo termina
+ * la clave se libera y la siguiente petición vuelve a calcular.
+ * <p>
+ * Lleva contadores globales y por clave (ejecuciones y lecturas compartidas).
+ * Los contadores por clave se limitan a {@value #MAX_CLAVES_METRICAS} claves
+ * para no crecer sin límite; las claves se muestran con una etiqueta que
+ * puede ocultar datos sensibles. Todas las instancias quedan registradas por
+ * nombre para consultarlas desde administración.
+ * </p>
+ *
+ * @param <K> Tipo de la clave.
+ * @param <V> Tipo del resultado.
+ */
+public final class LecturasAgrupadas<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(LecturasAgrupadas.class);
+
+    private static final int MAX_CLAVES_METRICAS = 200;
+    private static final Map<String, LecturasAgrupadas<?, ?>> REGISTRO = new ConcurrentSkipListMap<>();
+
+    /**
+     * Contadores de una clave.
+     */
+    public record ContadoresClave(String clave, long ejecuciones, long compartidas) {
+
+    }
+
+    /**
+     * Instantánea de las métricas de una instancia.
+     */
+    public record Estadisticas(String nombre, long ejecuciones, long compartidas, long errores, int enCurso,
+            List<ContadoresClave> clavesMasCompartidas) {
+
+    }
+
+    private static final class Contadores {
+
+        final LongAdder ejecuciones = new LongAdder();
+        final LongAdder compartidas = new LongAdder();
+    }
+
+    private final String nombre;
+    private final Function<K, String> etiqueta;
+    private final Map<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final LongAdder ejecuciones = new LongAdder();
+    private final LongAdder compartidas = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final Map<String, Contadores> porClave = new ConcurrentHashMap<>();
+
+    /**
+     * Crea la instancia y la registra con su nombre.
+     *
+     * @param nombre Nombre para las métricas (único).
+     * @param etiqueta Texto con el que se muestra cada clave en las métricas.
+     */
+    public LecturasAgrupadas(String nombre, Function<K, String> etiqueta) {
+        this.nombre = nombre;
+        this.etiqueta = etiqueta;
+        REGISTRO.put(nombre, this);
+    }
+
+    /**
+     * @return Las instancias registradas, ordenadas por nombre.
+     */
+    public static List<LecturasAgrupadas<?, ?>> registradas() {
+        return new ArrayList<>(REGISTRO.values());
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Etiqueta para claves sensibles (códigos QR): solo sus 6 últimos
+     * caracteres.
+     *
+     * @param valor Clave completa.
+     * @return La etiqueta.
+     */
+    public static String etiquetaOculta(String valor) {
+        return valor == null || valor.length() <= 6 ? "***" : "***" + valor.substring(valor.length() - 6);
+    }
+
+    /**
+     * Devuelve el resultado del cálculo para la clave, compartiendo el que ya
+     * esté en curso si lo hay.
+     *
+     * @param clave Clave de la lectura.
+     * @param calculo Cálculo a ejecutar si no hay ninguno en curso.
+     * @return El resultado.
+     */
+    public V ejecutar(K clave, Supplier<V> calculo) {
+        CompletableFuture<V> propio = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propio);
+        if (existente != null) {
+            compartidas.increment();
+            contadores(clave).ifPresent(c -> c.compartidas.increment());
+            return esperar(existente);
+        }
+
+        ejecuciones.increment();
+        contadores(clave).ifPresent(c -> c.ejecuciones.increment());
+        try {
+            V resultado = calculo.get();
+            propio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            errores.increment();
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propio);
+        }
+    }
+
+    /**
+     * @return Instantánea de las métricas, con las 20 claves más compartidas.
+     */
+    public Estadisticas estadisticas() {
+        List<ContadoresClave> claves = new ArrayList<>();
+        porClave.forEach((clave, c) -> claves.add(new ContadoresClave(clave, c.ejecuciones.sum(), c.compartidas.sum())));
+        claves.sort(Comparator.comparingLong(ContadoresClave::compartidas).reversed()
+                .thenComparing(ContadoresClave::clave));
+        return new Estadisticas(nombre, ejecuciones.sum(), compartidas.sum(), errores.sum(), enCurso.size(),
+                claves.size() > 20 ? List.copyOf(claves.subList(0, 20)) : List.copyOf(claves));
+    }
+
+    /**
+     * Pone a cero los contadores (no afecta a los cálculos en curso).
+     */
+    public void reiniciarEstadisticas() {
+        ejecuciones.reset();
+        compartidas.reset();
+        errores.reset();
+        porClave.clear();
+    }
+
+    private Optional<Contadores> contadores(K clave) {
+        String texto = etiqueta.apply(clave);
+        Contadores contadores = porClave.get(texto);
+        if (contadores == null && porClave.size() < MAX_CLAVES_METRICAS) {
+            contadores = porClave.computeIfAbsent(texto, k -> new Contadores());
+        }
+        return Optional.ofNullable(contadores);
+    }
+
+    private V esperar(CompletableFuture<V> enCursoClave) {
+        try {
+            return enCursoClave.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException re) {
+                throw re;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            log.error("Error inesperado en lectura agrupada '{}': {}", nombre, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
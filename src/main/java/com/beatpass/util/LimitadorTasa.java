@@ -0,0 +1,127 @@
+package com.beatpass.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubos de fichas (token buckets) por clave, sin bloqueos. Cada cubo admite
+ * una ráfaga de hasta {@code capacidad} peticiones y se rellena a razón de
+ * {@code capacidad} fichas por periodo.
+ * <p>
+ * Cada cubo se guarda como un único {@link AtomicLong} con el instante en que
+ * volvería a estar vacío de peticiones pendientes (forma GCRA del cubo de
+ * fichas), que se actualiza con CAS. Un cubo cuyo instante ya ha pasado está
+ * lleno y equivale a uno nuevo, así que se puede eliminar sin cambiar ninguna
+ * decisión: así se purgan los inactivos. Si se alcanza el máximo de claves,
+ * las nuevas comparten un cubo de desbordamiento con los mismos límites.
+ * </p>
+ */
+public final class LimitadorTasa {
+
+    private static final long INTERVALO_PURGA_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String nombre;
+    private final int capacidad;
+    private final long periodoSegundos;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final int maxClaves;
+    private final Map<String, AtomicLong> cubos = new ConcurrentHashMap<>();
+    private final AtomicLong desbordamiento;
+    private final AtomicLong proximaPurga;
+
+    /**
+     * @param nombre Nombre de la política (para logs).
+     * @param capacidad Peticiones admitidas en ráfaga y por periodo.
+     * @param periodoSegundos Periodo de relleno completo, en segundos.
+     * @param maxClaves Número máximo de cubos en memoria.
+     */
+    public LimitadorTasa(String nombre, int capacidad, long periodoSegundos, int maxClaves) {
+        if (capacidad <= 0 || periodoSegundos <= 0 || maxClaves <= 0) {
+            throw new IllegalArgumentException("Capacidad, periodo y máximo de claves deben ser positivos.");
+        }
+        this.nombre = nombre;
+        this.capacidad = capacidad;
+        this.periodoSegundos = periodoSegundos;
+        this.intervaloNanos = Math.max(1, TimeUnit.SECONDS.toNanos(periodoSegundos) / capacidad);
+        this.toleranciaNanos = intervaloNanos * (capacidad - 1);
+        this.maxClaves = maxClaves;
+        long ahora = System.nanoTime();
+        this.desbordamiento = new AtomicLong(ahora);
+        this.proximaPurga = new AtomicLong(ahora + INTERVALO_PURGA_NANOS);
+    }
+
+    /**
+     * Intenta consumir una ficha del cubo de la clave.
+     *
+     * @param clave Clave del cliente (IP, usuario, festival...).
+     * @return 0 si se admite la petición; si no, los nanosegundos que faltan
+     * para que haya una ficha disponible.
+     */
+    public long consumir(String clave) {
+        long ahora = System.nanoTime();
+        purgarSiToca(ahora);
+        AtomicLong cubo = cubos.get(clave);
+        if (cubo == null) {
+            if (cubos.size() >= maxClaves) {
+                cubo = desbordamiento;
+            } else {
+                cubo = cubos.computeIfAbsent(clave, k -> new AtomicLong(ahora));
+            }
+        }
+        while (true) {
+            long vacio = cubo.get();
+            long base = vacio - ahora > 0 ? vacio : ahora;
+            long espera = base - ahora - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (cubo.compareAndSet(vacio, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Elimina los cubos llenos (sin actividad reciente).
+     *
+     * @return Número de cubos eliminados.
+     */
+    public int purgarInactivos() {
+        long ahora = System.nanoTime();
+        int antes = cubos.size();
+        cubos.values().removeIf(cubo -> cubo.get() - ahora <= 0);
+        return antes - cubos.size();
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public long getPeriodoSegundos() {
+        return periodoSegundos;
+    }
+
+    /**
+     * @return Número de cubos en memoria.
+     */
+    public int size() {
+        return cubos.size();
+    }
+
+    /**
+     * Purga como mucho una vez por minuto, en el hilo que gana el CAS.
+     */
+    private void purgarSiToca(long ahora) {
+        long proxima = proximaPurga.get();
+        if (ahora - proxima >= 0 && proximaPurga.compareAndSet(proxima, ahora + INTERVALO_PURGA_NANOS)) {
+            purgarInactivos();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.beatpass.util;
+
+import com.beatpass.dto.PaginaDTO;
+import jakarta.ws.rs.core.Link;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilidades de paginación por cursor (keyset). Las consultas filtran por la
+ * clave de ordenación de la última fila devuelta en lugar de usar OFFSET, de
+ * modo que el coste de cada página no depende de su posición.
+ * <p>
+ * El cursor es opaco: Base64 URL-safe de un tipo de listado y los valores de
+ * la clave. El tipo evita reutilizar un cursor en un listado distinto.
+ * </p>
+ */
+public final class Paginacion {
+
+    /**
+     * Cabecera con el cursor de la siguiente página (ausente en la última).
+     */
+    public static final String CABECERA_SIGUIENTE_CURSOR = "X-Next-Cursor";
+
+    /**
+     * Cabecera con el tamaño de página aplicado. Los listados que antes
+     * devolvían todo devuelven ahora como mucho este número de elementos.
+     */
+    public static final String CABECERA_LIMITE = "X-Page-Limit";
+
+    public static final int TAMANO_POR_DEFECTO = Entorno.entero("PAGINACION_TAMANO_DEFECTO", 100);
+    public static final int TAMANO_MAXIMO = Math.max(TAMANO_POR_DEFECTO, Entorno.entero("PAGINACION_TAMANO_MAXIMO", 1000));
+
+    private static final char SEPARADOR = '\u001F';
+
+    private Paginacion() {
+    }
+
+    /**
+     * Normaliza el tamaño de página pedido: el valor por defecto si es nulo y
+     * como mucho el máximo configurado.
+     *
+     * @param limite Tamaño pedido por el cliente (puede ser null).
+     * @return Tamaño de página a aplicar.
+     * @throws IllegalArgumentException Si el límite no es positivo.
+     */
+    public static int normalizarLimite(Integer limite) {
+        if (limite == null) {
+            return TAMANO_POR_DEFECTO;
+        }
+        if (limite < 1) {
+            throw new IllegalArgumentException("El parámetro 'limite' debe ser un entero positivo.");
+        }
+        return Math.min(limite, TAMANO_MAXIMO);
+    }
+
+    /**
+     * Codifica un cursor opaco.
+     *
+     * @param tipo Listado al que pertenece el cursor.
+     * @param valores Valores de la clave de ordenación de la última fila.
+     * @return El cursor codificado.
+     */
+    public static String codificarCursor(String tipo, Object... valores) {
+        StringBuilder sb = new StringBuilder(tipo);
+        for (Object valor : valores) {
+            sb.append(SEPARADOR).append(valor);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor opaco y comprueba que pertenece al listado.
+     *
+     * @param cursor Cursor recibido del cliente (puede ser null o vacío).
+     * @param tipo Listado esperado.
+     * @param numValores Número de valores que debe contener.
+     * @return Los valores de la clave, o null si no hay cursor (primera
+     * página).
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static String[] decodificarCursor(String cursor, String tipo, int numValores) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] partes = texto.split(String.valueOf(SEPARADOR), -1);
+            if (partes.length == numValores + 1 && partes[0].equals(tipo)) {
+                String[] valores = new String[numValores];
+                System.arraycopy(partes, 1, valores, 0, numValores);
+                return valores;
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 inválido, se trata igual que un cursor de otro listado
+        }
+        throw new IllegalArgumentException("Cursor de paginación no válido.");
+    }
+
+    /**
+     * Decodifica un cursor cuya clave es un único ID entero.
+     *
+     * @return El ID de la última fila, o null si no hay cursor.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static Integer decodificarCursorId(String cursor, String tipo) {
+        String[] valores = decodificarCursor(cursor, tipo, 1);
+        if (valores == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valores[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor de paginación no válido.");
+        }
+    }
+
+    /**
+     * Construye la página a partir de las filas leídas. Las consultas piden
+     * {@code limite + 1} filas: si llega la fila extra hay más páginas y se
+     * descarta.
+     *
+     * @param filas Filas leídas (como mucho limite + 1).
+     * @param limite Tamaño de página aplicado.
+     * @param cursorDe Función que genera el cursor a partir de la última fila.
+     * @return La página.
+     */
+    public static <T> PaginaDTO<T> construirPagina(List<T> filas, int limite, Function<T, String> cursorDe) {
+        if (filas.size() <= limite) {
+            return new PaginaDTO<>(filas, null, limite);
+        }
+        List<T> items = new ArrayList<>(filas.subList(0, limite));
+        return new PaginaDTO<>(items, cursorDe.apply(items.get(limite - 1)), limite);
+    }
+
+    /**
+     * Respuesta 200 con los elementos de la página como cuerpo (array JSON,
+     * igual que antes de paginar), el tamaño de página aplicado en la cabecera
+     * {@value #CABECERA_LIMITE} y, si hay más, el cursor en la cabecera
+     * {@value #CABECERA_SIGUIENTE_CURSOR} y un enlace {@code rel="next"}.
+     *
+     * @param pagina La página a devolver.
+     * @param uriInfo Información de la petición, para construir el enlace.
+     * @return El builder de la respuesta.
+     */
+    public static Response.ResponseBuilder respuesta(PaginaDTO<?> pagina, UriInfo uriInfo) {
+        return respuesta(pagina.getItems(), pagina, uriInfo);
+    }
+
+    /**
+     * Igual que {@link #respuesta(PaginaDTO, UriInfo)} pero con un cuerpo
+     * propio, para endpoints que envuelven los elementos en otro objeto.
+     */
+    public static Response.ResponseBuilder respuesta(Object cuerpo, PaginaDTO<?> pagina, UriInfo uriInfo) {
+        Response.ResponseBuilder builder = Response.ok(cuerpo);
+        if (pagina.getLimite() != null) {
+            builder.header(CABECERA_LIMITE, pagina.getLimite());
+        }
+        if (pagina.hayMas()) {
+            builder.header(CABECERA_SIGUIENTE_CURSOR, pagina.getSiguienteCursor());
+            if (uriInfo != null) {
+                builder.links(Link.fromUriBuilder(
+                        uriInfo.getRequestUriBuilder().replaceQueryParam("cursor", pagina.getSiguienteCursor()))
+                        .rel("next").build());
+            }
+        }
+        return builder;
+    }
+}
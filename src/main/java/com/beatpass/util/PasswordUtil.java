@@ -6,11 +6,17 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Clase de utilidad para hashing y verificación de contraseñas usando jBCrypt.
+ * El factor de trabajo se configura con BCRYPT_FACTOR_TRABAJO (por defecto
+ * 12); los hashes con otro factor se pueden regenerar con
+ * {@link #necesitaRehash(String)}.
  */
 public class PasswordUtil {
 
     private static final Logger log = LoggerFactory.getLogger(PasswordUtil.class);
-    private static final int WORK_FACTOR = 12; // Factor de trabajo para BCrypt
+    private static final int WORK_FACTOR_POR_DEFECTO = 12;
+    private static final int WORK_FACTOR_MINIMO = 10;
+    private static final int WORK_FACTOR_MAXIMO = 31; // Máximo admitido por BCrypt
+    private static final int WORK_FACTOR = leerFactorTrabajo(); // Factor de trabajo para BCrypt
 
     /**
      * Genera un hash BCrypt para una contraseña dada.
@@ -65,6 +71,55 @@ public class PasswordUtil {
         return passwordsMatch;
     }
 
+    /**
+     * Indica si un hash BCrypt se generó con un factor de trabajo distinto del
+     * configurado y debe regenerarse en el próximo login correcto.
+     *
+     * @param hashedPassword Hash BCrypt almacenado.
+     * @return true si el factor del hash difiere del configurado; false si
+     * coincide o el hash no tiene formato BCrypt.
+     */
+    public static boolean necesitaRehash(String hashedPassword) {
+        // Formato: $2a$12$<salt y hash>
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return false;
+        }
+        int inicioFactor = hashedPassword.indexOf('$', 1) + 1;
+        if (inicioFactor <= 0 || inicioFactor + 2 >= hashedPassword.length() || hashedPassword.charAt(inicioFactor + 2) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(inicioFactor, inicioFactor + 2)) != WORK_FACTOR;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return El factor de trabajo configurado.
+     */
+    public static int getFactorTrabajo() {
+        return WORK_FACTOR;
+    }
+
+    private static int leerFactorTrabajo() {
+        String valor = System.getenv("BCRYPT_FACTOR_TRABAJO");
+        if (valor == null || valor.isBlank()) {
+            return WORK_FACTOR_POR_DEFECTO;
+        }
+        try {
+            int factor = Integer.parseInt(valor.trim());
+            if (factor >= WORK_FACTOR_MINIMO && factor <= WORK_FACTOR_MAXIMO) {
+                return factor;
+            }
+        } catch (NumberFormatException e) {
+            // Se avisa abajo
+        }
+        log.warn("Valor inválido '{}' para BCRYPT_FACTOR_TRABAJO (entre {} y {}). Se usa {}.",
+                valor, WORK_FACTOR_MINIMO, WORK_FACTOR_MAXIMO, WORK_FACTOR_POR_DEFECTO);
+        return WORK_FACTOR_POR_DEFECTO;
+    }
+
     // Prevenir instanciación
     private PasswordUtil() {
     }
@@ -0,0 +1,217 @@
+package com.beatpass.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Escribe el catálogo público como ficheros JSON estáticos, ya comprimidos,
+ * para que un proxy o una CDN los sirva sin pasar por Tomcat. Las rutas
+ * reproducen las de la API bajo el directorio configurado:
+ * <ul>
+ * <li>{@code festivales/publicados.json}: todos los festivales publicados.</li>
+ * <li>{@code festivales/{id}.json}: detalle de cada festival publicado.</li>
+ * <li>{@code festivales/{id}/tipos-entrada.json}: sus tipos de entrada.</li>
+ * </ul>
+ * Cada fichero va acompañado de su versión {@code .gz} (para
+ * {@code gzip_static} o equivalente). Al final se escribe
+ * {@code manifest.json} con un número de versión creciente (también entre
+ * reinicios) y el hash SHA-256 (el mismo que el ETag de la API) y el tamaño
+ * de cada fichero.
+ * <p>
+ * Todas las escrituras van a un fichero temporal del mismo directorio que
+ * después se renombra, así que un lector nunca ve un fichero a medias. Solo se
+ * reescriben los ficheros cuyo contenido ha cambiado, y se borran los de
+ * festivales que ya no están publicados. No es seguro para uso concurrente:
+ * debe llamarse siempre desde el mismo hilo.
+ * </p>
+ */
+public final class PublicadorCatalogoEstatico {
+
+    private static final Logger log = LoggerFactory.getLogger(PublicadorCatalogoEstatico.class);
+
+    private static final String MANIFIESTO = "manifest.json";
+    private static final String EXTENSION_GZIP = ".gz";
+
+    private final Path directorio;
+    private final ObjectMapper objectMapper;
+    // Hash de cada fichero publicado la última vez, por ruta relativa
+    private Map<String, String> publicados = new HashMap<>();
+    private long ultimaVersion = -1;
+    // Número de publicación del manifiesto; sigue creciendo entre reinicios
+    private long versionManifiesto = 0;
+
+    /**
+     * @param directorio Directorio raíz de la exportación (se crea si no
+     * existe).
+     * @param objectMapper Mapper para escribir el manifiesto.
+     */
+    public PublicadorCatalogoEstatico(Path directorio, ObjectMapper objectMapper) {
+        this.directorio = directorio;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Crea el publicador con el directorio de la variable de entorno
+     * CATALOGO_ESTATICO_DIR.
+     *
+     * @param objectMapper Mapper para escribir el manifiesto.
+     * @return El publicador, o null si la variable no está definida
+     * (exportación desactivada).
+     */
+    public static PublicadorCatalogoEstatico desdeEntorno(ObjectMapper objectMapper) {
+        String valor = System.getenv("CATALOGO_ESTATICO_DIR");
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        return new PublicadorCatalogoEstatico(Paths.get(valor.trim()), objectMapper);
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    /**
+     * Publica una instantánea del catálogo. Las instantáneas anteriores a la
+     * última publicada se ignoran.
+     *
+     * @param catalogo Instantánea a publicar.
+     * @throws IOException Si falla alguna escritura (los ficheros ya escritos
+     * quedan completos; el manifiesto no se actualiza).
+     */
+    public void publicar(CatalogoPublico catalogo) throws IOException {
+        if (catalogo.getVersion() <= ultimaVersion) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        Files.createDirectories(directorio);
+        if (ultimaVersion < 0) {
+            publicados = leerManifiestoAnterior();
+        }
+
+        Map<String, CatalogoPublico.Recurso> recursos = new TreeMap<>();
+        recursos.put("festivales/publicados.json", catalogo.publicados());
+        for (Integer idFestival : catalogo.idsPublicados()) {
+            catalogo.festival(idFestival).ifPresent(recurso -> recursos.put("festivales/" + idFestival + ".json", recurso));
+            recursos.put("festivales/" + idFestival + "/tipos-entrada.json", catalogo.tiposEntrada(idFestival));
+        }
+
+        Map<String, String> nuevos = new HashMap<>();
+        Map<String, Object> archivos = new LinkedHashMap<>();
+        int escritos = 0;
+        for (Map.Entry<String, CatalogoPublico.Recurso> entrada : recursos.entrySet()) {
+            String ruta = entrada.getKey();
+            CatalogoPublico.Recurso recurso = entrada.getValue();
+            if (!recurso.etag().equals(publicados.get(ruta)) || !Files.exists(directorio.resolve(ruta))) {
+                byte[] gzip = recurso.contenidoGzip() != null ? recurso.contenidoGzip() : Compresion.gzip(recurso.contenido());
+                escribirAtomico(ruta + EXTENSION_GZIP, gzip);
+                escribirAtomico(ruta, recurso.contenido());
+                escritos++;
+            }
+            nuevos.put(ruta, recurso.etag());
+            Map<String, Object> descripcion = new LinkedHashMap<>();
+            descripcion.put("sha256", recurso.etag());
+            descripcion.put("bytes", recurso.contenido().length);
+            archivos.put(ruta, descripcion);
+        }
+
+        Map<String, Object> manifiesto = new LinkedHashMap<>();
+        manifiesto.put("version", versionManifiesto + 1);
+        manifiesto.put("versionCatalogo", catalogo.getVersion());
+        manifiesto.put("generado", Instant.now().toString());
+        manifiesto.put("archivos", archivos);
+        escribirAtomico(MANIFIESTO, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifiesto));
+
+        int borrados = borrarObsoletos(nuevos);
+        publicados = nuevos;
+        ultimaVersion = catalogo.getVersion();
+        versionManifiesto++;
+        log.info("Catálogo estático v{} publicado en {}: {} ficheros reescritos, {} borrados, {} ms.",
+                catalogo.getVersion(), directorio, escritos, borrados, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Lee los ficheros y la versión publicados por una ejecución anterior,
+     * para no reescribir los que no han cambiado, borrar los obsoletos y
+     * continuar la numeración.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> leerManifiestoAnterior() {
+        Map<String, String> anteriores = new HashMap<>();
+        Path manifiesto = directorio.resolve(MANIFIESTO);
+        if (!Files.exists(manifiesto)) {
+            return anteriores;
+        }
+        try {
+            Map<String, Object> contenido = objectMapper.readValue(manifiesto.toFile(), Map.class);
+            if (contenido.get("version") instanceof Number version) {
+                versionManifiesto = version.longValue();
+            }
+            Object archivos = contenido.get("archivos");
+            if (archivos instanceof Map<?, ?> mapa) {
+                mapa.forEach((ruta, descripcion) -> {
+                    // Solo rutas generadas por este publicador
+                    if (ruta instanceof String texto && texto.startsWith("festivales/") && !texto.contains("..")
+                            && descripcion instanceof Map<?, ?> datos && datos.get("sha256") instanceof String hash) {
+                        anteriores.put(texto, hash);
+                    }
+                });
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("No se pudo leer el manifiesto anterior del catálogo estático: {}", e.getMessage());
+        }
+        return anteriores;
+    }
+
+    /**
+     * Borra los ficheros publicados antes que ya no forman parte del
+     * catálogo. Se hace después de escribir el manifiesto, que ya no los
+     * menciona.
+     */
+    private int borrarObsoletos(Map<String, String> nuevos) {
+        int borrados = 0;
+        for (String ruta : publicados.keySet()) {
+            if (nuevos.containsKey(ruta)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(directorio.resolve(ruta + EXTENSION_GZIP));
+                if (Files.deleteIfExists(directorio.resolve(ruta))) {
+                    borrados++;
+                }
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el fichero estático obsoleto {}: {}", ruta, e.getMessage());
+            }
+        }
+        return borrados;
+    }
+
+    private void escribirAtomico(String ruta, byte[] contenido) throws IOException {
+        Path destino = directorio.resolve(ruta);
+        Path carpeta = destino.getParent();
+        Files.createDirectories(carpeta);
+        Path temporal = Files.createTempFile(carpeta, ".tmp-", ".json");
+        try {
+            Files.write(temporal, contenido);
+            try {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+}
@@ -6,9 +6,12 @@ import com.google.zxing.WriterException;
 import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Base64;
+import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +24,12 @@ public class QRCodeUtil {
     private static final Logger log = LoggerFactory.getLogger(QRCodeUtil.class);
     private static final String QR_PREFIX = "BEATPASS-TICKET-";
 
+    /**
+     * Zona de silencio (en módulos) que exige el estándar QR alrededor del
+     * símbolo.
+     */
+    public static final int MARGEN_MODULOS = 4;
+
     /**
      * Genera una cadena identificadora única para códigos QR usando un prefijo
      * y UUID.
@@ -35,15 +44,14 @@ public class QRCodeUtil {
     }
 
     /**
-     * Genera una imagen QR como URL de datos Base64
-     * ("data:image/png;base64,...").
+     * Genera una imagen QR en formato PNG.
      *
      * @param qrContent El contenido a codificar (no nulo/vacío).
      * @param width Ancho deseado en píxeles (>0).
      * @param height Alto deseado en píxeles (>0).
-     * @return La URL de datos Base64 de la imagen PNG, o null si falla.
+     * @return Los bytes de la imagen PNG, o null si falla.
      */
-    public static String generarQrComoBase64(String qrContent, int width, int height) {
+    public static byte[] generarQrComoPng(String qrContent, int width, int height) {
         if (qrContent == null || qrContent.isEmpty()) {
             log.warn("No se puede generar código QR para contenido nulo o vacío.");
             return null;
@@ -62,12 +70,7 @@ public class QRCodeUtil {
 
             ByteArrayOutputStream pngOutputStream = new ByteArrayOutputStream();
             MatrixToImageWriter.writeToStream(bitMatrix, "PNG", pngOutputStream);
-            byte[] pngData = pngOutputStream.toByteArray();
-
-            String base64Image = Base64.getEncoder().encodeToString(pngData);
-            String dataUrl = "data:image/png;base64," + base64Image;
-            log.trace("Imagen QR generada como URL de datos Base64 (longitud: {} caracteres).", dataUrl.length());
-            return dataUrl;
+            return pngOutputStream.toByteArray();
 
         } catch (WriterException | IOException e) {
             log.error("Error generando imagen de código QR para contenido '{}': {}", qrContent, e.getMessage(), e);
@@ -78,6 +81,102 @@ public class QRCodeUtil {
         }
     }
 
+    /**
+     * Codifica el contenido y devuelve la matriz de módulos del símbolo QR,
+     * sin zona de silencio ni escalado. Evita la rasterización y la
+     * codificación PNG, que son la parte costosa del renderizado.
+     *
+     * @param qrContent El contenido a codificar (no nulo/vacío).
+     * @return Matriz cuadrada [fila][columna] con true en los módulos oscuros,
+     * o null si falla.
+     */
+    public static boolean[][] generarMatrizQr(String qrContent) {
+        if (qrContent == null || qrContent.isEmpty()) {
+            log.warn("No se puede generar código QR para contenido nulo o vacío.");
+            return null;
+        }
+        try {
+            // Mismo nivel de corrección de errores que QRCodeWriter por defecto
+            ByteMatrix byteMatrix = Encoder.encode(qrContent, ErrorCorrectionLevel.L).getMatrix();
+            int dimension = byteMatrix.getWidth();
+            boolean[][] modulos = new boolean[dimension][dimension];
+            for (int fila = 0; fila < dimension; fila++) {
+                for (int columna = 0; columna < dimension; columna++) {
+                    modulos[fila][columna] = byteMatrix.get(columna, fila) == 1;
+                }
+            }
+            return modulos;
+        } catch (WriterException e) {
+            log.error("Error codificando código QR para contenido '{}': {}", qrContent, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Genera el código QR como documento SVG. Cada fila se dibuja como
+     * segmentos horizontales de un único path, y el viewBox se expresa en
+     * módulos para que el cliente escale la imagen sin pérdida.
+     *
+     * @param qrContent El contenido a codificar (no nulo/vacío).
+     * @return El documento SVG, o null si falla.
+     */
+    public static String generarQrComoSvg(String qrContent) {
+        boolean[][] modulos = generarMatrizQr(qrContent);
+        if (modulos == null) {
+            return null;
+        }
+        int lado = modulos.length + 2 * MARGEN_MODULOS;
+        StringBuilder path = new StringBuilder(modulos.length * modulos.length);
+        for (int fila = 0; fila < modulos.length; fila++) {
+            int columna = 0;
+            while (columna < modulos.length) {
+                if (!modulos[fila][columna]) {
+                    columna++;
+                    continue;
+                }
+                int inicio = columna;
+                while (columna < modulos.length && modulos[fila][columna]) {
+                    columna++;
+                }
+                path.append('M').append(inicio + MARGEN_MODULOS).append(' ').append(fila + MARGEN_MODULOS)
+                        .append('h').append(columna - inicio).append("v1h-").append(columna - inicio).append('z');
+            }
+        }
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 " + lado + " " + lado
+                + "\" shape-rendering=\"crispEdges\"><rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>"
+                + "<path fill=\"#000\" d=\"" + path + "\"/></svg>";
+    }
+
+    /**
+     * Codifica una matriz de módulos por longitud de rachas. Cada fila es una
+     * secuencia de longitudes alternas que empieza siempre por módulos claros
+     * (la primera racha puede ser 0).
+     *
+     * @param modulos Matriz de módulos devuelta por {@link #generarMatrizQr}.
+     * @return Las rachas de cada fila.
+     */
+    public static int[][] codificarFilasRle(boolean[][] modulos) {
+        int[][] filas = new int[modulos.length][];
+        int[] buffer = new int[modulos.length + 1];
+        for (int fila = 0; fila < modulos.length; fila++) {
+            int numRachas = 0;
+            boolean oscuro = false;
+            int longitud = 0;
+            for (boolean modulo : modulos[fila]) {
+                if (modulo == oscuro) {
+                    longitud++;
+                } else {
+                    buffer[numRachas++] = longitud;
+                    oscuro = modulo;
+                    longitud = 1;
+                }
+            }
+            buffer[numRachas++] = longitud;
+            filas[fila] = Arrays.copyOf(buffer, numRachas);
+        }
+        return filas;
+    }
+
     // Prevenir instanciación
     private QRCodeUtil() {
     }
@@ -0,0 +1,122 @@
+package com.beatpass.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU de códigos QR ya renderizados (PNG, SVG o matriz), limitada por el
+ * tamaño total en bytes. Cada entrada guarda el contenido junto con su ETag
+ * fuerte, calculado una sola vez.
+ */
+public class QrImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(QrImageCache.class);
+
+    /**
+     * QR renderizado, su formato y su ETag (sin comillas).
+     */
+    public record Imagen(byte[] contenido, FormatoQr formato, String etag) {
+
+    }
+
+    private final long maxBytes;
+    private long bytesActuales = 0;
+    private final LinkedHashMap<String, Imagen> entradas = new LinkedHashMap<>(256, 0.75f, true);
+
+    /**
+     * @param maxBytes Tamaño máximo, en bytes, de las imágenes almacenadas.
+     */
+    public QrImageCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser positivo.");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Obtiene la imagen de la caché, marcándola como usada recientemente.
+     *
+     * @param clave Clave de la imagen (código QR y tamaño).
+     * @return La imagen o null si no está en caché.
+     */
+    public synchronized Imagen get(String clave) {
+        return entradas.get(clave);
+    }
+
+    /**
+     * Crea una imagen con su ETag y la almacena, expulsando las menos usadas
+     * recientemente hasta respetar el límite de bytes. Las imágenes mayores
+     * que el límite se devuelven sin almacenarse.
+     *
+     * @param clave Clave de la imagen.
+     * @param contenido Bytes renderizados.
+     * @param formato Formato del contenido.
+     * @return La imagen almacenada.
+     */
+    public Imagen put(String clave, byte[] contenido, FormatoQr formato) {
+        Imagen imagen = new Imagen(contenido, formato, calcularEtag(contenido));
+        if (contenido.length > maxBytes) {
+            log.warn("QR de {} bytes supera el tamaño máximo de la caché ({} bytes). No se almacena.", contenido.length, maxBytes);
+            return imagen;
+        }
+        synchronized (this) {
+            Imagen anterior = entradas.put(clave, imagen);
+            if (anterior != null) {
+                bytesActuales -= anterior.contenido().length;
+            }
+            bytesActuales += contenido.length;
+
+            Iterator<Map.Entry<String, Imagen>> it = entradas.entrySet().iterator();
+            while (bytesActuales > maxBytes && it.hasNext()) {
+                Map.Entry<String, Imagen> masAntigua = it.next();
+                if (masAntigua.getKey().equals(clave)) {
+                    continue;
+                }
+                bytesActuales -= masAntigua.getValue().contenido().length;
+                it.remove();
+            }
+        }
+        return imagen;
+    }
+
+    /**
+     * @return Número de imágenes almacenadas.
+     */
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    /**
+     * @return Bytes ocupados por las imágenes almacenadas.
+     */
+    public synchronized long bytesOcupados() {
+        return bytesActuales;
+    }
+
+    /**
+     * Calcula un ETag fuerte (SHA-256 en Base64 URL-safe, sin comillas).
+     */
+    static String calcularEtag(byte[] contenido) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(contenido);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 está garantizado en toda JVM
+            throw new IllegalStateException("Algoritmo SHA-256 no disponible.", e);
+        }
+    }
+
+    /**
+     * Construye la clave de caché para un código, un formato y un tamaño.
+     */
+    public static String clave(String codigoQr, FormatoQr formato, int tamano) {
+        return codigoQr + "@" + formato + "@" + tamano;
+    }
+}
@@ -4,6 +4,7 @@ import com.beatpass.dto.*;
 import com.beatpass.model.EstadoFestival;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.service.*;
+import com.beatpass.util.Paginacion;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -23,7 +24,8 @@ import java.util.Map;
 
 /**
  * Recurso JAX-RS para el panel de Administración (/api/admin). Requiere rol
- * ADMIN y gestiona Usuarios, Festivales, Asistentes y Pulseras.
+ * ADMIN y gestiona Usuarios, Festivales, Asistentes y Pulseras, y consulta las
+ * estadísticas de la caché de segundo nivel.
  */
 @Path("/admin")
 @Produces(MediaType.APPLICATION_JSON)
@@ -38,6 +40,7 @@ public class AdminResource {
     private final AsistenteService asistenteService;
     private final PulseraNFCService pulseraNFCService;
     private final CompradorService compradorService;
+    private final CacheService cacheService;
 
     @Context
     private UriInfo uriInfo;
@@ -45,37 +48,38 @@ public class AdminResource {
     private SecurityContext securityContext;
 
     @Inject
-    public AdminResource(UsuarioService usuarioService, FestivalService festivalService, AsistenteService asistenteService, PulseraNFCService pulseraNFCService, CompradorService compradorService) {
+    public AdminResource(UsuarioService usuarioService, FestivalService festivalService, AsistenteService asistenteService, PulseraNFCService pulseraNFCService, CompradorService compradorService, CacheService cacheService) {
         this.usuarioService = usuarioService;
         this.festivalService = festivalService;
         this.asistenteService = asistenteService;
         this.pulseraNFCService = pulseraNFCService;
         this.compradorService = compradorService;
+        this.cacheService = cacheService;
     }
 
     // --- Gestión de Usuarios ---
     @GET
     @Path("/admins")
-    public Response listarAdmins() {
-        return listarUsuariosPorRol(RolUsuario.ADMIN);
+    public Response listarAdmins(@QueryParam("cursor") String cursor, @QueryParam("limite") Integer limite) {
+        return listarUsuariosPorRol(RolUsuario.ADMIN, cursor, limite);
     }
 
     @GET
     @Path("/promotores")
-    public Response listarPromotores() {
-        return listarUsuariosPorRol(RolUsuario.PROMOTOR);
+    public Response listarPromotores(@QueryParam("cursor") String cursor, @QueryParam("limite") Integer limite) {
+        return listarUsuariosPorRol(RolUsuario.PROMOTOR, cursor, limite);
     }
 
     @GET
     @Path("/cajeros")
-    public Response listarCajeros() {
-        return listarUsuariosPorRol(RolUsuario.CAJERO);
+    public Response listarCajeros(@QueryParam("cursor") String cursor, @QueryParam("limite") Integer limite) {
+        return listarUsuariosPorRol(RolUsuario.CAJERO, cursor, limite);
     }
 
-    private Response listarUsuariosPorRol(RolUsuario rol) {
+    private Response listarUsuariosPorRol(RolUsuario rol, String cursor, Integer limite) {
         log.debug("GET /admin/usuarios/listar para rol: {}", rol);
-        List<UsuarioDTO> listaUsuarios = usuarioService.obtenerUsuariosPorRol(rol);
-        return Response.ok(listaUsuarios).build();
+        PaginaDTO<UsuarioDTO> listaUsuarios = usuarioService.obtenerUsuariosPorRol(rol, cursor, limite);
+        return Paginacion.respuesta(listaUsuarios, uriInfo).build();
     }
 
     @GET
@@ -93,19 +97,26 @@ public class AdminResource {
 
     @GET
     @Path("/clientes")
-    public Response listarClientes(@QueryParam("tab") String tab, @QueryParam("buscar") String searchTerm) {
+    public Response listarClientes(
+            @QueryParam("tab") String tab,
+            @QueryParam("buscar") String searchTerm,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         String activeTab = "compradores".equalsIgnoreCase(tab) ? "compradores" : "asistentes";
 
         Map<String, List<?>> data = new HashMap<>();
+        PaginaDTO<?> pagina;
 
         if ("compradores".equals(activeTab)) {
-            List<CompradorDTO> compradores = compradorService.buscarCompradores(searchTerm);
-            data.put("compradores", compradores);
+            PaginaDTO<CompradorDTO> compradores = compradorService.buscarCompradores(searchTerm, cursor, limite);
+            data.put("compradores", compradores.getItems());
+            pagina = compradores;
         } else {
-            List<AsistenteDTO> asistentes = asistenteService.obtenerTodosLosAsistentesConFiltro(searchTerm);
-            data.put("asistentes", asistentes);
+            PaginaDTO<AsistenteDTO> asistentes = asistenteService.obtenerTodosLosAsistentesConFiltro(searchTerm, cursor, limite);
+            data.put("asistentes", asistentes.getItems());
+            pagina = asistentes;
         }
-        return Response.ok(data).build();
+        return Paginacion.respuesta(data, pagina, uriInfo).build();
     }
 
     @POST
@@ -196,22 +207,25 @@ public class AdminResource {
 
     @GET
     @Path("/festivales")
-    public Response listarTodosFestivales(@QueryParam("estado") String estadoFilter) {
+    public Response listarTodosFestivales(
+            @QueryParam("estado") String estadoFilter,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.debug("GET /admin/festivales. Filtro estado: '{}'", estadoFilter);
 
-        List<FestivalDTO> listaFestivales;
+        PaginaDTO<FestivalDTO> listaFestivales;
         EstadoFestival estadoEnum = null;
 
         try {
             if (estadoFilter != null && !estadoFilter.isBlank()) {
                 estadoEnum = EstadoFestival.valueOf(estadoFilter.toUpperCase());
             }
-            listaFestivales = festivalService.obtenerFestivalesPorEstado(estadoEnum);
         } catch (IllegalArgumentException e) {
             throw new BadRequestException("Estado de filtro inválido: '" + estadoFilter + "'.", e);
         }
+        listaFestivales = festivalService.obtenerFestivalesPorEstado(estadoEnum, cursor, limite);
 
-        return Response.ok(listaFestivales).build();
+        return Paginacion.respuesta(listaFestivales, uriInfo).build();
     }
 
     @PUT
@@ -253,10 +267,13 @@ public class AdminResource {
     // --- Gestión de Asistentes ---
     @GET
     @Path("/asistentes")
-    public Response listarAsistentes(@QueryParam("buscar") String searchTerm) {
+    public Response listarAsistentes(
+            @QueryParam("buscar") String searchTerm,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.debug("GET /admin/asistentes. Término búsqueda: '{}'", searchTerm);
-        List<AsistenteDTO> listaAsistentes = asistenteService.buscarAsistentes(searchTerm);
-        return Response.ok(listaAsistentes).build();
+        PaginaDTO<AsistenteDTO> listaAsistentes = asistenteService.buscarAsistentes(searchTerm, cursor, limite);
+        return Paginacion.respuesta(listaAsistentes, uriInfo).build();
     }
 
     @GET
@@ -290,14 +307,51 @@ public class AdminResource {
     // --- Gestión de Pulseras NFC ---
     @GET
     @Path("/festivales/{idFestival}/pulseras-nfc")
-    public Response listarPulserasPorFestivalAdmin(@PathParam("idFestival") Integer idFestival) {
+    public Response listarPulserasPorFestivalAdmin(
+            @PathParam("idFestival") Integer idFestival,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.debug("GET /admin/festivales/{}/pulseras-nfc", idFestival);
         Integer idAdmin = Integer.parseInt(securityContext.getUserPrincipal().getName());
         if (idFestival == null) {
             throw new BadRequestException("ID festival no válido.");
         }
 
-        List<PulseraNFCDTO> listaPulseras = pulseraNFCService.obtenerPulserasPorFestival(idFestival, idAdmin);
-        return Response.ok(listaPulseras).build();
+        PaginaDTO<PulseraNFCDTO> listaPulseras = pulseraNFCService.obtenerPulserasPorFestival(idFestival, idAdmin, cursor, limite);
+        return Paginacion.respuesta(listaPulseras, uriInfo).build();
+    }
+
+    // --- Caché de segundo nivel ---
+    @GET
+    @Path("/cache/estadisticas")
+    public Response obtenerEstadisticasCache() {
+        log.debug("GET /admin/cache/estadisticas");
+        List<EstadisticasCacheDTO> estadisticas = cacheService.obtenerEstadisticasCache();
+        return Response.ok(estadisticas).build();
+    }
+
+    @DELETE
+    @Path("/cache/estadisticas")
+    public Response reiniciarEstadisticasCache() {
+        log.info("DELETE /admin/cache/estadisticas");
+        cacheService.reiniciarEstadisticas();
+        return Response.noContent().build();
+    }
+
+    // --- Agrupación de lecturas concurrentes (single-flight) ---
+    @GET
+    @Path("/coalescencia/estadisticas")
+    public Response obtenerEstadisticasCoalescencia() {
+        log.debug("GET /admin/coalescencia/estadisticas");
+        List<EstadisticasCoalescenciaDTO> estadisticas = cacheService.obtenerEstadisticasCoalescencia();
+        return Response.ok(estadisticas).build();
+    }
+
+    @DELETE
+    @Path("/coalescencia/estadisticas")
+    public Response reiniciarEstadisticasCoalescencia() {
+        log.info("DELETE /admin/coalescencia/estadisticas");
+        cacheService.reiniciarEstadisticasCoalescencia();
+        return Response.noContent().build();
     }
 }
@@ -1,25 +1,34 @@
 package com.beatpass.web;
 
 import com.beatpass.dto.CredencialesDTO;
+import com.beatpass.dto.RefrescoTokenDTO;
 import com.beatpass.dto.TokenDTO;
+import com.beatpass.dto.UsuarioDTO;
 import com.beatpass.model.Usuario;
+import com.beatpass.service.PasswordService;
+import com.beatpass.service.RevocacionTokenService;
 import com.beatpass.service.UsuarioService;
 import com.beatpass.util.JwtUtil;
-import com.beatpass.util.PasswordUtil;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.security.PermitAll;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Optional;
+import java.util.UUID;
 
 /**
- * Recurso JAX-RS para autenticación (/api/auth). Proporciona el endpoint de
- * login para la API (devuelve JWT).
+ * Recurso JAX-RS para autenticación (/api/auth). Proporciona los endpoints de
+ * login (devuelve un JWT de acceso de corta duración y uno de refresco),
+ * renovación del token de acceso y cierre de sesión.
  */
 @Path("/auth")
 @Produces(MediaType.APPLICATION_JSON)
@@ -29,11 +38,15 @@ public class AuthResource {
     private static final Logger log = LoggerFactory.getLogger(AuthResource.class);
 
     private final UsuarioService usuarioService;
+    private final PasswordService passwordService;
+    private final RevocacionTokenService revocacionTokenService;
     private final JwtUtil jwtUtil;
 
     @Inject
-    public AuthResource(UsuarioService usuarioService) {
+    public AuthResource(UsuarioService usuarioService, PasswordService passwordService, RevocacionTokenService revocacionTokenService) {
         this.usuarioService = usuarioService;
+        this.passwordService = passwordService;
+        this.revocacionTokenService = revocacionTokenService;
         this.jwtUtil = new JwtUtil();
     }
 
@@ -42,11 +55,12 @@ public class AuthResource {
      * activa.
      *
      * @param credenciales DTO con email y contraseña.
-     * @return 200 OK con TokenDTO, 400 Bad Request, 401 Unauthorized, o 500
-     * Internal Server Error.
+     * @return 200 OK con TokenDTO, 400 Bad Request, 401 Unauthorized, 503
+     * Service Unavailable (hashing saturado) o 500 Internal Server Error.
      */
     @POST
     @Path("/login")
+    @PermitAll
     public Response login(@Valid CredencialesDTO credenciales) {
         log.info("Intento de login API para email: {}", credenciales != null ? credenciales.getEmail() : "null");
 
@@ -66,18 +80,24 @@ public class AuthResource {
                 throw new NotAuthorizedException("Cuenta inactiva.");
             }
 
-            if (PasswordUtil.checkPassword(credenciales.getPassword(), usuario.getPassword())) {
+            if (passwordService.verificar(credenciales.getPassword(), usuario.getPassword())) {
                 log.info("Autenticación API exitosa para email: {}", credenciales.getEmail());
+                passwordService.actualizarFactorSiNecesario(usuario.getIdUsuario(), credenciales.getPassword(), usuario.getPassword());
 
+                String userId = usuario.getIdUsuario().toString();
+                String idSesion = UUID.randomUUID().toString();
                 String token = jwtUtil.generarToken(
-                        usuario.getIdUsuario().toString(),
+                        userId,
                         usuario.getRol().name(),
                         usuario.getNombre(),
-                        usuario.getCambioPasswordRequerido()
+                        usuario.getCambioPasswordRequerido(),
+                        idSesion
                 );
 
                 TokenDTO tokenDTO = new TokenDTO();
                 tokenDTO.setToken(token);
+                tokenDTO.setRefreshToken(jwtUtil.generarTokenRefresco(userId, idSesion));
+                tokenDTO.setExpiracionSegundos(JwtUtil.getDuracionAccesoMs() / 1000);
                 return Response.ok(tokenDTO).build();
 
             } else {
@@ -89,4 +109,95 @@ public class AuthResource {
             throw new NotAuthorizedException("Email o contraseña incorrectos.");
         }
     }
+
+    /**
+     * Emite un nuevo token de acceso de la misma sesión a partir de un token
+     * de refresco válido y no revocado. El rol, el nombre y el estado se leen
+     * de nuevo de la base de datos, de modo que los cambios se aplican en la
+     * siguiente renovación.
+     *
+     * @param refresco DTO con el token de refresco.
+     * @return 200 OK con TokenDTO (sin token de refresco: se sigue usando el
+     * mismo), 400 Bad Request o 401 Unauthorized.
+     */
+    @POST
+    @Path("/refresh")
+    @PermitAll
+    public Response refrescar(@Valid RefrescoTokenDTO refresco) {
+        if (refresco == null || refresco.getRefreshToken() == null || refresco.getRefreshToken().isBlank()) {
+            log.warn("Renovación de token fallida: token de refresco ausente.");
+            throw new BadRequestException("El token de refresco es obligatorio.");
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.validarTokenYObtenerClaims(refresco.getRefreshToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Renovación de token fallida: token de refresco inválido ({}).", e.getClass().getSimpleName());
+            throw new NotAuthorizedException("Token de refresco inválido o expirado.");
+        }
+
+        String userId = jwtUtil.obtenerUserIdDeClaims(claims);
+        String idSesion = jwtUtil.obtenerIdSesionDeClaims(claims);
+        if (!jwtUtil.esTokenRefresco(claims) || userId == null || idSesion == null) {
+            log.warn("Renovación de token fallida: el token recibido no es de refresco (sub: {}).", userId);
+            throw new NotAuthorizedException("Token de refresco inválido o expirado.");
+        }
+        if (revocacionTokenService.estaRevocado(idSesion, userId, jwtUtil.obtenerEmisionDeClaims(claims))) {
+            log.warn("Renovación de token fallida: sesión {} del usuario ID {} revocada.", idSesion, userId);
+            throw new NotAuthorizedException("La sesión ha sido cerrada o revocada.");
+        }
+
+        Integer idUsuario;
+        try {
+            idUsuario = Integer.valueOf(userId);
+        } catch (NumberFormatException e) {
+            throw new NotAuthorizedException("Token de refresco inválido o expirado.");
+        }
+        UsuarioDTO usuario = usuarioService.obtenerUsuarioPorId(idUsuario)
+                .filter(u -> Boolean.TRUE.equals(u.getEstado()))
+                .orElseThrow(() -> {
+                    log.warn("Renovación de token fallida: usuario ID {} inexistente o inactivo.", idUsuario);
+                    return new NotAuthorizedException("Cuenta inactiva.");
+                });
+
+        String token = jwtUtil.generarToken(
+                userId,
+                usuario.getRol().name(),
+                usuario.getNombre(),
+                usuario.getCambioPasswordRequerido(),
+                idSesion
+        );
+        log.debug("Token de acceso renovado para usuario ID {} (sesión {}).", idUsuario, idSesion);
+
+        TokenDTO tokenDTO = new TokenDTO();
+        tokenDTO.setToken(token);
+        tokenDTO.setExpiracionSegundos(JwtUtil.getDuracionAccesoMs() / 1000);
+        return Response.ok(tokenDTO).build();
+    }
+
+    /**
+     * Cierra la sesión del token de acceso: quedan revocados su token de
+     * refresco y todos los tokens de acceso emitidos con él.
+     *
+     * @param authorization Cabecera Authorization (ya validada por el filtro
+     * de autenticación).
+     * @return 204 No Content.
+     */
+    @POST
+    @Path("/logout")
+    public Response logout(@HeaderParam(HttpHeaders.AUTHORIZATION) String authorization) {
+        // El filtro ya validó el token: los claims salen de la caché de tokens verificados
+        Claims claims = jwtUtil.validarTokenYObtenerClaims(authorization.substring("Bearer".length()).trim());
+        String userId = jwtUtil.obtenerUserIdDeClaims(claims);
+        String idSesion = jwtUtil.obtenerIdSesionDeClaims(claims);
+
+        if (idSesion == null) {
+            log.info("Logout del usuario ID {} con un token sin sesión: no hay nada que revocar.", userId);
+            return Response.noContent().build();
+        }
+        revocacionTokenService.revocarSesion(idSesion, Integer.valueOf(userId));
+        log.info("Logout del usuario ID {} (sesión {}).", userId, idSesion);
+        return Response.noContent().build();
+    }
 }
@@ -0,0 +1,106 @@
+package com.beatpass.web;
+
+import com.beatpass.service.QrImageService;
+import com.beatpass.util.FormatoQr;
+import com.beatpass.util.QrImageCache;
+import jakarta.annotation.security.PermitAll;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Variant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recurso JAX-RS para recursos binarios de Entradas (/api/entradas). Sirve el
+ * QR de cada entrada bajo demanda, en PNG, SVG o matriz por rachas según la
+ * cabecera Accept. No requiere autenticación: el propio código QR actúa como
+ * credencial, igual que en la nominación pública.
+ */
+@Path("/entradas")
+public class EntradaResource {
+
+    private static final Logger log = LoggerFactory.getLogger(EntradaResource.class);
+
+    // La imagen de un código QR nunca cambia, puede cachearse indefinidamente
+    private static final int MAX_AGE_SEGUNDOS = 365 * 24 * 60 * 60;
+
+    // Orden de preferencia ante Accept: */* (PNG primero por compatibilidad)
+    private static final List<Variant> VARIANTES_QR = Variant.mediaTypes(
+            Arrays.stream(FormatoQr.values()).map(f -> MediaType.valueOf(f.getMediaType())).toArray(MediaType[]::new)
+    ).build();
+
+    private final QrImageService qrImageService;
+
+    @Context
+    private Request request;
+
+    @Inject
+    public EntradaResource(QrImageService qrImageService) {
+        this.qrImageService = qrImageService;
+    }
+
+    @GET
+    @Path("/{codigoQr}/qr")
+    @PermitAll
+    public Response obtenerQr(
+            @PathParam("codigoQr") String codigoQr,
+            @QueryParam("tamano") @DefaultValue("" + QrImageService.TAMANO_POR_DEFECTO) int tamano) {
+
+        Variant variante = request.selectVariant(VARIANTES_QR);
+        if (variante == null) {
+            return Response.notAcceptable(VARIANTES_QR).build();
+        }
+        FormatoQr formato = Arrays.stream(FormatoQr.values())
+                .filter(f -> MediaType.valueOf(f.getMediaType()).isCompatible(variante.getMediaType()))
+                .findFirst()
+                .orElse(FormatoQr.PNG);
+        return servirQr(codigoQr, formato, tamano);
+    }
+
+    @GET
+    @Path("/{codigoQr}/qr.png")
+    @Produces("image/png")
+    @PermitAll
+    public Response obtenerImagenQr(
+            @PathParam("codigoQr") String codigoQr,
+            @QueryParam("tamano") @DefaultValue("" + QrImageService.TAMANO_POR_DEFECTO) int tamano) {
+        return servirQr(codigoQr, FormatoQr.PNG, tamano);
+    }
+
+    private Response servirQr(String codigoQr, FormatoQr formato, int tamano) {
+        String qrLog = (codigoQr != null && codigoQr.length() > 10) ? codigoQr.substring(0, 10) + "..." : codigoQr;
+        log.debug("GET /entradas/{}/qr formato={} tamano={}", qrLog, formato, tamano);
+
+        if (codigoQr == null || codigoQr.isBlank()) {
+            throw new BadRequestException("Código QR de entrada obligatorio.");
+        }
+
+        QrImageCache.Imagen imagen = qrImageService.obtenerQrEntrada(codigoQr, formato, tamano)
+                .orElseThrow(() -> new NotFoundException("Entrada no encontrada con el código QR proporcionado."));
+
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setMaxAge(MAX_AGE_SEGUNDOS);
+        cacheControl.getCacheExtension().put("immutable", null);
+
+        EntityTag etag = new EntityTag(imagen.etag());
+        Response.ResponseBuilder noModificado = request.evaluatePreconditions(etag);
+        if (noModificado != null) {
+            return noModificado.cacheControl(cacheControl).build();
+        }
+
+        return Response.ok(imagen.contenido(), imagen.formato().getMediaType())
+                .tag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
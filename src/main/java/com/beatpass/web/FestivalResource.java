@@ -1,18 +1,25 @@
 package com.beatpass.web;
 
+import com.beatpass.dto.DisponibilidadDTO;
 import com.beatpass.dto.FestivalDTO;
-import com.beatpass.dto.TipoEntradaDTO;
 import com.beatpass.model.EstadoFestival;
+import com.beatpass.service.CatalogoPublicoService;
+import com.beatpass.service.DisponibilidadService;
 import com.beatpass.service.FestivalService;
-import com.beatpass.service.TipoEntradaService;
+import com.beatpass.util.CatalogoPublico;
+import com.beatpass.util.Compresion;
 
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
 import jakarta.ws.rs.core.UriInfo;
@@ -23,11 +30,12 @@ import java.net.URI;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Recurso JAX-RS para la gestión de Festivales (/api/festivales). Expone
- * endpoints públicos y protegidos para CRUD, búsqueda y cambio de estado.
+ * endpoints públicos y protegidos para CRUD, búsqueda y cambio de estado. Los
+ * endpoints públicos de consulta se sirven desde el catálogo en memoria, con
+ * ETag y Cache-Control.
  */
 @Path("/festivales")
 @Produces(MediaType.APPLICATION_JSON)
@@ -36,18 +44,32 @@ public class FestivalResource {
 
     private static final Logger log = LoggerFactory.getLogger(FestivalResource.class);
 
+    // El catálogo solo cambia cuando un promotor edita festivales o tipos de
+    // entrada (sin stock); una edición llega a los clientes en dos minutos como
+    // mucho y, pasado ese tiempo, la revalidación por ETag suele acabar en 304
+    private static final int MAX_AGE_SEGUNDOS = 120;
+    // La disponibilidad se consulta periódicamente; cada respuesta solo vale unos segundos
+    private static final int MAX_AGE_DISPONIBILIDAD_SEGUNDOS = 5;
+
     private final FestivalService festivalService;
-    private final TipoEntradaService tipoEntradaService;
+    private final CatalogoPublicoService catalogoPublicoService;
+    private final DisponibilidadService disponibilidadService;
 
     @Context
     private UriInfo uriInfo;
     @Context
     private SecurityContext securityContext;
+    @Context
+    private Request request;
+    @Context
+    private HttpHeaders httpHeaders;
 
     @Inject
-    public FestivalResource(FestivalService festivalService, TipoEntradaService tipoEntradaService) {
+    public FestivalResource(FestivalService festivalService, CatalogoPublicoService catalogoPublicoService,
+            DisponibilidadService disponibilidadService) {
         this.festivalService = festivalService;
-        this.tipoEntradaService = tipoEntradaService;
+        this.catalogoPublicoService = catalogoPublicoService;
+        this.disponibilidadService = disponibilidadService;
     }
 
     @GET
@@ -58,9 +80,31 @@ public class FestivalResource {
         if (id == null) {
             throw new BadRequestException("ID de festival inválido.");
         }
-        List<TipoEntradaDTO> tiposEntrada = tipoEntradaService.obtenerTiposEntradaPublicasPorFestival(id);
-        log.info("Devolviendo {} tipos de entrada para festival público ID {}", tiposEntrada.size(), id);
-        return Response.ok(tiposEntrada).build();
+        return responderCatalogo(catalogoPublicoService.obtenerTiposEntrada(id));
+    }
+
+    /**
+     * Disponibilidad aproximada (DISPONIBLE, ULTIMAS, AGOTADO) de los tipos de
+     * entrada de un festival publicado, servida desde memoria. El ETag es la
+     * versión de las bandas, así que las consultas sin cambios reciben 304.
+     */
+    @GET
+    @Path("/{id}/disponibilidad")
+    @PermitAll
+    public Response obtenerDisponibilidadPublica(@PathParam("id") Integer id) {
+        log.debug("GET /festivales/{}/disponibilidad (Público)", id);
+        if (id == null) {
+            throw new BadRequestException("ID de festival inválido.");
+        }
+        DisponibilidadDTO disponibilidad = disponibilidadService.obtenerDisponibilidad(id);
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(MAX_AGE_DISPONIBILIDAD_SEGUNDOS);
+        EntityTag etag = new EntityTag("disp-" + id + "-" + disponibilidad.getVersion());
+        Response.ResponseBuilder noModificado = request.evaluatePreconditions(etag);
+        if (noModificado != null) {
+            return noModificado.cacheControl(cacheControl).build();
+        }
+        return Response.ok(disponibilidad).tag(etag).cacheControl(cacheControl).build();
     }
 
     @POST
@@ -88,9 +132,8 @@ public class FestivalResource {
         if (id == null) {
             throw new BadRequestException("ID de festival inválido.");
         }
-        Optional<FestivalDTO> festivalOpt = festivalService.obtenerFestivalPorId(id);
-        return festivalOpt
-                .map(dto -> Response.ok(dto).build())
+        return catalogoPublicoService.obtenerFestival(id)
+                .map(this::responderCatalogo)
                 .orElseThrow(() -> new NotFoundException("Festival no encontrado."));
     }
 
@@ -134,8 +177,9 @@ public class FestivalResource {
     @PermitAll
     public Response buscarFestivalesPublicados(
             @QueryParam("fechaDesde") String fechaDesdeStr,
-            @QueryParam("fechaHasta") String fechaHastaStr) {
-        log.info("GET /festivales/publicados. Desde='{}', Hasta='{}'", fechaDesdeStr, fechaHastaStr);
+            @QueryParam("fechaHasta") String fechaHastaStr,
+            @QueryParam("ubicacion") String ubicacion) {
+        log.info("GET /festivales/publicados. Desde='{}', Hasta='{}', Ubicación='{}'", fechaDesdeStr, fechaHastaStr, ubicacion);
         LocalDate fechaDesde;
         LocalDate fechaHasta;
         try {
@@ -148,9 +192,7 @@ public class FestivalResource {
             throw new BadRequestException("Formato fecha inválido (YYYY-MM-DD).");
         }
 
-        List<FestivalDTO> festivales = festivalService.buscarFestivalesPublicados(fechaDesde, fechaHasta);
-        log.info("Devolviendo {} festivales publicados entre {} y {}.", festivales.size(), fechaDesde, fechaHasta);
-        return Response.ok(festivales).build();
+        return responderCatalogo(catalogoPublicoService.buscarFestivalesPublicados(fechaDesde, fechaHasta, ubicacion));
     }
 
     @GET
@@ -191,4 +233,37 @@ public class FestivalResource {
         log.info("Estado festival ID {} cambiado a {} por usuario ID {}.", id, nuevoEstado, idUsuarioActor);
         return Response.ok(festivalActualizado).build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Responde con un recurso del catálogo ya serializado, o 304 si el cliente
+     * tiene la misma versión (If-None-Match). Si el cliente acepta gzip se
+     * envía la versión ya comprimida; para deflate comprime
+     * {@link com.beatpass.config.CompresionInterceptor}. Cada variante tiene
+     * su propio ETag.
+     */
+    private Response responderCatalogo(CatalogoPublico.Recurso recurso) {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(MAX_AGE_SEGUNDOS);
+
+        String codificacion = recurso.contenido().length >= Compresion.UMBRAL_BYTES
+                ? Compresion.negociar(httpHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING))
+                : null;
+        EntityTag etagVariante = new EntityTag(Compresion.etagVariante(recurso.etag(), codificacion));
+        Response.ResponseBuilder noModificado = request.evaluatePreconditions(etagVariante);
+        if (noModificado != null) {
+            return noModificado.cacheControl(cacheControl).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+
+        if (Compresion.GZIP.equals(codificacion) && recurso.contenidoGzip() != null) {
+            return Response.ok(recurso.contenidoGzip(), MediaType.APPLICATION_JSON_TYPE)
+                    .header(HttpHeaders.CONTENT_ENCODING, Compresion.GZIP)
+                    .tag(etagVariante)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return Response.ok(recurso.contenido(), MediaType.APPLICATION_JSON_TYPE)
+                .tag(new EntityTag(recurso.etag()))
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
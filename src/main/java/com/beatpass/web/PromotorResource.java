@@ -3,6 +3,9 @@ package com.beatpass.web;
 import com.beatpass.dto.*;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.service.*;
+import com.beatpass.util.Paginacion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -11,11 +14,16 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Providers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,14 +53,18 @@ public class PromotorResource {
     private final AsistenteService asistenteService;
     private final PulseraNFCService pulseraNFCService;
     private final CompraService compraService;
+    private final ExportacionService exportacionService;
+    private final PanelService panelService;
 
     @Context
     private UriInfo uriInfo;
     @Context
     private SecurityContext securityContext;
+    @Context
+    private Providers providers;
 
     @Inject
-    public PromotorResource(FestivalService festivalService, UsuarioService usuarioService, TipoEntradaService tipoEntradaService, EntradaService entradaService, AsistenteService asistenteService, PulseraNFCService pulseraNFCService, CompraService compraService) {
+    public PromotorResource(FestivalService festivalService, UsuarioService usuarioService, TipoEntradaService tipoEntradaService, EntradaService entradaService, AsistenteService asistenteService, PulseraNFCService pulseraNFCService, CompraService compraService, ExportacionService exportacionService, PanelService panelService) {
         this.festivalService = festivalService;
         this.usuarioService = usuarioService;
         this.tipoEntradaService = tipoEntradaService;
@@ -60,6 +72,8 @@ public class PromotorResource {
         this.asistenteService = asistenteService;
         this.pulseraNFCService = pulseraNFCService;
         this.compraService = compraService;
+        this.exportacionService = exportacionService;
+        this.panelService = panelService;
     }
 
     @GET
@@ -185,16 +199,104 @@ public class PromotorResource {
     @GET
     @Path("/festivales/{idFestival}/entradas")
     @RolesAllowed({"ADMIN", "PROMOTOR"})
-    public Response listarEntradas(@PathParam("idFestival") Integer idFestival) {
+    public Response listarEntradas(
+            @PathParam("idFestival") Integer idFestival,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.debug("GET /promotor/festivales/{}/entradas recibido", idFestival);
         Integer idUsuarioAutenticado = Integer.parseInt(securityContext.getUserPrincipal().getName());
         if (idFestival == null || idFestival <= 0) {
             throw new BadRequestException("ID festival inválido.");
         }
 
-        List<EntradaDTO> listaEntradas = entradaService.obtenerEntradasPorFestival(idFestival, idUsuarioAutenticado);
+        PaginaDTO<EntradaDTO> listaEntradas = entradaService.obtenerEntradasPorFestival(idFestival, idUsuarioAutenticado, cursor, limite);
+
+        return Paginacion.respuesta(listaEntradas, uriInfo).build();
+    }
+
+    @GET
+    @Path("/festivales/{idFestival}/entradas/exportar")
+    @RolesAllowed({"ADMIN", "PROMOTOR"})
+    public Response exportarEntradas(@PathParam("idFestival") Integer idFestival) {
+        log.debug("GET /promotor/festivales/{}/entradas/exportar recibido", idFestival);
+        Integer idUsuarioAutenticado = Integer.parseInt(securityContext.getUserPrincipal().getName());
+        if (idFestival == null || idFestival <= 0) {
+            throw new BadRequestException("ID festival inválido.");
+        }
 
-        return Response.ok(listaEntradas).build();
+        return respuestaStreaming(exportacionService.exportarEntradasPorFestival(idFestival, idUsuarioAutenticado));
+    }
+
+    @GET
+    @Path("/festivales/{idFestival}/consumos/exportar")
+    @RolesAllowed({"ADMIN", "PROMOTOR"})
+    public Response exportarConsumos(@PathParam("idFestival") Integer idFestival) {
+        log.debug("GET /promotor/festivales/{}/consumos/exportar recibido", idFestival);
+        Integer idUsuarioAutenticado = Integer.parseInt(securityContext.getUserPrincipal().getName());
+        if (idFestival == null || idFestival <= 0) {
+            throw new BadRequestException("ID festival inválido.");
+        }
+
+        return respuestaStreaming(exportacionService.exportarConsumosPorFestival(idFestival, idUsuarioAutenticado));
+    }
+
+    /**
+     * Envuelve un volcado en un StreamingOutput que escribe con el mismo
+     * ObjectMapper que el resto de respuestas JSON (fechas ISO 8601).
+     */
+    private Response respuestaStreaming(ExportacionService.Volcado volcado) {
+        ObjectMapper mapper = providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE)
+                .getContext(ObjectMapper.class);
+        StreamingOutput salida = output -> {
+            try (JsonGenerator generador = mapper.getFactory().createGenerator(output)) {
+                volcado.escribir(generador);
+            }
+        };
+        return Response.ok(salida, MediaType.APPLICATION_JSON).build();
+    }
+
+    /**
+     * Ejecuta en una sola petición varias consultas del panel (detalle, tipos
+     * de entrada, entradas, asistentes, compras, pulseras). Cada sub-respuesta
+     * lleva su propio estado HTTP y, si falla, el mismo cuerpo de error que
+     * devolvería el endpoint individual: se convierte con el ExceptionMapper
+     * que JAX-RS elegiría para esa excepción.
+     */
+    @POST
+    @Path("/panel/lote")
+    @RolesAllowed({"ADMIN", "PROMOTOR"})
+    public Response ejecutarLotePanel(@Valid LotePanelRequestDTO lote) {
+        log.debug("POST /promotor/panel/lote recibido con {} sub-peticiones", lote.getPeticiones().size());
+        Integer idUsuarioAutenticado = Integer.parseInt(securityContext.getUserPrincipal().getName());
+
+        List<Map<String, Object>> respuestas = new ArrayList<>();
+        for (PanelService.Resultado resultado : panelService.ejecutarLote(lote.getPeticiones(), idUsuarioAutenticado)) {
+            Map<String, Object> respuesta = new LinkedHashMap<>();
+            respuesta.put("id", resultado.id());
+            if (resultado.error() == null) {
+                respuesta.put("status", Response.Status.OK.getStatusCode());
+                respuesta.put("cuerpo", resultado.valor());
+                if (resultado.siguienteCursor() != null) {
+                    respuesta.put("siguienteCursor", resultado.siguienteCursor());
+                }
+            } else {
+                Response error = respuestaDeError(resultado.error());
+                respuesta.put("status", error.getStatus());
+                respuesta.put("cuerpo", error.getEntity());
+            }
+            respuestas.add(respuesta);
+        }
+        return Response.ok(Map.of("respuestas", respuestas)).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Throwable> Response respuestaDeError(E error) {
+        ExceptionMapper<E> mapper = providers.getExceptionMapper((Class<E>) error.getClass());
+        if (mapper == null) {
+            log.error("Sin ExceptionMapper para {} en el lote del panel: {}", error.getClass().getName(), error.getMessage(), error);
+            return Response.serverError().build();
+        }
+        return mapper.toResponse(error);
     }
 
     @POST
@@ -255,31 +357,37 @@ public class PromotorResource {
     @GET
     @Path("/festivales/{idFestival}/asistentes")
     @RolesAllowed({"ADMIN", "PROMOTOR"})
-    public Response listarAsistentesPorFestival(@PathParam("idFestival") Integer idFestival) {
+    public Response listarAsistentesPorFestival(
+            @PathParam("idFestival") Integer idFestival,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.debug("GET /promotor/festivales/{}/asistentes recibido", idFestival);
         Integer idUsuarioAutenticado = Integer.parseInt(securityContext.getUserPrincipal().getName());
         if (idFestival == null || idFestival <= 0) {
             throw new BadRequestException("ID de festival no válido.");
         }
 
-        List<AsistenteDTO> listaAsistentes = asistenteService.obtenerAsistentesPorFestival(idFestival, idUsuarioAutenticado);
+        PaginaDTO<AsistenteDTO> listaAsistentes = asistenteService.obtenerAsistentesPorFestival(idFestival, idUsuarioAutenticado, cursor, limite);
 
-        return Response.ok(listaAsistentes).build();
+        return Paginacion.respuesta(listaAsistentes, uriInfo).build();
     }
 
     @GET
     @Path("/festivales/{idFestival}/compras")
     @RolesAllowed({"ADMIN", "PROMOTOR"})
-    public Response listarComprasPorFestival(@PathParam("idFestival") Integer idFestival) {
+    public Response listarComprasPorFestival(
+            @PathParam("idFestival") Integer idFestival,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.debug("GET /promotor/festivales/{}/compras recibido", idFestival);
         Integer idUsuarioAutenticado = Integer.parseInt(securityContext.getUserPrincipal().getName());
         if (idFestival == null || idFestival <= 0) {
             throw new BadRequestException("ID de festival no válido.");
         }
 
-        List<CompraDTO> listaCompras = compraService.obtenerComprasPorFestival(idFestival, idUsuarioAutenticado);
+        PaginaDTO<CompraDTO> listaCompras = compraService.obtenerComprasPorFestival(idFestival, idUsuarioAutenticado, cursor, limite);
 
-        return Response.ok(listaCompras).build();
+        return Paginacion.respuesta(listaCompras, uriInfo).build();
     }
 
     @POST
@@ -305,15 +413,18 @@ public class PromotorResource {
     @GET
     @Path("/festivales/{idFestival}/pulseras")
     @RolesAllowed({"ADMIN", "PROMOTOR", "CAJERO"})
-    public Response listarPulserasPorFestivalPromotor(@PathParam("idFestival") Integer idFestival) {
+    public Response listarPulserasPorFestivalPromotor(
+            @PathParam("idFestival") Integer idFestival,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.debug("GET /promotor/festivales/{}/pulseras recibido", idFestival);
         Integer idUsuarioAutenticado = Integer.parseInt(securityContext.getUserPrincipal().getName());
         if (idFestival == null || idFestival <= 0) {
             throw new BadRequestException("ID de festival no válido.");
         }
 
-        List<PulseraNFCDTO> listaPulseras = pulseraNFCService.obtenerPulserasPorFestival(idFestival, idUsuarioAutenticado);
+        PaginaDTO<PulseraNFCDTO> listaPulseras = pulseraNFCService.obtenerPulserasPorFestival(idFestival, idUsuarioAutenticado, cursor, limite);
 
-        return Response.ok(listaPulseras).build();
+        return Paginacion.respuesta(listaPulseras, uriInfo).build();
     }
 }
@@ -3,6 +3,7 @@ package com.beatpass.web;
 import com.beatpass.dto.*;
 import com.beatpass.service.EntradaService;
 import com.beatpass.service.VentaService;
+import jakarta.annotation.security.PermitAll;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
@@ -22,6 +23,7 @@ import java.util.Optional;
 @Path("/public/venta")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@PermitAll
 public class PublicVentaResource {
 
     private static final Logger log = LoggerFactory.getLogger(PublicVentaResource.class);
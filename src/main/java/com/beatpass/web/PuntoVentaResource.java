@@ -1,7 +1,10 @@
 package com.beatpass.web;
 
+import com.beatpass.dto.OcupacionFestivalDTO;
 import com.beatpass.dto.PulseraNFCDTO;
 import com.beatpass.exception.PulseraNFCNotFoundException;
+import com.beatpass.model.TipoAcceso;
+import com.beatpass.service.OcupacionService;
 import com.beatpass.service.PulseraNFCService;
 
 import jakarta.annotation.security.RolesAllowed;
@@ -32,13 +35,15 @@ public class PuntoVentaResource {
     private static final Logger log = LoggerFactory.getLogger(PuntoVentaResource.class);
 
     private final PulseraNFCService pulseraNFCService;
+    private final OcupacionService ocupacionService;
 
     @Context
     private SecurityContext securityContext;
 
     @Inject
-    public PuntoVentaResource(PulseraNFCService pulseraNFCService) {
+    public PuntoVentaResource(PulseraNFCService pulseraNFCService, OcupacionService ocupacionService) {
         this.pulseraNFCService = pulseraNFCService;
+        this.ocupacionService = ocupacionService;
     }
 
     @GET
@@ -141,4 +146,50 @@ public class PuntoVentaResource {
         log.info("Pulsera UID {} asociada a entrada QR {} en festival {}", pulseraAsociadaDTO.getCodigoUid(), qrLog, idFestival);
         return Response.ok(successResponse).build();
     }
+
+    @POST
+    @Path("/pulseras/{codigoUid}/acceso")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    public Response registrarAcceso(
+            @PathParam("codigoUid") String codigoUid,
+            @FormParam("idFestival") Integer idFestival,
+            @FormParam("tipo") String tipoStr,
+            @FormParam("puerta") String puerta) {
+
+        log.info("POST /pos/pulseras/{}/acceso - Tipo: {}, Puerta: {}, FestivalID: {}", codigoUid, tipoStr, puerta, idFestival);
+        Integer idActor = Integer.parseInt(securityContext.getUserPrincipal().getName());
+
+        if (codigoUid == null || codigoUid.isBlank()) {
+            throw new BadRequestException("Código UID obligatorio.");
+        }
+        if (idFestival == null) {
+            throw new BadRequestException("Parámetro 'idFestival' obligatorio.");
+        }
+        TipoAcceso tipo;
+        try {
+            if (tipoStr == null || tipoStr.isBlank()) {
+                throw new IllegalArgumentException("Parámetro 'tipo' obligatorio.");
+            }
+            tipo = TipoAcceso.valueOf(tipoStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Valor 'tipo' inválido. Posibles: ENTRADA, SALIDA.");
+        }
+
+        OcupacionFestivalDTO ocupacion = ocupacionService.registrarAcceso(codigoUid, idFestival, puerta, tipo, idActor);
+        log.info("Acceso {} registrado UID {} fest {}. Ocupación: {}", tipo, codigoUid, idFestival, ocupacion.getOcupacionActual());
+        return Response.ok(ocupacion).build();
+    }
+
+    @GET
+    @Path("/festivales/{idFestival}/ocupacion")
+    public Response obtenerOcupacion(@PathParam("idFestival") Integer idFestival) {
+        log.debug("GET /pos/festivales/{}/ocupacion", idFestival);
+        Integer idActor = Integer.parseInt(securityContext.getUserPrincipal().getName());
+        if (idFestival == null || idFestival <= 0) {
+            throw new BadRequestException("ID de festival no válido.");
+        }
+
+        OcupacionFestivalDTO ocupacion = ocupacionService.obtenerOcupacion(idFestival, idActor);
+        return Response.ok(ocupacion).build();
+    }
 }
@@ -1,9 +1,11 @@
 package com.beatpass.web;
 
+import com.beatpass.dto.PaginaDTO;
 import com.beatpass.dto.UsuarioCreacionDTO;
 import com.beatpass.dto.UsuarioDTO;
 import com.beatpass.model.RolUsuario;
 import com.beatpass.service.UsuarioService;
+import com.beatpass.util.Paginacion;
 
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -18,7 +20,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -90,7 +91,10 @@ public class UsuarioResource {
 
     @GET
     @RolesAllowed("ADMIN")
-    public Response obtenerUsuariosPorRol(@QueryParam("rol") String rolStr) {
+    public Response obtenerUsuariosPorRol(
+            @QueryParam("rol") String rolStr,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limite") Integer limite) {
         log.info("GET /usuarios?rol={}", rolStr);
 
         RolUsuario rol;
@@ -103,9 +107,9 @@ public class UsuarioResource {
             throw new BadRequestException("Valor 'rol' inválido. Posibles: ADMIN, PROMOTOR, CAJERO.");
         }
 
-        List<UsuarioDTO> usuarios = usuarioService.obtenerUsuariosPorRol(rol);
-        log.info("Devolviendo {} usuarios rol {}", usuarios.size(), rol);
-        return Response.ok(usuarios).build();
+        PaginaDTO<UsuarioDTO> usuarios = usuarioService.obtenerUsuariosPorRol(rol, cursor, limite);
+        log.info("Devolviendo {} usuarios rol {}", usuarios.getItems().size(), rol);
+        return Paginacion.respuesta(usuarios, uriInfo).build();
     }
 
     @PUT
@@ -0,0 +1,109 @@
+package com.beatpass.security;
+
+import com.beatpass.web.AdminResource;
+import com.beatpass.web.AuthResource;
+import com.beatpass.web.EntradaResource;
+import com.beatpass.web.FestivalResource;
+import com.beatpass.web.PromotorResource;
+import com.beatpass.web.PublicVentaResource;
+import com.beatpass.web.PuntoVentaResource;
+import com.beatpass.web.UsuarioResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compara la clasificación de rutas públicas de {@link AuthenticationFilter}
+ * con la anterior (lista de prefijos, expresiones regulares y
+ * {@code toLowerCase()} de la cabecera Authorization) sobre una mezcla de
+ * peticiones típica de los puntos de venta. Cada invocación procesa la mezcla
+ * completa.
+ * <p>
+ * Ejecución: {@code mvn -B test-compile} y después
+ * {@code java -cp target/test-classes:target/classes:<classpath de test> com.beatpass.security.ClasificadorRutasBenchmark}.
+ * Para ver las asignaciones, añadir {@code -prof gc} a los argumentos de JMH.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClasificadorRutasBenchmark {
+
+    private static final String CABECERA = "Bearer eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiI0MiJ9.firma";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // Peticiones {método, ruta}
+    private static final String[][] MEZCLA = {
+        {"POST", "pos/pulseras/04A1B2C3D4/consumir"},
+        {"POST", "pos/pulseras/04A1B2C3D4/recargar"},
+        {"GET", "pos/pulseras/04A1B2C3D4"},
+        {"POST", "pos/pulseras/04A1B2C3D4/acceso"},
+        {"GET", "pos/festivales/12/ocupacion"},
+        {"GET", "festivales/12/disponibilidad"},
+        {"GET", "festivales/12"},
+        {"GET", "entradas/BEATPASS-TICKET-0f8c2a/qr.png"},
+        {"POST", "auth/login"},
+        {"GET", "promotor/festivales"}
+    };
+
+    // Reglas anteriores a la clasificación por anotaciones
+    private static final List<String> PREFIJOS_EXCLUIDOS = Arrays.asList("auth/login", "public/");
+    private static final Pattern DETALLE_FESTIVAL = Pattern.compile("^festivales/\\d+$");
+    private static final Pattern TIPOS_ENTRADA = Pattern.compile("^festivales/\\d+/tipos-entrada$");
+    private static final Pattern DISPONIBILIDAD = Pattern.compile("^festivales/\\d+/disponibilidad$");
+    private static final Pattern QR_ENTRADA = Pattern.compile("^entradas/[^/]+/qr(\\.png)?$");
+
+    private ClasificadorRutas clasificador;
+
+    @Setup
+    public void preparar() {
+        clasificador = ClasificadorRutas.desdeRecursos(List.of(AdminResource.class, AuthResource.class,
+                EntradaResource.class, FestivalResource.class, PromotorResource.class, PublicVentaResource.class,
+                PuntoVentaResource.class, UsuarioResource.class));
+    }
+
+    @Benchmark
+    public void clasificadorRutas(Blackhole bh) {
+        for (String[] peticion : MEZCLA) {
+            boolean publica = clasificador.esPublica(peticion[0], peticion[1]);
+            bh.consume(publica || CABECERA.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length()));
+        }
+    }
+
+    @Benchmark
+    public void reglasAnteriores(Blackhole bh) {
+        for (String[] peticion : MEZCLA) {
+            String ruta = peticion[1].startsWith("/") ? peticion[1].substring(1) : peticion[1];
+            boolean publica = PREFIJOS_EXCLUIDOS.stream().anyMatch(ruta::startsWith)
+                    || ("GET".equalsIgnoreCase(peticion[0])
+                    && (DETALLE_FESTIVAL.matcher(ruta).matches()
+                    || TIPOS_ENTRADA.matcher(ruta).matches()
+                    || DISPONIBILIDAD.matcher(ruta).matches()
+                    || QR_ENTRADA.matcher(ruta).matches()));
+            bh.consume(publica || CABECERA.toLowerCase().startsWith("bearer "));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ClasificadorRutasBenchmark.class.getSimpleName()).build()).run();
+    }
+}
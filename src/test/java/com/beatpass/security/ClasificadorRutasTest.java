@@ -0,0 +1,115 @@
+package com.beatpass.security;
+
+import com.beatpass.web.AdminResource;
+import com.beatpass.web.AuthResource;
+import com.beatpass.web.EntradaResource;
+import com.beatpass.web.FestivalResource;
+import com.beatpass.web.PromotorResource;
+import com.beatpass.web.PublicVentaResource;
+import com.beatpass.web.PuntoVentaResource;
+import com.beatpass.web.UsuarioResource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClasificadorRutasTest {
+
+    // Los mismos recursos que registra ApplicationConfig
+    private final ClasificadorRutas clasificador = ClasificadorRutas.desdeRecursos(List.of(AdminResource.class,
+            AuthResource.class, EntradaResource.class, FestivalResource.class, PromotorResource.class,
+            PublicVentaResource.class, PuntoVentaResource.class, UsuarioResource.class));
+
+    @Test
+    void lasRutasPermitAllSonPublicas() {
+        assertPublica("POST", "auth/login");
+        assertPublica("POST", "auth/refresh");
+        assertPublica("GET", "festivales/publicados");
+        assertPublica("GET", "festivales/12");
+        assertPublica("GET", "festivales/12/tipos-entrada");
+        assertPublica("GET", "festivales/12/disponibilidad");
+        assertPublica("GET", "entradas/BEATPASS-TICKET-0f8c2a/qr");
+        assertPublica("GET", "entradas/BEATPASS-TICKET-0f8c2a/qr.png");
+    }
+
+    @Test
+    void laClasePermitAllHaceMetodosPublicos() {
+        assertPublica("POST", "public/venta/nominar/BEATPASS-TICKET-0f8c2a");
+        assertPublica("POST", "public/venta/iniciar-pago");
+        assertPublica("POST", "public/venta/confirmar-compra");
+        assertPublica("GET", "public/venta/entrada-qr/BEATPASS-TICKET-0f8c2a");
+    }
+
+    @Test
+    void lasRutasProtegidasParecidasNecesitanToken() {
+        assertProtegida("POST", "auth/logout");
+        assertProtegida("GET", "festivales/12/algo");
+        assertProtegida("GET", "festivales/publicados/12");
+        assertProtegida("GET", "festivales/mis-festivales"); // El literal gana a {id}
+        assertProtegida("GET", "entradas/BEATPASS-TICKET-0f8c2a");
+        assertProtegida("GET", "entradas/BEATPASS-TICKET-0f8c2a/qr/extra");
+        assertProtegida("GET", "promotor/festivales");
+        assertProtegida("GET", "promotor/festivales/12");
+        assertProtegida("GET", "promotor/festivales/12/tipos-entrada");
+        assertProtegida("POST", "promotor/panel/lote");
+        assertProtegida("GET", "pos/pulseras/04A1B2C3D4");
+        assertProtegida("POST", "pos/pulseras/04A1B2C3D4/consumir");
+        assertProtegida("GET", "pos/festivales/12/ocupacion");
+        assertProtegida("GET", "admin/festivales");
+        assertProtegida("GET", "admin/cache/estadisticas");
+        assertProtegida("GET", "usuarios/7");
+        assertProtegida("GET", "public");
+        assertProtegida("POST", "public/venta");
+        assertProtegida("GET", "rutas/inexistentes");
+        assertProtegida("GET", "");
+    }
+
+    @Test
+    void elMetodoHttpCuenta() {
+        assertProtegida("GET", "auth/login");
+        assertProtegida("PUT", "festivales/12");
+        assertProtegida("DELETE", "festivales/12");
+        assertProtegida("POST", "festivales/12/tipos-entrada");
+        assertProtegida("POST", "entradas/BEATPASS-TICKET-0f8c2a/qr.png");
+        assertProtegida("GET", "public/venta/iniciar-pago");
+        assertProtegida("TRACE", "festivales/12");
+        assertProtegida(null, "festivales/12");
+        // HEAD sigue las reglas de GET
+        assertPublica("HEAD", "festivales/12");
+        assertProtegida("HEAD", "festivales/mis-festivales");
+    }
+
+    @Test
+    void toleraBarrasInicialesFinalesYSegmentosVacios() {
+        assertPublica("POST", "/auth/login");
+        assertPublica("POST", "auth/login/");
+        assertPublica("GET", "//festivales//12//");
+        assertPublica("GET", "/festivales/12/tipos-entrada/");
+        assertProtegida("POST", "/auth/logout/");
+        assertProtegida("GET", "/festivales//12/algo");
+        assertProtegida("GET", "/");
+        assertProtegida("GET", null);
+    }
+
+    @Test
+    void distingueMayusculasComoJaxRs() {
+        // Las rutas de JAX-RS distinguen mayúsculas: una variante no declarada queda protegida
+        assertProtegida("POST", "AUTH/LOGIN");
+        assertProtegida("POST", "Auth/login");
+        assertProtegida("GET", "Festivales/publicados");
+        assertProtegida("GET", "entradas/BEATPASS-TICKET-0f8c2a/QR.png");
+        assertProtegida("get", "festivales/12");
+        // Los valores de las plantillas conservan su caso
+        assertPublica("GET", "entradas/beatpass-ticket-0F8C2A/qr");
+    }
+
+    private void assertPublica(String metodo, String ruta) {
+        assertTrue(clasificador.esPublica(metodo, ruta), metodo + " " + ruta + " debería ser pública");
+    }
+
+    private void assertProtegida(String metodo, String ruta) {
+        assertFalse(clasificador.esPublica(metodo, ruta), metodo + " " + ruta + " debería necesitar token");
+    }
+}
@@ -0,0 +1,301 @@
+package com.beatpass.service;
+
+import com.beatpass.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.RollbackException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Propagación de las unidades de trabajo de {@link AbstractService} sobre
+ * EntityManager y transacciones simulados: registran en {@code eventos} lo
+ * que les ocurre.
+ */
+class AbstractServiceTest {
+
+    private final List<String> eventos = new ArrayList<>();
+    private final List<EntityManager> creados = new ArrayList<>();
+    private final Map<EntityManager, Map<String, Object>> propiedades = new HashMap<>();
+    private final Servicio servicio = new Servicio();
+
+    private Field campoEmf;
+
+    /**
+     * Expone las operaciones protegidas de la clase base.
+     */
+    private static final class Servicio extends AbstractService {
+
+        <R> R leer(Function<EntityManager, R> operacion) {
+            return executeRead(operacion, "leer");
+        }
+
+        <R> R escribir(Function<EntityManager, R> operacion) {
+            return executeTransactional(operacion, "escribir");
+        }
+
+        <R> R escribirAparte(Function<EntityManager, R> operacion) {
+            return executeTransactional(operacion, "escribir aparte", Propagacion.REQUIRES_NEW);
+        }
+
+        static void despues(Runnable accion) {
+            trasConfirmar(accion);
+        }
+
+        static <R> R conLimite(long limiteNanos, Supplier<R> operacion) {
+            return conLimiteConsultas(limiteNanos, operacion);
+        }
+    }
+
+    @BeforeEach
+    void preparar() throws ReflectiveOperationException {
+        campoEmf = JPAUtil.class.getDeclaredField("emf");
+        campoEmf.setAccessible(true);
+        campoEmf.set(null, proxy(EntityManagerFactory.class, (metodo, args) -> {
+            if (metodo.equals("createEntityManager")) {
+                EntityManager em = nuevoEntityManager();
+                creados.add(em);
+                return em;
+            }
+            throw new UnsupportedOperationException(metodo);
+        }));
+    }
+
+    @AfterEach
+    void limpiar() throws ReflectiveOperationException {
+        campoEmf.set(null, null);
+    }
+
+    @Test
+    void lasOperacionesAnidadasSeUnenALaUnidadExterior() {
+        servicio.escribir(exterior -> {
+            assertSame(exterior, servicio.escribir(interior -> interior));
+            assertSame(exterior, servicio.leer(lectura -> lectura));
+            return null;
+        });
+
+        assertEquals(1, creados.size());
+        assertEquals(List.of("em1.begin", "em1.commit", "em1.close"), eventos);
+    }
+
+    @Test
+    void unErrorInternoCapturadoMarcaLaTransaccionParaRollback() {
+        List<String> acciones = new ArrayList<>();
+
+        assertThrows(RollbackException.class, () -> servicio.escribir(em -> {
+            Servicio.despues(() -> acciones.add("exterior"));
+            try {
+                servicio.escribir(interior -> {
+                    throw new IllegalStateException("fallo interno");
+                });
+            } catch (IllegalStateException e) {
+                // El llamante lo captura, pero la transacción ya no puede confirmarse
+            }
+            return null;
+        }));
+
+        assertEquals(List.of("em1.begin", "em1.setRollbackOnly", "em1.rollback", "em1.close"), eventos);
+        assertTrue(acciones.isEmpty());
+    }
+
+    @Test
+    void requiresNewSuspendeLaUnidadExteriorYLaRestaura() {
+        List<String> acciones = new ArrayList<>();
+
+        servicio.escribir(exterior -> {
+            EntityManager aparte = servicio.escribirAparte(interior -> {
+                assertSame(interior, servicio.escribir(anidada -> anidada)); // Se une a la nueva
+                Servicio.despues(() -> acciones.add("aparte"));
+                return interior;
+            });
+            assertNotSame(exterior, aparte);
+            assertEquals(List.of("aparte"), acciones); // Confirmada ya, antes que la exterior
+            assertSame(exterior, servicio.escribir(restaurada -> restaurada));
+            Servicio.despues(() -> acciones.add("exterior"));
+            return null;
+        });
+
+        assertEquals(List.of("em1.begin", "em2.begin", "em2.commit", "em2.close", "em1.commit", "em1.close"), eventos);
+        assertEquals(List.of("aparte", "exterior"), acciones);
+    }
+
+    @Test
+    void requiresNewSeConfirmaAunqueLaExteriorSeRevierta() {
+        assertThrows(IllegalStateException.class, () -> servicio.escribir(em -> {
+            servicio.escribirAparte(interior -> null);
+            throw new IllegalStateException("fallo exterior");
+        }));
+
+        assertEquals(List.of("em1.begin", "em2.begin", "em2.commit", "em2.close", "em1.rollback", "em1.close"), eventos);
+    }
+
+    @Test
+    void trasConfirmarEsperaAlCommit() {
+        List<String> acciones = new ArrayList<>();
+
+        servicio.escribir(em -> {
+            Servicio.despues(() -> acciones.add("tras commit"));
+            assertTrue(acciones.isEmpty());
+            assertFalse(eventos.contains("em1.commit"));
+            return null;
+        });
+
+        assertEquals(List.of("tras commit"), acciones);
+    }
+
+    @Test
+    void trasConfirmarSeDescartaSiHayRollback() {
+        List<String> acciones = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> servicio.escribir(em -> {
+            Servicio.despues(() -> acciones.add("no debe ejecutarse"));
+            throw new IllegalStateException("fallo");
+        }));
+
+        assertTrue(acciones.isEmpty());
+    }
+
+    @Test
+    void trasConfirmarSinTransaccionSeEjecutaAlMomento() {
+        List<String> acciones = new ArrayList<>();
+
+        Servicio.despues(() -> acciones.add("sin unidad"));
+        assertEquals(List.of("sin unidad"), acciones);
+
+        servicio.leer(em -> {
+            Servicio.despues(() -> acciones.add("en lectura"));
+            assertEquals(List.of("sin unidad", "en lectura"), acciones);
+            return null;
+        });
+    }
+
+    @Test
+    void unErrorTrasConfirmarNoAfectaALaOperacion() {
+        List<String> acciones = new ArrayList<>();
+
+        String resultado = servicio.escribir(em -> {
+            Servicio.despues(() -> {
+                throw new IllegalStateException("fallo posterior");
+            });
+            Servicio.despues(() -> acciones.add("siguiente"));
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(List.of("siguiente"), acciones);
+    }
+
+    @Test
+    void elLimiteDeConsultasAnidadoRestauraElExterior() {
+        long ahora = System.nanoTime();
+        long exterior = ahora + TimeUnit.SECONDS.toNanos(60);
+
+        Servicio.conLimite(exterior, () -> {
+            Servicio.conLimite(ahora + TimeUnit.SECONDS.toNanos(1), () -> servicio.leer(em -> null));
+            Servicio.conLimite(ahora + TimeUnit.SECONDS.toNanos(600), () -> servicio.leer(em -> null));
+            return servicio.leer(em -> null);
+        });
+        servicio.leer(em -> null);
+
+        assertTrue(timeout(0) <= 1000);
+        assertTrue(timeout(1) > 30_000 && timeout(1) <= 60_000, "No puede alargar el límite exterior");
+        assertTrue(timeout(2) > 30_000 && timeout(2) <= 60_000, "Debe restaurar el límite exterior");
+        assertFalse(propiedades.get(creados.get(3)).containsKey("jakarta.persistence.query.timeout"));
+    }
+
+    private long timeout(int indice) {
+        return ((Number) propiedades.get(creados.get(indice)).get("jakarta.persistence.query.timeout")).longValue();
+    }
+
+    private EntityManager nuevoEntityManager() {
+        String nombre = "em" + (creados.size() + 1);
+        boolean[] abierto = {true};
+        boolean[] activa = {false};
+        boolean[] soloRollback = {false};
+        Map<String, Object> props = new HashMap<>();
+        EntityTransaction tx = proxy(EntityTransaction.class, (metodo, args) -> {
+            switch (metodo) {
+                case "begin" -> activa[0] = true;
+                case "isActive" -> {
+                    return activa[0];
+                }
+                case "setRollbackOnly" -> soloRollback[0] = true;
+                case "getRollbackOnly" -> {
+                    return soloRollback[0];
+                }
+                case "commit" -> {
+                    activa[0] = false;
+                    if (soloRollback[0]) {
+                        eventos.add(nombre + ".rollback");
+                        throw new RollbackException("Transacción marcada para rollback");
+                    }
+                }
+                case "rollback" -> activa[0] = false;
+                default -> throw new UnsupportedOperationException(metodo);
+            }
+            if (!metodo.equals("isActive")) {
+                eventos.add(nombre + "." + metodo);
+            }
+            return null;
+        });
+        EntityManager em = proxy(EntityManager.class, (metodo, args) -> {
+            switch (metodo) {
+                case "getTransaction" -> {
+                    return tx;
+                }
+                case "isOpen" -> {
+                    return abierto[0];
+                }
+                case "close" -> {
+                    abierto[0] = false;
+                    eventos.add(nombre + ".close");
+                    return null;
+                }
+                case "setProperty" -> {
+                    props.put((String) args[0], args[1]);
+                    return null;
+                }
+                case "toString" -> {
+                    return nombre;
+                }
+                default -> throw new UnsupportedOperationException(metodo);
+            }
+        });
+        propiedades.put(em, props);
+        return em;
+    }
+
+    @FunctionalInterface
+    private interface Manejador {
+
+        Object invocar(String metodo, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, Manejador manejador) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (p, metodo, args) -> switch (metodo.getName()) {
+            case "hashCode" -> System.identityHashCode(p);
+            case "equals" -> p == args[0];
+            default -> manejador.invocar(metodo.getName(), args);
+        });
+    }
+}
@@ -0,0 +1,300 @@
+package com.beatpass.service;
+
+import com.beatpass.dto.CompraDTO;
+import com.beatpass.dto.EntradaDTO;
+import com.beatpass.dto.PaginaDTO;
+import com.beatpass.dto.PulseraNFCDTO;
+import com.beatpass.model.Asistente;
+import com.beatpass.model.Compra;
+import com.beatpass.model.CompraEntrada;
+import com.beatpass.model.Comprador;
+import com.beatpass.model.Entrada;
+import com.beatpass.model.EstadoFestival;
+import com.beatpass.model.Festival;
+import com.beatpass.model.PulseraNFC;
+import com.beatpass.model.RolUsuario;
+import com.beatpass.model.TipoEntrada;
+import com.beatpass.model.Usuario;
+import com.beatpass.repository.CompraRepositoryImpl;
+import com.beatpass.repository.ConsumoRepositoryImpl;
+import com.beatpass.repository.EntradaRepositoryImpl;
+import com.beatpass.repository.FestivalRepositoryImpl;
+import com.beatpass.repository.PulseraNFCRepositoryImpl;
+import com.beatpass.repository.RecargaRepositoryImpl;
+import com.beatpass.repository.UsuarioRepositoryImpl;
+import com.beatpass.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Número de sentencias SQL de los listados por festival, medido con las
+ * estadísticas de Hibernate sobre la unidad de persistencia real en una base
+ * H2 en memoria (esquema create-drop, sin caché de segundo nivel). Cada
+ * listado debe lanzar las mismas sentencias con pocas filas que con muchas:
+ * ninguna asociación se carga fila a fila.
+ */
+class ConsultasListadosTest {
+
+    private EntityManagerFactory emf;
+    private Field campoEmf;
+    private int secuencia;
+
+    private Usuario admin;
+    private Festival festival;
+    private Festival otroFestival;
+    private TipoEntrada general;
+    private TipoEntrada vip;
+    private TipoEntrada otroGeneral;
+
+    @BeforeEach
+    void preparar() throws ReflectiveOperationException {
+        Map<String, Object> propiedades = new HashMap<>();
+        propiedades.put("jakarta.persistence.jdbc.url", "jdbc:h2:mem:listados-" + UUID.randomUUID() + ";MODE=MariaDB;DB_CLOSE_DELAY=-1");
+        propiedades.put("jakarta.persistence.jdbc.user", "sa");
+        propiedades.put("jakarta.persistence.jdbc.password", "");
+        propiedades.put("hibernate.hbm2ddl.auto", "create-drop");
+        propiedades.put("hibernate.hikari.maximumPoolSize", "2");
+        propiedades.put("hibernate.hikari.minimumIdle", "1");
+        // Sin caché de segundo nivel: cada lectura debe llegar a la base de datos
+        propiedades.put("hibernate.cache.use_second_level_cache", "false");
+        propiedades.put("jakarta.persistence.sharedCache.mode", "NONE");
+        propiedades.put("hibernate.generate_statistics", "true");
+        emf = Persistence.createEntityManagerFactory("beatpassPersistenceUnit", propiedades);
+
+        campoEmf = JPAUtil.class.getDeclaredField("emf");
+        campoEmf.setAccessible(true);
+        campoEmf.set(null, emf);
+
+        enTransaccion(em -> {
+            admin = usuario(em, RolUsuario.ADMIN);
+            Usuario promotor = usuario(em, RolUsuario.PROMOTOR);
+            festival = festival(em, promotor);
+            otroFestival = festival(em, promotor);
+            general = tipo(em, festival, "General");
+            vip = tipo(em, festival, "VIP");
+            otroGeneral = tipo(em, otroFestival, "General");
+        });
+    }
+
+    @AfterEach
+    void limpiar() throws ReflectiveOperationException {
+        if (campoEmf != null) {
+            campoEmf.set(null, null);
+        }
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    void lasEntradasSeProyectanEnUnaSolaSentencia() {
+        EntradaRepositoryImpl repositorio = new EntradaRepositoryImpl();
+        poblar(2);
+
+        Integer idFestival = festival.getIdFestival();
+        List<?>[] listados = new List<?>[2];
+        long sentenciasPocas = contarSentencias(() -> listados[0] = leer(em -> repositorio.findDTOsByFestivalId(em, idFestival, null, 1000)));
+        poblar(30);
+        long sentenciasMuchas = contarSentencias(() -> listados[1] = leer(em -> repositorio.findDTOsByFestivalId(em, idFestival, null, 1000)));
+
+        assertEquals(4, listados[0].size());
+        assertEquals(64, listados[1].size());
+        assertEquals(1, sentenciasPocas);
+        assertEquals(sentenciasPocas, sentenciasMuchas);
+        for (Object item : listados[1]) {
+            EntradaDTO entrada = (EntradaDTO) item;
+            assertEquals(festival.getIdFestival(), entrada.getIdFestival()); // Sin las del otro festival
+            assertNotNull(entrada.getNombreAsistente());
+            assertNotNull(entrada.getCodigoUidPulsera());
+            assertNotNull(entrada.getTipoEntradaOriginal());
+        }
+    }
+
+    @Test
+    void lasPaginasDeComprasTienenSentenciasConstantes() {
+        CompraServiceImpl servicio = new CompraServiceImpl(new CompraRepositoryImpl(), new FestivalRepositoryImpl(), new UsuarioRepositoryImpl());
+        poblar(2);
+        servicio.obtenerComprasPorFestival(festival.getIdFestival(), admin.getIdUsuario(), null, 10); // Carga los permisos
+
+        PaginaDTO<?>[] paginas = new PaginaDTO<?>[3];
+        long sentenciasPocas = contarSentencias(() -> paginas[0] = servicio.obtenerComprasPorFestival(festival.getIdFestival(), admin.getIdUsuario(), null, 10));
+        poblar(30);
+        long sentenciasMuchas = contarSentencias(() -> paginas[1] = servicio.obtenerComprasPorFestival(festival.getIdFestival(), admin.getIdUsuario(), null, 10));
+        long sentenciasSegunda = contarSentencias(() -> paginas[2] = servicio.obtenerComprasPorFestival(festival.getIdFestival(), admin.getIdUsuario(), paginas[1].getSiguienteCursor(), 10));
+
+        assertEquals(2, paginas[0].getItems().size());
+        assertNull(paginas[0].getSiguienteCursor());
+        assertEquals(10, paginas[1].getItems().size());
+        assertEquals(10, paginas[2].getItems().size());
+        // Lectura del festival + proyección de la página + resumen de líneas de todas sus compras
+        long sentenciasFestival = contarSentencias(() -> leer(em -> new FestivalRepositoryImpl().findById(em, festival.getIdFestival())));
+        assertEquals(sentenciasFestival + 2, sentenciasPocas);
+        assertEquals(sentenciasPocas, sentenciasMuchas);
+        assertEquals(sentenciasPocas, sentenciasSegunda);
+        for (Object item : paginas[1].getItems()) {
+            CompraDTO compra = (CompraDTO) item;
+            assertNotNull(compra.getEmailComprador());
+            assertEquals(1, compra.getResumenEntradas().size());
+            assertTrue(compra.getResumenEntradas().get(0).startsWith("2 x "));
+        }
+    }
+
+    @Test
+    void lasPaginasDePulserasTienenSentenciasConstantes() {
+        PulseraNFCServiceImpl servicio = new PulseraNFCServiceImpl(new PulseraNFCRepositoryImpl(), new EntradaRepositoryImpl(),
+                new FestivalRepositoryImpl(), new RecargaRepositoryImpl(), new ConsumoRepositoryImpl(), null);
+        poblar(2);
+        servicio.obtenerPulserasPorFestival(festival.getIdFestival(), admin.getIdUsuario(), null, 10); // Carga los permisos
+
+        PaginaDTO<?>[] paginas = new PaginaDTO<?>[2];
+        long sentenciasPocas = contarSentencias(() -> paginas[0] = servicio.obtenerPulserasPorFestival(festival.getIdFestival(), admin.getIdUsuario(), null, 10));
+        poblar(30);
+        long sentenciasMuchas = contarSentencias(() -> paginas[1] = servicio.obtenerPulserasPorFestival(festival.getIdFestival(), admin.getIdUsuario(), null, 10));
+
+        assertEquals(4, paginas[0].getItems().size());
+        assertEquals(10, paginas[1].getItems().size());
+        assertEquals(1, sentenciasPocas);
+        assertEquals(sentenciasPocas, sentenciasMuchas);
+        for (Object item : paginas[1].getItems()) {
+            PulseraNFCDTO pulsera = (PulseraNFCDTO) item;
+            assertEquals(festival.getIdFestival(), pulsera.getIdFestival());
+            assertNotNull(pulsera.getQrEntrada());
+            assertNotNull(pulsera.getNombreAsistente());
+        }
+    }
+
+    /**
+     * Añade {@code compras} compras al festival (y una al otro festival). Cada
+     * compra tiene una línea de 2 entradas, cada una con asistente y pulsera.
+     */
+    private void poblar(int compras) {
+        enTransaccion(em -> {
+            for (int i = 0; i < compras; i++) {
+                comprar(em, i % 2 == 0 ? general : vip);
+            }
+            comprar(em, otroGeneral);
+        });
+    }
+
+    private void comprar(EntityManager em, TipoEntrada tipo) {
+        int n = ++secuencia;
+        Comprador comprador = new Comprador();
+        comprador.setNombre("Comprador " + n);
+        comprador.setEmail("comprador" + n + "@beatpass.test");
+        em.persist(comprador);
+
+        Compra compra = new Compra();
+        compra.setComprador(comprador);
+        compra.setTotal(new BigDecimal("100.00"));
+        compra.setEstadoPago("PAGADO");
+        em.persist(compra);
+
+        CompraEntrada linea = new CompraEntrada();
+        linea.setCompra(compra);
+        linea.setTipoEntrada(em.getReference(TipoEntrada.class, tipo.getIdTipoEntrada()));
+        linea.setCantidad(2);
+        linea.setPrecioUnitario(new BigDecimal("50.00"));
+        em.persist(linea);
+
+        for (int j = 0; j < 2; j++) {
+            Asistente asistente = new Asistente();
+            asistente.setNombre("Asistente " + n + "-" + j);
+            asistente.setEmail("asistente" + n + "-" + j + "@beatpass.test");
+            em.persist(asistente);
+
+            Entrada entrada = new Entrada();
+            entrada.setCodigoQr("BEATPASS-TICKET-" + n + "-" + j);
+            entrada.setCompraEntrada(linea);
+            entrada.setAsistente(asistente);
+            em.persist(entrada);
+
+            PulseraNFC pulsera = new PulseraNFC();
+            pulsera.setCodigoUid("UID-" + n + "-" + j);
+            pulsera.setEntrada(entrada);
+            pulsera.setFestival(em.getReference(Festival.class, tipo.getFestival().getIdFestival()));
+            em.persist(pulsera);
+        }
+    }
+
+    private Usuario usuario(EntityManager em, RolUsuario rol) {
+        Usuario usuario = new Usuario();
+        usuario.setNombre(rol.name());
+        usuario.setEmail(rol.name().toLowerCase() + "@beatpass.test");
+        usuario.setPassword("$2a$10$hash");
+        usuario.setRol(rol);
+        em.persist(usuario);
+        return usuario;
+    }
+
+    private Festival festival(EntityManager em, Usuario promotor) {
+        Festival nuevo = new Festival();
+        nuevo.setNombre("Festival " + (++secuencia));
+        nuevo.setFechaInicio(LocalDate.of(2026, 7, 10));
+        nuevo.setFechaFin(LocalDate.of(2026, 7, 12));
+        nuevo.setEstado(EstadoFestival.PUBLICADO);
+        nuevo.setPromotor(promotor);
+        em.persist(nuevo);
+        return nuevo;
+    }
+
+    private TipoEntrada tipo(EntityManager em, Festival festivalTipo, String nombre) {
+        TipoEntrada nuevo = new TipoEntrada();
+        nuevo.setTipo(nombre);
+        nuevo.setPrecio(new BigDecimal("50.00"));
+        nuevo.setStock(1000);
+        nuevo.setFestival(festivalTipo);
+        em.persist(nuevo);
+        return nuevo;
+    }
+
+    private long contarSentencias(Runnable listado) {
+        Statistics estadisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        listado.run();
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    private <R> R leer(Function<EntityManager, R> lectura) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return lectura.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+
+    private void enTransaccion(Consumer<EntityManager> escritura) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            escritura.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.beatpass.util;
+
+import com.beatpass.util.BandasDisponibilidad.Banda;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BandasDisponibilidadTest {
+
+    private static final int FESTIVAL = 1;
+    private static final int OTRO_FESTIVAL = 2;
+    private static final int GENERAL = 10;
+    private static final int VIP = 11;
+
+    private final BandasDisponibilidad bandas = new BandasDisponibilidad(20);
+
+    @Test
+    void lasBandasRespetanElUmbral() {
+        refrescar(Map.of(FESTIVAL, Map.of(1, -1, 2, 0, 3, 1, 4, 20, 5, 21)));
+
+        assertEquals(Map.of(1, Banda.AGOTADO, 2, Banda.AGOTADO, 3, Banda.ULTIMAS, 4, Banda.ULTIMAS, 5, Banda.DISPONIBLE),
+                bandas(FESTIVAL));
+    }
+
+    @Test
+    void conUmbralCeroNoHayUltimasEntradas() {
+        BandasDisponibilidad sinUltimas = new BandasDisponibilidad(0);
+        sinUltimas.aplicarRefresco(sinUltimas.inicioRefresco(), Map.of(FESTIVAL, Map.of(GENERAL, 0, VIP, 1)));
+
+        assertEquals(Map.of(GENERAL, Banda.AGOTADO, VIP, Banda.DISPONIBLE), sinUltimas.obtener(FESTIVAL).orElseThrow().bandas());
+    }
+
+    @Test
+    void laVersionSoloCambiaSiCambiaUnaBanda() {
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 500, VIP, 30)));
+        long inicial = version(FESTIVAL);
+
+        bandas.actualizar(FESTIVAL, GENERAL, 499); // Sigue DISPONIBLE
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 498, VIP, 25)));
+        assertEquals(inicial, version(FESTIVAL));
+
+        bandas.actualizar(FESTIVAL, VIP, 20); // Pasa a ULTIMAS
+        long trasVenta = version(FESTIVAL);
+        assertNotEquals(inicial, trasVenta);
+
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 498, VIP, 0))); // Pasa a AGOTADO
+        assertNotEquals(trasVenta, version(FESTIVAL));
+        assertTrue(version(FESTIVAL) > trasVenta);
+    }
+
+    @Test
+    void unTipoNuevoOEliminadoCambiaLaVersion() {
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 500)));
+        long inicial = version(FESTIVAL);
+
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 500, VIP, 50)));
+        long conVip = version(FESTIVAL);
+        refrescar(Map.of(FESTIVAL, Map.of(VIP, 50)));
+
+        assertNotEquals(inicial, conVip);
+        assertNotEquals(conVip, version(FESTIVAL));
+        assertEquals(Map.of(VIP, Banda.DISPONIBLE), bandas(FESTIVAL));
+    }
+
+    @Test
+    void unRefrescoIniciadoAntesNoPisaUnaActualizacionPosterior() {
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 30, VIP, 30)));
+
+        long inicio = bandas.inicioRefresco();
+        // Mientras el refresco lee, se confirma una venta que agota GENERAL
+        bandas.actualizar(FESTIVAL, GENERAL, 0);
+        bandas.aplicarRefresco(inicio, Map.of(FESTIVAL, Map.of(GENERAL, 30, VIP, 5)));
+
+        assertEquals(Map.of(GENERAL, Banda.AGOTADO, VIP, Banda.ULTIMAS), bandas(FESTIVAL));
+
+        // El siguiente refresco ya lee el stock confirmado
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 2, VIP, 5)));
+        assertEquals(Map.of(GENERAL, Banda.ULTIMAS, VIP, Banda.ULTIMAS), bandas(FESTIVAL));
+    }
+
+    @Test
+    void unaActualizacionAnteriorAlRefrescoSeSustituyePorLoLeido() {
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 30)));
+        bandas.actualizar(FESTIVAL, GENERAL, 0);
+
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 30))); // Cancelación leída tras el commit
+
+        assertEquals(Map.of(GENERAL, Banda.DISPONIBLE), bandas(FESTIVAL));
+    }
+
+    @Test
+    void losFestivalesDespublicadosSeEliminanAlRefrescar() {
+        refrescar(Map.of(FESTIVAL, Map.of(GENERAL, 30), OTRO_FESTIVAL, Map.of(VIP, 30)));
+        assertEquals(2, bandas.numeroFestivales());
+
+        refrescar(Map.of(OTRO_FESTIVAL, Map.of(VIP, 30)));
+
+        assertFalse(bandas.obtener(FESTIVAL).isPresent());
+        assertTrue(bandas.obtener(OTRO_FESTIVAL).isPresent());
+        assertEquals(1, bandas.numeroFestivales());
+    }
+
+    @Test
+    void lasActualizacionesDeFestivalesNoCargadosSeIgnoran() {
+        assertFalse(bandas.isCargado());
+        bandas.actualizar(FESTIVAL, GENERAL, 5);
+        assertFalse(bandas.obtener(FESTIVAL).isPresent());
+
+        refrescar(Map.of());
+        bandas.actualizar(FESTIVAL, GENERAL, 5);
+
+        assertTrue(bandas.isCargado());
+        assertEquals(0, bandas.numeroFestivales());
+    }
+
+    private void refrescar(Map<Integer, Map<Integer, Integer>> stockPorFestival) {
+        bandas.aplicarRefresco(bandas.inicioRefresco(), stockPorFestival);
+    }
+
+    private Map<Integer, Banda> bandas(int idFestival) {
+        return bandas.obtener(idFestival).orElseThrow().bandas();
+    }
+
+    private long version(int idFestival) {
+        return bandas.obtener(idFestival).orElseThrow().version();
+    }
+}
@@ -0,0 +1,159 @@
+package com.beatpass.util;
+
+import com.beatpass.model.RolUsuario;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachePermisosFestivalTest {
+
+    private static final int PROMOTOR_A = 10;
+    private static final int PROMOTOR_B = 20;
+    private static final int ADMIN = 1;
+    private static final int FESTIVAL_A = 100;
+    private static final int FESTIVAL_B = 200;
+
+    // "Base de datos": rol de los usuarios activos y dueño de cada festival
+    private final Map<Integer, RolUsuario> roles = new HashMap<>(Map.of(
+            ADMIN, RolUsuario.ADMIN, PROMOTOR_A, RolUsuario.PROMOTOR, PROMOTOR_B, RolUsuario.PROMOTOR));
+    private final Map<Integer, Integer> duenos = new HashMap<>(Map.of(FESTIVAL_A, PROMOTOR_A, FESTIVAL_B, PROMOTOR_B));
+    private final AtomicInteger lecturasRol = new AtomicInteger();
+    private final AtomicInteger lecturasPromotor = new AtomicInteger();
+
+    @Test
+    void unAciertoNoVuelveALeer() {
+        CachePermisosFestival cache = new CachePermisosFestival(100, 60);
+
+        assertTrue(permitido(cache, PROMOTOR_A, FESTIVAL_A));
+        assertTrue(permitido(cache, PROMOTOR_A, FESTIVAL_A));
+        assertTrue(permitido(cache, ADMIN, FESTIVAL_A));
+
+        assertEquals(2, lecturasRol.get());
+        assertEquals(1, lecturasPromotor.get()); // El ADMIN no necesita el dueño
+    }
+
+    @Test
+    void invalidarElActorSoloVuelveALeerSuRol() {
+        CachePermisosFestival cache = new CachePermisosFestival(100, 60);
+        permitido(cache, PROMOTOR_A, FESTIVAL_A);
+        permitido(cache, PROMOTOR_B, FESTIVAL_B);
+
+        roles.put(PROMOTOR_A, RolUsuario.CAJERO);
+        assertTrue(permitido(cache, PROMOTOR_A, FESTIVAL_A)); // Aún con el rol guardado
+        cache.invalidarActor(PROMOTOR_A);
+
+        assertFalse(permitido(cache, PROMOTOR_A, FESTIVAL_A));
+        assertTrue(permitido(cache, PROMOTOR_B, FESTIVAL_B));
+        assertEquals(3, lecturasRol.get());
+        assertEquals(2, lecturasPromotor.get());
+    }
+
+    @Test
+    void invalidarElFestivalVuelveALeerSuDueno() {
+        CachePermisosFestival cache = new CachePermisosFestival(100, 60);
+        assertTrue(permitido(cache, PROMOTOR_A, FESTIVAL_A));
+
+        duenos.put(FESTIVAL_A, PROMOTOR_B);
+        cache.invalidarFestival(FESTIVAL_A);
+
+        assertFalse(permitido(cache, PROMOTOR_A, FESTIVAL_A));
+        assertTrue(permitido(cache, PROMOTOR_B, FESTIVAL_A));
+        assertEquals(2, lecturasPromotor.get());
+    }
+
+    @Test
+    void losDatosCaducan() throws InterruptedException {
+        CachePermisosFestival cache = new CachePermisosFestival(100, 1);
+        permitido(cache, PROMOTOR_A, FESTIVAL_A);
+
+        Thread.sleep(1100);
+        permitido(cache, PROMOTOR_A, FESTIVAL_A);
+
+        assertEquals(2, lecturasRol.get());
+        assertEquals(2, lecturasPromotor.get());
+    }
+
+    @Test
+    void unPromotorConDuenoGuardadoNoAccedeAFestivalesAjenos() {
+        CachePermisosFestival cache = new CachePermisosFestival(100, 60);
+        assertTrue(permitido(cache, PROMOTOR_A, FESTIVAL_A));
+        assertTrue(permitido(cache, PROMOTOR_B, FESTIVAL_B));
+
+        assertFalse(permitido(cache, PROMOTOR_A, FESTIVAL_B));
+        assertFalse(permitido(cache, PROMOTOR_B, FESTIVAL_A));
+        assertEquals(CachePermisosFestival.SIN_PROMOTOR, cache.promotor(300, id -> CachePermisosFestival.SIN_PROMOTOR));
+        assertFalse(permitido(cache, PROMOTOR_A, 300));
+    }
+
+    @Test
+    void unUsuarioDesactivadoPierdeElAccesoTrasInvalidar() {
+        CachePermisosFestival cache = new CachePermisosFestival(100, 60);
+        assertTrue(permitido(cache, ADMIN, FESTIVAL_B));
+
+        roles.remove(ADMIN); // Desactivado: el cargador ya no devuelve su rol
+        cache.invalidarActor(ADMIN);
+
+        assertFalse(permitido(cache, ADMIN, FESTIVAL_B));
+        assertNull(cache.rol(ADMIN, this::leerRol)); // Los inexistentes no se guardan
+        assertEquals(3, lecturasRol.get());
+    }
+
+    @Test
+    void unaCargaQueCoincideConUnaInvalidacionNoSeConserva() {
+        CachePermisosFestival cache = new CachePermisosFestival(100, 60);
+
+        RolUsuario leido = cache.rol(PROMOTOR_A, id -> {
+            cache.invalidarActor(PROMOTOR_B); // Otro commit termina durante la lectura
+            return leerRol(id);
+        });
+        assertEquals(RolUsuario.PROMOTOR, leido);
+        assertEquals(0, cache.size());
+
+        cache.rol(PROMOTOR_A, this::leerRol);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void alLlenarseSeVacia() {
+        CachePermisosFestival cache = new CachePermisosFestival(2, 60);
+        cache.rol(ADMIN, this::leerRol);
+        cache.rol(PROMOTOR_A, this::leerRol);
+
+        cache.rol(PROMOTOR_B, this::leerRol);
+
+        assertEquals(1, cache.size());
+        assertEquals(RolUsuario.ADMIN, cache.rol(ADMIN, this::leerRol));
+        assertEquals(4, lecturasRol.get());
+    }
+
+    /**
+     * La misma decisión que AbstractService.verificarPermisoSobreFestival:
+     * ADMIN o PROMOTOR dueño.
+     */
+    private boolean permitido(CachePermisosFestival cache, int idActor, int idFestival) {
+        RolUsuario rol = cache.rol(idActor, this::leerRol);
+        if (rol == RolUsuario.ADMIN) {
+            return true;
+        }
+        if (rol != RolUsuario.PROMOTOR) {
+            return false;
+        }
+        Integer promotor = cache.promotor(idFestival, id -> {
+            lecturasPromotor.incrementAndGet();
+            return duenos.getOrDefault(id, CachePermisosFestival.SIN_PROMOTOR);
+        });
+        return promotor != null && promotor == idActor;
+    }
+
+    private RolUsuario leerRol(Integer idActor) {
+        lecturasRol.incrementAndGet();
+        return roles.get(idActor);
+    }
+}
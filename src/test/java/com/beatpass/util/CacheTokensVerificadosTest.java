@@ -0,0 +1,95 @@
+package com.beatpass.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CacheTokensVerificadosTest {
+
+    private static final long HORA_MS = 3_600_000L;
+
+    @Test
+    void devuelveLosClaimsDeUnTokenVigente() {
+        CacheTokensVerificados cache = new CacheTokensVerificados(10);
+        Claims claims = claims(HORA_MS);
+
+        cache.guardar("token-a", claims);
+
+        assertSame(claims, cache.obtener("token-a"));
+        assertNull(cache.obtener("token-b"));
+    }
+
+    @Test
+    void unTokenCaducadoNoSeDevuelveYSeElimina() {
+        CacheTokensVerificados cache = new CacheTokensVerificados(10);
+        cache.guardar("token-a", claims(-1000));
+
+        assertNull(cache.obtener("token-a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void noGuardaTokensSinExpiracion() {
+        CacheTokensVerificados cache = new CacheTokensVerificados(10);
+        cache.guardar("token-a", Jwts.claims().setSubject("42"));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void llenaNoAdmiteTokensNuevosYConservaLosExistentes() {
+        CacheTokensVerificados cache = new CacheTokensVerificados(2);
+        Claims primero = claims(HORA_MS);
+        cache.guardar("token-a", primero);
+        cache.guardar("token-b", claims(HORA_MS));
+
+        cache.guardar("token-c", claims(HORA_MS));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.obtener("token-c"));
+        assertSame(primero, cache.obtener("token-a"));
+    }
+
+    @Test
+    void llenaPurgaLasCaducadasParaHacerSitio() {
+        CacheTokensVerificados cache = new CacheTokensVerificados(2);
+        cache.guardar("caducado", claims(-1000));
+        cache.guardar("token-a", claims(HORA_MS));
+        Claims nuevo = claims(HORA_MS);
+
+        cache.guardar("token-b", nuevo);
+
+        assertEquals(2, cache.size());
+        assertSame(nuevo, cache.obtener("token-b"));
+    }
+
+    @Test
+    void eliminarYLimpiarVacianLaCache() {
+        CacheTokensVerificados cache = new CacheTokensVerificados(10);
+        cache.guardar("token-a", claims(HORA_MS));
+        cache.guardar("token-b", claims(HORA_MS));
+
+        cache.eliminar("token-a");
+        assertNull(cache.obtener("token-a"));
+        assertEquals(1, cache.size());
+
+        cache.limpiar();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void rechazaUnTamanoNoPositivo() {
+        assertThrows(IllegalArgumentException.class, () -> new CacheTokensVerificados(0));
+    }
+
+    private static Claims claims(long expiraEnMs) {
+        return Jwts.claims().setSubject("42").setExpiration(new Date(System.currentTimeMillis() + expiraEnMs));
+    }
+}
@@ -0,0 +1,65 @@
+package com.beatpass.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompresionTest {
+
+    private static final byte[] CONTENIDO = "{\"festival\":\"Beatpass\",\"aforo\":12000}".repeat(200)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void gzipConDeflaterPropioSeDescomprime() throws IOException {
+        byte[] comprimido = comprimir(Compresion.GZIP);
+        try (InputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            assertArrayEquals(CONTENIDO, entrada.readAllBytes());
+        }
+    }
+
+    @Test
+    void deflateConDeflaterPropioSeDescomprime() throws IOException {
+        byte[] comprimido = comprimir(Compresion.DEFLATE);
+        try (InputStream entrada = new InflaterInputStream(new ByteArrayInputStream(comprimido))) {
+            assertArrayEquals(CONTENIDO, entrada.readAllBytes());
+        }
+    }
+
+    @Test
+    void negociaSegunLosValoresQ() {
+        assertEquals(Compresion.GZIP, Compresion.negociar("deflate, gzip"));
+        assertEquals(Compresion.DEFLATE, Compresion.negociar("gzip;q=0.5, deflate"));
+        assertEquals(Compresion.GZIP, Compresion.negociar("*"));
+        assertNull(Compresion.negociar("gzip;q=0, br"));
+        assertNull(Compresion.negociar(null));
+    }
+
+    private static byte[] comprimir(String codificacion) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        Deflater deflater = Compresion.nuevoDeflater(codificacion);
+        try {
+            DeflaterOutputStream compresor = Compresion.comprimir(codificacion, salida, deflater);
+            // Escrituras parciales con flush intermedio, como en una respuesta en streaming
+            compresor.write(CONTENIDO, 0, 100);
+            compresor.flush();
+            compresor.write(CONTENIDO, 100, CONTENIDO.length - 100);
+            compresor.finish();
+            compresor.finish();
+        } finally {
+            deflater.end();
+        }
+        return salida.toByteArray();
+    }
+}
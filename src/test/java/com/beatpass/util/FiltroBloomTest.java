@@ -0,0 +1,66 @@
+package com.beatpass.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FiltroBloomTest {
+
+    @Test
+    void noDaFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filtro.agregar("codigo-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filtro.puedeContener("codigo-" + i));
+        }
+    }
+
+    @Test
+    void respetaLaTasaDeFalsosPositivosHastaLaCapacidad() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.agregar("presente-" + i);
+        }
+        int falsosPositivos = 0;
+        int consultas = 100_000;
+        for (int i = 0; i < consultas; i++) {
+            if (filtro.puedeContener("ausente-" + i)) {
+                falsosPositivos++;
+            }
+        }
+        // Margen sobre el 1 % teórico para no depender de la dispersión del hash
+        assertTrue(falsosPositivos < consultas * 0.02, "Falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    void capacidadMinimaFunciona() {
+        FiltroBloom filtro = new FiltroBloom(1, 0.5);
+        filtro.agregar("unico");
+        assertTrue(filtro.puedeContener("unico"));
+        assertEquals(1, filtro.getCapacidad());
+    }
+
+    @Test
+    void seSaturaAlSuperarLaCapacidad() {
+        FiltroBloom filtro = new FiltroBloom(3, 0.01);
+        filtro.agregar("a");
+        filtro.agregar("b");
+        filtro.agregar("c");
+        assertFalse(filtro.isSaturado());
+        filtro.agregar("d");
+        assertTrue(filtro.isSaturado());
+        assertEquals(4, filtro.getElementos());
+    }
+
+    @Test
+    void rechazaParametrosNoValidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(10, 1));
+    }
+}
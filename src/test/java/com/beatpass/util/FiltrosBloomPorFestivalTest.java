@@ -0,0 +1,149 @@
+package com.beatpass.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FiltrosBloomPorFestivalTest {
+
+    // Códigos "en la base de datos" por festival
+    private final Map<Integer, List<String>> baseDatos = new HashMap<>();
+    // Tareas programadas, que cada test ejecuta cuando quiere
+    private final List<Runnable> tareas = new ArrayList<>();
+    private final List<Integer> lecturas = new ArrayList<>();
+    private Runnable duranteLectura = () -> { };
+
+    private FiltrosBloomPorFestival filtros;
+
+    @BeforeEach
+    void preparar() {
+        filtros = new FiltrosBloomPorFestival("test", 0.01, this::leer, tareas::add);
+    }
+
+    private void leer(Integer idFestival, BiConsumer<Integer, String> fila) {
+        lecturas.add(idFestival);
+        baseDatos.forEach((id, codigos) -> {
+            if (idFestival == null || idFestival.equals(id)) {
+                codigos.forEach(codigo -> fila.accept(id, codigo));
+            }
+        });
+        duranteLectura.run();
+    }
+
+    private void guardar(Integer idFestival, String codigo) {
+        baseDatos.computeIfAbsent(idFestival, id -> new ArrayList<>()).add(codigo);
+    }
+
+    private void ejecutarTareas() {
+        List<Runnable> pendientes = new ArrayList<>(tareas);
+        tareas.clear();
+        pendientes.forEach(Runnable::run);
+    }
+
+    @Test
+    void sinCargarNoDescartaYProgramaUnaSolaCarga() {
+        guardar(1, "QR-1");
+
+        assertTrue(filtros.puedeExistir("inexistente"));
+        assertTrue(filtros.puedeExistir(1, "inexistente"));
+        assertEquals(1, tareas.size());
+        assertTrue(lecturas.isEmpty(), "La carga no debe hacerse en el hilo que consulta");
+
+        ejecutarTareas();
+
+        assertTrue(filtros.isCargado());
+        assertFalse(filtros.puedeExistir("inexistente"));
+    }
+
+    @Test
+    void cadaFestivalSoloConsultaSuFiltro() {
+        guardar(1, "UID-A");
+        guardar(2, "UID-B");
+        filtros.cargar();
+
+        assertTrue(filtros.puedeExistir(1, "UID-A"));
+        assertFalse(filtros.puedeExistir(2, "UID-A"));
+        assertFalse(filtros.puedeExistir(3, "UID-A"));
+        assertTrue(filtros.puedeExistir("UID-A"));
+        assertTrue(filtros.puedeExistir("UID-B"));
+    }
+
+    @Test
+    void losCodigosRecibidosDuranteLaCargaNoSePierden() {
+        guardar(1, "QR-VIEJO");
+        // Confirmado después de leer su festival pero antes de terminar la carga
+        duranteLectura = () -> filtros.agregar(1, "QR-NUEVO");
+
+        filtros.cargar();
+
+        assertTrue(filtros.puedeExistir(1, "QR-NUEVO"));
+        assertTrue(filtros.puedeExistir("QR-NUEVO"));
+        assertTrue(filtros.puedeExistir(1, "QR-VIEJO"));
+    }
+
+    @Test
+    void unFestivalSaturadoSeReconstruyeEnSegundoPlano() {
+        for (int i = 0; i < 2000; i++) {
+            guardar(2, "OTRO-" + i);
+        }
+        filtros.cargar();
+        lecturas.clear();
+
+        // El filtro del festival 1 nace con la capacidad mínima (1024); el global tiene holgura
+        for (int i = 0; i < 1025; i++) {
+            guardar(1, "QR-" + i);
+            filtros.agregar(1, "QR-" + i);
+        }
+
+        assertTrue(lecturas.isEmpty(), "La reconstrucción no debe hacerse en el hilo que añade");
+        assertEquals(1, tareas.size());
+
+        duranteLectura = () -> filtros.agregar(1, "QR-DURANTE");
+        ejecutarTareas();
+
+        assertEquals(List.of(1), lecturas);
+        assertTrue(filtros.puedeExistir(1, "QR-0"));
+        assertTrue(filtros.puedeExistir(1, "QR-1024"));
+        assertTrue(filtros.puedeExistir(1, "QR-DURANTE"));
+    }
+
+    @Test
+    void elGlobalSaturadoProgramaUnaRecargaCompleta() {
+        filtros.cargar();
+        lecturas.clear();
+
+        for (int i = 0; i < 1025; i++) {
+            guardar(i % 3, "UID-" + i);
+            filtros.agregar(i % 3, "UID-" + i);
+        }
+        assertEquals(1, tareas.size());
+
+        ejecutarTareas();
+
+        assertEquals(1, lecturas.size());
+        assertEquals(null, lecturas.get(0));
+        assertTrue(filtros.puedeExistir("UID-1024"));
+        assertTrue(filtros.puedeExistir(1024 % 3, "UID-1024"));
+    }
+
+    @Test
+    void trasUnFalloDeCargaNoDescartaNiReintentaEnseguida() {
+        duranteLectura = () -> {
+            throw new IllegalStateException("Base de datos no disponible");
+        };
+        filtros.cargar();
+
+        assertFalse(filtros.isCargado());
+        assertTrue(filtros.puedeExistir("cualquiera"));
+        assertTrue(tareas.isEmpty());
+    }
+}
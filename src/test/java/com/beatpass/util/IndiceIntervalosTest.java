@@ -0,0 +1,96 @@
+package com.beatpass.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndiceIntervalosTest {
+
+    private record Evento(String nombre, LocalDate inicio, LocalDate fin) {
+
+    }
+
+    private static final LocalDate DIA = LocalDate.of(2026, 7, 10);
+
+    // Festival del 10 al 12 de julio, ambos inclusive
+    private final IndiceIntervalos<Evento> indice = indice(List.of(
+            new Evento("verano", DIA, DIA.plusDays(2))));
+
+    @Test
+    void losExtremosSonInclusivos() {
+        assertEquals(1, indice.solapados(DIA.minusDays(3), DIA).size()); // Termina el día que empieza
+        assertEquals(1, indice.solapados(DIA.plusDays(2), DIA.plusDays(5)).size()); // Empieza el día que termina
+        assertEquals(1, indice.solapados(DIA.plusDays(1), DIA.plusDays(1)).size()); // Un día intermedio
+        assertEquals(1, indice.solapados(DIA.minusDays(1), DIA.plusDays(3)).size()); // Lo contiene
+    }
+
+    @Test
+    void losDiasContiguosNoSeSolapan() {
+        assertEquals(List.of(), indice.solapados(DIA.minusDays(3), DIA.minusDays(1)));
+        assertEquals(List.of(), indice.solapados(DIA.plusDays(3), DIA.plusDays(4)));
+    }
+
+    @Test
+    void unRangoInvertidoONuloNoDevuelveNada() {
+        assertEquals(List.of(), indice.solapados(DIA.plusDays(2), DIA));
+        assertEquals(List.of(), indice.solapados(null, DIA));
+        assertEquals(List.of(), indice.solapados(DIA, null));
+    }
+
+    @Test
+    void ignoraLosElementosSinFechasYOrdenaPorInicio() {
+        List<Evento> eventos = new ArrayList<>();
+        eventos.add(new Evento("tarde", DIA.plusDays(5), DIA.plusDays(6)));
+        eventos.add(new Evento("sin-fin", DIA, null));
+        eventos.add(new Evento("primero", DIA, DIA.plusDays(1)));
+        eventos.add(new Evento("segundo", DIA, DIA));
+        eventos.add(new Evento("sin-inicio", null, DIA));
+        IndiceIntervalos<Evento> conNulos = indice(eventos);
+
+        assertEquals(3, conNulos.size());
+        // A igual inicio se conserva el orden recibido
+        assertEquals(List.of("primero", "segundo", "tarde"),
+                conNulos.solapados(DIA, DIA.plusDays(10)).stream().map(Evento::nombre).toList());
+    }
+
+    @Test
+    void aplicaElFiltroSoloALosSolapados() {
+        IndiceIntervalos<Evento> dos = indice(List.of(
+                new Evento("rock", DIA, DIA.plusDays(2)),
+                new Evento("jazz", DIA.plusDays(1), DIA.plusDays(3))));
+
+        assertEquals(List.of("jazz"), dos.solapados(DIA, DIA.plusDays(5), e -> e.nombre().startsWith("j"))
+                .stream().map(Evento::nombre).toList());
+    }
+
+    @Test
+    void coincideConLaBusquedaLineal() {
+        Random aleatorio = new Random(42);
+        List<Evento> eventos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            LocalDate inicio = DIA.plusDays(aleatorio.nextInt(365));
+            eventos.add(new Evento("e" + i, inicio, inicio.plusDays(aleatorio.nextInt(30))));
+        }
+        IndiceIntervalos<Evento> grande = indice(eventos);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate desde = DIA.plusDays(aleatorio.nextInt(400) - 20);
+            LocalDate hasta = desde.plusDays(aleatorio.nextInt(15));
+            List<String> esperados = eventos.stream()
+                    .filter(e -> !e.fin().isBefore(desde) && !e.inicio().isAfter(hasta))
+                    .sorted((a, b) -> a.inicio().compareTo(b.inicio()))
+                    .map(Evento::nombre)
+                    .toList();
+            assertEquals(esperados, grande.solapados(desde, hasta).stream().map(Evento::nombre).toList());
+        }
+    }
+
+    private static IndiceIntervalos<Evento> indice(List<Evento> eventos) {
+        return new IndiceIntervalos<>(eventos, Evento::inicio, Evento::fin);
+    }
+}
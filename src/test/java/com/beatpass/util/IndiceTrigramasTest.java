@@ -0,0 +1,102 @@
+package com.beatpass.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceTrigramasTest {
+
+    private IndiceTrigramas indice;
+
+    @BeforeEach
+    void preparar() {
+        indice = new IndiceTrigramas("test");
+        indice.cargarSiNecesario(fila -> {
+            fila.accept(new Object[]{1, "Ana Beltrán", "ana@correo.es"});
+            fila.accept(new Object[]{2, "Rob Ames", "rob@correo.es"});
+            fila.accept(new Object[]{3, "Juana Pérez", "juana@correo.es"});
+            fila.accept(new Object[]{4, "Pedro Ana", "pedro@correo.es"});
+            fila.accept(new Object[]{5, "Anabel Ruiz", "anabel@correo.es"});
+        });
+    }
+
+    @Test
+    void normalizaMayusculasTildesYEspacios() {
+        assertEquals("jose alvarez", IndiceTrigramas.normalizar("  José ÁLVAREZ "));
+        assertEquals("begona nunez", IndiceTrigramas.normalizar("Begoña Núñez"));
+        assertEquals("", IndiceTrigramas.normalizar(null));
+    }
+
+    @Test
+    void encuentraSinTildesNiMayusculas() {
+        assertEquals(List.of(1), ids(indice.buscar("beltran", null, 10)));
+        assertEquals(List.of(1), ids(indice.buscar("BELTRÁN", null, 10)));
+        assertEquals(List.of(3), ids(indice.buscar("perez", null, 10)));
+    }
+
+    @Test
+    void losTerminosCortosSoloBuscanPrefijosDePalabra() {
+        // "rob" contiene una 'b', pero no al inicio de una palabra
+        assertEquals(List.of(1), ids(indice.buscar("b", null, 10)));
+        assertEquals(List.of(1), ids(indice.buscar("be", null, 10)));
+        assertEquals(List.of(2), ids(indice.buscar("am", null, 10)));
+        assertEquals(List.of(), ids(indice.buscar("ob", null, 10)));
+    }
+
+    @Test
+    void ordenaPorRangoYDespuesPorEmail() {
+        List<IndiceTrigramas.Coincidencia> resultado = indice.buscar("ana", null, 10);
+
+        assertEquals(List.of(1, 5, 4, 3), ids(resultado));
+        assertEquals(List.of(0, 0, 1, 2), resultado.stream().map(IndiceTrigramas.Coincidencia::rango).toList());
+    }
+
+    @Test
+    void elCursorDeRangoRecorreTodasLasPaginasSinRepetir() {
+        List<Integer> recorridos = new ArrayList<>();
+        IndiceTrigramas.Coincidencia despuesDe = null;
+        List<IndiceTrigramas.Coincidencia> pagina;
+        do {
+            pagina = indice.buscar("ana", despuesDe, 1);
+            recorridos.addAll(ids(pagina));
+            despuesDe = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+        } while (!pagina.isEmpty());
+
+        assertEquals(List.of(1, 5, 4, 3), recorridos);
+    }
+
+    @Test
+    void todasLasPalabrasDebenAparecer() {
+        assertEquals(List.of(1), ids(indice.buscar("ana beltran", null, 10)));
+        assertEquals(List.of(), ids(indice.buscar("ana ruiz pedro", null, 10)));
+    }
+
+    @Test
+    void reindexarRetiraLosTrigramasAnteriores() {
+        indice.indexar(2, "Rob Zamora", "rob@correo.es");
+
+        assertEquals(List.of(), ids(indice.buscar("ames", null, 10)));
+        assertEquals(List.of(2), ids(indice.buscar("zamora", null, 10)));
+        assertEquals(5, indice.size());
+    }
+
+    @Test
+    void ignoraLosCambiosAntesDeLaCarga() {
+        IndiceTrigramas vacio = new IndiceTrigramas("vacio");
+        vacio.indexar(1, "Ana Beltrán", "ana@correo.es");
+        assertEquals(0, vacio.size());
+
+        vacio.cargarSiNecesario(fila -> fila.accept(new Object[]{7, "Lucía Gil", "lucia@correo.es"}));
+        assertTrue(vacio.isCargado());
+        assertEquals(List.of(7), ids(vacio.buscar("lucia", null, 10)));
+    }
+
+    private static List<Integer> ids(List<IndiceTrigramas.Coincidencia> coincidencias) {
+        return coincidencias.stream().map(IndiceTrigramas.Coincidencia::id).toList();
+    }
+}
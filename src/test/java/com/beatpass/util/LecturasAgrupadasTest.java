@@ -0,0 +1,153 @@
+package com.beatpass.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class LecturasAgrupadasTest {
+
+    private static final int SEGUIDORES = 8;
+    private static final String CLAVE = "BEATPASS-TICKET-0f8c2a";
+
+    private final LecturasAgrupadas<String, Object> lecturas = new LecturasAgrupadas<>(
+            "prueba-" + UUID.randomUUID(), LecturasAgrupadas::etiquetaOculta);
+    private final ExecutorService hilos = Executors.newCachedThreadPool();
+    private final CountDownLatch iniciado = new CountDownLatch(1);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final AtomicInteger calculos = new AtomicInteger();
+
+    @AfterEach
+    void detener() {
+        liberar.countDown();
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void losSeguidoresCompartenElResultadoDelLider() throws Exception {
+        Object resultado = new Object();
+
+        List<Future<Object>> llamadas = lanzar(() -> resultado);
+
+        for (Future<Object> llamada : llamadas) {
+            assertSame(resultado, llamada.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calculos.get());
+        LecturasAgrupadas.Estadisticas estadisticas = lecturas.estadisticas();
+        assertEquals(1, estadisticas.ejecuciones());
+        assertEquals(SEGUIDORES, estadisticas.compartidas());
+        assertEquals(0, estadisticas.errores());
+        assertEquals(List.of(new LecturasAgrupadas.ContadoresClave("***0f8c2a", 1, SEGUIDORES)),
+                estadisticas.clavesMasCompartidas());
+    }
+
+    @Test
+    void losSeguidoresRecibenLaMismaExcepcion() throws Exception {
+        IllegalStateException fallo = new IllegalStateException("base de datos caída");
+
+        List<Future<Object>> llamadas = lanzar(() -> {
+            throw fallo;
+        });
+
+        for (Future<Object> llamada : llamadas) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> llamada.get(5, TimeUnit.SECONDS));
+            assertSame(fallo, e.getCause());
+        }
+        assertEquals(1, calculos.get());
+        LecturasAgrupadas.Estadisticas estadisticas = lecturas.estadisticas();
+        assertEquals(1, estadisticas.ejecuciones());
+        assertEquals(SEGUIDORES, estadisticas.compartidas());
+        assertEquals(1, estadisticas.errores());
+    }
+
+    @Test
+    void laClaveSeLiberaAlTerminar() throws Exception {
+        for (Future<Object> llamada : lanzar(() -> "primero")) {
+            assertEquals("primero", llamada.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, lecturas.estadisticas().enCurso());
+
+        // Sin nadie en curso, la siguiente lectura vuelve a calcular
+        assertEquals("segundo", lecturas.ejecutar(CLAVE, () -> {
+            calculos.incrementAndGet();
+            return "segundo";
+        }));
+        assertEquals(2, calculos.get());
+        assertEquals(2, lecturas.estadisticas().ejecuciones());
+        assertEquals(0, lecturas.estadisticas().enCurso());
+    }
+
+    @Test
+    void laClaveSeLiberaTambienTrasUnError() {
+        assertThrows(IllegalStateException.class, () -> lecturas.ejecutar(CLAVE, () -> {
+            throw new IllegalStateException("fallo");
+        }));
+
+        assertEquals(0, lecturas.estadisticas().enCurso());
+        assertEquals("ok", lecturas.ejecutar(CLAVE, () -> "ok"));
+    }
+
+    @Test
+    void lasClavesDistintasNoSeAgrupan() {
+        assertEquals("a", lecturas.ejecutar("clave-a", () -> "a"));
+        assertEquals("b", lecturas.ejecutar("clave-b", () -> "b"));
+
+        assertEquals(2, lecturas.estadisticas().ejecuciones());
+        assertEquals(0, lecturas.estadisticas().compartidas());
+    }
+
+    /**
+     * Lanza un líder bloqueado en el cálculo y, cuando todos los seguidores
+     * están esperándolo, lo libera.
+     *
+     * @return Las llamadas, la del líder primero.
+     */
+    private List<Future<Object>> lanzar(Supplier<Object> calculo) throws InterruptedException {
+        List<Future<Object>> llamadas = new ArrayList<>();
+        llamadas.add(hilos.submit(() -> lecturas.ejecutar(CLAVE, () -> {
+            calculos.incrementAndGet();
+            iniciado.countDown();
+            try {
+                assertTrue(liberar.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return calculo.get();
+        })));
+        assertTrue(iniciado.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < SEGUIDORES; i++) {
+            llamadas.add(hilos.submit(() -> lecturas.ejecutar(CLAVE, () -> {
+                calculos.incrementAndGet();
+                return "no debe ejecutarse";
+            })));
+        }
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lecturas.estadisticas().compartidas() < SEGUIDORES) {
+            if (System.nanoTime() > limite) {
+                fail("Los seguidores no llegaron a esperar al líder");
+            }
+            Thread.sleep(5);
+        }
+        assertEquals(1, lecturas.estadisticas().enCurso());
+        liberar.countDown();
+        return llamadas;
+    }
+}
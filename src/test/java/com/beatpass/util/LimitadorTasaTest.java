@@ -0,0 +1,101 @@
+package com.beatpass.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitadorTasaTest {
+
+    @Test
+    void admiteUnaRafagaHastaLaCapacidad() {
+        LimitadorTasa limitador = new LimitadorTasa("test", 5, 60, 100);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limitador.consumir("cliente"), "Petición " + i + " de la ráfaga");
+        }
+        assertTrue(limitador.consumir("cliente") > 0);
+    }
+
+    @Test
+    void laEsperaEsElIntervaloEntreFichas() {
+        // 2 fichas cada 60 s: una nueva cada 30 s
+        LimitadorTasa limitador = new LimitadorTasa("test", 2, 60, 100);
+        limitador.consumir("cliente");
+        limitador.consumir("cliente");
+
+        long espera = limitador.consumir("cliente");
+
+        assertTrue(espera > TimeUnit.SECONDS.toNanos(29) && espera <= TimeUnit.SECONDS.toNanos(30), "Espera: " + espera);
+    }
+
+    @Test
+    void unRechazoNoConsumeFicha() {
+        LimitadorTasa limitador = new LimitadorTasa("test", 1, 60, 100);
+        limitador.consumir("cliente");
+
+        long primera = limitador.consumir("cliente");
+        long segunda = limitador.consumir("cliente");
+
+        // Si el rechazo consumiera, la segunda espera sería un intervalo mayor
+        assertTrue(segunda <= primera);
+    }
+
+    @Test
+    void seRellenaConElTiempo() throws InterruptedException {
+        // 10 fichas por segundo: una cada 100 ms, margen de sobra para vaciar el cubo antes
+        LimitadorTasa limitador = new LimitadorTasa("test", 10, 1, 100);
+        for (int i = 0; i < 10; i++) {
+            limitador.consumir("cliente");
+        }
+        assertTrue(limitador.consumir("cliente") > 0);
+
+        Thread.sleep(150);
+
+        assertEquals(0, limitador.consumir("cliente"));
+    }
+
+    @Test
+    void cadaClaveTieneSuCubo() {
+        LimitadorTasa limitador = new LimitadorTasa("test", 1, 60, 100);
+        assertEquals(0, limitador.consumir("a"));
+        assertTrue(limitador.consumir("a") > 0);
+        assertEquals(0, limitador.consumir("b"));
+    }
+
+    @Test
+    void purgaSoloLosCubosLlenos() throws InterruptedException {
+        LimitadorTasa limitador = new LimitadorTasa("test", 1000, 1, 100);
+        LimitadorTasa lento = new LimitadorTasa("lento", 1, 60, 100);
+        limitador.consumir("inactivo");
+        lento.consumir("activo");
+
+        Thread.sleep(20);
+
+        assertEquals(1, limitador.purgarInactivos());
+        assertEquals(0, limitador.size());
+        assertEquals(0, lento.purgarInactivos());
+        assertEquals(1, lento.size());
+    }
+
+    @Test
+    void lasClavesQueNoCabenCompartenElCuboDeDesbordamiento() {
+        LimitadorTasa limitador = new LimitadorTasa("test", 1, 60, 2);
+        limitador.consumir("a");
+        limitador.consumir("b");
+
+        assertEquals(0, limitador.consumir("c"));
+        assertTrue(limitador.consumir("d") > 0, "d comparte cubo con c");
+        assertEquals(2, limitador.size());
+        assertTrue(limitador.consumir("a") > 0, "Las claves existentes conservan su cubo");
+    }
+
+    @Test
+    void rechazaParametrosNoValidos() {
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorTasa("test", 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorTasa("test", 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LimitadorTasa("test", 1, 1, 0));
+    }
+}
@@ -0,0 +1,111 @@
+package com.beatpass.util;
+
+import com.beatpass.dto.PaginaDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaginacionTest {
+
+    @Test
+    void elCursorVaYVuelve() {
+        String cursor = Paginacion.codificarCursor("asistentes-festival", "Ñandú García", 42);
+
+        assertArrayEquals(new String[]{"Ñandú García", "42"}, Paginacion.decodificarCursor(cursor, "asistentes-festival", 2));
+        assertEquals(1234, Paginacion.decodificarCursorId(Paginacion.codificarCursor("compras", 1234), "compras"));
+        assertFalse(cursor.contains("=") || cursor.contains("+") || cursor.contains("/"), "Debe poder ir en la URL tal cual");
+    }
+
+    @Test
+    void conservaValoresVacios() {
+        String cursor = Paginacion.codificarCursor("busqueda", "", "a@b.c");
+
+        assertArrayEquals(new String[]{"", "a@b.c"}, Paginacion.decodificarCursor(cursor, "busqueda", 2));
+    }
+
+    @Test
+    void sinCursorEsLaPrimeraPagina() {
+        assertNull(Paginacion.decodificarCursor(null, "compras", 1));
+        assertNull(Paginacion.decodificarCursor("", "compras", 1));
+        assertNull(Paginacion.decodificarCursor("   ", "compras", 1));
+        assertNull(Paginacion.decodificarCursorId(null, "compras"));
+    }
+
+    @Test
+    void rechazaCursoresDeOtroListado() {
+        String cursor = Paginacion.codificarCursor("compras", 10);
+
+        assertInvalido(() -> Paginacion.decodificarCursorId(cursor, "pulseras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId(cursor, "Compras"));
+        assertInvalido(() -> Paginacion.decodificarCursor(cursor, "compras", 2));
+    }
+
+    @Test
+    void rechazaCursoresManipulados() {
+        assertInvalido(() -> Paginacion.decodificarCursorId(crudo("compras\u001Fdiez"), "compras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId(crudo("compras\u001F"), "compras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId(crudo("compras\u001F10\u001F11"), "compras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId(crudo("compras10"), "compras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId(crudo("compras\u001F99999999999"), "compras"));
+
+        // Cambiar un carácter del cursor rompe su estructura
+        String cursor = Paginacion.codificarCursor("compras", 10);
+        String alterado = (cursor.charAt(0) == 'A' ? 'B' : 'A') + cursor.substring(1);
+        assertInvalido(() -> Paginacion.decodificarCursorId(alterado, "compras"));
+    }
+
+    @Test
+    void rechazaCursoresMalFormados() {
+        assertInvalido(() -> Paginacion.decodificarCursorId("no es base64!", "compras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId("%%%", "compras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId("A", "compras"));
+        assertInvalido(() -> Paginacion.decodificarCursorId(Base64.getEncoder().encodeToString(new byte[]{(byte) 0xFF, 0x3E, 0x3F}), "compras"));
+    }
+
+    @Test
+    void laPaginaSoloTieneCursorSiLlegaLaFilaExtra() {
+        PaginaDTO<Integer> ultima = Paginacion.construirPagina(List.of(1, 2, 3), 3, id -> "c" + id);
+        assertEquals(List.of(1, 2, 3), ultima.getItems());
+        assertNull(ultima.getSiguienteCursor());
+        assertFalse(ultima.hayMas());
+        assertEquals(3, ultima.getLimite());
+
+        PaginaDTO<Integer> incompleta = Paginacion.construirPagina(List.of(1), 3, id -> "c" + id);
+        assertNull(incompleta.getSiguienteCursor());
+
+        PaginaDTO<Integer> vacia = Paginacion.construirPagina(List.of(), 3, id -> "c" + id);
+        assertTrue(vacia.getItems().isEmpty());
+        assertFalse(vacia.hayMas());
+
+        PaginaDTO<Integer> conMas = Paginacion.construirPagina(List.of(1, 2, 3, 4), 3, id -> "c" + id);
+        assertEquals(List.of(1, 2, 3), conMas.getItems());
+        assertEquals("c3", conMas.getSiguienteCursor()); // De la última fila devuelta, no de la extra
+        assertTrue(conMas.hayMas());
+    }
+
+    @Test
+    void normalizaElLimite() {
+        assertEquals(Paginacion.TAMANO_POR_DEFECTO, Paginacion.normalizarLimite(null));
+        assertEquals(1, Paginacion.normalizarLimite(1));
+        assertEquals(Paginacion.TAMANO_MAXIMO, Paginacion.normalizarLimite(Paginacion.TAMANO_MAXIMO + 1));
+        assertInvalido(() -> Paginacion.normalizarLimite(0));
+        assertInvalido(() -> Paginacion.normalizarLimite(-5));
+    }
+
+    private static String crudo(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalido(Runnable decodificacion) {
+        assertThrows(IllegalArgumentException.class, decodificacion::run);
+    }
+}
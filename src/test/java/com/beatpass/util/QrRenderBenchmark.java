@@ -0,0 +1,63 @@
+package com.beatpass.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el coste de los formatos de la imagen QR de una entrada: PNG
+ * rasterizado (300 px, como qr.png), SVG y matriz codificada por rachas.
+ * <p>
+ * Ejecución: {@code mvn -B test-compile} y después
+ * {@code java -cp target/test-classes:target/classes:<classpath de test> com.beatpass.util.QrRenderBenchmark}
+ * (el classpath se obtiene con {@code mvn dependency:build-classpath -Dmdep.includeScope=test}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QrRenderBenchmark {
+
+    private static final int LADO_PNG = 300;
+
+    private String contenido;
+
+    @Setup
+    public void preparar() {
+        contenido = QRCodeUtil.generarContenidoQrUnico();
+    }
+
+    @Benchmark
+    public byte[] png() {
+        return QRCodeUtil.generarQrComoPng(contenido, LADO_PNG, LADO_PNG);
+    }
+
+    @Benchmark
+    public String svg() {
+        return QRCodeUtil.generarQrComoSvg(contenido);
+    }
+
+    @Benchmark
+    public int[][] matrizRle() {
+        return QRCodeUtil.codificarFilasRle(QRCodeUtil.generarMatrizQr(contenido));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(QrRenderBenchmark.class.getSimpleName()).build()).run();
+    }
+}